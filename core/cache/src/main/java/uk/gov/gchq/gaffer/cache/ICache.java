@@ -20,6 +20,7 @@ import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
 import uk.gov.gchq.gaffer.commonutil.exception.OverwritingException;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -68,6 +69,19 @@ public interface ICache<K, V> {
         }
     }
 
+    /**
+     * Add all of the supplied key-value pairs to the cache. Implementations backed
+     * by a remote store should override this to write the entries in a single call.
+     *
+     * @param entries the key-value pairs to add
+     * @throws CacheOperationException if there is an error adding the key-value pairs to the cache
+     */
+    default void putAll(final Map<? extends K, ? extends V> entries) throws CacheOperationException {
+        for (final Map.Entry<? extends K, ? extends V> entry : entries.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
     /**
      * Remove the entry associated with the specified key.
      *
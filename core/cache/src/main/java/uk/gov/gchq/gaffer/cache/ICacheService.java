@@ -19,6 +19,7 @@ package uk.gov.gchq.gaffer.cache;
 import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 
@@ -80,6 +81,20 @@ public interface ICacheService {
         cache.put(key, value);
     }
 
+    /**
+     * Add all of the supplied key-value pairs to the specified cache.
+     *
+     * @param cacheName the name of the cache
+     * @param entries   the key-value pairs to add
+     * @param <K>       The object type that acts as the key for the cache
+     * @param <V>       The value that is stored in the cache
+     * @throws CacheOperationException if there is an error adding the key-value pairs to the cache
+     */
+    default <K, V> void putAllInCache(final String cacheName, final Map<? extends K, ? extends V> entries) throws CacheOperationException {
+        final ICache<K, V> cache = getCache(cacheName);
+        cache.putAll(entries);
+    }
+
     /**
      * Add a new key-value pair to the specified cache, but only if there is no existing
      * entry associated with the specified key.
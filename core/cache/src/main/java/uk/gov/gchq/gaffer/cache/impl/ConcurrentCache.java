@@ -0,0 +1,354 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.cache.impl;
+
+import uk.gov.gchq.gaffer.cache.ICache;
+import uk.gov.gchq.gaffer.commonutil.exception.OverwritingException;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * A thread safe, in-process implementation of {@link ICache}.
+ * <p>
+ * Entries are spread across a number of independently locked segments, each of
+ * which keeps its entries in least recently used order. When a maximum size is
+ * configured the least recently used entry of a full segment is evicted to make
+ * room for a new one, and when a time to live is configured entries expire that
+ * many milliseconds after they were written.
+ * <p>
+ * If Java serialisation is enabled values are stored in their serialised form,
+ * so that callers cannot mutate cached values. Enabling the near cache keeps the
+ * deserialised value alongside the serialised one, so repeated lookups of the
+ * same entry do not pay the deserialisation cost, at the expense of handing the
+ * same instance to every caller.
+ *
+ * @param <K> The object type that acts as the key for the cache
+ * @param <V> The value that is stored in the cache
+ */
+public class ConcurrentCache<K, V> implements ICache<K, V> {
+    public static final int DEFAULT_SEGMENTS = 16;
+    public static final long UNBOUNDED = -1L;
+
+    private static final JavaSerialiser JAVA_SERIALISER = new JavaSerialiser();
+
+    private final Segment<K>[] segments;
+    private final long timeToLiveMillis;
+    private final boolean useJavaSerialisation;
+    private final boolean nearCache;
+    private final LongSupplier clock;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public ConcurrentCache() {
+        this(UNBOUNDED, UNBOUNDED, false, false);
+    }
+
+    public ConcurrentCache(final long maxSize, final long timeToLiveMillis, final boolean useJavaSerialisation, final boolean nearCache) {
+        this(DEFAULT_SEGMENTS, maxSize, timeToLiveMillis, useJavaSerialisation, nearCache, System::currentTimeMillis);
+    }
+
+    @SuppressWarnings("unchecked")
+    ConcurrentCache(final int segmentCount, final long maxSize, final long timeToLiveMillis,
+                    final boolean useJavaSerialisation, final boolean nearCache, final LongSupplier clock) {
+        if (segmentCount < 1) {
+            throw new IllegalArgumentException("The number of segments must be at least 1");
+        }
+        if (0 == maxSize) {
+            throw new IllegalArgumentException("The maximum size of the cache must be positive or " + UNBOUNDED + " for an unbounded cache");
+        }
+
+        final int count = maxSize > 0 ? (int) Math.min(segmentCount, maxSize) : segmentCount;
+        final long segmentMaxSize = maxSize > 0 ? (maxSize + count - 1) / count : UNBOUNDED;
+        this.segments = (Segment<K>[]) new Segment<?>[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(segmentMaxSize);
+        }
+        this.timeToLiveMillis = timeToLiveMillis;
+        this.useJavaSerialisation = useJavaSerialisation;
+        this.nearCache = nearCache;
+        this.clock = clock;
+    }
+
+    @Override
+    public V get(final K key) {
+        final Segment<K> segment = segmentFor(key);
+        final CacheEntry entry;
+        synchronized (segment) {
+            entry = segment.get(key);
+            if (null != entry && isExpired(entry)) {
+                segment.remove(key);
+                expirations.increment();
+                misses.increment();
+                return null;
+            }
+        }
+
+        if (null == entry) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return valueOf(entry);
+    }
+
+    @Override
+    public void put(final K key, final V value) {
+        final CacheEntry entry = createEntry(value);
+        final Segment<K> segment = segmentFor(key);
+        synchronized (segment) {
+            putEntry(segment, key, entry);
+        }
+    }
+
+    /**
+     * Adds the key-value pair only if there is no live entry for the key. The
+     * check and the write are made under the same segment lock, so of several
+     * concurrent calls for the same key exactly one succeeds.
+     *
+     * @param key   the key to add
+     * @param value the value to add
+     * @throws OverwritingException if a live entry already exists for the key
+     */
+    @Override
+    public void putSafe(final K key, final V value) throws OverwritingException {
+        final CacheEntry entry = createEntry(value);
+        final Segment<K> segment = segmentFor(key);
+        synchronized (segment) {
+            final CacheEntry existing = segment.get(key);
+            if (null != existing) {
+                if (!isExpired(existing)) {
+                    throw new OverwritingException("Cache entry already exists for key: " + key);
+                }
+                expirations.increment();
+            }
+            putEntry(segment, key, entry);
+        }
+    }
+
+    @Override
+    public void remove(final K key) {
+        final Segment<K> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.remove(key);
+        }
+    }
+
+    @Override
+    public Collection<V> getAllValues() {
+        final List<CacheEntry> entries = new ArrayList<>();
+        for (final Segment<K> segment : segments) {
+            synchronized (segment) {
+                final Iterator<CacheEntry> itr = segment.values().iterator();
+                while (itr.hasNext()) {
+                    final CacheEntry entry = itr.next();
+                    if (isExpired(entry)) {
+                        itr.remove();
+                        expirations.increment();
+                    } else {
+                        entries.add(entry);
+                    }
+                }
+            }
+        }
+
+        final List<V> values = new ArrayList<>(entries.size());
+        for (final CacheEntry entry : entries) {
+            values.add(valueOf(entry));
+        }
+        return values;
+    }
+
+    @Override
+    public Set<K> getAllKeys() {
+        final Set<K> keys = new HashSet<>();
+        for (final Segment<K> segment : segments) {
+            synchronized (segment) {
+                final Iterator<Map.Entry<K, CacheEntry>> itr = segment.entrySet().iterator();
+                while (itr.hasNext()) {
+                    final Map.Entry<K, CacheEntry> entry = itr.next();
+                    if (isExpired(entry.getValue())) {
+                        itr.remove();
+                        expirations.increment();
+                    } else {
+                        keys.add(entry.getKey());
+                    }
+                }
+            }
+        }
+        return keys;
+    }
+
+    @Override
+    public int size() {
+        if (timeToLiveMillis > 0) {
+            return getAllKeys().size();
+        }
+
+        int size = 0;
+        for (final Segment<K> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        for (final Segment<K> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * @return the number of lookups that found a live entry
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of lookups that did not find a live entry
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of entries removed to keep the cache within its maximum size
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the number of entries removed because their time to live had passed
+     */
+    public long getExpirationCount() {
+        return expirations.sum();
+    }
+
+    private CacheEntry createEntry(final V value) {
+        final CacheEntry entry = new CacheEntry(useJavaSerialisation ? serialise(value) : value, clock.getAsLong());
+        if (useJavaSerialisation && nearCache) {
+            entry.deserialised = value;
+        }
+        return entry;
+    }
+
+    private void putEntry(final Segment<K> segment, final K key, final CacheEntry entry) {
+        segment.put(key, entry);
+        if (segment.evicted) {
+            segment.evicted = false;
+            evictions.increment();
+        }
+    }
+
+    private Segment<K> segmentFor(final K key) {
+        if (1 == segments.length) {
+            return segments[0];
+        }
+        final int hash = null == key ? 0 : key.hashCode();
+        return segments[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % segments.length];
+    }
+
+    private boolean isExpired(final CacheEntry entry) {
+        return timeToLiveMillis > 0 && clock.getAsLong() - entry.writeTime >= timeToLiveMillis;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueOf(final CacheEntry entry) {
+        if (!useJavaSerialisation) {
+            return (V) entry.value;
+        }
+
+        if (nearCache) {
+            V value = (V) entry.deserialised;
+            if (null == value) {
+                value = deserialise((byte[]) entry.value);
+                entry.deserialised = value;
+            }
+            return value;
+        }
+        return deserialise((byte[]) entry.value);
+    }
+
+    private byte[] serialise(final V value) {
+        try {
+            return JAVA_SERIALISER.serialise(value);
+        } catch (final SerialisationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V deserialise(final byte[] bytes) {
+        try {
+            return (V) JAVA_SERIALISER.deserialise(bytes);
+        } catch (final SerialisationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static final class CacheEntry {
+        private final Object value;
+        private final long writeTime;
+        private volatile Object deserialised;
+
+        private CacheEntry(final Object value, final long writeTime) {
+            this.value = value;
+            this.writeTime = writeTime;
+        }
+    }
+
+    /**
+     * An access ordered map holding one share of the cache entries. All access
+     * must be synchronised on the segment itself.
+     */
+    private static final class Segment<K> extends LinkedHashMap<K, CacheEntry> {
+        private static final long serialVersionUID = -3474498411389716522L;
+        private final long maxSize;
+        private boolean evicted;
+
+        private Segment(final long maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<K, CacheEntry> eldest) {
+            evicted = maxSize > 0 && size() > maxSize;
+            return evicted;
+        }
+    }
+}
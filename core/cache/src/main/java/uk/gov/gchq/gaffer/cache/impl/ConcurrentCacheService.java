@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.cache.impl;
+
+import uk.gov.gchq.gaffer.cache.ICache;
+import uk.gov.gchq.gaffer.cache.ICacheService;
+
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementation of the {@link ICacheService} interface which uses a {@link ConcurrentCache}
+ * as the cache implementation.
+ * <p>
+ * Each of the properties below applies to every cache, but may be overridden for
+ * an individual cache by appending {@code .<cacheName>} to the property name.
+ * By default caches are unbounded and entries never expire.
+ */
+public class ConcurrentCacheService implements ICacheService {
+    public static final String MAX_SIZE = "gaffer.cache.concurrent.maxSize";
+    public static final String TIME_TO_LIVE_MILLIS = "gaffer.cache.concurrent.timeToLiveMillis";
+    public static final String SEGMENTS = "gaffer.cache.concurrent.segments";
+    public static final String JAVA_SERIALISATION_CACHE = "gaffer.cache.concurrent.useJavaSerialisation";
+    public static final String NEAR_CACHE = "gaffer.cache.concurrent.nearCache";
+
+    private final ConcurrentHashMap<String, ConcurrentCache<?, ?>> caches = new ConcurrentHashMap<>();
+    private Properties properties = new Properties();
+
+    @Override
+    public void initialise(final Properties properties) {
+        this.properties = null != properties ? properties : new Properties();
+    }
+
+    @Override
+    public void shutdown() {
+        caches.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <K, V> ICache<K, V> getCache(final String cacheName) {
+        return (ICache<K, V>) caches.computeIfAbsent(cacheName, this::createCache);
+    }
+
+    private ConcurrentCache<?, ?> createCache(final String cacheName) {
+        return new ConcurrentCache<Object, Object>(
+                Integer.parseInt(getProperty(SEGMENTS, cacheName, String.valueOf(ConcurrentCache.DEFAULT_SEGMENTS))),
+                Long.parseLong(getProperty(MAX_SIZE, cacheName, String.valueOf(ConcurrentCache.UNBOUNDED))),
+                Long.parseLong(getProperty(TIME_TO_LIVE_MILLIS, cacheName, String.valueOf(ConcurrentCache.UNBOUNDED))),
+                Boolean.parseBoolean(getProperty(JAVA_SERIALISATION_CACHE, cacheName, "false")),
+                Boolean.parseBoolean(getProperty(NEAR_CACHE, cacheName, "false")),
+                System::currentTimeMillis);
+    }
+
+    private String getProperty(final String key, final String cacheName, final String defaultValue) {
+        return properties.getProperty(key + "." + cacheName, properties.getProperty(key, defaultValue));
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.cache.impl;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.cache.ICache;
+import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
+import uk.gov.gchq.gaffer.commonutil.exception.OverwritingException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrentCacheTest {
+
+    @Test
+    public void shouldPutGetAndRemoveEntries() {
+        // Given
+        final ConcurrentCache<String, Integer> cache = new ConcurrentCache<>();
+
+        // When
+        cache.put("key1", 1);
+        cache.put("key2", 2);
+        cache.put("key2", 3);
+        cache.remove("key1");
+
+        // Then
+        assertNull(cache.get("key1"));
+        assertEquals(3, (int) cache.get("key2"));
+        assertEquals(1, cache.size());
+        assertEquals(new HashSet<>(Arrays.asList("key2")), cache.getAllKeys());
+        assertEquals(Arrays.asList(3), new ArrayList<>(cache.getAllValues()));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedEntryWhenFull() {
+        // Given
+        final ConcurrentCache<String, Integer> cache = new ConcurrentCache<>(1, 2, ConcurrentCache.UNBOUNDED, false, false, System::currentTimeMillis);
+        cache.put("key1", 1);
+        cache.put("key2", 2);
+        cache.get("key1");
+
+        // When
+        cache.put("key3", 3);
+
+        // Then
+        assertEquals(new HashSet<>(Arrays.asList("key1", "key3")), cache.getAllKeys());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void shouldExpireEntriesAfterTimeToLive() {
+        // Given
+        final AtomicLong time = new AtomicLong();
+        final ConcurrentCache<String, Integer> cache = new ConcurrentCache<>(4, ConcurrentCache.UNBOUNDED, 100, false, false, time::get);
+        cache.put("key1", 1);
+        time.set(50);
+        cache.put("key2", 2);
+
+        // When
+        time.set(120);
+
+        // Then
+        assertNull(cache.get("key1"));
+        assertEquals(2, (int) cache.get("key2"));
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getExpirationCount());
+    }
+
+    @Test
+    public void shouldReturnCopiesWhenUsingJavaSerialisationWithoutNearCache() {
+        // Given
+        final ConcurrentCache<String, List<String>> cache = new ConcurrentCache<>(ConcurrentCache.UNBOUNDED, ConcurrentCache.UNBOUNDED, true, false);
+        final List<String> value = new ArrayList<>(Arrays.asList("a", "b"));
+        cache.put("key", value);
+
+        // When
+        final List<String> first = cache.get("key");
+        final List<String> second = cache.get("key");
+
+        // Then
+        assertEquals(value, first);
+        assertNotSame(value, first);
+        assertNotSame(first, second);
+    }
+
+    @Test
+    public void shouldReuseDeserialisedValueWhenNearCacheEnabled() {
+        // Given
+        final ConcurrentCache<String, List<String>> cache = new ConcurrentCache<>(ConcurrentCache.UNBOUNDED, ConcurrentCache.UNBOUNDED, true, true);
+        final List<String> value = new ArrayList<>(Arrays.asList("a", "b"));
+        cache.put("key", value);
+
+        // When
+        final List<String> first = cache.get("key");
+        final List<String> second = cache.get("key");
+
+        // Then
+        assertSame(value, first);
+        assertSame(first, second);
+    }
+
+    @Test
+    public void shouldSupportConcurrentWriters() throws Exception {
+        // Given
+        final ConcurrentCache<Integer, Integer> cache = new ConcurrentCache<>();
+        final int threads = 8;
+        final int entriesPerThread = 1000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            final int offset = t * entriesPerThread;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < entriesPerThread; i++) {
+                    cache.put(offset + i, i);
+                    cache.get(offset + i);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Then
+        assertEquals(threads * entriesPerThread, cache.size());
+        assertEquals(threads * entriesPerThread, cache.getHitCount());
+    }
+
+    @Test
+    public void shouldOnlyLetOneConcurrentPutSafeWinForAKey() throws Exception {
+        // Given
+        final ConcurrentCache<String, Integer> cache = new ConcurrentCache<>();
+        final int threads = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger successes = new AtomicInteger();
+        final List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            final int value = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    cache.putSafe("key", value);
+                    successes.incrementAndGet();
+                } catch (final OverwritingException e) {
+                    // Another thread added the entry first
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Then
+        assertEquals(1, successes.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void shouldPutSafeOverAnExpiredEntry() {
+        // Given
+        final AtomicLong time = new AtomicLong();
+        final ConcurrentCache<String, Integer> cache = new ConcurrentCache<>(4, ConcurrentCache.UNBOUNDED, 100, false, false, time::get);
+        cache.putSafe("key", 1);
+
+        // When
+        final OverwritingException exception = assertThrows(OverwritingException.class, () -> cache.putSafe("key", 2));
+        time.set(120);
+        cache.putSafe("key", 3);
+
+        // Then
+        assertEquals("Cache entry already exists for key: key", exception.getMessage());
+        assertEquals(3, (int) cache.get("key"));
+        assertEquals(1, cache.getExpirationCount());
+    }
+
+    @Test
+    public void shouldApplyPerCachePropertiesFromService() throws CacheOperationException {
+        // Given
+        final Properties properties = new Properties();
+        properties.setProperty(ConcurrentCacheService.MAX_SIZE, "100");
+        properties.setProperty(ConcurrentCacheService.MAX_SIZE + ".small", "1");
+        final ConcurrentCacheService service = new ConcurrentCacheService();
+        service.initialise(properties);
+
+        // When
+        final ICache<String, Integer> small = service.getCache("small");
+        final ICache<String, Integer> large = service.getCache("large");
+        for (int i = 0; i < 10; i++) {
+            small.put("key" + i, i);
+            large.put("key" + i, i);
+        }
+
+        // Then
+        assertSame(small, service.getCache("small"));
+        assertEquals(1, small.size());
+        assertEquals(10, large.size());
+    }
+}
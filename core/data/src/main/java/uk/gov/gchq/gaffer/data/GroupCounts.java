@@ -39,6 +39,14 @@ public class GroupCounts {
         addElementGroup(group, edgeGroups);
     }
 
+    public void addEntityGroup(final String group, final int count) {
+        entityGroups.merge(group, count, Integer::sum);
+    }
+
+    public void addEdgeGroup(final String group, final int count) {
+        edgeGroups.merge(group, count, Integer::sum);
+    }
+
     private void addElementGroup(final String group, final Map<String, Integer> elementGroups) {
         Integer count = elementGroups.get(group);
         if (null == count) {
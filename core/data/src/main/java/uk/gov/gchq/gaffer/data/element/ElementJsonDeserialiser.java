@@ -0,0 +1,235 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.element;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.BasicDeserializerFactory;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+
+import uk.gov.gchq.gaffer.data.element.id.DirectedType;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId.MatchedVertex;
+
+import java.io.IOException;
+
+/**
+ * Streaming json deserialiser for {@link Entity} and {@link Edge}.
+ * <p>
+ * The element fields are read directly from the {@link JsonParser} and
+ * the element is constructed once all fields have been read. The element
+ * class is resolved by the usual {@link com.fasterxml.jackson.annotation.JsonTypeInfo}
+ * handling on {@link uk.gov.gchq.gaffer.data.element.id.ElementId}, and
+ * the identifiers and property values are read using the type information
+ * declared on the element accessors, so the json accepted is the same as
+ * for the bean deserialiser.
+ * </p>
+ */
+public class ElementJsonDeserialiser extends JsonDeserializer<Element> implements ResolvableDeserializer {
+    private final BeanDescription beanDesc;
+    private final boolean isEdge;
+
+    private JsonDeserializer<Object> objectDeserialiser;
+    private JsonDeserializer<Object> stringDeserialiser;
+    private JsonDeserializer<Object> booleanDeserialiser;
+    private JsonDeserializer<Object> directedTypeDeserialiser;
+    private JsonDeserializer<Object> matchedVertexDeserialiser;
+    private TypeDeserializer vertexTypeDeserialiser;
+    private TypeDeserializer sourceTypeDeserialiser;
+    private TypeDeserializer destinationTypeDeserialiser;
+    private TypeDeserializer propertyTypeDeserialiser;
+
+    public ElementJsonDeserialiser(final BeanDescription beanDesc) {
+        this.beanDesc = beanDesc;
+        this.isEdge = Edge.class.equals(beanDesc.getBeanClass());
+    }
+
+    @Override
+    public void resolve(final DeserializationContext ctxt) throws JsonMappingException {
+        final DeserializationConfig config = ctxt.getConfig();
+        final JavaType objectType = config.constructType(Object.class);
+        objectDeserialiser = ctxt.findRootValueDeserializer(objectType);
+        stringDeserialiser = ctxt.findRootValueDeserializer(config.constructType(String.class));
+        booleanDeserialiser = ctxt.findRootValueDeserializer(config.constructType(Boolean.class));
+        directedTypeDeserialiser = ctxt.findRootValueDeserializer(config.constructType(DirectedType.class));
+        matchedVertexDeserialiser = ctxt.findRootValueDeserializer(config.constructType(MatchedVertex.class));
+
+        final BasicDeserializerFactory factory = (BasicDeserializerFactory) ctxt.getFactory();
+        for (final BeanPropertyDefinition property : beanDesc.findProperties()) {
+            final AnnotatedMember mutator = property.getMutator();
+            if (null == mutator) {
+                continue;
+            }
+            switch (property.getName()) {
+                case "vertex":
+                    vertexTypeDeserialiser = factory.findPropertyTypeDeserializer(config, objectType, mutator);
+                    break;
+                case "source":
+                    sourceTypeDeserialiser = factory.findPropertyTypeDeserializer(config, objectType, mutator);
+                    break;
+                case "destination":
+                    destinationTypeDeserialiser = factory.findPropertyTypeDeserializer(config, objectType, mutator);
+                    break;
+                case "properties":
+                    propertyTypeDeserialiser = factory.findPropertyContentTypeDeserializer(config, config.constructType(Properties.class), mutator);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    @Override
+    public Element deserialize(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+        String group = null;
+        Object vertex = null;
+        Object source = null;
+        Object destination = null;
+        Boolean directed = null;
+        DirectedType directedType = null;
+        MatchedVertex matchedVertex = null;
+        Properties properties = null;
+
+        JsonToken token = p.getCurrentToken();
+        if (JsonToken.START_OBJECT == token) {
+            token = p.nextToken();
+        }
+        for (; JsonToken.FIELD_NAME == token; token = p.nextToken()) {
+            final String field = p.getCurrentName();
+            p.nextToken();
+            switch (field) {
+                case "class":
+                    p.skipChildren();
+                    break;
+                case "group":
+                    group = (String) readValue(p, ctxt, stringDeserialiser, null);
+                    break;
+                case "properties":
+                    properties = readProperties(p, ctxt);
+                    break;
+                case "vertex":
+                    if (isEdge) {
+                        handleUnknownProperty(p, ctxt, field);
+                    } else {
+                        vertex = readValue(p, ctxt, objectDeserialiser, vertexTypeDeserialiser);
+                    }
+                    break;
+                case "source":
+                    if (isEdge) {
+                        source = readValue(p, ctxt, objectDeserialiser, sourceTypeDeserialiser);
+                    } else {
+                        handleUnknownProperty(p, ctxt, field);
+                    }
+                    break;
+                case "destination":
+                    if (isEdge) {
+                        destination = readValue(p, ctxt, objectDeserialiser, destinationTypeDeserialiser);
+                    } else {
+                        handleUnknownProperty(p, ctxt, field);
+                    }
+                    break;
+                case "directed":
+                    if (isEdge) {
+                        directed = (Boolean) readValue(p, ctxt, booleanDeserialiser, null);
+                    } else {
+                        handleUnknownProperty(p, ctxt, field);
+                    }
+                    break;
+                case "directedType":
+                    if (isEdge) {
+                        directedType = (DirectedType) readValue(p, ctxt, directedTypeDeserialiser, null);
+                    } else {
+                        handleUnknownProperty(p, ctxt, field);
+                    }
+                    break;
+                case "matchedVertex":
+                    if (isEdge) {
+                        matchedVertex = (MatchedVertex) readValue(p, ctxt, matchedVertexDeserialiser, null);
+                    } else {
+                        handleUnknownProperty(p, ctxt, field);
+                    }
+                    break;
+                default:
+                    handleUnknownProperty(p, ctxt, field);
+                    break;
+            }
+        }
+
+        if (JsonToken.END_OBJECT != token) {
+            throw ctxt.wrongTokenException(p, JsonToken.END_OBJECT, "Expected end of " + beanDesc.getBeanClass().getSimpleName() + " json object");
+        }
+
+        if (!isEdge) {
+            return new Entity(group, vertex, properties);
+        }
+
+        try {
+            return new Edge(group, source, destination, directed, directedType, matchedVertex, properties);
+        } catch (final IllegalArgumentException e) {
+            // Use the same message as the bean deserialiser
+            throw new JsonMappingException("Instantiation of " + ctxt.constructType(Edge.class) + " value failed: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Class<?> handledType() {
+        return beanDesc.getBeanClass();
+    }
+
+    private Properties readProperties(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.getCurrentToken();
+        if (JsonToken.VALUE_NULL == token) {
+            return null;
+        }
+        if (JsonToken.START_OBJECT != token) {
+            throw ctxt.wrongTokenException(p, JsonToken.START_OBJECT, "Expected element properties to be a json object");
+        }
+
+        final Properties properties = new Properties();
+        for (token = p.nextToken(); JsonToken.FIELD_NAME == token; token = p.nextToken()) {
+            final String name = p.getCurrentName();
+            p.nextToken();
+            properties.put(name, readValue(p, ctxt, objectDeserialiser, propertyTypeDeserialiser));
+        }
+        return properties;
+    }
+
+    private Object readValue(final JsonParser p, final DeserializationContext ctxt, final JsonDeserializer<Object> deserialiser, final TypeDeserializer typeDeserialiser) throws IOException {
+        if (JsonToken.VALUE_NULL == p.getCurrentToken()) {
+            return null;
+        }
+        if (null == typeDeserialiser) {
+            return deserialiser.deserialize(p, ctxt);
+        }
+        return deserialiser.deserializeWithType(p, ctxt, typeDeserialiser);
+    }
+
+    private void handleUnknownProperty(final JsonParser p, final DeserializationContext ctxt, final String field) throws IOException {
+        if (!ctxt.handleUnknownProperty(p, this, beanDesc.getBeanClass(), field)) {
+            ctxt.reportUnknownProperty(beanDesc.getBeanClass(), field, this);
+            p.skipChildren();
+        }
+    }
+}
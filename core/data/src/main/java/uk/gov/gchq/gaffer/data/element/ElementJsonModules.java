@@ -0,0 +1,78 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.element;
+
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiserModules;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Factory class to create the module that registers the streaming
+ * {@link ElementJsonSerialiser} and {@link ElementJsonDeserialiser} for
+ * {@link Entity} and {@link Edge}. Sub classes of these elements continue
+ * to use the bean serialisers.
+ * <p>
+ * This is registered with the {@link java.util.ServiceLoader} in
+ * META-INF/services/uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiserModules,
+ * so it is added to every mapper created by
+ * {@link uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser#createDefaultMapper()}.
+ * </p>
+ */
+public class ElementJsonModules implements JSONSerialiserModules {
+    public static final String ELEMENT_MODULE_NAME = "ElementJsonModule";
+
+    @Override
+    public List<Module> getModules() {
+        return Collections.singletonList(
+                new SimpleModule(ELEMENT_MODULE_NAME, new Version(1, 0, 0, null, null, null))
+                        .setSerializerModifier(new BeanSerializerModifier() {
+                            @Override
+                            public JsonSerializer<?> modifySerializer(final SerializationConfig config, final BeanDescription beanDesc, final JsonSerializer<?> serializer) {
+                                if (isSupported(beanDesc) && !(serializer instanceof ElementJsonSerialiser)) {
+                                    return new ElementJsonSerialiser(beanDesc, serializer);
+                                }
+                                return serializer;
+                            }
+                        })
+                        .setDeserializerModifier(new BeanDeserializerModifier() {
+                            @Override
+                            public JsonDeserializer<?> modifyDeserializer(final DeserializationConfig config, final BeanDescription beanDesc, final JsonDeserializer<?> deserializer) {
+                                if (isSupported(beanDesc) && !(deserializer instanceof ElementJsonDeserialiser)) {
+                                    return new ElementJsonDeserialiser(beanDesc);
+                                }
+                                return deserializer;
+                            }
+                        })
+        );
+    }
+
+    private static boolean isSupported(final BeanDescription beanDesc) {
+        return Entity.class.equals(beanDesc.getBeanClass()) || Edge.class.equals(beanDesc.getBeanClass());
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.element;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.BeanSerializerFactory;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.PropertyFilter;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Streaming json serialiser for {@link Entity} and {@link Edge}.
+ * <p>
+ * The json is written field by field directly to the {@link JsonGenerator},
+ * rather than by introspecting the element as a bean. The type information
+ * for the identifiers and property values is resolved once, from the same
+ * annotations the bean serialiser would use, so the json produced is
+ * identical to the bean serialiser's.
+ * </p>
+ * <p>
+ * If the {@link JSONSerialiser#FILTER_FIELDS_BY_NAME} filter excludes any fields
+ * then the element is written by the bean serialiser instead.
+ * </p>
+ */
+public class ElementJsonSerialiser extends JsonSerializer<Element> implements ContextualSerializer, ResolvableSerializer {
+    private static final PropertyFilter DEFAULT_FILTER = JSONSerialiser.getFilterProvider()
+            .findPropertyFilter(JSONSerialiser.FILTER_FIELDS_BY_NAME, null);
+
+    private final JsonSerializer<Object> beanSerialiser;
+    private final BeanDescription beanDesc;
+    private final boolean isEdge;
+
+    private TypeSerializer vertexTypeSerialiser;
+    private TypeSerializer sourceTypeSerialiser;
+    private TypeSerializer destinationTypeSerialiser;
+    private TypeSerializer propertyTypeSerialiser;
+
+    @SuppressWarnings("unchecked")
+    public ElementJsonSerialiser(final BeanDescription beanDesc, final JsonSerializer<?> beanSerialiser) {
+        this.beanDesc = beanDesc;
+        this.beanSerialiser = (JsonSerializer<Object>) beanSerialiser;
+        this.isEdge = Edge.class.equals(beanDesc.getBeanClass());
+    }
+
+    @Override
+    public void resolve(final SerializerProvider provider) throws JsonMappingException {
+        if (beanSerialiser instanceof ResolvableSerializer) {
+            ((ResolvableSerializer) beanSerialiser).resolve(provider);
+        }
+
+        final SerializationConfig config = provider.getConfig();
+        final JavaType objectType = config.constructType(Object.class);
+        for (final BeanPropertyDefinition property : beanDesc.findProperties()) {
+            final AnnotatedMember accessor = property.getAccessor();
+            if (null == accessor) {
+                continue;
+            }
+            switch (property.getName()) {
+                case "vertex":
+                    vertexTypeSerialiser = BeanSerializerFactory.instance.findPropertyTypeSerializer(objectType, config, accessor);
+                    break;
+                case "source":
+                    sourceTypeSerialiser = BeanSerializerFactory.instance.findPropertyTypeSerializer(objectType, config, accessor);
+                    break;
+                case "destination":
+                    destinationTypeSerialiser = BeanSerializerFactory.instance.findPropertyTypeSerializer(objectType, config, accessor);
+                    break;
+                case "properties":
+                    propertyTypeSerialiser = BeanSerializerFactory.instance.findPropertyContentTypeSerializer(config.constructType(Properties.class), config, accessor);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(final SerializerProvider provider, final BeanProperty property) throws JsonMappingException {
+        if (beanSerialiser instanceof ContextualSerializer) {
+            final JsonSerializer<?> contextual = ((ContextualSerializer) beanSerialiser).createContextual(provider, property);
+            if (contextual != beanSerialiser) {
+                final ElementJsonSerialiser serialiser = new ElementJsonSerialiser(beanDesc, contextual);
+                serialiser.resolve(provider);
+                return serialiser;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public void serialize(final Element element, final JsonGenerator gen, final SerializerProvider provider) throws IOException {
+        if (isFiltered(element, provider)) {
+            beanSerialiser.serialize(element, gen, provider);
+        } else {
+            gen.writeStartObject();
+            writeFields(element, gen, provider);
+            gen.writeEndObject();
+        }
+    }
+
+    @Override
+    public void serializeWithType(final Element element, final JsonGenerator gen, final SerializerProvider provider, final TypeSerializer typeSer) throws IOException {
+        if (isFiltered(element, provider)) {
+            beanSerialiser.serializeWithType(element, gen, provider, typeSer);
+        } else {
+            typeSer.writeTypePrefixForObject(element, gen);
+            writeFields(element, gen, provider);
+            typeSer.writeTypeSuffixForObject(element, gen);
+        }
+    }
+
+    @Override
+    public Class<Element> handledType() {
+        return Element.class;
+    }
+
+    private boolean isFiltered(final Element element, final SerializerProvider provider) {
+        // Only edges are annotated with the field filter
+        return isEdge && (null == provider.getFilterProvider()
+                || DEFAULT_FILTER != provider.getFilterProvider().findPropertyFilter(JSONSerialiser.FILTER_FIELDS_BY_NAME, element));
+    }
+
+    private void writeFields(final Element element, final JsonGenerator gen, final SerializerProvider provider) throws IOException {
+        gen.writeStringField("class", element.getClassName());
+        if (null != element.getGroup()) {
+            gen.writeStringField("group", element.getGroup());
+        }
+
+        if (isEdge) {
+            final Edge edge = (Edge) element;
+            writeField("source", edge.getSource(), sourceTypeSerialiser, gen, provider);
+            writeField("destination", edge.getDestination(), destinationTypeSerialiser, gen, provider);
+            gen.writeBooleanField("directed", edge.isDirected());
+            if (null != edge.getMatchedVertex()) {
+                gen.writeFieldName("matchedVertex");
+                provider.defaultSerializeValue(edge.getMatchedVertex(), gen);
+            }
+        } else {
+            writeField("vertex", ((Entity) element).getVertex(), vertexTypeSerialiser, gen, provider);
+        }
+
+        gen.writeFieldName("properties");
+        gen.writeStartObject();
+        for (final Map.Entry<String, Object> entry : element.getProperties().entrySet()) {
+            gen.writeFieldName(entry.getKey());
+            if (null == entry.getValue()) {
+                provider.defaultSerializeNull(gen);
+            } else {
+                writeValue(entry.getValue(), propertyTypeSerialiser, gen, provider);
+            }
+        }
+        gen.writeEndObject();
+    }
+
+    private void writeField(final String name, final Object value, final TypeSerializer typeSer, final JsonGenerator gen, final SerializerProvider provider) throws IOException {
+        if (null != value) {
+            gen.writeFieldName(name);
+            writeValue(value, typeSer, gen, provider);
+        }
+    }
+
+    private void writeValue(final Object value, final TypeSerializer typeSer, final JsonGenerator gen, final SerializerProvider provider) throws IOException {
+        final JsonSerializer<Object> serialiser = provider.findValueSerializer(value.getClass(), null);
+
+        if (null == typeSer) {
+            serialiser.serialize(value, gen, provider);
+        } else {
+            serialiser.serializeWithType(value, gen, provider, typeSer);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.element;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code PropertySlots} assigns each of a fixed set of property names a slot
+ * index, so the property values can be held in an array by
+ * {@link SlottedProperties}. The slots are normally created once per group when
+ * a schema is loaded.
+ */
+public final class PropertySlots implements Serializable {
+    private static final long serialVersionUID = -2393536016254322178L;
+    private final String[] names;
+    private final Map<String, Integer> indices;
+
+    public PropertySlots(final Collection<String> names) {
+        if (null == names) {
+            throw new IllegalArgumentException("Property names are required");
+        }
+        this.names = names.toArray(new String[0]);
+        this.indices = new HashMap<>(this.names.length * 2);
+        for (int i = 0; i < this.names.length; i++) {
+            indices.put(this.names[i], i);
+        }
+    }
+
+    /**
+     * @param name the property name
+     * @return the slot index for the property, or -1 if it does not have a slot
+     */
+    public int indexOf(final Object name) {
+        final Integer index = indices.get(name);
+        return null == index ? -1 : index;
+    }
+
+    public String getName(final int index) {
+        return names[index];
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return this == obj
+                || (null != obj && getClass() == obj.getClass() && Arrays.equals(names, ((PropertySlots) obj).names));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(names);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(names);
+    }
+}
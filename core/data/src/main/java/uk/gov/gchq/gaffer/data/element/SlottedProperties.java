@@ -0,0 +1,449 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.element;
+
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * {@code SlottedProperties} are {@link Properties} which hold the values of a
+ * known set of properties in an array, using the slot indices from a
+ * {@link PropertySlots}. Any other properties are held in the underlying map,
+ * so the full {@link Map} API is still supported.
+ * <p>
+ * The slot values can be accessed directly by index using {@link #getSlot(int)}
+ * and {@link #putSlot(int, Object)}, avoiding a property name lookup.
+ */
+public class SlottedProperties extends Properties {
+    private static final long serialVersionUID = 4727406574870361094L;
+    private final PropertySlots slots;
+    private final Object[] values;
+    private int slotCount;
+
+    public SlottedProperties(final PropertySlots slots) {
+        super();
+        if (null == slots) {
+            throw new IllegalArgumentException("Property slots are required");
+        }
+        this.slots = slots;
+        this.values = new Object[slots.size()];
+    }
+
+    public SlottedProperties(final PropertySlots slots, final Map<String, Object> properties) {
+        this(slots);
+        if (null != properties) {
+            putAll(properties);
+        }
+    }
+
+    private SlottedProperties(final SlottedProperties properties) {
+        super();
+        this.slots = properties.slots;
+        this.values = properties.values.clone();
+        this.slotCount = properties.slotCount;
+        properties.forEachOverflow(super::put);
+    }
+
+    public PropertySlots getSlots() {
+        return slots;
+    }
+
+    public Object getSlot(final int index) {
+        return values[index];
+    }
+
+    public void putSlot(final int index, final Object value) {
+        final Object oldValue = values[index];
+        if (null == oldValue) {
+            if (null != value) {
+                slotCount++;
+            }
+        } else if (null == value) {
+            slotCount--;
+        }
+        values[index] = value;
+    }
+
+    @Override
+    public int size() {
+        return slotCount + super.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return 0 == size();
+    }
+
+    @Override
+    public Object get(final Object name) {
+        final int index = slots.indexOf(name);
+        return index < 0 ? super.get(name) : values[index];
+    }
+
+    @Override
+    public boolean containsKey(final Object name) {
+        final int index = slots.indexOf(name);
+        return index < 0 ? super.containsKey(name) : null != values[index];
+    }
+
+    @Override
+    public boolean containsValue(final Object value) {
+        for (final Object slotValue : values) {
+            if (null != slotValue && slotValue.equals(value)) {
+                return true;
+            }
+        }
+        return super.containsValue(value);
+    }
+
+    @Override
+    public Object put(final String name, final Object value) {
+        if (null == name) {
+            return null;
+        }
+        final int index = slots.indexOf(name);
+        if (index < 0) {
+            return super.put(name, value);
+        }
+        final Object oldValue = values[index];
+        putSlot(index, value);
+        return oldValue;
+    }
+
+    @Override
+    public void putAll(final Map<? extends String, ?> properties) {
+        for (final Entry<? extends String, ?> entry : properties.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public Object remove(final Object name) {
+        final int index = slots.indexOf(name);
+        if (index < 0) {
+            return super.remove(name);
+        }
+        final Object oldValue = values[index];
+        putSlot(index, null);
+        return oldValue;
+    }
+
+    @Override
+    public boolean remove(final Object name, final Object value) {
+        if (containsKey(name) && Objects.equals(get(name), value)) {
+            remove(name);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(values, null);
+        slotCount = 0;
+        super.clear();
+    }
+
+    @Override
+    public Object getOrDefault(final Object name, final Object defaultValue) {
+        final Object value = get(name);
+        return null == value ? defaultValue : value;
+    }
+
+    @Override
+    public Object putIfAbsent(final String name, final Object value) {
+        final Object currentValue = get(name);
+        return null == currentValue ? put(name, value) : currentValue;
+    }
+
+    @Override
+    public boolean replace(final String name, final Object oldValue, final Object newValue) {
+        if (containsKey(name) && Objects.equals(get(name), oldValue)) {
+            put(name, newValue);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Object replace(final String name, final Object value) {
+        return containsKey(name) ? put(name, value) : null;
+    }
+
+    @Override
+    public Object computeIfAbsent(final String name, final Function<? super String, ?> mappingFunction) {
+        final Object currentValue = get(name);
+        if (null != currentValue) {
+            return currentValue;
+        }
+        final Object newValue = mappingFunction.apply(name);
+        put(name, newValue);
+        return newValue;
+    }
+
+    @Override
+    public Object computeIfPresent(final String name, final BiFunction<? super String, ? super Object, ?> remappingFunction) {
+        final Object currentValue = get(name);
+        if (null == currentValue) {
+            return null;
+        }
+        final Object newValue = remappingFunction.apply(name, currentValue);
+        put(name, newValue);
+        return newValue;
+    }
+
+    @Override
+    public Object compute(final String name, final BiFunction<? super String, ? super Object, ?> remappingFunction) {
+        final Object newValue = remappingFunction.apply(name, get(name));
+        put(name, newValue);
+        return newValue;
+    }
+
+    @Override
+    public Object merge(final String name, final Object value, final BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+        final Object currentValue = get(name);
+        final Object newValue = null == currentValue ? value : remappingFunction.apply(currentValue, value);
+        put(name, newValue);
+        return newValue;
+    }
+
+    @Override
+    public void forEach(final BiConsumer<? super String, ? super Object> action) {
+        for (int i = 0; i < values.length; i++) {
+            if (null != values[i]) {
+                action.accept(slots.getName(i), values[i]);
+            }
+        }
+        forEachOverflow(action);
+    }
+
+    @Override
+    public void replaceAll(final BiFunction<? super String, ? super Object, ?> function) {
+        for (int i = 0; i < values.length; i++) {
+            if (null != values[i]) {
+                putSlot(i, function.apply(slots.getName(i), values[i]));
+            }
+        }
+        super.replaceAll(function);
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return SlottedProperties.this.size();
+            }
+
+            @Override
+            public void clear() {
+                SlottedProperties.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return new AbstractSet<String>() {
+            @Override
+            public Iterator<String> iterator() {
+                final Iterator<Entry<String, Object>> entries = new EntryIterator();
+                return new Iterator<String>() {
+                    @Override
+                    public boolean hasNext() {
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public String next() {
+                        return entries.next().getKey();
+                    }
+
+                    @Override
+                    public void remove() {
+                        entries.remove();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return SlottedProperties.this.size();
+            }
+
+            @Override
+            public boolean contains(final Object name) {
+                return containsKey(name);
+            }
+
+            @Override
+            public boolean remove(final Object name) {
+                if (containsKey(name)) {
+                    SlottedProperties.this.remove(name);
+                    return true;
+                }
+                return false;
+            }
+
+            @Override
+            public void clear() {
+                SlottedProperties.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public Collection<Object> values() {
+        return new AbstractCollection<Object>() {
+            @Override
+            public Iterator<Object> iterator() {
+                final Iterator<Entry<String, Object>> entries = new EntryIterator();
+                return new Iterator<Object>() {
+                    @Override
+                    public boolean hasNext() {
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public Object next() {
+                        return entries.next().getValue();
+                    }
+
+                    @Override
+                    public void remove() {
+                        entries.remove();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return SlottedProperties.this.size();
+            }
+
+            @Override
+            public void clear() {
+                SlottedProperties.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public SlottedProperties clone() {
+        return new SlottedProperties(this);
+    }
+
+    private void forEachOverflow(final BiConsumer<? super String, ? super Object> action) {
+        for (final Entry<String, Object> entry : super.entrySet()) {
+            action.accept(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, Object>> {
+        private final Iterator<Entry<String, Object>> overflow = SlottedProperties.super.entrySet().iterator();
+        private int nextIndex;
+        private int lastIndex = -1;
+        private boolean inOverflow;
+
+        @Override
+        public boolean hasNext() {
+            while (nextIndex < values.length && null == values[nextIndex]) {
+                nextIndex++;
+            }
+            return nextIndex < values.length || overflow.hasNext();
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (nextIndex < values.length) {
+                inOverflow = false;
+                lastIndex = nextIndex++;
+                return new SlotEntry(lastIndex);
+            }
+            inOverflow = true;
+            return overflow.next();
+        }
+
+        @Override
+        public void remove() {
+            if (inOverflow) {
+                overflow.remove();
+            } else {
+                if (lastIndex < 0) {
+                    throw new IllegalStateException();
+                }
+                putSlot(lastIndex, null);
+                lastIndex = -1;
+            }
+        }
+    }
+
+    private final class SlotEntry implements Entry<String, Object> {
+        private final int index;
+
+        private SlotEntry(final int index) {
+            this.index = index;
+        }
+
+        @Override
+        public String getKey() {
+            return slots.getName(index);
+        }
+
+        @Override
+        public Object getValue() {
+            return values[index];
+        }
+
+        @Override
+        public Object setValue(final Object value) {
+            final Object oldValue = values[index];
+            putSlot(index, value);
+            return oldValue;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof Entry
+                    && Objects.equals(getKey(), ((Entry) obj).getKey())
+                    && Objects.equals(getValue(), ((Entry) obj).getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+    }
+}
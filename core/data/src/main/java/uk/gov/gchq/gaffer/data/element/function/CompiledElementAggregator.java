@@ -0,0 +1,129 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.element.function;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.ElementTuple;
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.data.element.PropertySlots;
+import uk.gov.gchq.koryphe.tuple.binaryoperator.TupleAdaptedBinaryOperator;
+
+import java.util.List;
+import java.util.function.BinaryOperator;
+
+/**
+ * A {@code CompiledElementAggregator} is an immutable, thread safe form of an
+ * {@link ElementAggregator}. Binary operators that select a single property
+ * read and write that property through a pre-resolved
+ * {@link PropertyAccessor}, avoiding the Koryphe tuple adapters. Operators
+ * with multiple selections, or that select the whole properties map, are
+ * delegated to the original component.
+ * <p>
+ * Use {@link ElementAggregator#compile(PropertySlots)} to create one. Changes made to the
+ * source aggregator after it has been compiled are not reflected.
+ * </p>
+ */
+public final class CompiledElementAggregator implements BinaryOperator<Element> {
+    private static final CompiledElementAggregator EMPTY = new CompiledElementAggregator(new Component[0]);
+
+    private final Component[] components;
+
+    private CompiledElementAggregator(final Component[] components) {
+        this.components = components;
+    }
+
+    static CompiledElementAggregator compile(final ElementAggregator aggregator, final PropertySlots slots) {
+        if (null == aggregator) {
+            return EMPTY;
+        }
+
+        final List<TupleAdaptedBinaryOperator<String, ?>> aggregatorComponents = aggregator.getComponents();
+        if (null == aggregatorComponents || aggregatorComponents.isEmpty()) {
+            return EMPTY;
+        }
+
+        final Component[] components = new Component[aggregatorComponents.size()];
+        int i = 0;
+        for (final TupleAdaptedBinaryOperator<String, ?> component : aggregatorComponents) {
+            components[i++] = new Component(component, slots);
+        }
+        return new CompiledElementAggregator(components);
+    }
+
+    /**
+     * Aggregates the element. Note - only the element properties are aggregated.
+     * Aggregation requires elements to have the same identifiers and group.
+     *
+     * @param state   the other element to aggregate. This is normally the 'state' where the aggregated results will be set.
+     * @param element the element to aggregated
+     * @return Element - the aggregated element
+     */
+    @Override
+    public Element apply(final Element state, final Element element) {
+        if (null == state) {
+            return element;
+        }
+
+        apply(state.getProperties(), element.getProperties());
+        return state;
+    }
+
+    public Properties apply(final Properties state, final Properties properties) {
+        if (null == state) {
+            return properties;
+        }
+
+        for (final Component component : components) {
+            component.apply(state, properties);
+        }
+        return state;
+    }
+
+    public boolean isEmpty() {
+        return 0 == components.length;
+    }
+
+    private static final class Component {
+        private final TupleAdaptedBinaryOperator<String, ?> delegate;
+        private final BinaryOperator<Object> binaryOperator;
+        private final PropertyAccessor accessor;
+
+        @SuppressWarnings("unchecked")
+        private Component(final TupleAdaptedBinaryOperator<String, ?> delegate, final PropertySlots slots) {
+            this.delegate = delegate;
+            final String[] selection = delegate.getSelection();
+            if (null != delegate.getBinaryOperator()
+                    && null != selection
+                    && 1 == selection.length
+                    && !ElementTuple.PROPERTIES.equals(selection[0])) {
+                this.binaryOperator = (BinaryOperator<Object>) delegate.getBinaryOperator();
+                this.accessor = new PropertyAccessor(selection[0], slots);
+            } else {
+                this.binaryOperator = null;
+                this.accessor = null;
+            }
+        }
+
+        private void apply(final Properties state, final Properties properties) {
+            if (null == accessor) {
+                delegate.apply(new PropertiesTuple(state), new PropertiesTuple(properties));
+            } else {
+                accessor.put(state, binaryOperator.apply(accessor.get(state), accessor.get(properties)));
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.element.function;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.PropertySlots;
+import uk.gov.gchq.koryphe.tuple.ArrayTuple;
+import uk.gov.gchq.koryphe.tuple.ReferenceArrayTuple;
+import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * A {@code CompiledElementFilter} is an immutable, thread safe form of an
+ * {@link ElementFilter}. Each selection is resolved into a
+ * {@link PropertyAccessor} up front, so testing an element does not have to
+ * parse the tuple references or go through the Koryphe tuple adapters.
+ * Predicates with a single selection are passed the selected value directly
+ * and predicates with multiple selections are passed a
+ * {@link ReferenceArrayTuple} of the selected values, matching the behaviour
+ * of {@link ElementFilter}.
+ * <p>
+ * Use {@link ElementFilter#compile(PropertySlots)} to create one. Changes made to the
+ * source filter after it has been compiled are not reflected.
+ * </p>
+ */
+public final class CompiledElementFilter implements Predicate<Element> {
+    private static final CompiledElementFilter EMPTY = new CompiledElementFilter(new Component[0]);
+
+    private final Component[] components;
+
+    private CompiledElementFilter(final Component[] components) {
+        this.components = components;
+    }
+
+    static CompiledElementFilter compile(final ElementFilter filter, final PropertySlots slots) {
+        if (null == filter) {
+            return EMPTY;
+        }
+
+        final List<TupleAdaptedPredicate<String, ?>> filterComponents = filter.getComponents();
+        if (null == filterComponents || filterComponents.isEmpty()) {
+            return EMPTY;
+        }
+
+        final Component[] components = new Component[filterComponents.size()];
+        int i = 0;
+        for (final TupleAdaptedPredicate<String, ?> component : filterComponents) {
+            components[i++] = new Component(component.getPredicate(), component.getSelection(), slots);
+        }
+        return new CompiledElementFilter(components);
+    }
+
+    @Override
+    public boolean test(final Element element) {
+        for (final Component component : components) {
+            if (!component.test(element)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isEmpty() {
+        return 0 == components.length;
+    }
+
+    private static final class Component {
+        private final Predicate<Object> predicate;
+        private final PropertyAccessor[] selection;
+        private final Integer[] indices;
+
+        @SuppressWarnings("unchecked")
+        private Component(final Predicate<?> predicate, final String[] selection, final PropertySlots slots) {
+            this.predicate = (Predicate<Object>) predicate;
+            if (null == selection) {
+                this.selection = null;
+                this.indices = null;
+            } else {
+                this.selection = new PropertyAccessor[selection.length];
+                this.indices = new Integer[selection.length];
+                for (int i = 0; i < selection.length; i++) {
+                    this.selection[i] = new PropertyAccessor(selection[i], slots);
+                    this.indices[i] = i;
+                }
+            }
+        }
+
+        private boolean test(final Element element) {
+            if (null == predicate) {
+                return true;
+            }
+
+            if (null == selection) {
+                throw new IllegalArgumentException("Selection is required");
+            }
+
+            if (1 == selection.length) {
+                return predicate.test(selection[0].get(element));
+            }
+
+            final Object[] values = new Object[selection.length];
+            for (int i = 0; i < selection.length; i++) {
+                values[i] = selection[i].get(element);
+            }
+            return predicate.test(new ReferenceArrayTuple<>(new ArrayTuple(values), indices));
+        }
+    }
+}
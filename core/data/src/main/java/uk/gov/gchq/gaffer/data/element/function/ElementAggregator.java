@@ -22,6 +22,7 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.data.element.PropertySlots;
 import uk.gov.gchq.koryphe.tuple.binaryoperator.TupleAdaptedBinaryOperator;
 import uk.gov.gchq.koryphe.tuple.binaryoperator.TupleAdaptedBinaryOperatorComposite;
 
@@ -82,6 +83,30 @@ public class ElementAggregator extends TupleAdaptedBinaryOperatorComposite<Strin
         readOnly = true;
     }
 
+    /**
+     * Compiles this aggregator into an immutable, thread safe
+     * {@link CompiledElementAggregator}. This should be done once, before
+     * aggregating a large number of elements.
+     *
+     * @return the compiled aggregator
+     */
+    public CompiledElementAggregator compile() {
+        return compile(null);
+    }
+
+    /**
+     * Compiles this aggregator into an immutable, thread safe
+     * {@link CompiledElementAggregator}, resolving the slot index of each
+     * selected property so {@link uk.gov.gchq.gaffer.data.element.SlottedProperties}
+     * with the provided slots are read and written by index.
+     *
+     * @param slots the property slots of the group the aggregator is applied to, or null
+     * @return the compiled aggregator
+     */
+    public CompiledElementAggregator compile(final PropertySlots slots) {
+        return CompiledElementAggregator.compile(this, slots);
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (this == obj) {
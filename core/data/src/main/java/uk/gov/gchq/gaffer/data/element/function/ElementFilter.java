@@ -23,6 +23,7 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.ElementTuple;
+import uk.gov.gchq.gaffer.data.element.PropertySlots;
 import uk.gov.gchq.koryphe.ValidationResult;
 import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
 import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicateComposite;
@@ -37,24 +38,29 @@ import java.util.function.Predicate;
  */
 @JsonPropertyOrder(alphabetic = true)
 public class ElementFilter extends TupleAdaptedPredicateComposite<String> {
-    private final ElementTuple elementTuple = new ElementTuple();
     private boolean readOnly;
 
+    /**
+     * Tests the element. A new {@link ElementTuple} is created for each call,
+     * so a filter can be shared by multiple threads once it has been built.
+     *
+     * @param element the element to test
+     * @return true if the element passes all of the filter's predicates
+     */
     public boolean test(final Element element) {
-        elementTuple.setElement(element);
-        return test(elementTuple);
+        return test(new ElementTuple(element));
     }
 
     public ValidationResult testWithValidationResult(final Element element) {
         final ValidationResult result = new ValidationResult();
-        elementTuple.setElement(element);
+        final ElementTuple elementTuple = new ElementTuple(element);
         components.stream()
                 .filter(predicate -> !predicate.test(elementTuple))
-                .forEach(predicate -> result.addError(getErrorMsg(predicate)));
+                .forEach(predicate -> result.addError(getErrorMsg(predicate, elementTuple)));
         return result;
     }
 
-    private String getErrorMsg(final TupleAdaptedPredicate<String, ?> predicate) {
+    private String getErrorMsg(final TupleAdaptedPredicate<String, ?> predicate, final ElementTuple elementTuple) {
         final StringBuilder builder = new StringBuilder();
         builder.append("Filter: ")
                 .append(predicate.getPredicate())
@@ -91,6 +97,30 @@ public class ElementFilter extends TupleAdaptedPredicateComposite<String> {
         readOnly = true;
     }
 
+    /**
+     * Compiles this filter into an immutable, thread safe
+     * {@link CompiledElementFilter}. This should be done once, before
+     * testing a large number of elements.
+     *
+     * @return the compiled filter
+     */
+    public CompiledElementFilter compile() {
+        return compile(null);
+    }
+
+    /**
+     * Compiles this filter into an immutable, thread safe
+     * {@link CompiledElementFilter}, resolving the slot index of each selected
+     * property so {@link uk.gov.gchq.gaffer.data.element.SlottedProperties}
+     * with the provided slots are read by index.
+     *
+     * @param slots the property slots of the group the filter is applied to, or null
+     * @return the compiled filter
+     */
+    public CompiledElementFilter compile(final PropertySlots slots) {
+        return CompiledElementFilter.compile(this, slots);
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (this == obj) {
@@ -101,11 +131,8 @@ public class ElementFilter extends TupleAdaptedPredicateComposite<String> {
             return false;
         }
 
-        final ElementFilter that = (ElementFilter) obj;
-
         return new EqualsBuilder()
                 .appendSuper(super.equals(obj))
-                .append(elementTuple, that.elementTuple)
                 .isEquals();
     }
 
@@ -113,14 +140,13 @@ public class ElementFilter extends TupleAdaptedPredicateComposite<String> {
     public int hashCode() {
         return new HashCodeBuilder(19, 53)
                 .appendSuper(super.hashCode())
-                .append(elementTuple)
                 .toHashCode();
     }
 
     @Override
     public String toString() {
         return new ToStringBuilder(this)
-                .append("elementTuple", elementTuple)
+                .appendSuper(super.toString())
                 .toString();
     }
 
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.element.function;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.ElementTuple;
+import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.data.element.PropertySlots;
+import uk.gov.gchq.gaffer.data.element.SlottedProperties;
+
+/**
+ * A {@code PropertyAccessor} reads (and writes) a single tuple reference of an
+ * {@link Element} or {@link Properties}. The reference is resolved once, when
+ * the accessor is created, rather than on every call. If the accessor is
+ * created with the {@link PropertySlots} of the element group, the slot index
+ * of the property is resolved at the same time and
+ * {@link SlottedProperties} with those slots are read and written by index.
+ * Any other properties are accessed by name.
+ */
+final class PropertyAccessor {
+    private final String reference;
+    private final IdentifierType idType;
+    private final boolean element;
+    private final boolean properties;
+    private final PropertySlots slots;
+    private final int slotIndex;
+
+    PropertyAccessor(final String reference) {
+        this(reference, null);
+    }
+
+    PropertyAccessor(final String reference, final PropertySlots slots) {
+        this.reference = reference;
+        this.element = ElementTuple.ELEMENT.equals(reference);
+        this.properties = ElementTuple.PROPERTIES.equals(reference);
+        this.idType = element || properties ? null : IdentifierType.fromName(reference);
+        this.slotIndex = null != slots && isProperty() ? slots.indexOf(reference) : -1;
+        this.slots = slotIndex < 0 ? null : slots;
+    }
+
+    String getReference() {
+        return reference;
+    }
+
+    /**
+     * @return true if this accessor reads a single property value, rather than
+     * an identifier, the whole element or the whole properties map.
+     */
+    boolean isProperty() {
+        return !element && !properties && null == idType;
+    }
+
+    Object get(final Element value) {
+        if (element) {
+            return value;
+        }
+        if (properties) {
+            return value.getProperties();
+        }
+        if (null != idType) {
+            return value.getIdentifier(idType);
+        }
+        return get(value.getProperties());
+    }
+
+    Object get(final Properties value) {
+        if (properties) {
+            return value;
+        }
+        if (hasSlot(value)) {
+            return ((SlottedProperties) value).getSlot(slotIndex);
+        }
+        return value.get(reference);
+    }
+
+    void put(final Properties value, final Object propertyValue) {
+        if (hasSlot(value)) {
+            ((SlottedProperties) value).putSlot(slotIndex, propertyValue);
+        } else {
+            value.put(reference, propertyValue);
+        }
+    }
+
+    private boolean hasSlot(final Properties value) {
+        return null != slots && value instanceof SlottedProperties && slots == ((SlottedProperties) value).getSlots();
+    }
+}
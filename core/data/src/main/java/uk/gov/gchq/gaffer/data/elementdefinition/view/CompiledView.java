@@ -0,0 +1,161 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.elementdefinition.view;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.PropertySlots;
+import uk.gov.gchq.gaffer.data.element.function.CompiledElementFilter;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A {@code CompiledView} holds the filters of a {@link View}, compiled per
+ * group into {@link CompiledElementFilter}s. Each group is compiled the first
+ * time an element of that group is tested and the result is reused for the
+ * remaining elements. A single instance can be created per query and shared
+ * by the threads that filter the query results.
+ * <p>
+ * An element is rejected if its group is not in the view. A group without a
+ * particular filter accepts all of its elements at that stage. Filters that
+ * are subclasses of {@link ElementFilter} may override the way elements are
+ * tested, so they are used as they are rather than being compiled. They are
+ * then only safe to share between threads if the subclass is.
+ * </p>
+ * <p>
+ * Only the filters are compiled. The view aggregators are merged with the
+ * schema aggregators when a query is aggregated, so they are compiled there.
+ * </p>
+ * <p>
+ * If a function providing the {@link PropertySlots} of each group is given,
+ * the slot indices of the filtered properties are resolved when the group is
+ * compiled, so properties created with those slots are read by index.
+ * </p>
+ */
+public final class CompiledView {
+    private static final Group MISSING_GROUP = new Group(null, null, null);
+
+    private final View view;
+    private final Function<String, PropertySlots> propertySlots;
+    private final Map<String, Group> groups = new ConcurrentHashMap<>();
+
+    public CompiledView(final View view) {
+        this(view, null);
+    }
+
+    public CompiledView(final View view, final Function<String, PropertySlots> propertySlots) {
+        if (null == view) {
+            throw new IllegalArgumentException("View is required");
+        }
+        this.view = view;
+        this.propertySlots = propertySlots;
+    }
+
+    public View getView() {
+        return view;
+    }
+
+    public boolean hasGroup(final String group) {
+        return MISSING_GROUP != getGroup(group);
+    }
+
+    public boolean testPreAggregation(final Element element) {
+        final Group group = getGroup(element.getGroup());
+        return MISSING_GROUP != group && test(group.preAggregationFilter, element);
+    }
+
+    public boolean testPostAggregation(final Element element) {
+        final Group group = getGroup(element.getGroup());
+        return MISSING_GROUP != group && test(group.postAggregationFilter, element);
+    }
+
+    public boolean testPostTransform(final Element element) {
+        final Group group = getGroup(element.getGroup());
+        return MISSING_GROUP != group && test(group.postTransformFilter, element);
+    }
+
+    /**
+     * Tests the element against all of its group's filters.
+     *
+     * @param element the element to test
+     * @return true if the element passes the pre aggregation, post aggregation
+     * and post transform filters of its group
+     */
+    public boolean test(final Element element) {
+        final Group group = getGroup(element.getGroup());
+        return MISSING_GROUP != group
+                && test(group.preAggregationFilter, element)
+                && test(group.postAggregationFilter, element)
+                && test(group.postTransformFilter, element);
+    }
+
+    private static boolean test(final Predicate<Element> filter, final Element element) {
+        return null == filter || filter.test(element);
+    }
+
+    private Group getGroup(final String group) {
+        if (null == group) {
+            return MISSING_GROUP;
+        }
+
+        final Group compiled = groups.get(group);
+        if (null != compiled) {
+            return compiled;
+        }
+        return groups.computeIfAbsent(group, this::compileGroup);
+    }
+
+    private Group compileGroup(final String group) {
+        final ViewElementDefinition elementDef = view.getElement(group);
+        if (null == elementDef) {
+            return MISSING_GROUP;
+        }
+        final PropertySlots slots = null == propertySlots ? null : propertySlots.apply(group);
+        return new Group(
+                compile(elementDef.getPreAggregationFilter(), slots),
+                compile(elementDef.getPostAggregationFilter(), slots),
+                compile(elementDef.getPostTransformFilter(), slots));
+    }
+
+    private static Predicate<Element> compile(final ElementFilter filter, final PropertySlots slots) {
+        if (null == filter) {
+            return null;
+        }
+        if (ElementFilter.class != filter.getClass()) {
+            return filter::test;
+        }
+        final CompiledElementFilter compiled = filter.compile(slots);
+        return compiled.isEmpty() ? null : compiled;
+    }
+
+    private static final class Group {
+        private final Predicate<Element> preAggregationFilter;
+        private final Predicate<Element> postAggregationFilter;
+        private final Predicate<Element> postTransformFilter;
+
+        private Group(final Predicate<Element> preAggregationFilter,
+                      final Predicate<Element> postAggregationFilter,
+                      final Predicate<Element> postTransformFilter) {
+            this.preAggregationFilter = preAggregationFilter;
+            this.postAggregationFilter = postAggregationFilter;
+            this.postTransformFilter = postTransformFilter;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.elementdefinition.view;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An {@code IndexedView} is an indexed form of a {@link View} for
+ * use when a view is applied to each element of a query result. The global
+ * definitions are expanded and each group is resolved once into a
+ * {@link Group} holding its definition, transformer, post transform filter
+ * and the properties to remove. Flags for the whole view allow the per
+ * element work to be skipped entirely when, for example, no group has a
+ * transformer.
+ * <p>
+ * Elements of the same group are usually returned together, so the last
+ * group looked up is remembered and the group map is only used when the
+ * group changes.
+ * </p>
+ * <p>
+ * An {@code IndexedView} is not thread safe. The element filters and
+ * transformers of the view reuse their internal state between calls, so each
+ * thread that processes query results needs its own {@code IndexedView},
+ * created from its own copy of the view (see {@link View#clone()}). The view
+ * should not be modified after the {@code IndexedView} is created.
+ * </p>
+ */
+public final class IndexedView {
+    private final View view;
+    private final Map<String, Group> groups;
+    private final boolean hasTransformers;
+    private final boolean hasPostTransformFilters;
+    private final boolean hasPropertiesToRemove;
+    private Group lastGroup;
+
+    public IndexedView(final View view) {
+        if (null == view) {
+            throw new IllegalArgumentException("View is required");
+        }
+        this.view = view;
+
+        final View expandedView;
+        if (hasGlobalDefinitions(view)) {
+            expandedView = view.clone();
+            expandedView.expandGlobalDefinitions();
+        } else {
+            expandedView = view;
+        }
+
+        final Set<String> entityGroups = expandedView.getEntityGroups();
+        final Set<String> edgeGroups = expandedView.getEdgeGroups();
+        groups = new HashMap<>(entityGroups.size() + edgeGroups.size());
+        for (final String group : edgeGroups) {
+            groups.put(group, new Group(group, expandedView.getEdge(group), false));
+        }
+        for (final String group : entityGroups) {
+            groups.put(group, new Group(group, expandedView.getEntity(group), true));
+        }
+
+        boolean transformers = false;
+        boolean postTransformFilters = false;
+        boolean propertiesToRemove = false;
+        for (final Group group : groups.values()) {
+            transformers |= group.hasTransformer();
+            postTransformFilters |= group.hasPostTransformFilter();
+            propertiesToRemove |= group.hasPropertiesToRemove();
+        }
+        this.hasTransformers = transformers;
+        this.hasPostTransformFilters = postTransformFilters;
+        this.hasPropertiesToRemove = propertiesToRemove;
+    }
+
+    public View getView() {
+        return view;
+    }
+
+    /**
+     * @param group the group to look up
+     * @return the indexed group, or null if the group is not in the view
+     */
+    public Group getGroup(final String group) {
+        if (null == group) {
+            return null;
+        }
+
+        final Group last = lastGroup;
+        if (null != last && (last.group == group || last.group.equals(group))) {
+            return last;
+        }
+
+        final Group indexed = groups.get(group);
+        if (null != indexed) {
+            lastGroup = indexed;
+        }
+        return indexed;
+    }
+
+    public boolean hasGroup(final String group) {
+        return null != getGroup(group);
+    }
+
+    public ViewElementDefinition getElement(final String group) {
+        final Group indexed = getGroup(group);
+        return null != indexed ? indexed.getElementDefinition() : null;
+    }
+
+    public boolean hasTransformers() {
+        return hasTransformers;
+    }
+
+    public boolean hasPostTransformFilters() {
+        return hasPostTransformFilters;
+    }
+
+    public boolean hasPropertiesToRemove() {
+        return hasPropertiesToRemove;
+    }
+
+    /**
+     * Removes the properties from the element that are not required by the
+     * view. This is equivalent to
+     * {@link ViewUtil#removeProperties(View, Element)}.
+     *
+     * @param element the element to modify
+     */
+    public void removeProperties(final Element element) {
+        if (hasPropertiesToRemove && null != element) {
+            final Group group = getGroup(element.getGroup());
+            if (null != group) {
+                group.removeProperties(element);
+            }
+        }
+    }
+
+    private static boolean hasGlobalDefinitions(final View view) {
+        return !isEmpty(view.getGlobalElements())
+                || !isEmpty(view.getGlobalEntities())
+                || !isEmpty(view.getGlobalEdges());
+    }
+
+    private static boolean isEmpty(final Collection<?> collection) {
+        return null == collection || collection.isEmpty();
+    }
+
+    /**
+     * A single group of an {@link IndexedView}.
+     */
+    public static final class Group {
+        private final String group;
+        private final boolean entity;
+        private final ViewElementDefinition elementDefinition;
+        private final ElementTransformer transformer;
+        private final ElementFilter postTransformFilter;
+        private final Set<String> propertiesToKeep;
+        private final String[] propertiesToExclude;
+
+        private Group(final String group, final ViewElementDefinition elementDefinition, final boolean entity) {
+            this.group = group;
+            this.entity = entity;
+            this.elementDefinition = elementDefinition;
+
+            if (null == elementDefinition) {
+                transformer = null;
+                postTransformFilter = null;
+                propertiesToKeep = null;
+                propertiesToExclude = null;
+                return;
+            }
+
+            final ElementTransformer elementTransformer = elementDefinition.getTransformer();
+            transformer = null != elementTransformer && !elementTransformer.getComponents().isEmpty()
+                    ? elementTransformer : null;
+            postTransformFilter = elementDefinition.hasPostTransformFilters()
+                    ? elementDefinition.getPostTransformFilter() : null;
+
+            if (elementDefinition.isAllProperties()) {
+                propertiesToKeep = null;
+                propertiesToExclude = null;
+            } else if (null == elementDefinition.getProperties()) {
+                propertiesToKeep = null;
+                propertiesToExclude = elementDefinition.getExcludeProperties().toArray(new String[0]);
+            } else {
+                propertiesToKeep = elementDefinition.getProperties();
+                propertiesToExclude = null;
+            }
+        }
+
+        public String getGroup() {
+            return group;
+        }
+
+        public boolean isEntity() {
+            return entity;
+        }
+
+        public ViewElementDefinition getElementDefinition() {
+            return elementDefinition;
+        }
+
+        /**
+         * @return the transformer, or null if the group has no transform
+         * functions
+         */
+        public ElementTransformer getTransformer() {
+            return transformer;
+        }
+
+        public boolean hasTransformer() {
+            return null != transformer;
+        }
+
+        /**
+         * @return the post transform filter, or null if the group has no post
+         * transform filter functions
+         */
+        public ElementFilter getPostTransformFilter() {
+            return postTransformFilter;
+        }
+
+        public boolean hasPostTransformFilter() {
+            return null != postTransformFilter;
+        }
+
+        public boolean hasPropertiesToRemove() {
+            return null != propertiesToKeep || null != propertiesToExclude;
+        }
+
+        /**
+         * Applies the transformer to the element, if there is one.
+         *
+         * @param element the element to transform
+         * @return the transformed element
+         */
+        public Element transform(final Element element) {
+            return null != transformer ? transformer.apply(element) : element;
+        }
+
+        public boolean testPostTransform(final Element element) {
+            return null == postTransformFilter || postTransformFilter.test(element);
+        }
+
+        public void removeProperties(final Element element) {
+            if (null != propertiesToKeep) {
+                element.getProperties().keepOnly(propertiesToKeep);
+            } else if (null != propertiesToExclude) {
+                for (final String property : propertiesToExclude) {
+                    element.getProperties().remove(property);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.element;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId.MatchedVertex;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiserModules;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ElementJsonSerialiserTest {
+    private static final String ENTITY_JSON = "{\"class\":\"uk.gov.gchq.gaffer.data.element.Entity\",\"group\":\"BasicEntity\","
+            + "\"vertex\":{\"java.lang.Long\":1},\"properties\":{\"count\":{\"java.lang.Long\":2}}}";
+    private static final String EDGE_JSON = "{\"class\":\"uk.gov.gchq.gaffer.data.element.Edge\",\"group\":\"BasicEdge\","
+            + "\"source\":\"a\",\"destination\":{\"java.util.Date\":5},\"directed\":true,\"matchedVertex\":\"DESTINATION\","
+            + "\"properties\":{\"set\":{\"java.util.TreeSet\":[\"x\",\"y\"]},\"int\":3}}";
+
+    @Test
+    public void shouldSerialiseEntityWithTypedValues() throws SerialisationException {
+        // Given
+        final Entity entity = new Entity.Builder()
+                .group("BasicEntity")
+                .vertex(1L)
+                .property("count", 2L)
+                .build();
+
+        // When
+        final byte[] json = JSONSerialiser.serialise(entity);
+
+        // Then
+        assertEquals(ENTITY_JSON, StringUtil.toString(json));
+        assertEquals(entity, JSONSerialiser.deserialise(json, Element.class));
+    }
+
+    @Test
+    public void shouldSerialiseEdgeWithTypedValues() throws SerialisationException {
+        // Given
+        final Edge edge = new Edge.Builder()
+                .group("BasicEdge")
+                .source("a")
+                .dest(new Date(5))
+                .directed(true)
+                .matchedVertex(MatchedVertex.DESTINATION)
+                .property("set", new TreeSet<>(Arrays.asList("x", "y")))
+                .property("int", 3)
+                .build();
+
+        // When
+        final byte[] json = JSONSerialiser.serialise(edge);
+        final Edge deserialised = JSONSerialiser.deserialise(json, Edge.class);
+
+        // Then
+        assertEquals(EDGE_JSON, StringUtil.toString(json));
+        assertEquals(edge, deserialised);
+        assertEquals(MatchedVertex.DESTINATION, deserialised.getMatchedVertex());
+        assertEquals(edge.getProperties(), deserialised.getProperties());
+    }
+
+    @Test
+    public void shouldExcludeFilteredEdgeFields() throws SerialisationException {
+        // Given
+        final Edge edge = new Edge.Builder()
+                .group("BasicEdge")
+                .source("a")
+                .dest("b")
+                .property("int", 3)
+                .build();
+
+        // When
+        final String json = StringUtil.toString(JSONSerialiser.serialise(edge, "properties"));
+
+        // Then
+        assertEquals("{\"class\":\"uk.gov.gchq.gaffer.data.element.Edge\",\"group\":\"BasicEdge\","
+                + "\"source\":\"a\",\"destination\":\"b\",\"directed\":false}", json);
+    }
+
+    @Test
+    public void shouldDeserialiseElementsWithFieldsInAnyOrder() throws SerialisationException {
+        // Given
+        final String json = "[{\"group\":\"BasicEntity\",\"properties\":{\"count\":{\"java.lang.Long\":2}},\"class\":\"Entity\",\"vertex\":{\"java.lang.Long\":1}},"
+                + "{\"class\":\"Edge\",\"unknownField\":{\"a\":[1]},\"directedType\":\"DIRECTED\",\"destination\":\"b\",\"source\":\"a\",\"group\":\"BasicEdge\"}]";
+
+        // When
+        final Element[] elements = JSONSerialiser.deserialise(StringUtil.toBytes(json), Element[].class);
+
+        // Then
+        final List<Element> expected = Arrays.asList(
+                new Entity.Builder().group("BasicEntity").vertex(1L).property("count", 2L).build(),
+                new Edge.Builder().group("BasicEdge").source("a").dest("b").directed(true).build());
+        assertEquals(expected, Arrays.asList(elements));
+        assertEquals(2L, elements[0].getProperty("count"));
+    }
+
+    @Test
+    public void shouldRejectEdgeWithDirectedAndDirectedType() {
+        // Given
+        final String json = "{\"class\":\"Edge\",\"source\":\"a\",\"destination\":\"b\",\"directed\":true,\"directedType\":\"DIRECTED\"}";
+
+        // When
+        final SerialisationException exception = assertThrows(SerialisationException.class,
+                () -> JSONSerialiser.deserialise(StringUtil.toBytes(json), Element.class));
+
+        // Then
+        assertEquals("Instantiation of [simple type, class uk.gov.gchq.gaffer.data.element.Edge] "
+                + "value failed: Use either 'directed' or 'directedType' - not both.", exception.getMessage());
+    }
+
+    @Test
+    public void shouldRegisterElementJsonModulesWithTheServiceLoader() {
+        // Given
+        final List<Class<?>> factoryClasses = new ArrayList<>();
+
+        // When
+        for (final JSONSerialiserModules factory : ServiceLoader.load(JSONSerialiserModules.class)) {
+            factoryClasses.add(factory.getClass());
+        }
+
+        // Then
+        assertTrue(factoryClasses.contains(ElementJsonModules.class));
+    }
+}
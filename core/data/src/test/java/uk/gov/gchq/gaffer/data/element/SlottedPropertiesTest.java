@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.element;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class SlottedPropertiesTest {
+    private static final PropertySlots SLOTS = new PropertySlots(Arrays.asList("count", "name"));
+
+    @Test
+    public void shouldHoldSlotAndOtherProperties() {
+        // Given
+        final SlottedProperties properties = new SlottedProperties(SLOTS);
+
+        // When
+        properties.put("count", 1L);
+        properties.put("other", "value");
+
+        // Then
+        assertThat(properties).hasSize(2);
+        assertEquals(1L, properties.getSlot(0));
+        assertNull(properties.getSlot(1));
+        assertEquals("value", properties.get("other"));
+        assertThat(properties.keySet()).containsExactly("count", "other");
+    }
+
+    @Test
+    public void shouldRemoveSlotPropertyWhenPutWithNullValue() {
+        // Given
+        final SlottedProperties properties = new SlottedProperties(SLOTS);
+        properties.put("count", 1L);
+
+        // When
+        properties.put("count", null);
+
+        // Then
+        assertThat(properties).isEmpty();
+        assertThat(properties.containsKey("count")).isFalse();
+    }
+
+    @Test
+    public void shouldBeEqualToPropertiesWithTheSameValues() {
+        // Given
+        final Properties expected = new Properties();
+        expected.put("count", 1L);
+        expected.put("other", "value");
+
+        final SlottedProperties properties = new SlottedProperties(SLOTS);
+        properties.putSlot(0, 1L);
+        properties.put("other", "value");
+
+        // Then
+        assertEquals(expected, properties);
+        assertEquals(properties, expected);
+        assertEquals(expected.hashCode(), properties.hashCode());
+    }
+
+    @Test
+    public void shouldKeepOnlyRequestedProperties() {
+        // Given
+        final SlottedProperties properties = new SlottedProperties(SLOTS);
+        properties.put("count", 1L);
+        properties.put("name", "a");
+        properties.put("other", "value");
+
+        // When
+        properties.keepOnly(Arrays.asList("name", "other"));
+
+        // Then
+        assertThat(properties).hasSize(2);
+        assertNull(properties.getSlot(0));
+        assertEquals("a", properties.get("name"));
+        assertEquals("value", properties.get("other"));
+    }
+
+    @Test
+    public void shouldCloneIndependently() {
+        // Given
+        final SlottedProperties properties = new SlottedProperties(SLOTS);
+        properties.put("count", 1L);
+        properties.put("other", "value");
+
+        // When
+        final SlottedProperties clone = properties.clone();
+        clone.put("count", 2L);
+        clone.remove("other");
+
+        // Then
+        assertEquals(1L, properties.get("count"));
+        assertEquals("value", properties.get("other"));
+        assertEquals(2L, clone.get("count"));
+        assertThat(clone).hasSize(1);
+    }
+}
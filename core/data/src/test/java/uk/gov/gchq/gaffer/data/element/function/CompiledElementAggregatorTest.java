@@ -0,0 +1,133 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.element.function;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.data.element.PropertySlots;
+import uk.gov.gchq.gaffer.data.element.SlottedProperties;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+import uk.gov.gchq.koryphe.tuple.n.Tuple2;
+
+import java.util.Arrays;
+import java.util.function.BinaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class CompiledElementAggregatorTest {
+
+    @Test
+    public void shouldAggregateLikeElementAggregator() {
+        // Given
+        final ElementAggregator aggregator = createAggregator();
+        final CompiledElementAggregator compiled = aggregator.compile();
+
+        // When
+        final Properties expected = aggregator.apply(createProperties(new Properties(), 1L, 5), createProperties(new Properties(), 2L, 3));
+        final Properties result = compiled.apply(createProperties(new Properties(), 1L, 5), createProperties(new Properties(), 2L, 3));
+
+        // Then
+        assertEquals(expected, result);
+        assertEquals(3L, result.get("count"));
+        assertEquals(5, result.get("max"));
+        assertEquals(3, result.get("min"));
+    }
+
+    @Test
+    public void shouldAggregateSlottedProperties() {
+        // Given
+        final CompiledElementAggregator compiled = createAggregator().compile();
+        final PropertySlots slots = new PropertySlots(Arrays.asList("count", "max", "min"));
+        final Properties state = createProperties(new SlottedProperties(slots), 1L, 5);
+
+        // When
+        final Properties result = compiled.apply(state, createProperties(new SlottedProperties(slots), 2L, 3));
+
+        // Then
+        assertSame(state, result);
+        assertEquals(3L, result.get("count"));
+        assertEquals(5, result.get("max"));
+        assertEquals(3, result.get("min"));
+    }
+
+    @Test
+    public void shouldAggregateSlottedPropertiesWithTheSlotsItWasCompiledWith() {
+        // Given
+        final PropertySlots slots = new PropertySlots(Arrays.asList("min", "max", "count"));
+        final CompiledElementAggregator compiled = createAggregator().compile(slots);
+        final Properties state = createProperties(new SlottedProperties(slots), 1L, 5);
+
+        // When
+        final Properties result = compiled.apply(state, createProperties(new SlottedProperties(slots), 2L, 3));
+
+        // Then
+        assertSame(state, result);
+        assertEquals(3L, ((SlottedProperties) result).getSlot(2));
+        assertEquals(3L, result.get("count"));
+        assertEquals(5, result.get("max"));
+        assertEquals(3, result.get("min"));
+    }
+
+    @Test
+    public void shouldAggregatePropertiesWithOtherSlotsByName() {
+        // Given
+        final CompiledElementAggregator compiled = createAggregator().compile(new PropertySlots(Arrays.asList("min", "max", "count")));
+        final PropertySlots otherSlots = new PropertySlots(Arrays.asList("count"));
+
+        // When
+        final Properties result = compiled.apply(createProperties(new SlottedProperties(otherSlots), 1L, 5),
+                createProperties(new Properties(), 2L, 3));
+
+        // Then
+        assertEquals(3L, result.get("count"));
+        assertEquals(5, result.get("max"));
+        assertEquals(3, result.get("min"));
+    }
+
+    @Test
+    public void shouldReturnPropertiesWhenStateIsNull() {
+        // Given
+        final CompiledElementAggregator compiled = createAggregator().compile();
+        final Properties properties = createProperties(new Properties(), 1L, 5);
+
+        // When
+        final Properties result = compiled.apply(null, properties);
+
+        // Then
+        assertSame(properties, result);
+    }
+
+    private ElementAggregator createAggregator() {
+        final BinaryOperator<Tuple2<Integer, Integer>> maxMin =
+                (t1, t2) -> new Tuple2<>(Math.max(t1.get0(), t2.get0()), Math.min(t1.get1(), t2.get1()));
+        return new ElementAggregator.Builder()
+                .select("count")
+                .execute(new Sum())
+                .select("max", "min")
+                .execute(maxMin)
+                .build();
+    }
+
+    private Properties createProperties(final Properties properties, final long count, final int value) {
+        properties.put("count", count);
+        properties.put("max", value);
+        properties.put("min", value);
+        return properties;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.element.function;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.data.element.PropertySlots;
+import uk.gov.gchq.gaffer.data.element.SlottedProperties;
+import uk.gov.gchq.koryphe.impl.predicate.AreEqual;
+import uk.gov.gchq.koryphe.impl.predicate.Exists;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompiledElementFilterTest {
+
+    @Test
+    public void shouldMatchElementFilterForPropertiesAndIdentifiers() {
+        // Given
+        final ElementFilter filter = new ElementFilter.Builder()
+                .select("count")
+                .execute(new IsMoreThan(5L))
+                .select("SOURCE", "DESTINATION")
+                .execute(new AreEqual())
+                .select("ELEMENT")
+                .execute(new Exists())
+                .build();
+
+        // When
+        final CompiledElementFilter compiled = filter.compile();
+
+        // Then
+        for (final long count : new long[]{3L, 6L}) {
+            for (final String dest : new String[]{"a", "b"}) {
+                final Edge edge = createEdge(dest, new Properties("count", count));
+                assertEquals(filter.test(edge), compiled.test(edge), "count=" + count + ", dest=" + dest);
+            }
+        }
+    }
+
+    @Test
+    public void shouldReadSlottedProperties() {
+        // Given
+        final PropertySlots slots = new PropertySlots(Arrays.asList("other", "count"));
+        final CompiledElementFilter compiled = new ElementFilter.Builder()
+                .select("count")
+                .execute(new IsMoreThan(5L))
+                .build()
+                .compile(slots);
+        final SlottedProperties passing = new SlottedProperties(slots);
+        passing.put("count", 6L);
+        final SlottedProperties failing = new SlottedProperties(slots);
+        failing.put("count", 3L);
+        final SlottedProperties otherSlots = new SlottedProperties(new PropertySlots(Arrays.asList("count")));
+        otherSlots.put("count", 6L);
+
+        // When / Then
+        assertTrue(compiled.test(createEdge("b", passing)));
+        assertFalse(compiled.test(createEdge("b", failing)));
+        assertTrue(compiled.test(createEdge("b", otherSlots)));
+        assertTrue(compiled.test(createEdge("b", new Properties("count", 6L))));
+    }
+
+    @Test
+    public void shouldAcceptAllElementsWhenEmpty() {
+        // Given
+        final CompiledElementFilter compiled = new ElementFilter().compile();
+
+        // When / Then
+        assertTrue(compiled.isEmpty());
+        assertTrue(compiled.test(createEdge("b", new Properties())));
+    }
+
+    @Test
+    public void shouldNotReflectChangesMadeAfterCompiling() {
+        // Given
+        final ElementFilter filter = new ElementFilter.Builder()
+                .select("count")
+                .execute(new IsMoreThan(5L))
+                .build();
+        final CompiledElementFilter compiled = filter.compile();
+
+        // When
+        filter.getComponents().clear();
+
+        // Then
+        assertFalse(compiled.test(createEdge("b", new Properties("count", 3L))));
+    }
+
+    private Edge createEdge(final String dest, final Properties properties) {
+        return new Edge("group", "a", dest, true, null, properties);
+    }
+}
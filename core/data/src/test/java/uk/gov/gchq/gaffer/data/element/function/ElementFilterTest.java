@@ -31,6 +31,7 @@ import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
 
 import java.util.List;
 import java.util.function.Predicate;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -274,6 +275,24 @@ public class ElementFilterTest extends JSONSerialisationTest<ElementFilter> {
         assertTrue(result4);
     }
 
+    @Test
+    public void shouldTestElementsFromMultipleThreads() {
+        // Given
+        final ElementFilter filter = new ElementFilter.Builder()
+                .select(TestPropertyNames.PROP_1)
+                .execute(new IsMoreThan(500))
+                .build();
+
+        // When
+        final long count = IntStream.range(0, 1000)
+                .parallel()
+                .filter(i -> filter.test(makeEntity(i)))
+                .count();
+
+        // Then
+        assertEquals(499, count);
+    }
+
     @Test
     public void shouldReturnUnmodifiableComponentsWhenLocked() {
         final ElementFilter filter = getTestObject();
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.elementdefinition.view;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.koryphe.impl.function.ToString;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IndexedViewTest {
+
+    @Test
+    public void shouldThrowExceptionWhenViewIsNull() {
+        assertThrows(IllegalArgumentException.class, () -> new IndexedView(null));
+    }
+
+    @Test
+    public void shouldIndexGroupsWithoutFunctions() {
+        // Given
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE)
+                .entity(TestGroups.ENTITY)
+                .build();
+
+        // When
+        final IndexedView indexedView = new IndexedView(view);
+
+        // Then
+        assertSame(view, indexedView.getView());
+        assertTrue(indexedView.hasGroup(TestGroups.EDGE));
+        assertTrue(indexedView.getGroup(TestGroups.ENTITY).isEntity());
+        assertFalse(indexedView.getGroup(TestGroups.EDGE).isEntity());
+        assertSame(view.getEdge(TestGroups.EDGE), indexedView.getElement(TestGroups.EDGE));
+        assertNull(indexedView.getGroup(TestGroups.EDGE_2));
+        assertNull(indexedView.getGroup(null));
+        assertFalse(indexedView.hasTransformers());
+        assertFalse(indexedView.hasPostTransformFilters());
+        assertFalse(indexedView.hasPropertiesToRemove());
+    }
+
+    @Test
+    public void shouldExpandGlobalDefinitionsWithoutModifyingView() {
+        // Given
+        final View view = new View.Builder()
+                .globalElements(new GlobalViewElementDefinition.Builder()
+                        .postTransformFilter(new ElementFilter.Builder()
+                                .select(TestPropertyNames.PROP_1)
+                                .execute(new IsMoreThan(5))
+                                .build())
+                        .build())
+                .edge(TestGroups.EDGE)
+                .build();
+
+        // When
+        final IndexedView indexedView = new IndexedView(view);
+
+        // Then
+        final IndexedView.Group group = indexedView.getGroup(TestGroups.EDGE);
+        assertTrue(indexedView.hasPostTransformFilters());
+        assertTrue(group.hasPostTransformFilter());
+        assertFalse(group.testPostTransform(createEdge(3)));
+        assertTrue(group.testPostTransform(createEdge(10)));
+        assertEquals(1, view.getGlobalElements().size());
+        assertFalse(view.getEdge(TestGroups.EDGE).hasPostTransformFilters());
+    }
+
+    @Test
+    public void shouldTransformAndRemoveProperties() {
+        // Given
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .transformer(new ElementTransformer.Builder()
+                                .select(TestPropertyNames.PROP_1)
+                                .execute(new ToString())
+                                .project(TestPropertyNames.PROP_3)
+                                .build())
+                        .excludeProperties(TestPropertyNames.PROP_2)
+                        .build())
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .properties(TestPropertyNames.PROP_1)
+                        .build())
+                .build();
+        final IndexedView indexedView = new IndexedView(view);
+        final Element edge = createEdge(1);
+        final Element entity = new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("vertex")
+                .property(TestPropertyNames.PROP_1, 1)
+                .property(TestPropertyNames.PROP_2, 2)
+                .build();
+
+        // When
+        indexedView.getGroup(TestGroups.EDGE).transform(edge);
+        indexedView.removeProperties(edge);
+        indexedView.removeProperties(entity);
+
+        // Then
+        assertTrue(indexedView.hasTransformers());
+        assertTrue(indexedView.hasPropertiesToRemove());
+        assertEquals(1, edge.getProperty(TestPropertyNames.PROP_1));
+        assertNull(edge.getProperty(TestPropertyNames.PROP_2));
+        assertEquals("1", edge.getProperty(TestPropertyNames.PROP_3));
+        assertEquals(1, entity.getProperties().size());
+        assertEquals(1, entity.getProperty(TestPropertyNames.PROP_1));
+    }
+
+    private Element createEdge(final int prop1) {
+        return new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("source")
+                .dest("dest")
+                .property(TestPropertyNames.PROP_1, prop1)
+                .property(TestPropertyNames.PROP_2, 2)
+                .build();
+    }
+}
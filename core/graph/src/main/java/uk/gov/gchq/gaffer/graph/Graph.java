@@ -22,12 +22,15 @@ import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import uk.gov.gchq.gaffer.cache.impl.ConcurrentCache;
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.StreamUtil;
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.GlobalViewElementDefinition;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.NamedView;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.graph.hook.FunctionAuthoriser;
 import uk.gov.gchq.gaffer.graph.hook.FunctionAuthoriserUtil;
 import uk.gov.gchq.gaffer.graph.hook.GraphHook;
@@ -63,6 +66,8 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -104,6 +109,13 @@ public final class Graph {
 
     private GraphConfig config;
 
+    /**
+     * Operation views after they have been merged with the graph view and
+     * expanded, keyed by the view supplied with the operation.
+     */
+    private final ConcurrentCache<ViewKey, View> viewCache;
+    private volatile Schema viewCacheSchema;
+
     /**
      * Constructs a {@code Graph} with the given {@link uk.gov.gchq.gaffer.store.Store}
      * and
@@ -118,6 +130,13 @@ public final class Graph {
     private Graph(final GraphConfig config, final Store store) {
         this.config = config;
         this.store = store;
+
+        final StoreProperties properties = store.getProperties();
+        final int viewCacheSize = null != properties && null != properties.getGraphViewCacheSize()
+                ? properties.getGraphViewCacheSize() : 0;
+        this.viewCache = viewCacheSize > 0
+                ? new ConcurrentCache<>(viewCacheSize, ConcurrentCache.UNBOUNDED, false, false)
+                : null;
     }
 
     /**
@@ -358,43 +377,82 @@ public final class Graph {
             if (operation instanceof Operations) {
                 updateOperationChainView((Operations) operation);
             } else if (operation instanceof OperationView) {
-                View opView = ((OperationView) operation).getView();
-                if (null == opView) {
-                    opView = config.getView();
-                } else if (!(opView instanceof NamedView) && !opView.hasGroups() && !opView.isAllEdges() && !opView.isAllEntities()) {
-
-                    // If we have either global elements or nothing at all then
-                    // merge with both Entities and Edges
-                    if (!isEmpty(opView.getGlobalElements()) || (isEmpty(opView.getGlobalEdges()) && isEmpty(opView.getGlobalEntities()))) {
-                        opView = new View.Builder().merge(config.getView()).merge(opView).build();
-                    } else { // We have either global edges or entities in
-                             // opView, but not both
-                        final View originalView = opView;
-                        final View partialConfigView = new View.Builder()
-                                .merge(config.getView())
-                                .removeEdges((x -> isEmpty(originalView.getGlobalEdges())))
-                                .removeEntities((x -> isEmpty(originalView.getGlobalEntities())))
-                                .build();
-                        opView = new View.Builder().merge(partialConfigView)
-                                .merge(opView)
-                                .build();
+                ((OperationView) operation).setView(getExpandedView(((OperationView) operation).getView()));
+            }
+        }
+    }
+
+    /**
+     * Gets the view to use for an operation. Expanded views are cached when
+     * the view cache is enabled. A cached view is locked and shared by every
+     * operation with an equal view, so it must not be modified. Views that
+     * already specify their groups only need their global definitions
+     * expanding, so these are not cached.
+     */
+    private View getExpandedView(final View opView) {
+        if (null == viewCache || (null != opView
+                && (View.class != opView.getClass()
+                || (opView.hasGroups() && !opView.isAllEdges() && !opView.isAllEntities())))) {
+            return expandView(opView);
+        }
+
+        final Schema schema = getSchema();
+        if (schema != viewCacheSchema) {
+            viewCache.clear();
+            viewCacheSchema = schema;
+        }
+
+        final View cachedView = viewCache.get(new ViewKey(opView));
+        if (null != cachedView) {
+            return cachedView;
+        }
+
+        // The key is a copy, so later changes to the operation view cannot
+        // change the cache. Building the expanded view again locks it.
+        final ViewKey key = new ViewKey(null == opView ? null : opView.clone());
+        final View expandedView = new View.Builder()
+                .merge(expandView(opView))
+                .build();
+        viewCache.put(key, expandedView);
+        return expandedView;
+    }
+
+    private View expandView(final View view) {
+        View opView = view;
+        if (null == opView) {
+            opView = config.getView();
+        } else if (!(opView instanceof NamedView) && !opView.hasGroups() && !opView.isAllEdges() && !opView.isAllEntities()) {
+
+            // If we have either global elements or nothing at all then
+            // merge with both Entities and Edges
+            if (!isEmpty(opView.getGlobalElements()) || (isEmpty(opView.getGlobalEdges()) && isEmpty(opView.getGlobalEntities()))) {
+                opView = new View.Builder().merge(config.getView()).merge(opView).build();
+            } else { // We have either global edges or entities in
+                     // opView, but not both
+                final View originalView = opView;
+                final View partialConfigView = new View.Builder()
+                        .merge(config.getView())
+                        .removeEdges((x -> isEmpty(originalView.getGlobalEdges())))
+                        .removeEntities((x -> isEmpty(originalView.getGlobalEntities())))
+                        .build();
+                opView = new View.Builder().merge(partialConfigView)
+                        .merge(opView)
+                        .build();
 
-                    }
-                } else if (opView.isAllEdges() || opView.isAllEntities()) {
-                    View.Builder opViewBuilder = new View.Builder()
-                            .merge(opView);
-                    if (opView.isAllEdges()) {
-                        opViewBuilder.edges(getSchema().getEdgeGroups());
-                    }
-                    if (opView.isAllEntities()) {
-                        opViewBuilder.entities(getSchema().getEntityGroups());
-                    }
-                    opView = opViewBuilder.build();
-                }
-                opView.expandGlobalDefinitions();
-                ((OperationView) operation).setView(opView);
             }
+        } else if (opView.isAllEdges() || opView.isAllEntities()) {
+            View.Builder opViewBuilder = new View.Builder()
+                    .merge(opView);
+            if (opView.isAllEdges()) {
+                opViewBuilder.edges(getSchema().getEdgeGroups());
+            }
+            if (opView.isAllEntities()) {
+                opViewBuilder.entities(getSchema().getEntityGroups());
+            }
+            opView = opViewBuilder.build();
         }
+        opView.expandGlobalDefinitions();
+        return opView;
     }
 
     /**
@@ -498,6 +556,80 @@ public final class Graph {
         O execute(final OperationChain<O> operation, final Context context) throws OperationException;
     }
 
+    /**
+     * Key for the view cache. {@link View#equals(Object)} does not compare the
+     * aggregator or the included and excluded properties of the element
+     * definitions, so these are compared as well.
+     */
+    private static final class ViewKey {
+        private final View view;
+        private final int hashCode;
+
+        private ViewKey(final View view) {
+            this.view = view;
+            this.hashCode = null == view ? 0 : view.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (null == obj || getClass() != obj.getClass()) {
+                return false;
+            }
+
+            final View other = ((ViewKey) obj).view;
+            if (null == view || null == other) {
+                return view == other;
+            }
+
+            return hashCode == obj.hashCode()
+                    && view.equals(other)
+                    && haveEqualDetails(view.getEntities(), other.getEntities())
+                    && haveEqualDetails(view.getEdges(), other.getEdges())
+                    && haveEqualDetails(view.getGlobalElements(), other.getGlobalElements())
+                    && haveEqualDetails(view.getGlobalEntities(), other.getGlobalEntities())
+                    && haveEqualDetails(view.getGlobalEdges(), other.getGlobalEdges());
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        private static boolean haveEqualDetails(final Map<String, ViewElementDefinition> defs, final Map<String, ViewElementDefinition> otherDefs) {
+            for (final Map.Entry<String, ViewElementDefinition> entry : defs.entrySet()) {
+                if (!haveEqualDetails(entry.getValue(), otherDefs.get(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean haveEqualDetails(final List<GlobalViewElementDefinition> defs, final List<GlobalViewElementDefinition> otherDefs) {
+            if (null == defs || null == otherDefs) {
+                return defs == otherDefs;
+            }
+            for (int i = 0; i < defs.size(); i++) {
+                if (!haveEqualDetails(defs.get(i), otherDefs.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean haveEqualDetails(final ViewElementDefinition def, final ViewElementDefinition otherDef) {
+            if (null == def || null == otherDef) {
+                return def == otherDef;
+            }
+            return Objects.equals(def.getAggregator(), otherDef.getAggregator())
+                    && Objects.equals(def.getProperties(), otherDef.getProperties())
+                    && Objects.equals(def.getExcludeProperties(), otherDef.getExcludeProperties());
+        }
+    }
+
     /**
      * <p>
      * Builder for {@link Graph}.
@@ -15,33 +15,70 @@
  */
 package uk.gov.gchq.gaffer.graph.hook;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.commonutil.exception.UnauthorisedException;
-import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.io.Input;
 import uk.gov.gchq.gaffer.store.Context;
-import uk.gov.gchq.koryphe.serialisation.json.SimpleClassNameCache;
 
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Function;
 
 /**
  * The FunctionAuthoriser is a {@link GraphHook} which stops a user running
  * Functions which have been banned. The Authoriser can be configured with
  * unauthorised function classes.
+ * <p>
+ * The operation chain is checked by walking the objects reachable from it
+ * through their non static, non transient fields, including the contents of
+ * iterables, maps, arrays and JDK holders such as {@link Optional} and
+ * {@link AtomicReference}. The check stops at the first unauthorised function
+ * found. Class names held in strings, for example in the operation chain json
+ * of a named operation, are also checked. Values such as numbers, dates and
+ * enums cannot hold functions, so they are not walked. The input of the first
+ * operation is not checked, as it may be large and does not contain functions.
+ * Closeable iterables are not iterated, as that could consume or trigger the
+ * retrieval of results. Objects nested more than {@value #MAX_DEPTH} levels
+ * deep are checked by searching their json for unauthorised class names instead.
  */
 @JsonPropertyOrder(alphabetic = true)
 public class FunctionAuthoriser implements GraphHook {
 
     private static final String ERROR_MESSAGE_PREFIX = "Operation chain contained an unauthorised function: ";
     private static final Logger LOGGER = LoggerFactory.getLogger(FunctionAuthoriser.class);
+    private static final Map<Class<?>, Field[]> FIELDS = new ConcurrentHashMap<>();
+    private static final Field[] NO_FIELDS = new Field[0];
+    private static final int MAX_DEPTH = 64;
+    private static final ObjectWriter CLASS_NAME_WRITER = createClassNameWriter();
 
     private List<Class<? extends Function>> unauthorisedFunctions;
+    private final Map<Class<?>, Class<?>> unauthorisedByClass = new ConcurrentHashMap<>();
 
     public FunctionAuthoriser() {
     }
@@ -56,39 +93,176 @@ public class FunctionAuthoriser implements GraphHook {
             return;
         }
 
-        Object input = null;
-        // Null the input to avoid serialising potentially large inputs
+        final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        // Skip the input to avoid walking potentially large inputs
         if (opChain.getOperations().size() > 0 && opChain.getOperations().get(0) instanceof Input) {
-            input = ((Input) opChain.getOperations().get(0)).getInput();
-            ((Input) opChain.getOperations().get(0)).setInput(null);
+            final Object input = ((Input<?>) opChain.getOperations().get(0)).getInput();
+            if (null != input) {
+                visited.add(input);
+            }
         }
 
-        SimpleClassNameCache.setUseFullNameForSerialisation(true);
-        String chainString;
+        final Deque<Node> toVisit = new ArrayDeque<>();
+        toVisit.push(new Node(opChain, 0));
+        while (!toVisit.isEmpty()) {
+            final Node node = toVisit.pop();
+            final Object obj = node.value;
+            if (obj instanceof CharSequence) {
+                checkString(obj.toString());
+            } else if (obj instanceof Class) {
+                checkString(((Class<?>) obj).getName());
+            } else if (visited.add(obj)) {
+                checkClass(obj.getClass());
+                if (node.depth < MAX_DEPTH) {
+                    addChildren(obj, node.depth + 1, toVisit);
+                } else {
+                    checkJson(obj);
+                }
+            }
+        }
+    }
+
+    private void addChildren(final Object obj, final int depth, final Deque<Node> toVisit) {
+        final Class<?> clazz = obj.getClass();
+        if (clazz.isArray()) {
+            if (!clazz.getComponentType().isPrimitive()) {
+                final int length = Array.getLength(obj);
+                for (int i = 0; i < length; i++) {
+                    push(Array.get(obj, i), depth, toVisit);
+                }
+            }
+        } else if (obj instanceof Map) {
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) obj).entrySet()) {
+                push(entry.getKey(), depth, toVisit);
+                push(entry.getValue(), depth, toVisit);
+            }
+        } else if (obj instanceof Map.Entry) {
+            push(((Map.Entry<?, ?>) obj).getKey(), depth, toVisit);
+            push(((Map.Entry<?, ?>) obj).getValue(), depth, toVisit);
+        } else if (obj instanceof Optional) {
+            push(((Optional<?>) obj).orElse(null), depth, toVisit);
+        } else if (obj instanceof AtomicReference) {
+            push(((AtomicReference<?>) obj).get(), depth, toVisit);
+        } else if (obj instanceof AtomicReferenceArray) {
+            final AtomicReferenceArray<?> array = (AtomicReferenceArray<?>) obj;
+            for (int i = 0; i < array.length(); i++) {
+                push(array.get(i), depth, toVisit);
+            }
+        } else if (obj instanceof Iterable) {
+            if (obj instanceof AutoCloseable) {
+                LOGGER.debug("Skipping closeable iterable {}", clazz.getName());
+            } else {
+                for (final Object item : (Iterable<?>) obj) {
+                    push(item, depth, toVisit);
+                }
+            }
+        } else {
+            for (final Field field : getFields(clazz)) {
+                try {
+                    push(field.get(obj), depth, toVisit);
+                } catch (final IllegalAccessException | RuntimeException e) {
+                    LOGGER.debug("Unable to read field {} of {}: {}", field.getName(), clazz.getName(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static void push(final Object obj, final int depth, final Deque<Node> toVisit) {
+        if (null != obj && !isLeaf(obj.getClass())) {
+            toVisit.push(new Node(obj, depth));
+        }
+    }
+
+    /**
+     * Returns true for types that are known not to be, or to hold, functions.
+     */
+    private static boolean isLeaf(final Class<?> clazz) {
+        return clazz.isPrimitive() || clazz.isEnum()
+                || Number.class.isAssignableFrom(clazz)
+                || Boolean.class == clazz || Character.class == clazz
+                || Date.class.isAssignableFrom(clazz)
+                || TemporalAccessor.class.isAssignableFrom(clazz)
+                || UUID.class == clazz;
+    }
+
+    /**
+     * Creates a writer without the simple class name support of the
+     * {@link JSONSerialiser}, so the json always contains full class names
+     * without changing the global simple class name setting.
+     */
+    private static ObjectWriter createClassNameWriter() {
+        final ObjectMapper mapper = new ObjectMapper();
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+        return mapper.writer(JSONSerialiser.getFilterProvider());
+    }
+
+    private void checkJson(final Object obj) {
+        final String json;
         try {
-            chainString = new String(JSONSerialiser.serialise(opChain));
-        } catch (final SerialisationException e) {
-            // This should never happen in real life as operation chains should
-            // always be json serialisable. However this could happen if using a
-            // mock in testing. To account for this, it will be logged.
-            LOGGER.warn("Failed to serialise operation chain: {} due to {}", opChain, e.getMessage());
+            json = CLASS_NAME_WRITER.writeValueAsString(obj);
+        } catch (final JsonProcessingException e) {
+            LOGGER.warn("Failed to serialise deeply nested object: {} due to {}", obj, e.getMessage());
             return;
-        } finally {
-            if (input != null) {
-                // The only way input could have been set to non null value would
-                // be if the first operation was an Input operation.
-                ((Input) opChain.getOperations().get(0)).setInput(input);
+        }
+        checkString(json);
+    }
+
+    private static Field[] getFields(final Class<?> clazz) {
+        return FIELDS.computeIfAbsent(clazz, FunctionAuthoriser::findFields);
+    }
+
+    private static Field[] findFields(final Class<?> clazz) {
+        final List<Field> fields = new ArrayList<>();
+        for (Class<?> current = clazz; null != current && !isJdkClass(current); current = current.getSuperclass()) {
+            for (final Field field : current.getDeclaredFields()) {
+                final int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)
+                        || field.getType().isPrimitive() || isLeaf(field.getType())) {
+                    continue;
+                }
+                try {
+                    field.setAccessible(true);
+                    fields.add(field);
+                } catch (final RuntimeException e) {
+                    LOGGER.debug("Unable to access field {} of {}: {}", field.getName(), current.getName(), e.getMessage());
+                }
             }
         }
+        return fields.isEmpty() ? NO_FIELDS : fields.toArray(new Field[fields.size()]);
+    }
+
+    private static boolean isJdkClass(final Class<?> clazz) {
+        final String name = clazz.getName();
+        return name.startsWith("java.") || name.startsWith("javax.")
+                || name.startsWith("sun.") || name.startsWith("com.sun.") || name.startsWith("jdk.");
+    }
+
+    private void checkClass(final Class<?> clazz) {
+        final Class<?> unauthorised = unauthorisedByClass.computeIfAbsent(clazz, this::findUnauthorisedFunction);
+        if (Function.class != unauthorised) {
+            throw new UnauthorisedException(ERROR_MESSAGE_PREFIX + unauthorised.getName());
+        }
+    }
 
-        checkNoUnauthorisedFunctionsArePresent(chainString);
+    /**
+     * Returns the unauthorised function the class is, or extends, or
+     * {@link Function} itself as a marker if the class is authorised.
+     */
+    private Class<?> findUnauthorisedFunction(final Class<?> clazz) {
+        for (final Class<?> unauthorisedFunction : unauthorisedFunctions) {
+            if (unauthorisedFunction.isAssignableFrom(clazz)) {
+                return unauthorisedFunction;
+            }
+        }
+        return Function.class;
     }
 
-    private void checkNoUnauthorisedFunctionsArePresent(final String chainString) {
-        for (final Class<? extends Function> blacklistedFunction : unauthorisedFunctions) {
-            if (chainString.contains(blacklistedFunction.getName())) {
+    private void checkString(final String value) {
+        for (final Class<?> unauthorisedFunction : unauthorisedFunctions) {
+            if (value.contains(unauthorisedFunction.getName())) {
                 throw new UnauthorisedException(ERROR_MESSAGE_PREFIX +
-                        blacklistedFunction.getName());
+                        unauthorisedFunction.getName());
             }
         }
     }
@@ -99,5 +273,16 @@ public class FunctionAuthoriser implements GraphHook {
 
     public void setUnauthorisedFunctions(final List<Class<? extends Function>> unauthorisedFunctions) {
         this.unauthorisedFunctions = unauthorisedFunctions;
+        unauthorisedByClass.clear();
+    }
+
+    private static final class Node {
+        private final Object value;
+        private final int depth;
+
+        private Node(final Object value, final int depth) {
+            this.value = value;
+            this.depth = depth;
+        }
     }
 }
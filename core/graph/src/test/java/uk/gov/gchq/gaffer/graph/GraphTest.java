@@ -113,6 +113,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
@@ -2489,6 +2490,146 @@ public class GraphTest {
 
     }
 
+    @Test
+    public void shouldShareALockedExpandedViewBetweenOperationsWithEqualViews() throws OperationException {
+        // Given
+        final Schema schema = Schema.fromJson(StreamUtil.schemas(getClass()));
+        final StoreProperties storeProperties = new StoreProperties();
+        storeProperties.setGraphViewCacheSize(10);
+        final Store store = mock(Store.class);
+        final ArgumentCaptor<OperationChain> capturedOperation = ArgumentCaptor.forClass(OperationChain.class);
+        given(store.getSchema()).willReturn(schema);
+        given(store.getProperties()).willReturn(storeProperties);
+
+        final Graph graph = new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId(GRAPH_ID)
+                        .build())
+                .storeProperties(StreamUtil.storeProps(getClass()))
+                .store(store)
+                .addSchema(schema)
+                .build();
+
+        // When
+        graph.execute(new GetElements.Builder()
+                .view(new View.Builder()
+                        .allEdges(true)
+                        .build())
+                .build(), context);
+        graph.execute(new GetElements.Builder()
+                .view(new View.Builder()
+                        .allEdges(true)
+                        .build())
+                .build(), context);
+
+        // Then
+        verify(store, Mockito.times(2)).execute(capturedOperation.capture(), any(Context.class));
+        final View firstView = ((GetElements) capturedOperation.getAllValues().get(0).getOperations().get(0)).getView();
+        final View secondView = ((GetElements) capturedOperation.getAllValues().get(1).getOperations().get(0)).getView();
+        assertSame(firstView, secondView);
+        assertEquals(schema.getEdgeGroups(), firstView.getEdgeGroups());
+        assertThrows(UnsupportedOperationException.class, () -> firstView.getEdges().clear());
+    }
+
+    @Test
+    public void shouldNotReuseCachedExpandedViewForViewWithDifferentProperties() throws OperationException {
+        // Given
+        final Schema schema = Schema.fromJson(StreamUtil.schemas(getClass()));
+        final StoreProperties storeProperties = new StoreProperties();
+        storeProperties.setGraphViewCacheSize(10);
+        final Store store = mock(Store.class);
+        given(store.getSchema()).willReturn(schema);
+        given(store.getProperties()).willReturn(storeProperties);
+
+        // Records the expanded views before the graph updates them again
+        final List<View> expandedViews = new ArrayList<>();
+        final GraphHook viewRecorder = new GraphHook() {
+            @Override
+            public void preExecute(final OperationChain<?> opChain, final Context context) {
+                expandedViews.add(((GetElements) opChain.getOperations().get(0)).getView().clone());
+            }
+        };
+
+        final Graph graph = new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId(GRAPH_ID)
+                        .addHook(viewRecorder)
+                        .build())
+                .storeProperties(StreamUtil.storeProps(getClass()))
+                .store(store)
+                .addSchema(schema)
+                .build();
+
+        // When
+        graph.execute(new GetElements.Builder()
+                .view(new View.Builder()
+                        .allEdges(true)
+                        .globalEdges(new GlobalViewElementDefinition.Builder()
+                                .properties(TestPropertyNames.COUNT)
+                                .build())
+                        .build())
+                .build(), context);
+        graph.execute(new GetElements.Builder()
+                .view(new View.Builder()
+                        .allEdges(true)
+                        .globalEdges(new GlobalViewElementDefinition.Builder()
+                                .excludeProperties(TestPropertyNames.COUNT)
+                                .build())
+                        .build())
+                .build(), context);
+
+        // Then
+        assertEquals(2, expandedViews.size());
+        final View firstView = expandedViews.get(0);
+        final View secondView = expandedViews.get(1);
+        for (final String group : schema.getEdgeGroups()) {
+            assertEquals(Sets.newHashSet(TestPropertyNames.COUNT), firstView.getEdge(group).getProperties());
+            assertNull(firstView.getEdge(group).getExcludeProperties());
+            assertEquals(Sets.newHashSet(TestPropertyNames.COUNT), secondView.getEdge(group).getExcludeProperties());
+            assertNull(secondView.getEdge(group).getProperties());
+        }
+    }
+
+    @Test
+    public void shouldNotReuseExpandedViewWhenViewCacheDisabled() throws OperationException {
+        // Given
+        final Schema schema = Schema.fromJson(StreamUtil.schemas(getClass()));
+        final StoreProperties storeProperties = new StoreProperties();
+        storeProperties.setGraphViewCacheSize(0);
+        final Store store = mock(Store.class);
+        final ArgumentCaptor<OperationChain> capturedOperation = ArgumentCaptor.forClass(OperationChain.class);
+        given(store.getSchema()).willReturn(schema);
+        given(store.getProperties()).willReturn(storeProperties);
+
+        final Graph graph = new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId(GRAPH_ID)
+                        .build())
+                .storeProperties(StreamUtil.storeProps(getClass()))
+                .store(store)
+                .addSchema(schema)
+                .build();
+
+        // When
+        graph.execute(new GetElements.Builder()
+                .view(new View.Builder()
+                        .allEdges(true)
+                        .build())
+                .build(), context);
+        graph.execute(new GetElements.Builder()
+                .view(new View.Builder()
+                        .allEdges(true)
+                        .build())
+                .build(), context);
+
+        // Then
+        verify(store, Mockito.times(2)).execute(capturedOperation.capture(), any(Context.class));
+        final View firstView = ((GetElements) capturedOperation.getAllValues().get(0).getOperations().get(0)).getView();
+        final View secondView = ((GetElements) capturedOperation.getAllValues().get(1).getOperations().get(0)).getView();
+        assertNotSame(firstView, secondView);
+        assertEquals(firstView, secondView);
+    }
+
     @Test
     public void shouldExpandAllEdges() throws OperationException {
         final Schema twoEdgesNoEntities = new Schema.Builder()
@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.graph.hook;
 
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.google.common.collect.Lists;
 import org.junit.jupiter.api.Test;
 
@@ -27,9 +28,11 @@ import uk.gov.gchq.gaffer.data.elementdefinition.view.GlobalViewElementDefinitio
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.named.operation.AddNamedOperation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.function.ToEntityId;
+import uk.gov.gchq.gaffer.operation.impl.ForEach;
 import uk.gov.gchq.gaffer.operation.impl.Map;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
@@ -43,10 +46,12 @@ import uk.gov.gchq.koryphe.tuple.function.TupleAdaptedFunction;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.Mockito.spy;
 
 public class FunctionAuthoriserTest extends GraphHookTest<FunctionAuthoriser> {
@@ -95,6 +100,109 @@ public class FunctionAuthoriserTest extends GraphHookTest<FunctionAuthoriser> {
 
     }
 
+    @Test
+    public void shouldNotAllowUnauthorisedFunctionsInNestedOperations() {
+        // Given
+        final OperationChain<?> chain = new OperationChain.Builder()
+                .first(new GetAllElements())
+                .then(new ForEach.Builder<>()
+                        .operation(generateOperation(ToString.class, DivideBy.class))
+                        .build())
+                .build();
+        final FunctionAuthoriser functionAuthoriser = new FunctionAuthoriser(Lists.newArrayList(DivideBy.class));
+
+        // When / Then
+        assertThatExceptionOfType(UnauthorisedException.class)
+                .isThrownBy(() -> functionAuthoriser.preExecute(chain, new Context()))
+                .withMessage("Operation chain contained an unauthorised function: uk.gov.gchq.koryphe.impl.function.DivideBy");
+    }
+
+    @Test
+    public void shouldNotAllowUnauthorisedFunctionsInNamedOperationJson() {
+        // Given
+        final OperationChain<?> chain = new OperationChain.Builder()
+                .first(new AddNamedOperation.Builder()
+                        .name("namedOp")
+                        .operationChain("{\"operations\":[{\"class\":\"uk.gov.gchq.gaffer.operation.impl.Map\","
+                                + "\"functions\":[{\"class\":\"uk.gov.gchq.koryphe.impl.function.DivideBy\",\"by\":2}]}]}")
+                        .build())
+                .build();
+        final FunctionAuthoriser functionAuthoriser = new FunctionAuthoriser(Lists.newArrayList(DivideBy.class));
+
+        // When / Then
+        assertThatExceptionOfType(UnauthorisedException.class)
+                .isThrownBy(() -> functionAuthoriser.preExecute(chain, new Context()))
+                .withMessage("Operation chain contained an unauthorised function: uk.gov.gchq.koryphe.impl.function.DivideBy");
+    }
+
+    @Test
+    public void shouldNotAllowUnauthorisedFunctionsNestedInAnOptional() {
+        // Given
+        final OperationChain<?> chain = new OperationChain<>(new Map.Builder<>()
+                .first(new OptionalFunction(new DivideBy(2)))
+                .build());
+        final FunctionAuthoriser functionAuthoriser = new FunctionAuthoriser(Lists.newArrayList(DivideBy.class));
+
+        // When / Then
+        assertThatExceptionOfType(UnauthorisedException.class)
+                .isThrownBy(() -> functionAuthoriser.preExecute(chain, new Context()))
+                .withMessage("Operation chain contained an unauthorised function: uk.gov.gchq.koryphe.impl.function.DivideBy");
+    }
+
+    @Test
+    public void shouldNotAllowUnauthorisedFunctionsNestedBeyondTheMaximumDepth() {
+        // Given
+        Function<Object, Object> function = new OptionalFunction(new DivideBy(2));
+        for (int i = 0; i < 100; i++) {
+            function = new OptionalFunction(function);
+        }
+        final OperationChain<?> chain = new OperationChain<>(new Map.Builder<>()
+                .first(function)
+                .build());
+        final FunctionAuthoriser functionAuthoriser = new FunctionAuthoriser(Lists.newArrayList(DivideBy.class));
+
+        // When / Then
+        assertThatExceptionOfType(UnauthorisedException.class)
+                .isThrownBy(() -> functionAuthoriser.preExecute(chain, new Context()))
+                .withMessage("Operation chain contained an unauthorised function: uk.gov.gchq.koryphe.impl.function.DivideBy");
+    }
+
+    @Test
+    public void shouldNotChangeTheSimpleClassNameSettingWhenCheckingDeeplyNestedFunctions() {
+        // Given
+        Function<Object, Object> function = new OptionalFunction(new DivideBy(2));
+        for (int i = 0; i < 100; i++) {
+            function = new OptionalFunction(function);
+        }
+        final OperationChain<?> chain = new OperationChain<>(new Map.Builder<>()
+                .first(function)
+                .build());
+        final FunctionAuthoriser functionAuthoriser = new FunctionAuthoriser(Lists.newArrayList(DivideBy.class));
+        SimpleClassNameCache.setUseFullNameForSerialisation(false);
+
+        // When / Then
+        try {
+            assertThatExceptionOfType(UnauthorisedException.class)
+                    .isThrownBy(() -> functionAuthoriser.preExecute(chain, new Context()))
+                    .withMessage("Operation chain contained an unauthorised function: uk.gov.gchq.koryphe.impl.function.DivideBy");
+            assertFalse(SimpleClassNameCache.isUseFullNameForSerialisation());
+        } finally {
+            SimpleClassNameCache.setUseFullNameForSerialisation(true);
+        }
+    }
+
+    @Test
+    public void shouldNotAllowSubclassesOfUnauthorisedFunctions() {
+        // Given
+        final OperationChain badOperation = generateOperation(ExtendedIdentity.class);
+        final FunctionAuthoriser functionAuthoriser = new FunctionAuthoriser(Lists.newArrayList(Identity.class));
+
+        // When / Then
+        assertThatExceptionOfType(UnauthorisedException.class)
+                .isThrownBy(() -> functionAuthoriser.preExecute(badOperation, new Context()))
+                .withMessage("Operation chain contained an unauthorised function: uk.gov.gchq.koryphe.impl.function.Identity");
+    }
+
     @Test
     public void shouldAllowOperationChainWhichDoesNotContainAnyUnauthorisedElements() {
         // Given
@@ -268,6 +376,35 @@ public class FunctionAuthoriserTest extends GraphHookTest<FunctionAuthoriser> {
         }
     }
 
+    public static class ExtendedIdentity extends Identity {
+    }
+
+    public static class OptionalFunction implements Function<Object, Object> {
+        private Optional<Function<?, ?>> function = Optional.empty();
+
+        public OptionalFunction() {
+        }
+
+        public OptionalFunction(final Function<?, ?> function) {
+            this.function = Optional.of(function);
+        }
+
+        @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY, property = "class")
+        public Function<?, ?> getFunction() {
+            return function.orElse(null);
+        }
+
+        @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY, property = "class")
+        public void setFunction(final Function<?, ?> function) {
+            this.function = Optional.ofNullable(function);
+        }
+
+        @Override
+        public Object apply(final Object input) {
+            return input;
+        }
+    }
+
     @Override
     protected FunctionAuthoriser getTestObject() {
         return fromJson(JSON_PATH);
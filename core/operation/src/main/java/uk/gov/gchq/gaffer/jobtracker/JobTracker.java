@@ -16,25 +16,94 @@
 
 package uk.gov.gchq.gaffer.jobtracker;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import uk.gov.gchq.gaffer.cache.CacheServiceLoader;
 import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
+import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
  * A {@code JobTracker} is an entry in a Gaffer cache service which is used to store
  * details of jobs submitted to the graph.
+ * <p>
+ * By default job details are written to the cache as soon as they are added or
+ * updated. In asynchronous mode they are instead held in memory and written to
+ * the cache in batches by a background thread, so the caller does not wait for
+ * the cache write. Pending job details are visible to lookups on this tracker
+ * straight away. If the queue of pending jobs is full, job details are written
+ * synchronously rather than being dropped. Pending job details are written when
+ * the tracker is closed, and a shutdown hook writes those of any asynchronous
+ * tracker that is still open when the JVM exits.
+ * <p>
+ * Jobs can also be tracked from the operation chain they are running, using
+ * {@link #addOrUpdateJob(String, User, OperationChain, JobStatus, String, boolean)}.
+ * In asynchronous mode the {@link JobDetail} is then only built, and merged
+ * with the previous details of the job, when it is written or looked up.
  */
 public class JobTracker {
+    public static final int DEFAULT_QUEUE_SIZE = 10000;
+    public static final int DEFAULT_BATCH_SIZE = 100;
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(JobTracker.class);
     private static final String CACHE_NAME = "JobTracker";
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("JobTracker-writer-%d").build());
+    private static final Set<JobTracker> OPEN_ASYNC_TRACKERS = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    private static boolean shutdownHookAdded = false;
+
+    private final boolean async;
+    private final int batchSize;
+    private final Map<String, JobUpdate> pending = new ConcurrentHashMap<>();
+    private final LinkedBlockingQueue<String> queue;
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    private final Object writeLock = new Object();
+    private volatile boolean closed = false;
+
+    public JobTracker() {
+        this(false, DEFAULT_QUEUE_SIZE, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param async     true if job details should be written to the cache in the background
+     * @param queueSize the maximum number of jobs waiting to be written before writes become synchronous
+     * @param batchSize the maximum number of job details written to the cache in one call
+     */
+    public JobTracker(final boolean async, final int queueSize, final int batchSize) {
+        if (async && queueSize < 1) {
+            throw new IllegalArgumentException("Job tracker queue size must be at least 1");
+        }
+        if (async && batchSize < 1) {
+            throw new IllegalArgumentException("Job tracker batch size must be at least 1");
+        }
+        this.async = async;
+        this.batchSize = batchSize;
+        this.queue = async ? new LinkedBlockingQueue<>(queueSize) : null;
+        if (async) {
+            registerOpenTracker(this);
+        }
+    }
 
     /**
      * Add or update the job details relating to a job in the job tracker cache.
@@ -44,13 +113,80 @@ public class JobTracker {
      */
     public void addOrUpdateJob(final JobDetail jobDetail, final User user) {
         validateJobDetail(jobDetail);
-        try {
-            CacheServiceLoader.getService().putInCache(CACHE_NAME, jobDetail.getJobId(), jobDetail);
-        } catch (final CacheOperationException e) {
-            throw new RuntimeException("Failed to add jobDetail " + jobDetail.toString() + " to the cache", e);
+        if (!async || closed) {
+            write(jobDetail);
+            return;
+        }
+
+        final String jobId = jobDetail.getJobId();
+        addPending(jobId, pending.put(jobId, new JobUpdate(jobDetail)));
+    }
+
+    /**
+     * Add or update the details of a job from the operation chain it is
+     * running. The new details are merged with the previous details of the
+     * job, so the start time of the job is kept. In asynchronous mode the
+     * details are built and merged when they are written, rather than by the
+     * calling thread.
+     *
+     * @param jobId          the ID of the job
+     * @param user           the user running the job
+     * @param operationChain the operation chain the job is running
+     * @param status         the status of the job
+     * @param description    the description of the job, for example an error message
+     * @param newJob         true if the job has not been tracked before, so its
+     *                       previous details do not need to be looked up
+     */
+    public void addOrUpdateJob(final String jobId, final User user, final OperationChain<?> operationChain,
+                               final JobStatus status, final String description, final boolean newJob) {
+        if (null == jobId || jobId.isEmpty()) {
+            throw new IllegalArgumentException("jobId is required");
+        }
+
+        final long time = System.currentTimeMillis();
+        if (!async || closed) {
+            final JobDetail oldJobDetail = newJob ? null : getJob(jobId, user);
+            write(JobUpdate.merge(oldJobDetail, new JobDetail(jobId, user, operationChain, status, description), time));
+            return;
+        }
+
+        final JobUpdate[] previous = new JobUpdate[1];
+        pending.compute(jobId, (id, current) -> {
+            previous[0] = current;
+            return new JobUpdate(current, newJob, jobId, user, operationChain, status, description, time);
+        });
+        addPending(jobId, previous[0]);
+    }
+
+    private void addPending(final String jobId, final JobUpdate previous) {
+        if (null == previous && !queue.offer(jobId)) {
+            writePending(jobId);
+            return;
+        }
+        scheduleDrain();
+    }
+
+    /**
+     * Write any pending job details to the cache before returning.
+     * This has no effect unless the tracker is asynchronous.
+     */
+    public void flush() {
+        if (async) {
+            drainQueue();
         }
     }
 
+    /**
+     * Write any pending job details to the cache and stop writing in the
+     * background. Job details added after the tracker is closed are written
+     * synchronously.
+     */
+    public void close() {
+        closed = true;
+        OPEN_ASYNC_TRACKERS.remove(this);
+        flush();
+    }
+
     /**
      * Get the details of a specific job.
      *
@@ -59,6 +195,16 @@ public class JobTracker {
      * @return the {@link JobDetail} object for the requested job
      */
     public JobDetail getJob(final String jobId, final User user) {
+        if (async) {
+            final JobUpdate jobUpdate = pending.get(jobId);
+            if (null != jobUpdate) {
+                return jobUpdate.getJobDetail(this);
+            }
+        }
+        return getCachedJob(jobId);
+    }
+
+    private JobDetail getCachedJob(final String jobId) {
         return CacheServiceLoader.getService().getFromCache(CACHE_NAME, jobId);
     }
 
@@ -85,10 +231,20 @@ public class JobTracker {
 
     private CloseableIterable<JobDetail> getAllJobsMatching(final User user, final Predicate<JobDetail> jobDetailPredicate) {
 
-        final Set<String> jobIds = CacheServiceLoader.getService().getAllKeysFromCache(CACHE_NAME);
-        final List<JobDetail> jobs = jobIds.stream()
-                .filter(Objects::nonNull)
-                .map(jobId -> getJob(jobId, user))
+        final Map<String, JobDetail> jobsById = new LinkedHashMap<>();
+        for (final Object value : CacheServiceLoader.getService().getAllValuesFromCache(CACHE_NAME)) {
+            final JobDetail jobDetail = (JobDetail) value;
+            if (null != jobDetail && null != jobDetail.getJobId()) {
+                jobsById.put(jobDetail.getJobId(), jobDetail);
+            }
+        }
+        if (async) {
+            for (final Map.Entry<String, JobUpdate> entry : pending.entrySet()) {
+                jobsById.put(entry.getKey(), entry.getValue().getJobDetail(this));
+            }
+        }
+
+        final List<JobDetail> jobs = jobsById.values().stream()
                 .filter(Objects::nonNull)
                 .filter(jobDetailPredicate)
                 .collect(Collectors.toList());
@@ -100,10 +256,102 @@ public class JobTracker {
      * Clear the job tracker cache.
      */
     public void clear() {
+        synchronized (writeLock) {
+            if (async) {
+                queue.clear();
+                pending.clear();
+            }
+            try {
+                CacheServiceLoader.getService().clearCache(CACHE_NAME);
+            } catch (final CacheOperationException e) {
+                throw new RuntimeException("Failed to clear job tracker cache", e);
+            }
+        }
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            WRITER.execute(() -> {
+                try {
+                    drainQueue();
+                } finally {
+                    draining.set(false);
+                }
+                if (!queue.isEmpty()) {
+                    scheduleDrain();
+                }
+            });
+        }
+    }
+
+    private void drainQueue() {
+        synchronized (writeLock) {
+            final List<String> jobIds = new ArrayList<>(batchSize);
+            while (queue.drainTo(jobIds, batchSize) > 0) {
+                final Map<String, JobUpdate> batch = new HashMap<>(jobIds.size());
+                final Map<String, JobDetail> jobDetails = new HashMap<>(jobIds.size());
+                for (final String jobId : jobIds) {
+                    final JobUpdate jobUpdate = pending.get(jobId);
+                    if (null != jobUpdate) {
+                        batch.put(jobId, jobUpdate);
+                        jobDetails.put(jobId, jobUpdate.getJobDetail(this));
+                    }
+                }
+                jobIds.clear();
+
+                try {
+                    CacheServiceLoader.getService().putAllInCache(CACHE_NAME, jobDetails);
+                } catch (final CacheOperationException | RuntimeException e) {
+                    LOGGER.error("Failed to add {} job details to the cache", jobDetails.size(), e);
+                }
+
+                // A job updated while its batch was being written stays pending and is queued again
+                for (final Map.Entry<String, JobUpdate> entry : batch.entrySet()) {
+                    if (!pending.remove(entry.getKey(), entry.getValue()) && !queue.offer(entry.getKey())) {
+                        writePending(entry.getKey());
+                    }
+                }
+            }
+        }
+    }
+
+    private void writePending(final String jobId) {
+        synchronized (writeLock) {
+            JobUpdate jobUpdate = pending.get(jobId);
+            while (null != jobUpdate) {
+                write(jobUpdate.getJobDetail(this));
+                jobUpdate = pending.remove(jobId, jobUpdate) ? null : pending.get(jobId);
+            }
+        }
+    }
+
+    private static synchronized void registerOpenTracker(final JobTracker jobTracker) {
+        OPEN_ASYNC_TRACKERS.add(jobTracker);
+        if (!shutdownHookAdded) {
+            Runtime.getRuntime().addShutdownHook(new Thread(JobTracker::flushOpenTrackers, "JobTracker-shutdown"));
+            shutdownHookAdded = true;
+        }
+    }
+
+    private static void flushOpenTrackers() {
+        final List<JobTracker> jobTrackers;
+        synchronized (OPEN_ASYNC_TRACKERS) {
+            jobTrackers = new ArrayList<>(OPEN_ASYNC_TRACKERS);
+        }
+        for (final JobTracker jobTracker : jobTrackers) {
+            try {
+                jobTracker.flush();
+            } catch (final RuntimeException e) {
+                LOGGER.error("Failed to write pending job details to the cache on shutdown", e);
+            }
+        }
+    }
+
+    private void write(final JobDetail jobDetail) {
         try {
-            CacheServiceLoader.getService().clearCache(CACHE_NAME);
+            CacheServiceLoader.getService().putInCache(CACHE_NAME, jobDetail.getJobId(), jobDetail);
         } catch (final CacheOperationException e) {
-            throw new RuntimeException("Failed to clear job tracker cache", e);
+            throw new RuntimeException("Failed to add jobDetail " + jobDetail.toString() + " to the cache", e);
         }
     }
 
@@ -117,4 +365,69 @@ public class JobTracker {
         }
     }
 
+    /**
+     * A pending update to the details of a job. The {@link JobDetail} is
+     * either provided or built from the operation chain the first time it is
+     * needed, merging it with the previous pending update or, unless the job
+     * is new, with the job details in the cache.
+     */
+    private static final class JobUpdate {
+        private JobUpdate previous;
+        private final boolean newJob;
+        private final String jobId;
+        private final User user;
+        private OperationChain<?> operationChain;
+        private final JobStatus status;
+        private final String description;
+        private final long time;
+        private JobDetail jobDetail;
+
+        private JobUpdate(final JobDetail jobDetail) {
+            this(null, false, jobDetail.getJobId(), null, null, null, null, 0L);
+            this.jobDetail = jobDetail;
+        }
+
+        private JobUpdate(final JobUpdate previous, final boolean newJob, final String jobId, final User user,
+                          final OperationChain<?> operationChain, final JobStatus status, final String description, final long time) {
+            this.previous = previous;
+            this.newJob = newJob;
+            this.jobId = jobId;
+            this.user = user;
+            this.operationChain = operationChain;
+            this.status = status;
+            this.description = description;
+            this.time = time;
+        }
+
+        private synchronized JobDetail getJobDetail(final JobTracker jobTracker) {
+            if (null == jobDetail) {
+                final JobDetail oldJobDetail;
+                if (null != previous) {
+                    oldJobDetail = previous.getJobDetail(jobTracker);
+                } else if (newJob) {
+                    oldJobDetail = null;
+                } else {
+                    oldJobDetail = jobTracker.getCachedJob(jobId);
+                }
+                jobDetail = merge(oldJobDetail, new JobDetail(jobId, user, operationChain, status, description), time);
+                previous = null;
+                operationChain = null;
+            }
+            return jobDetail;
+        }
+
+        private static JobDetail merge(final JobDetail oldJobDetail, final JobDetail newJobDetail, final long time) {
+            if (null == oldJobDetail) {
+                newJobDetail.setStartTime(time);
+                return newJobDetail;
+            }
+            final JobDetail jobDetail = new JobDetail(oldJobDetail, newJobDetail);
+            if (null != oldJobDetail.getStartTime()) {
+                jobDetail.setEndTime(time);
+            } else {
+                jobDetail.setStartTime(time);
+            }
+            return jobDetail;
+        }
+    }
 }
@@ -184,6 +184,11 @@ public class NamedOperationDetail implements AccessControlledResource, Serializa
      */
     @JsonIgnore
     public OperationChain getOperationChainWithDefaultParams() {
+        final NamedOperationTemplate template = NamedOperationTemplate.get(this);
+        if (null != template) {
+            return template.bindDefaults();
+        }
+
         String opStringWithDefaults = operations;
 
         if (null != parameters) {
@@ -217,6 +222,11 @@ public class NamedOperationDetail implements AccessControlledResource, Serializa
      * @throws IllegalArgumentException if substituting the parameters fails
      */
     public OperationChain getOperationChain(final Map<String, Object> executionParams) {
+        final NamedOperationTemplate template = NamedOperationTemplate.get(this);
+        if (null != template) {
+            return template.bind(executionParams);
+        }
+
         String opStringWithParams = operations;
 
         // First check all the parameters supplied are expected parameter names
@@ -0,0 +1,510 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.named.operation;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.commons.lang3.ClassUtils;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.OperationChainDAO;
+import uk.gov.gchq.koryphe.serialisation.json.SimpleClassNameIdResolver;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@code NamedOperationTemplate} is the parsed form of the operation chain json
+ * held in a {@link NamedOperationDetail}. The positions of the {@code "${paramName}"}
+ * placeholders are found once when the template is compiled.
+ * <p>
+ * If every placeholder is the value of a property of one of the top level
+ * operations, and none of those operations contain nested operations, the
+ * operation chain is also built once up front. Binding a set of execution
+ * parameters then only needs to shallow clone the pre-built operations and call
+ * the property setters with the typed parameter values. Otherwise, or if a value
+ * is not of the type the setter takes, the parameter values are set into a copy
+ * of the parsed json tree, which is converted into an {@link OperationChain}.
+ * <p>
+ * Templates are cached by named operation name. A cached template is only reused
+ * if it was compiled from the same operations json and parameters as the
+ * supplied {@link NamedOperationDetail}, so a stale template is never used even
+ * if the named operation was changed elsewhere.
+ */
+public final class NamedOperationTemplate {
+    private static final Map<String, NamedOperationTemplate> TEMPLATES = new ConcurrentHashMap<>();
+    private static final String PARAM_PREFIX = "${";
+    private static final String PARAM_SUFFIX = "}";
+
+    private final String operations;
+    private final Map<String, ParameterDetail> parameters;
+    private final JsonNode tree;
+    private final List<Slot> slots;
+    private final Map<String, Object> defaultValues;
+    private final Map<String, JsonNode> defaults;
+    private final OperationChain<?> chain;
+
+    private NamedOperationTemplate(final String operations, final Map<String, ParameterDetail> parameters) {
+        this.operations = operations;
+        this.parameters = null != parameters ? new HashMap<>(parameters) : null;
+
+        JsonNode parsedTree;
+        try {
+            parsedTree = null != operations ? JSONSerialiser.getMapper().readTree(operations) : null;
+        } catch (final IOException e) {
+            parsedTree = null;
+        }
+
+        final List<Slot> parsedSlots = new ArrayList<>();
+        if (null != parsedTree && !findSlots(parsedTree, new ArrayList<>(), parsedSlots)) {
+            parsedTree = null;
+        }
+        this.tree = parsedTree;
+        this.slots = Collections.unmodifiableList(parsedSlots);
+
+        this.defaultValues = new HashMap<>();
+        this.defaults = new HashMap<>();
+        if (null != this.parameters && null != parsedTree) {
+            for (final Map.Entry<String, ParameterDetail> entry : this.parameters.entrySet()) {
+                final Object defaultValue = toDefaultValue(entry.getValue());
+                defaultValues.put(entry.getKey(), defaultValue);
+                defaults.put(entry.getKey(), toJsonNode(defaultValue));
+            }
+        }
+
+        this.chain = null != parsedTree ? buildChain(parsedTree, parsedSlots) : null;
+    }
+
+    /**
+     * Gets the template for the supplied named operation, compiling it if there
+     * is no up to date template in the cache.
+     *
+     * @param namedOperation the named operation
+     * @return the template, or null if the operation chain json cannot be templated
+     */
+    public static NamedOperationTemplate get(final NamedOperationDetail namedOperation) {
+        final String name = namedOperation.getOperationName();
+        if (null != name) {
+            final NamedOperationTemplate cached = TEMPLATES.get(name);
+            if (null != cached && cached.isCompiledFrom(namedOperation)) {
+                return cached.isTemplated() ? cached : null;
+            }
+        }
+
+        final NamedOperationTemplate template = new NamedOperationTemplate(namedOperation.getOperations(), namedOperation.getParameters());
+        if (null != name) {
+            TEMPLATES.put(name, template);
+        }
+        return template.isTemplated() ? template : null;
+    }
+
+    /**
+     * Removes any cached template for the named operation with the given name.
+     *
+     * @param operationName the named operation name
+     */
+    public static void invalidate(final String operationName) {
+        if (null != operationName) {
+            TEMPLATES.remove(operationName);
+        }
+    }
+
+    /**
+     * Removes all cached templates.
+     */
+    public static void invalidateAll() {
+        TEMPLATES.clear();
+    }
+
+    /**
+     * Creates an {@link OperationChain} with the supplied parameter values bound
+     * into the template. Parameters that are not supplied take their default value.
+     *
+     * @param executionParams the parameter values
+     * @return the {@link OperationChain}
+     * @throws IllegalArgumentException if a parameter is not expected, a required
+     *                                  parameter is missing or the chain cannot be created
+     */
+    public OperationChain<?> bind(final Map<String, Object> executionParams) {
+        final Map<String, Object> values = new HashMap<>();
+        if (null != parameters) {
+            if (null != executionParams && !parameters.keySet().containsAll(executionParams.keySet())) {
+                throw new IllegalArgumentException("Unexpected parameter name in NamedOperation");
+            }
+
+            for (final Map.Entry<String, ParameterDetail> entry : parameters.entrySet()) {
+                final String paramKey = entry.getKey();
+                if (null != executionParams && executionParams.containsKey(paramKey)) {
+                    values.put(paramKey, toValue(executionParams.get(paramKey), entry.getValue().getValueClass()));
+                } else if (!entry.getValue().isRequired()) {
+                    values.put(paramKey, defaultValues.get(paramKey));
+                } else {
+                    throw new IllegalArgumentException("Missing parameter " + paramKey + " with no default");
+                }
+            }
+        }
+        return toOperationChain(values);
+    }
+
+    /**
+     * Creates an {@link OperationChain} with the default value of every parameter
+     * bound into the template. If a parameter does not have a default, null is used.
+     *
+     * @return the {@link OperationChain}
+     * @throws IllegalArgumentException if the chain cannot be created
+     */
+    public OperationChain<?> bindDefaults() {
+        return toOperationChain(defaultValues);
+    }
+
+    /**
+     * @return true if the parameter values are set directly into a clone of the
+     * pre-built operation chain, rather than converted from json on every bind
+     */
+    boolean isPreBuilt() {
+        return null != chain;
+    }
+
+    private boolean isTemplated() {
+        return null != tree;
+    }
+
+    private boolean isCompiledFrom(final NamedOperationDetail namedOperation) {
+        return Objects.equals(operations, namedOperation.getOperations())
+                && Objects.equals(parameters, namedOperation.getParameters());
+    }
+
+    private OperationChain<?> toOperationChain(final Map<String, Object> values) {
+        if (null != chain) {
+            final OperationChain<?> boundChain = setValues(values);
+            if (null != boundChain) {
+                return boundChain;
+            }
+        }
+
+        JsonNode boundTree = tree;
+        if (!slots.isEmpty() && !values.isEmpty()) {
+            boundTree = tree.deepCopy();
+            for (final Slot slot : slots) {
+                if (values.containsKey(slot.paramKey)) {
+                    slot.set(boundTree, toJsonNode(slot.paramKey, values.get(slot.paramKey)));
+                }
+            }
+        }
+
+        try {
+            final ObjectMapper mapper = JSONSerialiser.getMapper();
+            return mapper.readValue(mapper.treeAsTokens(boundTree), OperationChainDAO.class);
+        } catch (final Exception e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
+    }
+
+    /**
+     * Clones the pre-built operation chain and sets the parameter values with
+     * the property setters. Returns null if a value cannot be set directly, in
+     * which case the json tree is used instead.
+     */
+    private OperationChain<?> setValues(final Map<String, Object> values) {
+        for (final Slot slot : slots) {
+            if (!slot.canSet(values.get(slot.paramKey))) {
+                return null;
+            }
+        }
+
+        final List<Operation> operations = new ArrayList<>(chain.getOperations().size());
+        for (final Operation operation : chain.getOperations()) {
+            operations.add(operation.shallowClone());
+        }
+        try {
+            for (final Slot slot : slots) {
+                slot.setter.setValue(operations.get(slot.operationIndex), values.get(slot.paramKey));
+            }
+        } catch (final RuntimeException e) {
+            return null;
+        }
+
+        final OperationChain<?> boundChain = new OperationChain<>(operations);
+        if (null != chain.getOptions()) {
+            boundChain.setOptions(new HashMap<>(chain.getOptions()));
+        }
+        return boundChain;
+    }
+
+    /**
+     * Builds the operation chain with null in every parameter slot and resolves
+     * the setter for each slot. Returns null if any slot is not a property of a
+     * top level operation that can be set directly with a typed value.
+     */
+    private static OperationChain<?> buildChain(final JsonNode parsedTree, final List<Slot> parsedSlots) {
+        final JsonNode operationsNode = parsedTree.get("operations");
+        if (null == operationsNode || !operationsNode.isArray()) {
+            return null;
+        }
+        for (final JsonNode operationNode : operationsNode) {
+            if (!operationNode.isObject() || containsOperation(operationNode)) {
+                return null;
+            }
+        }
+
+        final ObjectMapper mapper = JSONSerialiser.getMapper();
+        final OperationChain<?> builtChain;
+        try {
+            final JsonNode nullTree = parsedTree.deepCopy();
+            for (final Slot slot : parsedSlots) {
+                slot.set(nullTree, NullNode.getInstance());
+            }
+            builtChain = mapper.readValue(mapper.treeAsTokens(nullTree), OperationChainDAO.class);
+        } catch (final Exception e) {
+            return null;
+        }
+
+        for (final Slot slot : parsedSlots) {
+            if (!slot.resolveSetter(mapper, builtChain)) {
+                return null;
+            }
+        }
+        return builtChain;
+    }
+
+    /**
+     * Checks whether any value within an operation is itself an operation. Nested
+     * operations would be shared between the shallow clones of the pre-built
+     * chain, and some handlers update the input of a nested operation in place.
+     */
+    private static boolean containsOperation(final JsonNode operationNode) {
+        final Iterator<Map.Entry<String, JsonNode>> fields = operationNode.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            if (!"class".equals(field.getKey()) && isOrContainsOperation(field.getValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isOrContainsOperation(final JsonNode node) {
+        if (node.isObject()) {
+            final JsonNode className = node.get("class");
+            if (null != className && (!className.isTextual() || isOperationClass(className.textValue()))) {
+                return true;
+            }
+            if (node.has("operations")) {
+                return true;
+            }
+        }
+        if (node.isContainerNode()) {
+            for (final JsonNode child : node) {
+                if (isOrContainsOperation(child)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isOperationClass(final String className) {
+        try {
+            return Operation.class.isAssignableFrom(Class.forName(SimpleClassNameIdResolver.getClassName(className)));
+        } catch (final ClassNotFoundException | RuntimeException e) {
+            return true;
+        }
+    }
+
+    private static Object toDefaultValue(final ParameterDetail parameter) {
+        try {
+            return toValue(parameter.getDefaultValue(), parameter.getValueClass());
+        } catch (final IllegalArgumentException e) {
+            return parameter.getDefaultValue();
+        }
+    }
+
+    private static Object toValue(final Object value, final Class<?> valueClass) {
+        if (null == value || null == valueClass || valueClass.isInstance(value)) {
+            return value;
+        }
+
+        try {
+            return JSONSerialiser.deserialise(JSONSerialiser.serialise(value), valueClass);
+        } catch (final SerialisationException e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
+    }
+
+    private JsonNode toJsonNode(final String paramKey, final Object value) {
+        if (value == defaultValues.get(paramKey)) {
+            return defaults.get(paramKey);
+        }
+        return toJsonNode(value);
+    }
+
+    private static JsonNode toJsonNode(final Object value) {
+        if (null == value) {
+            return NullNode.getInstance();
+        }
+
+        try {
+            return JSONSerialiser.getMapper().readTree(JSONSerialiser.serialise(value));
+        } catch (final IOException e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
+    }
+
+    /**
+     * Records the path to every parameter placeholder value. Returns false if a
+     * placeholder is used as a field name, which can only be handled by the
+     * string substitution in {@link NamedOperationDetail}.
+     */
+    private boolean findSlots(final JsonNode node, final List<Object> path, final List<Slot> found) {
+        if (node.isObject()) {
+            final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> field = fields.next();
+                if (null != getParamKey(field.getKey())) {
+                    return false;
+                }
+                path.add(field.getKey());
+                final boolean supported = findSlots(field.getValue(), path, found);
+                path.remove(path.size() - 1);
+                if (!supported) {
+                    return false;
+                }
+            }
+        } else if (node.isArray()) {
+            for (int i = 0; i < node.size(); i++) {
+                path.add(i);
+                final boolean supported = findSlots(node.get(i), path, found);
+                path.remove(path.size() - 1);
+                if (!supported) {
+                    return false;
+                }
+            }
+        } else if (node.isTextual()) {
+            final String paramKey = getParamKey(node.textValue());
+            if (null != paramKey) {
+                if (path.isEmpty()) {
+                    return false;
+                }
+                found.add(new Slot(new ArrayList<>(path), paramKey));
+            }
+        }
+        return true;
+    }
+
+    private String getParamKey(final String text) {
+        if (null == parameters || !text.startsWith(PARAM_PREFIX) || !text.endsWith(PARAM_SUFFIX)) {
+            return null;
+        }
+        final String paramKey = text.substring(PARAM_PREFIX.length(), text.length() - PARAM_SUFFIX.length());
+        return parameters.containsKey(paramKey) ? paramKey : null;
+    }
+
+    private static final class Slot {
+        private final List<Object> path;
+        private final String paramKey;
+        private int operationIndex;
+        private AnnotatedMethod setter;
+        private Class<?> setterClass;
+
+        private Slot(final List<Object> path, final String paramKey) {
+            this.path = path;
+            this.paramKey = paramKey;
+        }
+
+        private void set(final JsonNode root, final JsonNode value) {
+            JsonNode parent = root;
+            final int last = path.size() - 1;
+            for (int i = 0; i < last; i++) {
+                final Object step = path.get(i);
+                parent = step instanceof Integer ? parent.get((Integer) step) : parent.get((String) step);
+            }
+
+            final Object step = path.get(last);
+            if (step instanceof Integer) {
+                ((ArrayNode) parent).set((Integer) step, value);
+            } else {
+                ((ObjectNode) parent).set((String) step, value);
+            }
+        }
+
+        /**
+         * Finds the setter for the slot if it is the value of a property of a
+         * top level operation. Properties with a generic, collection or polymorphic
+         * type are only set from json, as their json may not map to the parameter
+         * value class.
+         */
+        private boolean resolveSetter(final ObjectMapper mapper, final OperationChain<?> builtChain) {
+            if (3 != path.size() || !"operations".equals(path.get(0))
+                    || !(path.get(1) instanceof Integer) || "class".equals(path.get(2))) {
+                return false;
+            }
+
+            operationIndex = (Integer) path.get(1);
+            final Operation operation = builtChain.getOperations().get(operationIndex);
+            if (null == operation) {
+                return false;
+            }
+
+            final BeanDescription description = mapper.getDeserializationConfig()
+                    .introspect(mapper.constructType(operation.getClass()));
+            for (final BeanPropertyDefinition property : description.findProperties()) {
+                if (path.get(2).equals(property.getName()) && property.hasSetter()) {
+                    setter = property.getSetter();
+                    break;
+                }
+            }
+            if (null == setter || 1 != setter.getParameterCount()
+                    || !(setter.getGenericParameterType(0) instanceof Class)
+                    || setter.hasAnnotation(JsonDeserialize.class)
+                    || setter.hasAnnotation(JsonTypeInfo.class)) {
+                return false;
+            }
+
+            setterClass = setter.getRawParameterType(0);
+            return !Object.class.equals(setterClass)
+                    && !setterClass.isArray()
+                    && !Iterable.class.isAssignableFrom(setterClass)
+                    && !Map.class.isAssignableFrom(setterClass)
+                    && null == setterClass.getAnnotation(JsonTypeInfo.class);
+        }
+
+        private boolean canSet(final Object value) {
+            if (null == value) {
+                return !setterClass.isPrimitive();
+            }
+            return ClassUtils.primitiveToWrapper(setterClass).isInstance(value);
+        }
+    }
+}
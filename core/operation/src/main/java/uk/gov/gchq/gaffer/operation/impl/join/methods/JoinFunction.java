@@ -16,14 +16,18 @@
 
 package uk.gov.gchq.gaffer.operation.impl.join.methods;
 
+import com.google.common.collect.Lists;
 import sun.reflect.generics.reflectiveObjects.NotImplementedException;
 
+import uk.gov.gchq.gaffer.commonutil.iterable.StreamFlatMapIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.StreamIterable;
+import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.operation.impl.join.match.Match;
 import uk.gov.gchq.gaffer.operation.impl.join.match.MatchKey;
 import uk.gov.gchq.koryphe.tuple.MapTuple;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Used by the Join Operation to join two Lists together.
@@ -31,9 +35,26 @@ import java.util.List;
 public abstract class JoinFunction {
 
     public List<MapTuple> join(final Iterable left, final Iterable right, final Match match, final MatchKey matchKey, final Boolean flatten) {
+        return Lists.newArrayList(lazyJoin(left, right, match, matchKey, flatten));
+    }
+
+    /**
+     * Joins two Iterables together in the same way as {@link #join(Iterable, Iterable, Match, MatchKey, Boolean)},
+     * except that the results are generated as the returned Iterable is iterated over rather than being collected
+     * into a List. The {@link Match} is initialised with the match candidates when this method is called, the keys
+     * are read each time the results are iterated over.
+     *
+     * @param left     the left Iterable
+     * @param right    the right Iterable
+     * @param match    the method used to match the keys to the match candidates
+     * @param matchKey the side which provides the keys
+     * @param flatten  true if a MapTuple should be generated for each match
+     * @return the joined results
+     */
+    public Iterable<MapTuple> lazyJoin(final Iterable<?> left, final Iterable<?> right, final Match match, final MatchKey matchKey, final Boolean flatten) {
         final String keyName; // For LEFT keyed Joins it's LEFT and vice versa for RIGHT.
         final String matchingValuesName; // the matching values name (opposite of keyName)
-        final Iterable keys; // The key iterate over
+        final Iterable<?> keys; // The key iterate over
 
         keyName = matchKey.name();
         if (matchKey.equals(MatchKey.LEFT)) {
@@ -46,27 +67,13 @@ public abstract class JoinFunction {
             match.init(left);
         }
 
-        List<MapTuple> resultList = new ArrayList<>();
-        List matching;
-
         if (flatten) {
-            for (final Object keyObj : keys) {
-                matching = match.matching(keyObj);
-                final List<MapTuple> mapTuples = joinFlattened(keyObj, matching, keyName, matchingValuesName);
-                if (!mapTuples.isEmpty()) {
-                    resultList.addAll(mapTuples);
-                }
-            }
-        } else {
-            for (final Object keyObj : keys) {
-                matching = match.matching(keyObj);
-                final MapTuple mapTuple = joinAggregated(keyObj, matching, keyName, matchingValuesName);
-                if (mapTuple != null) {
-                    resultList.add(mapTuple);
-                }
-            }
+            return new StreamFlatMapIterable<>(keys,
+                    keyObj -> joinFlattened(keyObj, match.matching(keyObj), keyName, matchingValuesName).stream());
         }
-        return resultList;
+        return new StreamIterable<>(() -> Streams.toStream(keys)
+                .map(keyObj -> joinAggregated(keyObj, match.matching(keyObj), keyName, matchingValuesName))
+                .filter(Objects::nonNull));
     }
 
     @Deprecated
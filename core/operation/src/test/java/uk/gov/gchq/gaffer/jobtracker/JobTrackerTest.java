@@ -0,0 +1,204 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.jobtracker;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.cache.CacheServiceLoader;
+import uk.gov.gchq.gaffer.cache.impl.ConcurrentCacheService;
+import uk.gov.gchq.gaffer.cache.util.CacheProperties;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.impl.DiscardOutput;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class JobTrackerTest {
+
+    private static final User USER = new User("user01");
+
+    @Test
+    public void shouldAddAndGetJobsSynchronously() {
+        // Given
+        initialiseCache();
+        final JobTracker jobTracker = new JobTracker();
+
+        // When
+        jobTracker.addOrUpdateJob(jobDetail("job1", JobStatus.RUNNING), USER);
+        jobTracker.addOrUpdateJob(jobDetail("job2", JobStatus.SCHEDULED_PARENT), USER);
+
+        // Then
+        assertEquals(JobStatus.RUNNING, jobTracker.getJob("job1", USER).getStatus());
+        assertEquals(2, CacheServiceLoader.getService().sizeOfCache("JobTracker"));
+        assertEquals(jobIds("job1", "job2"), jobIds(jobTracker.getAllJobs(USER)));
+        assertEquals(jobIds("job2"), jobIds(jobTracker.getAllScheduledJobs()));
+    }
+
+    @Test
+    public void shouldReturnPendingJobsBeforeTheyAreWrittenToTheCache() {
+        // Given
+        initialiseCache();
+        final JobTracker jobTracker = new JobTracker(true, 100, 10);
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            jobTracker.addOrUpdateJob(jobDetail("job" + i, JobStatus.RUNNING), USER);
+        }
+        jobTracker.addOrUpdateJob(jobDetail("job0", JobStatus.FINISHED), USER);
+        jobTracker.addOrUpdateJob(jobDetail("job1", JobStatus.SCHEDULED_PARENT), USER);
+
+        // Then
+        assertEquals(JobStatus.FINISHED, jobTracker.getJob("job0", USER).getStatus());
+        assertEquals(50, jobIds(jobTracker.getAllJobs(USER)).size());
+        assertEquals(jobIds("job1"), jobIds(jobTracker.getAllScheduledJobs()));
+    }
+
+    @Test
+    public void shouldWriteLatestJobDetailsToTheCacheWhenFlushed() {
+        // Given
+        initialiseCache();
+        final JobTracker jobTracker = new JobTracker(true, 100, 10);
+        for (int i = 0; i < 50; i++) {
+            jobTracker.addOrUpdateJob(jobDetail("job" + i, JobStatus.RUNNING), USER);
+            jobTracker.addOrUpdateJob(jobDetail("job" + i, JobStatus.FINISHED), USER);
+        }
+
+        // When
+        jobTracker.flush();
+
+        // Then
+        assertEquals(50, CacheServiceLoader.getService().sizeOfCache("JobTracker"));
+        for (int i = 0; i < 50; i++) {
+            final JobDetail cached = CacheServiceLoader.getService().getFromCache("JobTracker", "job" + i);
+            assertEquals(JobStatus.FINISHED, cached.getStatus());
+        }
+    }
+
+    @Test
+    public void shouldClearPendingAndCachedJobs() {
+        // Given
+        initialiseCache();
+        final JobTracker jobTracker = new JobTracker(true, 100, 10);
+        jobTracker.addOrUpdateJob(jobDetail("job1", JobStatus.RUNNING), USER);
+
+        // When
+        jobTracker.clear();
+
+        // Then
+        assertNull(jobTracker.getJob("job1", USER));
+        assertEquals(0, jobIds(jobTracker.getAllJobs(USER)).size());
+    }
+
+    @Test
+    public void shouldWritePendingJobsWhenClosedAndWriteLaterJobsSynchronously() {
+        // Given
+        initialiseCache();
+        final JobTracker jobTracker = new JobTracker(true, 100, 10);
+        jobTracker.addOrUpdateJob(jobDetail("job1", JobStatus.RUNNING), USER);
+
+        // When
+        jobTracker.close();
+        jobTracker.addOrUpdateJob(jobDetail("job2", JobStatus.RUNNING), USER);
+
+        // Then
+        assertEquals(2, CacheServiceLoader.getService().sizeOfCache("JobTracker"));
+        assertEquals(JobStatus.RUNNING, jobTracker.getJob("job2", USER).getStatus());
+    }
+
+    @Test
+    public void shouldMergeJobDetailsBuiltFromOperationChainsWhenFlushed() {
+        // Given
+        initialiseCache();
+        final JobTracker jobTracker = new JobTracker(true, 100, 10);
+        final OperationChain<?> opChain = new OperationChain<>(new DiscardOutput());
+
+        // When
+        jobTracker.addOrUpdateJob("job1", USER, opChain, JobStatus.RUNNING, null, true);
+        final JobDetail running = jobTracker.getJob("job1", USER);
+        jobTracker.addOrUpdateJob("job1", USER, opChain, JobStatus.FINISHED, null, false);
+        jobTracker.flush();
+
+        // Then
+        final JobDetail cached = CacheServiceLoader.getService().getFromCache("JobTracker", "job1");
+        assertEquals(JobStatus.RUNNING, running.getStatus());
+        assertEquals(JobStatus.FINISHED, cached.getStatus());
+        assertEquals(opChain.toOverviewString(), cached.getOpChain());
+        assertEquals(USER, cached.getUser());
+        assertEquals(running.getStartTime(), cached.getStartTime());
+        assertNotNull(cached.getEndTime());
+    }
+
+    @Test
+    public void shouldMergeJobDetailsBuiltFromOperationChainsWithCachedJobs() {
+        // Given
+        initialiseCache();
+        final JobTracker jobTracker = new JobTracker(true, 100, 10);
+        final OperationChain<?> opChain = new OperationChain<>(new DiscardOutput());
+        jobTracker.addOrUpdateJob("job1", USER, opChain, JobStatus.RUNNING, null, true);
+        jobTracker.flush();
+        final Long startTime = jobTracker.getJob("job1", USER).getStartTime();
+
+        // When
+        jobTracker.addOrUpdateJob("job1", USER, opChain, JobStatus.FAILED, "error", false);
+        jobTracker.flush();
+
+        // Then
+        final JobDetail cached = CacheServiceLoader.getService().getFromCache("JobTracker", "job1");
+        assertEquals(JobStatus.FAILED, cached.getStatus());
+        assertEquals("error", cached.getDescription());
+        assertEquals(startTime, cached.getStartTime());
+        assertNotNull(cached.getEndTime());
+    }
+
+    private static void initialiseCache() {
+        CacheServiceLoader.shutdown();
+        final Properties properties = new Properties();
+        properties.setProperty(CacheProperties.CACHE_SERVICE_CLASS, ConcurrentCacheService.class.getName());
+        CacheServiceLoader.initialise(properties);
+    }
+
+    private static JobDetail jobDetail(final String jobId, final JobStatus status) {
+        return new JobDetail.Builder()
+                .jobId(jobId)
+                .userId(USER.getUserId())
+                .status(status)
+                .build();
+    }
+
+    private static Set<String> jobIds(final String... jobIds) {
+        final Set<String> ids = new HashSet<>();
+        for (final String jobId : jobIds) {
+            ids.add(jobId);
+        }
+        return ids;
+    }
+
+    private static Set<String> jobIds(final CloseableIterable<JobDetail> jobs) {
+        final Set<String> ids = new HashSet<>();
+        for (final JobDetail job : jobs) {
+            ids.add(job.getJobId());
+        }
+        return ids;
+    }
+}
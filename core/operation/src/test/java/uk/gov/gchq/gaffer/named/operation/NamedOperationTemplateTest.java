@@ -0,0 +1,221 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.named.operation;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.impl.ForEach;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.export.set.ExportToSet;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NamedOperationTemplateTest {
+
+    private static final String OP_CHAIN = "{ \"operations\": [ "
+            + "{ \"class\":\"uk.gov.gchq.gaffer.operation.impl.get.GetAllElements\" }, "
+            + "{ \"class\":\"uk.gov.gchq.gaffer.operation.impl.Limit\", \"resultLimit\": \"${limit}\" }, "
+            + "{ \"class\":\"uk.gov.gchq.gaffer.operation.impl.export.set.ExportToSet\", \"key\": \"${key}\" } ] }";
+
+    @Test
+    public void shouldBindSuppliedParametersAndDefaults() {
+        // Given
+        final NamedOperationDetail namedOperation = createNamedOperation("bindTest", OP_CHAIN);
+        final Map<String, Object> params = new HashMap<>();
+        params.put("limit", 5);
+
+        // When
+        final OperationChain<?> opChain = namedOperation.getOperationChain(params);
+
+        // Then
+        assertEquals(3, opChain.getOperations().size());
+        assertEquals(GetAllElements.class, opChain.getOperations().get(0).getClass());
+        assertEquals(5, (int) ((Limit) opChain.getOperations().get(1)).getResultLimit());
+        assertEquals("defaultKey", ((ExportToSet) opChain.getOperations().get(2)).getKey());
+    }
+
+    @Test
+    public void shouldConvertParametersToTheirValueClass() {
+        // Given
+        final NamedOperationDetail namedOperation = createNamedOperation("convertTest", OP_CHAIN);
+        final Map<String, Object> params = new HashMap<>();
+        params.put("limit", "7");
+
+        // When
+        final OperationChain<?> opChain = namedOperation.getOperationChain(params);
+
+        // Then
+        assertEquals(7, (int) ((Limit) opChain.getOperations().get(1)).getResultLimit());
+    }
+
+    @Test
+    public void shouldCreateIndependentChainsOnEachBind() {
+        // Given
+        final NamedOperationDetail namedOperation = createNamedOperation("independentTest", OP_CHAIN);
+        final Map<String, Object> params = new HashMap<>();
+        params.put("limit", 1);
+        final OperationChain<?> first = namedOperation.getOperationChain(params);
+        ((Limit) first.getOperations().get(1)).setResultLimit(100);
+
+        // When
+        params.put("limit", 2);
+        final OperationChain<?> second = namedOperation.getOperationChain(params);
+
+        // Then
+        assertNotSame(first.getOperations().get(1), second.getOperations().get(1));
+        assertEquals(2, (int) ((Limit) second.getOperations().get(1)).getResultLimit());
+        assertEquals(100, (int) ((Limit) first.getOperations().get(1)).getResultLimit());
+    }
+
+    @Test
+    public void shouldSetParametersIntoClonesOfThePreBuiltChain() {
+        // Given
+        final NamedOperationDetail namedOperation = createNamedOperation("preBuiltTest", OP_CHAIN);
+        final Map<String, Object> params = new HashMap<>();
+        params.put("limit", 4);
+        params.put("key", "suppliedKey");
+
+        // When
+        final OperationChain<?> first = namedOperation.getOperationChain(params);
+        final OperationChain<?> second = namedOperation.getOperationChain(params);
+
+        // Then
+        assertTrue(NamedOperationTemplate.get(namedOperation).isPreBuilt());
+        assertNotSame(first.getOperations().get(0), second.getOperations().get(0));
+        assertEquals(4, (int) ((Limit) second.getOperations().get(1)).getResultLimit());
+        assertEquals("suppliedKey", ((ExportToSet) second.getOperations().get(2)).getKey());
+    }
+
+    @Test
+    public void shouldBindParametersOfNestedOperationsFromJson() {
+        // Given
+        final String opChain = "{ \"operations\": [ { \"class\":\"uk.gov.gchq.gaffer.operation.impl.ForEach\", "
+                + "\"operation\": { \"class\":\"uk.gov.gchq.gaffer.operation.impl.Limit\", \"resultLimit\": \"${limit}\" } } ] }";
+        final NamedOperationDetail namedOperation = createNamedOperation("nestedTest", opChain);
+        final Map<String, Object> params = new HashMap<>();
+        params.put("limit", 6);
+
+        // When
+        final OperationChain<?> result = namedOperation.getOperationChain(params);
+
+        // Then
+        assertFalse(NamedOperationTemplate.get(namedOperation).isPreBuilt());
+        final ForEach<?, ?> forEach = (ForEach<?, ?>) result.getOperations().get(0);
+        assertEquals(6, (int) ((Limit) forEach.getOperation()).getResultLimit());
+    }
+
+    @Test
+    public void shouldBindDefaultParameters() {
+        // Given
+        final NamedOperationDetail namedOperation = createNamedOperation("defaultsTest", OP_CHAIN);
+
+        // When
+        final OperationChain<?> opChain = namedOperation.getOperationChainWithDefaultParams();
+
+        // Then
+        assertNull(((Limit) opChain.getOperations().get(1)).getResultLimit());
+        assertEquals("defaultKey", ((ExportToSet) opChain.getOperations().get(2)).getKey());
+    }
+
+    @Test
+    public void shouldRejectMissingAndUnexpectedParameters() {
+        // Given
+        final NamedOperationDetail namedOperation = createNamedOperation("invalidTest", OP_CHAIN);
+        final Map<String, Object> unexpected = new HashMap<>();
+        unexpected.put("limit", 1);
+        unexpected.put("unknown", 1);
+
+        // When / Then
+        assertEquals("Missing parameter limit with no default",
+                assertThrows(IllegalArgumentException.class, () -> namedOperation.getOperationChain(new HashMap<>())).getMessage());
+        assertEquals("Unexpected parameter name in NamedOperation",
+                assertThrows(IllegalArgumentException.class, () -> namedOperation.getOperationChain(unexpected)).getMessage());
+    }
+
+    @Test
+    public void shouldReuseCachedTemplateUntilTheNamedOperationChanges() {
+        // Given
+        final NamedOperationDetail namedOperation = createNamedOperation("cacheTest", OP_CHAIN);
+        final NamedOperationTemplate template = NamedOperationTemplate.get(namedOperation);
+
+        // When
+        final NamedOperationTemplate sameTemplate = NamedOperationTemplate.get(createNamedOperation("cacheTest", OP_CHAIN));
+        final NamedOperationTemplate changedTemplate = NamedOperationTemplate.get(
+                createNamedOperation("cacheTest", OP_CHAIN.replace("${key}", "fixedKey")));
+        NamedOperationTemplate.invalidate("cacheTest");
+        final NamedOperationTemplate recompiledTemplate = NamedOperationTemplate.get(namedOperation);
+
+        // Then
+        assertNotNull(template);
+        assertSame(template, sameTemplate);
+        assertNotSame(template, changedTemplate);
+        assertNotSame(template, recompiledTemplate);
+    }
+
+    @Test
+    public void shouldFallBackToStringSubstitutionForParametersUsedAsFieldNames() {
+        // Given
+        final String opChain = "{ \"operations\": [ { \"class\":\"uk.gov.gchq.gaffer.operation.impl.Limit\", "
+                + "\"options\": { \"${key}\": \"value\" }, \"resultLimit\": \"${limit}\" } ] }";
+        final NamedOperationDetail namedOperation = createNamedOperation("fieldNameTest", opChain);
+        final Map<String, Object> params = new HashMap<>();
+        params.put("limit", 3);
+
+        // When
+        final OperationChain<?> result = namedOperation.getOperationChain(params);
+
+        // Then
+        assertNull(NamedOperationTemplate.get(namedOperation));
+        final Limit limit = (Limit) result.getOperations().get(0);
+        assertEquals(3, (int) limit.getResultLimit());
+        assertEquals("value", limit.getOptions().get("defaultKey"));
+    }
+
+    private NamedOperationDetail createNamedOperation(final String name, final String opChain) {
+        final Map<String, ParameterDetail> parameters = new HashMap<>();
+        parameters.put("limit", new ParameterDetail.Builder()
+                .description("the limit")
+                .valueClass(Integer.class)
+                .required(true)
+                .build());
+        parameters.put("key", new ParameterDetail.Builder()
+                .description("the export key")
+                .defaultValue("defaultKey")
+                .valueClass(String.class)
+                .required(false)
+                .build());
+
+        return new NamedOperationDetail.Builder()
+                .operationName(name)
+                .creatorId("user")
+                .operationChain(opChain)
+                .parameters(parameters)
+                .build();
+    }
+}
@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.operation.impl.join;
 
+import com.google.common.collect.Lists;
 import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.commonutil.CollectionUtil;
@@ -65,6 +66,21 @@ public abstract class JoinFunctionTest {
         testJoinFunction(new CustomMatch(), MatchKey.RIGHT, true, getExpectedRightKeyResultsFlattenedForCustomMatch());
     }
 
+    @Test
+    public void shouldLazilyJoinToTheSameResultsAsJoin() {
+        for (final MatchKey matchKey : MatchKey.values()) {
+            for (final boolean flatten : new boolean[]{true, false}) {
+                // When
+                final List<MapTuple> expected = getJoinFunction().join(leftInput, rightInput, new ElementMatch(), matchKey, flatten);
+                final Iterable<MapTuple> result = getJoinFunction().lazyJoin(leftInput, rightInput, new ElementMatch(), matchKey, flatten);
+
+                // Then
+                assertTupleListsEquality(expected, Lists.newArrayList(result));
+                assertTupleListsEquality(expected, Lists.newArrayList(result));
+            }
+        }
+    }
+
     private void testJoinFunction(final Match match, final MatchKey matchKey, final boolean flatten, List<MapTuple> expectedOutput) {
         if (null == getJoinFunction()) {
             throw new RuntimeException("No JoinFunction specified by the test.");
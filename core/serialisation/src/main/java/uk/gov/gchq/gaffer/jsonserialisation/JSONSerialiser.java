@@ -48,8 +48,10 @@ import uk.gov.gchq.koryphe.serialisation.json.SimpleClassNameIdResolver;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
 import java.util.Collection;
 import java.util.List;
+import java.util.ServiceLoader;
 import java.util.Set;
 
 /**
@@ -71,6 +73,12 @@ import java.util.Set;
  * An update will be done automatically in the REST API when it is first initialised and
  * also when a Store is initialised.
  * </p>
+ * <p>
+ * Any {@link JSONSerialiserModules} registered with the {@link ServiceLoader},
+ * through a META-INF/services/uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiserModules
+ * file on the classpath, are added to every mapper created by {@link #createDefaultMapper()}.
+ * The streaming json serialisers for Gaffer elements are registered this way.
+ * </p>
  */
 public class JSONSerialiser {
     public static final String JSON_SERIALISER_CLASS_KEY = "gaffer.serialiser.json.class";
@@ -88,6 +96,8 @@ public class JSONSerialiser {
     public static final String FILTER_FIELDS_BY_NAME = "filterFieldsByName";
 
     private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final FilterProvider DEFAULT_FILTER_PROVIDER = new SimpleFilterProvider()
+            .addFilter(FILTER_FIELDS_BY_NAME, (BeanPropertyFilter) SimpleBeanPropertyFilter.serializeAllExcept());
     private static final Logger LOGGER = LoggerFactory.getLogger(JSONSerialiser.class);
 
     private static JSONSerialiser instance;
@@ -195,8 +205,8 @@ public class JSONSerialiser {
         for (final String factoryClass : factoryClasses) {
             final JSONSerialiserModules factory;
             try {
-                factory = Class.forName(factoryClass).asSubclass(JSONSerialiserModules.class).newInstance();
-            } catch (final InstantiationException | IllegalAccessException | ClassNotFoundException e) {
+                factory = Class.forName(factoryClass).asSubclass(JSONSerialiserModules.class).getDeclaredConstructor().newInstance();
+            } catch (final InstantiationException | IllegalAccessException | ClassNotFoundException | NoSuchMethodException | InvocationTargetException e) {
                 throw new IllegalArgumentException("Property " + JSON_SERIALISER_MODULES + " must be set to a csv of classes that are a sub class of " + JSONSerialiserModules.class.getName() + ". These classes are not valid: " + factoryClass, e);
             }
             final List<Module> modules = factory.getModules();
@@ -236,14 +246,24 @@ public class JSONSerialiser {
         // full class name. Otherwise, json deserialisation may fail on worker nodes in Accumulo/HBase.
         SimpleClassNameCache.setUseFullNameForSerialisation(true);
         SimpleClassNameIdResolver.configureObjectMapper(mapper);
+
+        registerDefaultModules(mapper);
         return mapper;
     }
 
+    private static void registerDefaultModules(final ObjectMapper mapper) {
+        for (final JSONSerialiserModules factory : ServiceLoader.load(JSONSerialiserModules.class)) {
+            final List<Module> modules = factory.getModules();
+            if (null != modules) {
+                mapper.registerModules(modules);
+            }
+        }
+    }
+
     public static FilterProvider getFilterProvider(final String... fieldsToExclude) {
         if (null == fieldsToExclude || fieldsToExclude.length == 0) {
             // Use the 'serializeAllExcept' method so it is compatible with older versions of jackson
-            return new SimpleFilterProvider()
-                    .addFilter(FILTER_FIELDS_BY_NAME, (BeanPropertyFilter) SimpleBeanPropertyFilter.serializeAllExcept());
+            return DEFAULT_FILTER_PROVIDER;
         }
 
         return new SimpleFilterProvider()
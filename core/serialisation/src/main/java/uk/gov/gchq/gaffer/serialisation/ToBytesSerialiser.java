@@ -18,6 +18,9 @@ package uk.gov.gchq.gaffer.serialisation;
 
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
 /**
  * A class that implements this interface is responsible for serialising an
  * object of class T to a byte array, and for deserialising it back again.
@@ -51,6 +54,28 @@ public interface ToBytesSerialiser<T> extends Serialiser<T, byte[]> {
     byte[] serialise(final T object) throws SerialisationException;
 
     /**
+     * Serialise some object, appending the serialised bytes to the given buffer.
+     * <p>
+     * By default this copies the result of {@link #serialise(Object)} into the
+     * buffer. Serialisers that can write their bytes directly into the buffer
+     * should override this to avoid creating the intermediate byte array.
+     *
+     * @param object the object to be serialised
+     * @param out    the buffer to append the serialised bytes to
+     * @throws SerialisationException if the object fails to serialise
+     */
+    default void serialise(final T object, final ByteArrayOutputStream out) throws SerialisationException {
+        final byte[] bytes = serialise(object);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Deserialise a range of bytes into the original object.
+     * <p>
+     * By default this copies the range into a new array. Serialisers should
+     * override this to read the range in place, as this is the method used
+     * to deserialise values from within larger byte arrays.
+     *
      * @param allBytes The bytes to be decoded into characters
      * @param offset   The index of the first byte to decode
      * @param length   The number of bytes to decode
@@ -67,6 +92,24 @@ public interface ToBytesSerialiser<T> extends Serialiser<T, byte[]> {
         return deserialise(selection);
     }
 
+    /**
+     * Deserialise the remaining bytes in a {@link ByteBuffer} into the original
+     * object. If the buffer is backed by an array the bytes are read in place,
+     * otherwise they are copied. The position of the buffer is not changed.
+     *
+     * @param buffer the buffer containing the bytes to deserialise
+     * @return T the deserialised object
+     * @throws SerialisationException if the object fails to deserialise
+     */
+    default T deserialise(final ByteBuffer buffer) throws SerialisationException {
+        if (buffer.hasArray()) {
+            return deserialise(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return deserialise(bytes);
+    }
+
     /**
      * Deserialise an array of bytes into the original object.
      *
@@ -17,8 +17,10 @@ package uk.gov.gchq.gaffer.serialisation;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import uk.gov.gchq.gaffer.commonutil.CommonConstants;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 
+import java.io.ByteArrayOutputStream;
 import java.io.UnsupportedEncodingException;
 
 /**
@@ -86,4 +88,35 @@ public abstract class ToBytesViaStringDeserialiser<T> implements ToBytesSerialis
 
     protected abstract String serialiseToString(final T object) throws SerialisationException;
 
+    /**
+     * Writes a string to the buffer using the charset of this serialiser.
+     * When the charset is UTF-8 the leading ASCII characters are written
+     * directly, without encoding the string to an intermediate byte array.
+     *
+     * @param str the string to write
+     * @param out the buffer to append the encoded string to
+     * @throws SerialisationException if the charset is not supported
+     */
+    protected void writeString(final String str, final ByteArrayOutputStream out) throws SerialisationException {
+        int i = 0;
+        if (CommonConstants.UTF_8.equalsIgnoreCase(charset)) {
+            final int length = str.length();
+            while (i < length && str.charAt(i) < 0x80) {
+                out.write(str.charAt(i));
+                i++;
+            }
+            if (i == length) {
+                return;
+            }
+        }
+
+        final byte[] bytes;
+        try {
+            bytes = str.substring(i).getBytes(charset);
+        } catch (final UnsupportedEncodingException e) {
+            throw new SerialisationException("Unable to serialise to bytes using charset: " + getCharset(), e);
+        }
+        out.write(bytes, 0, bytes.length);
+    }
+
 }
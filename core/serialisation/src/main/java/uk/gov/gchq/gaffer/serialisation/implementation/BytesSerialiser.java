@@ -18,6 +18,9 @@ package uk.gov.gchq.gaffer.serialisation.implementation;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
 /**
  * This class is used to serialise and deserialise byte arrays.
  */
@@ -34,11 +37,21 @@ public class BytesSerialiser implements ToBytesSerialiser<byte[]> {
         return value;
     }
 
+    @Override
+    public void serialise(final byte[] value, final ByteArrayOutputStream out) {
+        out.write(value, 0, value.length);
+    }
+
     @Override
     public byte[] deserialise(final byte[] bytes) throws SerialisationException {
         return bytes;
     }
 
+    @Override
+    public byte[] deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        return Arrays.copyOfRange(allBytes, offset, offset + length);
+    }
+
     @Override
     public byte[] deserialiseEmpty() {
         return new byte[0];
@@ -56,6 +56,19 @@ public class JavaSerialiser implements ToBytesSerialiser<Object> {
         }
     }
 
+    @Override
+    public void serialise(final Object object, final ByteArrayOutputStream byteOut) throws SerialisationException {
+        ObjectOutputStream out = null;
+        try {
+            out = new ObjectOutputStream(byteOut);
+            out.writeObject(object);
+        } catch (final IOException e) {
+            throw new SerialisationException("Unable to serialise given object of class: " + object.getClass().getName() + ", does it implement the serializable interface?", e);
+        } finally {
+            close(out);
+        }
+    }
+
     @Override
     public Object deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
         try (final ObjectInputStream is = new ObjectInputStream(new ByteArrayInputStream(allBytes, offset, length))) {
@@ -26,7 +26,7 @@ import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 import uk.gov.gchq.gaffer.serialisation.util.LengthValueBytesSerialiserUtil;
 import uk.gov.gchq.koryphe.serialisation.json.SimpleClassNameIdResolver;
 
-import java.io.IOException;
+import java.io.ByteArrayOutputStream;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -49,24 +49,26 @@ public class MapSerialiser implements ToBytesSerialiser<Map> {
 
     @Override
     public byte[] serialise(final Map object) throws SerialisationException {
-        LengthValueBytesSerialiserUtil.LengthValueBuilder builder = new LengthValueBytesSerialiserUtil.LengthValueBuilder();
-        try {
-            for (final Object o : object.entrySet()) {
-                if (o instanceof Map.Entry) {
-                    Map.Entry entry = (Map.Entry) o;
-                    final ToBytesSerialiser keySerialiser = getKeySerialiser();
-                    final ToBytesSerialiser valueSerialiser = getValueSerialiser();
-                    checkSerialiers(keySerialiser, valueSerialiser);
-                    builder.appendLengthValueFromObjectToByteStream(keySerialiser, entry.getKey());
-                    builder.appendLengthValueFromObjectToByteStream(valueSerialiser, entry.getValue());
-                } else {
-                    throw new SerialisationException("Was not able to process EntrySet of Map");
-                }
+        final ByteArrayOutputStream out = LengthValueBytesSerialiserUtil.createByteArray();
+        serialise(object, out);
+        return out.toByteArray();
+    }
+
+    @Override
+    public void serialise(final Map object, final ByteArrayOutputStream out) throws SerialisationException {
+        final ByteArrayOutputStream valueBuffer = LengthValueBytesSerialiserUtil.createByteArray();
+        for (final Object o : object.entrySet()) {
+            if (o instanceof Map.Entry) {
+                final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+                final ToBytesSerialiser<?> keySerialiser = getKeySerialiser();
+                final ToBytesSerialiser<?> valueSerialiser = getValueSerialiser();
+                checkSerialiers(keySerialiser, valueSerialiser);
+                LengthValueBytesSerialiserUtil.appendLengthValueFromObjectToByteStream(out, keySerialiser, entry.getKey(), valueBuffer);
+                LengthValueBytesSerialiserUtil.appendLengthValueFromObjectToByteStream(out, valueSerialiser, entry.getValue(), valueBuffer);
+            } else {
+                throw new SerialisationException("Was not able to process EntrySet of Map");
             }
-        } catch (final IOException e) {
-            throw new SerialisationException(e.getMessage(), e);
         }
-        return builder.toArray();
     }
 
     protected void checkSerialiers(final ToBytesSerialiser keySerialiser, final ToBytesSerialiser valueSerialiser) {
@@ -76,30 +78,37 @@ public class MapSerialiser implements ToBytesSerialiser<Map> {
 
     @Override
     public Map<? extends Object, ? extends Object> deserialise(final byte[] bytes) throws SerialisationException {
-        Map map;
-        if (null == getMapClass()) {
-            map = new HashMap<>();
-        } else {
-            try {
-                map = getMapClass().newInstance();
-            } catch (final IllegalAccessException | IllegalArgumentException | SecurityException | InstantiationException e) {
-                throw new SerialisationException("Failed to create map instance" + e.getMessage(), e);
-            }
-        }
-        final int arrayLength = bytes.length;
-        int carriage = 0;
-        while (carriage < arrayLength) {
-            final ToBytesSerialiser keySerialiser = getKeySerialiser();
-            final ToBytesSerialiser valueSerialiser = getValueSerialiser();
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Map<? extends Object, ? extends Object> deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        final Map<Object, Object> map = createMap();
+        final int end = offset + length;
+        int carriage = offset;
+        while (carriage < end) {
+            final ToBytesSerialiser<?> keySerialiser = getKeySerialiser();
+            final ToBytesSerialiser<?> valueSerialiser = getValueSerialiser();
             checkSerialiers(keySerialiser, valueSerialiser);
-            LengthValueBytesSerialiserUtil.ObjectCarriage c = LengthValueBytesSerialiserUtil.deserialiseNextObject(keySerialiser, carriage, bytes);
-            LengthValueBytesSerialiserUtil.ObjectCarriage c2 = LengthValueBytesSerialiserUtil.deserialiseNextObject(valueSerialiser, c.getCarriage(), bytes);
+            final LengthValueBytesSerialiserUtil.ObjectCarriage<?> c = LengthValueBytesSerialiserUtil.deserialiseNextObject(keySerialiser, carriage, allBytes);
+            final LengthValueBytesSerialiserUtil.ObjectCarriage<?> c2 = LengthValueBytesSerialiserUtil.deserialiseNextObject(valueSerialiser, c.getCarriage(), allBytes);
             map.put(c.getObject(), c2.getObject());
             carriage = c2.getCarriage();
         }
         return map;
     }
 
+    @SuppressWarnings("unchecked")
+    private Map<Object, Object> createMap() throws SerialisationException {
+        if (null == getMapClass()) {
+            return new HashMap<>();
+        }
+        try {
+            return getMapClass().newInstance();
+        } catch (final IllegalAccessException | IllegalArgumentException | SecurityException | InstantiationException e) {
+            throw new SerialisationException("Failed to create map instance" + e.getMessage(), e);
+        }
+    }
 
     @Override
     public Map<? extends Object, ? extends Object> deserialiseEmpty() throws SerialisationException {
@@ -103,13 +103,19 @@ public class MultiSerialiser implements ToBytesSerialiser<Object> {
 
     @Override
     public byte[] serialise(final Object object) throws SerialisationException {
-        try (ByteArrayOutputStream stream = new ByteArrayOutputStream()) {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        serialise(object, stream);
+        return stream.toByteArray();
+    }
+
+    @Override
+    public void serialise(final Object object, final ByteArrayOutputStream out) throws SerialisationException {
+        try {
             byte key = supportedSerialisers.getKeyFromValue(object);
-            byte[] bytes = nullCheck(supportedSerialisers.getSerialiserFromKey(key)).serialise(object);
+            final ToBytesSerialiser<Object> serialiser = nullCheck(supportedSerialisers.getSerialiserFromKey(key));
 
-            stream.write(key);
-            stream.write(bytes);
-            return stream.toByteArray();
+            out.write(key);
+            serialiser.serialise(object, out);
         } catch (final SerialisationException e) {
             //re-throw SerialisationException
             throw e;
@@ -119,19 +125,25 @@ public class MultiSerialiser implements ToBytesSerialiser<Object> {
         }
     }
 
-    private ToBytesSerialiser nullCheck(final ToBytesSerialiser serialiser) throws SerialisationException {
+    @SuppressWarnings("unchecked")
+    private ToBytesSerialiser<Object> nullCheck(final ToBytesSerialiser<?> serialiser) throws SerialisationException {
         if (null == serialiser) {
             throw new SerialisationException(String.format("Serialiser for object type %s does not exist within the MultiSerialiser", Object.class));
         }
-        return serialiser;
+        return (ToBytesSerialiser<Object>) serialiser;
     }
 
     @Override
     public Object deserialise(final byte[] bytes) throws SerialisationException {
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Object deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
         try {
-            byte keyByte = bytes[0];
-            ToBytesSerialiser serialiser = nullCheck(supportedSerialisers.getSerialiserFromKey(keyByte));
-            return serialiser.deserialise(bytes, 1, bytes.length - 1);
+            byte keyByte = allBytes[offset];
+            final ToBytesSerialiser<Object> serialiser = nullCheck(supportedSerialisers.getSerialiserFromKey(keyByte));
+            return serialiser.deserialise(allBytes, offset + 1, length - 1);
         } catch (final SerialisationException e) {
             //re-throw SerialisationException
             throw e;
@@ -18,6 +18,8 @@ package uk.gov.gchq.gaffer.serialisation.implementation;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 
+import java.io.ByteArrayOutputStream;
+
 /**
  * A {@code NullSerialiser} is a {@link ToBytesSerialiser} that always returns
  * null regardless of the input. This could be useful if properties need to be
@@ -36,11 +38,21 @@ public class NullSerialiser implements ToBytesSerialiser<Object> {
         return new byte[0];
     }
 
+    @Override
+    public void serialise(final Object value, final ByteArrayOutputStream out) {
+        // Nothing to write
+    }
+
     @Override
     public Object deserialise(final byte[] bytes) throws SerialisationException {
         return null;
     }
 
+    @Override
+    public Object deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        return null;
+    }
+
     @Override
     public Object deserialiseEmpty() {
         return null;
@@ -26,7 +26,7 @@ import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 import uk.gov.gchq.gaffer.serialisation.util.LengthValueBytesSerialiserUtil;
 import uk.gov.gchq.koryphe.serialisation.json.SimpleClassNameIdResolver;
 
-import java.io.IOException;
+import java.io.ByteArrayOutputStream;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -50,53 +50,54 @@ public class SetSerialiser implements ToBytesSerialiser<Set<? extends Object>> {
 
     @Override
     public byte[] serialise(final Set<? extends Object> object) throws SerialisationException {
-        LengthValueBytesSerialiserUtil.LengthValueBuilder builder = new LengthValueBytesSerialiserUtil.LengthValueBuilder();
-        try {
-            for (final Object entry : object) {
-                builder.appendLengthValueFromObjectToByteStream(getObjectSerialiser(), entry);
-            }
-        } catch (final IOException e) {
-            throw new SerialisationException(e.getMessage(), e);
+        final ByteArrayOutputStream out = LengthValueBytesSerialiserUtil.createByteArray();
+        serialise(object, out);
+        return out.toByteArray();
+    }
+
+    @Override
+    public void serialise(final Set<? extends Object> object, final ByteArrayOutputStream out) throws SerialisationException {
+        final ToBytesSerialiser<?> objectSerialiser = getObjectSerialiser();
+        final ByteArrayOutputStream valueBuffer = LengthValueBytesSerialiserUtil.createByteArray();
+        for (final Object entry : object) {
+            LengthValueBytesSerialiserUtil.appendLengthValueFromObjectToByteStream(out, objectSerialiser, entry, valueBuffer);
         }
-        return builder.toArray();
     }
 
     @Override
     public Set<? extends Object> deserialise(final byte[] bytes) throws SerialisationException {
-        Set set;
-        if (null == getSetClass()) {
-            set = new HashSet<>();
-        } else {
-            try {
-                set = getSetClass().newInstance();
-            } catch (final IllegalAccessException | IllegalArgumentException | SecurityException | InstantiationException e) {
-                throw new SerialisationException("Failed to create map instance" + e.getMessage(), e);
-            }
-        }
-        final int arrayLength = bytes.length;
-        int carriage = 0;
-        while (carriage < arrayLength) {
-            LengthValueBytesSerialiserUtil.ObjectCarriage c = LengthValueBytesSerialiserUtil.deserialiseNextObject(getObjectSerialiser(), carriage, bytes);
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Set<? extends Object> deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        final Set<Object> set = createSet();
+        final ToBytesSerialiser<?> objectSerialiser = getObjectSerialiser();
+        final int end = offset + length;
+        int carriage = offset;
+        while (carriage < end) {
+            final LengthValueBytesSerialiserUtil.ObjectCarriage<?> c = LengthValueBytesSerialiserUtil.deserialiseNextObject(objectSerialiser, carriage, allBytes);
             set.add(c.getObject());
             carriage = c.getCarriage();
         }
         return set;
     }
 
-
     @Override
     public Set<? extends Object> deserialiseEmpty() throws SerialisationException {
-        Set set;
+        return createSet();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<Object> createSet() throws SerialisationException {
         if (null == getSetClass()) {
-            set = new HashSet<>();
-        } else {
-            try {
-                set = getSetClass().newInstance();
-            } catch (final IllegalAccessException | IllegalArgumentException | SecurityException | InstantiationException e) {
-                throw new SerialisationException("Failed to create map instance" + e.getMessage(), e);
-            }
+            return new HashSet<>();
+        }
+        try {
+            return getSetClass().newInstance();
+        } catch (final IllegalAccessException | IllegalArgumentException | SecurityException | InstantiationException e) {
+            throw new SerialisationException("Failed to create map instance" + e.getMessage(), e);
         }
-        return set;
     }
 
     @Override
@@ -19,6 +19,8 @@ import uk.gov.gchq.gaffer.commonutil.CommonConstants;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesViaStringDeserialiser;
 
+import java.io.ByteArrayOutputStream;
+
 /**
  * A {@code StringSerialiser} is used to serialise {@link String}s.
  */
@@ -40,6 +42,16 @@ public class StringSerialiser extends ToBytesViaStringDeserialiser<String> {
         return object;
     }
 
+    @Override
+    public void serialise(final String object, final ByteArrayOutputStream out) throws SerialisationException {
+        if (null == object) {
+            final byte[] bytes = serialiseNull();
+            out.write(bytes, 0, bytes.length);
+        } else {
+            writeString(object, out);
+        }
+    }
+
     @Override
     protected String deserialiseString(final String value) throws SerialisationException {
         return value;
@@ -21,6 +21,7 @@ import uk.gov.gchq.gaffer.commonutil.CommonConstants;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesViaStringDeserialiser;
 
+import java.io.ByteArrayOutputStream;
 import java.util.Iterator;
 import java.util.TreeSet;
 
@@ -57,6 +58,25 @@ public class TreeSetStringSerialiser extends ToBytesViaStringDeserialiser<TreeSe
         return builder.toString();
     }
 
+    @Override
+    public void serialise(final TreeSet<String> object, final ByteArrayOutputStream out) throws SerialisationException {
+        if (null == object) {
+            super.serialise(object, out);
+            return;
+        }
+
+        writeString(OPEN, out);
+        final Iterator<String> values = object.iterator();
+        if (values.hasNext()) {
+            writeString(String.valueOf(values.next()), out);
+        }
+        while (values.hasNext()) {
+            writeString(COMMA, out);
+            writeString(String.valueOf(values.next()), out);
+        }
+        writeString(CLOSE, out);
+    }
+
     @Override
     public TreeSet<String> deserialiseString(final String value) throws SerialisationException {
 
@@ -19,6 +19,8 @@ package uk.gov.gchq.gaffer.serialisation.implementation.ordered;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 
+import java.io.ByteArrayOutputStream;
+
 /**
  * An {@code OrderedIntegerSerialser} serialises a {@link Integer} to
  * an array of bytes. This serialiser preserves ordering.
@@ -53,23 +55,48 @@ public class OrderedIntegerSerialiser implements ToBytesSerialiser<Integer> {
         return ret;
     }
 
+    @Override
+    public void serialise(final Integer object, final ByteArrayOutputStream out) {
+        final int signedI = object ^ 0x80000000;
+        int shift = 24;
+        final int prefix = signedI < 0 ? 255 : 0;
+
+        int index;
+        for (index = 0; index < 4 && (signedI >> shift & 255) == prefix; ++index) {
+            shift -= 8;
+        }
+
+        final int length = 4 - index;
+        out.write(signedI < 0 ? 8 - length : length);
+        for (index = 0; index < length; ++index) {
+            out.write(signedI >> shift);
+            shift -= 8;
+        }
+    }
+
     @Override
     public Integer deserialise(final byte[] bytes) throws SerialisationException {
-        if (bytes[0] >= 0 && bytes[0] <= 8) {
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Integer deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        final byte header = allBytes[offset];
+        if (header >= 0 && header <= 8) {
             int i = 0;
             int shift = 0;
 
-            for (int idx = bytes.length - 1; idx >= 0 + 1; --idx) {
-                i = (int) ((long) i + (((long) bytes[idx] & 255L) << shift));
+            for (int idx = offset + length - 1; idx >= offset + 1; --idx) {
+                i = (int) ((long) i + (((long) allBytes[idx] & 255L) << shift));
                 shift += 8;
             }
 
-            if (bytes[0] > 4) {
-                i |= -1 << (8 - bytes[0] << 3);
+            if (header > 4) {
+                i |= -1 << (8 - header << 3);
             }
-            return Integer.valueOf(i) ^ 0x80000000;
+            return i ^ 0x80000000;
         } else {
-            throw new SerialisationException("Unexpected length " + (255 & bytes[0]));
+            throw new SerialisationException("Unexpected length " + (255 & header));
         }
     }
 
@@ -18,6 +18,7 @@ package uk.gov.gchq.gaffer.serialisation.implementation.raw;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 
+import java.io.ByteArrayOutputStream;
 import java.util.Date;
 
 /**
@@ -55,6 +56,15 @@ public class RawDateSerialiser implements ToBytesSerialiser<Date> {
         return out;
     }
 
+    @Override
+    public void serialise(final Date value, final ByteArrayOutputStream out) {
+        final long time = value.getTime();
+        // NB Serialise high-order bits first
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (time >> shift) & 255);
+        }
+    }
+
     @Override
     public Date deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
         int carriage = offset;
@@ -19,6 +19,8 @@ package uk.gov.gchq.gaffer.serialisation.implementation.raw;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 
+import java.io.ByteArrayOutputStream;
+
 /**
  * For new properties use {@link uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedDoubleSerialiser}.
  * RawDoubleSerialiser serialises Doubles into an IEEE floating point little-endian byte array.
@@ -50,6 +52,14 @@ public class RawDoubleSerialiser implements ToBytesSerialiser<Double> {
         return out;
     }
 
+    @Override
+    public void serialise(final Double value, final ByteArrayOutputStream out) {
+        final long bits = Double.doubleToRawLongBits(value);
+        for (int shift = 0; shift < 64; shift += 8) {
+            out.write((int) (bits >> shift) & 255);
+        }
+    }
+
     @Override
     public Double deserialise(final byte[] bytes) throws SerialisationException {
         return deserialise(bytes, 0, bytes.length);
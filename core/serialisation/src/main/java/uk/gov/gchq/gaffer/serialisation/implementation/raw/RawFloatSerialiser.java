@@ -19,6 +19,8 @@ package uk.gov.gchq.gaffer.serialisation.implementation.raw;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 
+import java.io.ByteArrayOutputStream;
+
 /**
  * For new properties use {@link uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedFloatSerialiser}.
  * RawFloatSerialiser serialises Floats into an IEEE floating point little-endian byte array.
@@ -46,6 +48,14 @@ public class RawFloatSerialiser implements ToBytesSerialiser<Float> {
         return out;
     }
 
+    @Override
+    public void serialise(final Float value, final ByteArrayOutputStream out) {
+        final int bits = Float.floatToRawIntBits(value);
+        for (int shift = 0; shift < 32; shift += 8) {
+            out.write((bits >> shift) & 255);
+        }
+    }
+
     @Override
     public Float deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
         int carriage = offset;
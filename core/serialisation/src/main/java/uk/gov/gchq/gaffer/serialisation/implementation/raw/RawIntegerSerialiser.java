@@ -19,6 +19,8 @@ package uk.gov.gchq.gaffer.serialisation.implementation.raw;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 
+import java.io.ByteArrayOutputStream;
+
 /**
  * For new properties use {@link uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedIntegerSerialiser}.
  * RawIntegerSerialiser serialises Integers into a little-endian byte array.
@@ -45,6 +47,13 @@ public class RawIntegerSerialiser implements ToBytesSerialiser<Integer> {
         return out;
     }
 
+    @Override
+    public void serialise(final Integer value, final ByteArrayOutputStream out) {
+        for (int shift = 0; shift < 32; shift += 8) {
+            out.write((value >> shift) & 255);
+        }
+    }
+
     @Override
     public Integer deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
         int carriage = offset;
@@ -19,6 +19,8 @@ package uk.gov.gchq.gaffer.serialisation.implementation.raw;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 
+import java.io.ByteArrayOutputStream;
+
 /**
  * For new properties use {@link uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedLongSerialiser}.
  * RawLongSerialiser serialises Longs into a little-endian byte array.
@@ -49,6 +51,13 @@ public class RawLongSerialiser implements ToBytesSerialiser<Long> {
         return out;
     }
 
+    @Override
+    public void serialise(final Long value, final ByteArrayOutputStream out) {
+        for (int shift = 0; shift < 64; shift += 8) {
+            out.write((int) (value >> shift) & 255);
+        }
+    }
+
     @Override
     public Long deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
         int carriage = offset;
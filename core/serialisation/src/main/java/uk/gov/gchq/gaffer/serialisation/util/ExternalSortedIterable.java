@@ -0,0 +1,359 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.serialisation.util;
+
+import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * <p>
+ * An {@link Iterable} which can sort, limit and deduplicate more items than can
+ * be held in memory. It provides the same results as the
+ * {@link uk.gov.gchq.gaffer.commonutil.iterable.LimitedInMemorySortedIterable}.
+ * </p>
+ * <p>
+ * Items are buffered in memory until there are {@code maxItemsInMemory} of
+ * them, at which point the buffer is sorted and written to a temporary file
+ * using the provided {@link ToBytesSerialiser}. Iterating merges the sorted
+ * files and the final in memory buffer lazily, deduplicating and applying the
+ * limit as the items are merged, so the iterable can be iterated over more
+ * than once. The temporary files are kept until this iterable is closed.
+ * </p>
+ * <p>
+ * If a {@code canSpill} predicate is provided, each item is tested as it is
+ * added. Once an item is found that the serialiser cannot write without losing
+ * information, no more items are written to temporary files and the remaining
+ * items are held in memory instead.
+ * </p>
+ *
+ * @param <E> the type of object to sort
+ */
+public class ExternalSortedIterable<E> implements CloseableIterable<E> {
+    private final Comparator<E> comparator;
+    private final Integer limit;
+    private final boolean deduplicate;
+    private final int maxItemsInMemory;
+    private final ToBytesSerialiser<E> serialiser;
+    private final File tempDirectory;
+    private final Predicate<? super E> canSpill;
+    private final List<Run> runs = new ArrayList<>();
+    private List<E> buffer = new ArrayList<>();
+    private boolean sorted;
+    private boolean closed;
+    private boolean spilling = true;
+
+    public ExternalSortedIterable(final Comparator<E> comparator,
+                                  final Integer limit,
+                                  final boolean deduplicate,
+                                  final int maxItemsInMemory,
+                                  final ToBytesSerialiser<E> serialiser,
+                                  final File tempDirectory) {
+        this(comparator, limit, deduplicate, maxItemsInMemory, serialiser, tempDirectory, item -> true);
+    }
+
+    public ExternalSortedIterable(final Comparator<E> comparator,
+                                  final Integer limit,
+                                  final boolean deduplicate,
+                                  final int maxItemsInMemory,
+                                  final ToBytesSerialiser<E> serialiser,
+                                  final File tempDirectory,
+                                  final Predicate<? super E> canSpill) {
+        if (null == comparator) {
+            throw new IllegalArgumentException("Comparator is required");
+        }
+        if (null == serialiser) {
+            throw new IllegalArgumentException("Serialiser is required");
+        }
+        if (null != limit && 1 > limit) {
+            throw new IllegalArgumentException("Limit cannot be less than or equal to 0");
+        }
+        if (1 > maxItemsInMemory) {
+            throw new IllegalArgumentException("The maximum number of items in memory must be greater than 0");
+        }
+        this.comparator = comparator;
+        this.limit = limit;
+        this.deduplicate = deduplicate;
+        this.maxItemsInMemory = maxItemsInMemory;
+        this.serialiser = serialiser;
+        this.tempDirectory = tempDirectory;
+        this.canSpill = null == canSpill ? item -> true : canSpill;
+    }
+
+    public void add(final E e) {
+        if (closed) {
+            throw new IllegalStateException("Items cannot be added once the iterable has been closed");
+        }
+        if (sorted) {
+            throw new IllegalStateException("Items cannot be added once the iterable has been iterated over");
+        }
+        if (spilling && !canSpill.test(e)) {
+            spilling = false;
+        }
+        buffer.add(e);
+        if (spilling && buffer.size() >= maxItemsInMemory) {
+            spill();
+        }
+    }
+
+    public void addAll(final Iterable<? extends E> items) {
+        for (final E item : items) {
+            add(item);
+        }
+    }
+
+    /**
+     * @return the number of temporary files that items have been written to
+     */
+    public int getNumberOfSpills() {
+        return runs.size();
+    }
+
+    @Override
+    public CloseableIterator<E> iterator() {
+        if (closed) {
+            throw new IllegalStateException("The iterable has been closed");
+        }
+        if (!sorted) {
+            buffer = sortDeduplicateAndLimit(buffer);
+            sorted = true;
+        }
+        return new MergingIterator();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (final Run run : runs) {
+            run.file.delete();
+        }
+        runs.clear();
+        buffer = new ArrayList<>();
+    }
+
+    private void spill() {
+        final List<E> items = sortDeduplicateAndLimit(buffer);
+        buffer = new ArrayList<>();
+        final File file;
+        try {
+            file = null == tempDirectory
+                    ? Files.createTempFile("gaffer-sort-", ".run").toFile()
+                    : Files.createTempFile(tempDirectory.toPath(), "gaffer-sort-", ".run").toFile();
+        } catch (final IOException e) {
+            throw new GafferRuntimeException("Unable to create a temporary file to sort into", e);
+        }
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            for (final E item : items) {
+                final byte[] bytes = serialiser.serialise(item);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        } catch (final IOException e) {
+            file.delete();
+            throw new GafferRuntimeException("Unable to write sorted items to " + file, e);
+        }
+        runs.add(new Run(file, items.size()));
+    }
+
+    /**
+     * Sorts the items, which is stable so items that compare equal keep the order they were added in, then removes
+     * the duplicates and any items after the limit.
+     */
+    private List<E> sortDeduplicateAndLimit(final List<E> items) {
+        items.sort(comparator);
+        if (!deduplicate && (null == limit || items.size() <= limit)) {
+            return items;
+        }
+        final List<E> result = new ArrayList<>(null == limit ? items.size() : Math.min(limit, items.size()));
+        final List<E> equalItems = new ArrayList<>();
+        for (final E item : items) {
+            if (null != limit && result.size() >= limit) {
+                break;
+            }
+            if (shouldEmit(item, equalItems)) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Tracks the items that compare equal to the previous item so duplicates can be skipped.
+     *
+     * @return true if the item is not a duplicate of an item that has already been emitted
+     */
+    private boolean shouldEmit(final E item, final List<E> equalItems) {
+        if (!deduplicate) {
+            return true;
+        }
+        if (!equalItems.isEmpty() && 0 != comparator.compare(equalItems.get(0), item)) {
+            equalItems.clear();
+        }
+        if (equalItems.contains(item)) {
+            return false;
+        }
+        equalItems.add(item);
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("limit", limit)
+                .append("deduplicate", deduplicate)
+                .append("maxItemsInMemory", maxItemsInMemory)
+                .append("spills", runs.size())
+                .toString();
+    }
+
+    private static final class Run {
+        private final File file;
+        private final int size;
+
+        private Run(final File file, final int size) {
+            this.file = file;
+            this.size = size;
+        }
+    }
+
+    /**
+     * The next item from one of the sorted runs. The index of the run is used to break ties so that items that
+     * compare equal are returned in the order they were added.
+     */
+    private final class Head {
+        private final E item;
+        private final int runIndex;
+
+        private Head(final E item, final int runIndex) {
+            this.item = item;
+            this.runIndex = runIndex;
+        }
+    }
+
+    private final class MergingIterator implements CloseableIterator<E> {
+        private final List<DataInputStream> inputs = new ArrayList<>(runs.size());
+        private final int[] remaining = new int[runs.size() + 1];
+        private final List<E> memoryRun = buffer;
+        private final int memoryRunIndex = runs.size();
+        private int memoryIndex;
+        private final PriorityQueue<Head> heads = new PriorityQueue<>(runs.size() + 1, (a, b) -> {
+            final int result = comparator.compare(a.item, b.item);
+            return 0 != result ? result : Integer.compare(a.runIndex, b.runIndex);
+        });
+        private final List<E> equalItems = new ArrayList<>();
+        private E next;
+        private int returned;
+        private boolean iteratorClosed;
+
+        private MergingIterator() {
+            try {
+                for (int i = 0; i < runs.size(); i++) {
+                    final Run run = runs.get(i);
+                    inputs.add(new DataInputStream(new BufferedInputStream(new FileInputStream(run.file))));
+                    remaining[i] = run.size;
+                    advance(i);
+                }
+            } catch (final IOException e) {
+                close();
+                throw new GafferRuntimeException("Unable to read sorted items", e);
+            }
+            remaining[memoryRunIndex] = memoryRun.size();
+            advance(memoryRunIndex);
+        }
+
+        private void advance(final int runIndex) {
+            if (0 == remaining[runIndex]) {
+                return;
+            }
+            remaining[runIndex]--;
+            if (runIndex == memoryRunIndex) {
+                heads.add(new Head(memoryRun.get(memoryIndex++), runIndex));
+                return;
+            }
+            final DataInputStream input = inputs.get(runIndex);
+            try {
+                final byte[] bytes = new byte[input.readInt()];
+                input.readFully(bytes);
+                heads.add(new Head(serialiser.deserialise(bytes), runIndex));
+            } catch (final IOException e) {
+                throw new GafferRuntimeException("Unable to read sorted items", e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (null == next && (null == limit || returned < limit) && !heads.isEmpty()) {
+                final Head head = heads.poll();
+                advance(head.runIndex);
+                if (shouldEmit(head.item, equalItems)) {
+                    next = head.item;
+                }
+            }
+            if (null == next) {
+                close();
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final E result = next;
+            next = null;
+            returned++;
+            return result;
+        }
+
+        @Override
+        public void close() {
+            if (iteratorClosed) {
+                return;
+            }
+            iteratorClosed = true;
+            for (final DataInputStream input : inputs) {
+                try {
+                    input.close();
+                } catch (final IOException e) {
+                    // ignore
+                }
+            }
+            inputs.clear();
+            heads.clear();
+        }
+    }
+}
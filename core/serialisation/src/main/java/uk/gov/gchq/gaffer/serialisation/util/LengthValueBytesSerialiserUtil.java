@@ -20,7 +20,6 @@ import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Arrays;
@@ -38,8 +37,39 @@ public abstract class LengthValueBytesSerialiserUtil {
     }
 
     public static ByteArrayOutputStream appendLengthValueFromObjectToByteStream(final ByteArrayOutputStream byteOut, final ToBytesSerialiser serialiser, final Object object) throws SerialisationException {
+        return appendLengthValueFromObjectToByteStream(byteOut, serialiser, object, createByteArray());
+    }
+
+    /**
+     * Appends the length and serialised value of an object to the stream. The
+     * object is serialised into the value buffer using
+     * {@link ToBytesSerialiser#serialise(Object, ByteArrayOutputStream)} so
+     * the buffer can be reused when appending many objects, for example the
+     * entries of a collection, rather than creating a byte array per object.
+     *
+     * @param byteOut     the stream to append the length and value to
+     * @param serialiser  the serialiser for the object
+     * @param object      the object to serialise
+     * @param valueBuffer a buffer to serialise the value into, it is reset before it is used
+     * @return the stream the length and value were appended to
+     * @throws SerialisationException if the object fails to serialise
+     */
+    public static ByteArrayOutputStream appendLengthValueFromObjectToByteStream(final ByteArrayOutputStream byteOut, final ToBytesSerialiser<?> serialiser, final Object object, final ByteArrayOutputStream valueBuffer) throws SerialisationException {
         requireNonNull(serialiser, "Given serialiser is null");
-        return appendLengthValueFromBytesToByteStream(byteOut, serialiser.serialise(object));
+        valueBuffer.reset();
+        serialiseObject(serialiser, object, valueBuffer);
+        CompactRawSerialisationUtils.write(valueBuffer.size(), byteOut);
+        try {
+            valueBuffer.writeTo(byteOut);
+        } catch (final IOException e) {
+            throw new SerialisationException(e.getMessage(), e);
+        }
+        return byteOut;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void serialiseObject(final ToBytesSerialiser<?> serialiser, final Object object, final ByteArrayOutputStream out) throws SerialisationException {
+        ((ToBytesSerialiser<Object>) serialiser).serialise(object, out);
     }
 
     public static ByteArrayOutputStream appendLengthValueFromBytesToByteStream(final ByteArrayOutputStream byteOut, final byte[] serialisedObject) throws SerialisationException {
@@ -92,11 +122,26 @@ public abstract class LengthValueBytesSerialiserUtil {
     }
 
     public static <T> T deserialise(final ToBytesSerialiser<T> serialiser, final byte[] allBytes, final int delimiter) throws SerialisationException {
-        return getValue(serialiser, deserialise(allBytes, delimiter));
+        if (null == allBytes || 0 == allBytes.length) {
+            return serialiser.deserialiseEmpty();
+        }
+
+        final int lengthSize = getLengthSize(allBytes, delimiter);
+        final int valueSize = getValueSize(allBytes, lengthSize, delimiter);
+        return getValue(serialiser, allBytes, delimiter + lengthSize, valueSize);
     }
 
     public static <T> T deserialise(final ToBytesSerialiser<T> serialiser, final byte[] allBytes, final int[] delimiterWrapper) throws SerialisationException {
-        return getValue(serialiser, deserialise(allBytes, delimiterWrapper));
+        if (1 != delimiterWrapper.length) {
+            throw new IllegalArgumentException("Delimiter wrapper must always be a int array of length 1 containing the delimiter");
+        }
+
+        final int lengthSize = getLengthSize(allBytes, delimiterWrapper[0]);
+        final int valueSize = getValueSize(allBytes, lengthSize, delimiterWrapper[0]);
+        final T value = getValue(serialiser, allBytes, delimiterWrapper[0] + lengthSize, valueSize);
+        delimiterWrapper[0] = getNextDelimiter(lengthSize, valueSize, delimiterWrapper[0]);
+
+        return value;
     }
 
     public static byte[] deserialise(final byte[] allBytes, final int[] delimiterWrapper) throws SerialisationException {
@@ -143,11 +188,7 @@ public abstract class LengthValueBytesSerialiserUtil {
     }
 
     public static int getValueSize(final byte[] allBytes, final int lengthSize, final int delimiter) throws SerialisationException {
-        try (final ByteArrayInputStream input = new ByteArrayInputStream(allBytes, delimiter, lengthSize)) {
-            return (int) CompactRawSerialisationUtils.read(input);
-        } catch (final IOException e) {
-            throw new SerialisationException("Exception reading length of property", e);
-        }
+        return (int) CompactRawSerialisationUtils.readLong(allBytes, delimiter);
     }
 
     public static int getNextDelimiter(final byte[] allBytes, final int delimiter) throws SerialisationException {
@@ -187,21 +228,26 @@ public abstract class LengthValueBytesSerialiserUtil {
         return serialiser.deserialise(valueBytes);
     }
 
+    private static <T> T getValue(final ToBytesSerialiser<T> serialiser, final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        if (0 == length) {
+            return serialiser.deserialiseEmpty();
+        }
+        return serialiser.deserialise(allBytes, offset, length);
+    }
+
 
     public static <T> ObjectCarriage<T> deserialiseNextObject(final ToBytesSerialiser<T> serialiser, final int currentCarriage, final byte[] bytes) throws SerialisationException {
         int rtn = currentCarriage;
         int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(bytes[rtn]);
         int currentPropLength = getCurrentPropLength(bytes, rtn, numBytesForLength);
         int from = rtn += numBytesForLength;
-        int to = rtn += currentPropLength;
-        T object = serialiser.deserialise(Arrays.copyOfRange(bytes, from, to));
+        rtn += currentPropLength;
+        T object = serialiser.deserialise(bytes, from, currentPropLength);
         return new ObjectCarriage<T>(object, rtn);
     }
 
     private static int getCurrentPropLength(final byte[] bytes, final int pos, final int numBytesForLength) throws SerialisationException {
-        final byte[] length = new byte[numBytesForLength];
-        System.arraycopy(bytes, pos, length, 0, numBytesForLength);
-        return (int) CompactRawSerialisationUtils.readLong(length);
+        return (int) CompactRawSerialisationUtils.readLong(bytes, pos);
     }
 
 
@@ -234,9 +280,10 @@ public abstract class LengthValueBytesSerialiserUtil {
     public static class LengthValueBuilder {
 
         ByteArrayOutputStream byteOut = LengthValueBytesSerialiserUtil.createByteArray();
+        private final ByteArrayOutputStream valueBuffer = LengthValueBytesSerialiserUtil.createByteArray();
 
         public LengthValueBuilder appendLengthValueFromObjectToByteStream(final ToBytesSerialiser serialiser, final Object object) throws SerialisationException {
-            LengthValueBytesSerialiserUtil.appendLengthValueFromObjectToByteStream(byteOut, serialiser, object);
+            LengthValueBytesSerialiserUtil.appendLengthValueFromObjectToByteStream(byteOut, serialiser, object, valueBuffer);
             return this;
         }
 
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.serialisation;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.implementation.BooleanSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.BytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.MapSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.MultiSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.NullSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.SetSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.TreeSetStringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedDateSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedDoubleSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedFloatSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedIntegerSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedLongSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawIntegerSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.RawDateSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.RawDoubleSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.RawFloatSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.RawIntegerSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.RawLongSerialiser;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ToBytesSerialiserBufferTest {
+    private static final byte[] PADDING = {-1, 42, 0};
+
+    @Test
+    public void shouldWriteToStreamAndReadFromOffsetForLongSerialisers() throws Exception {
+        final Long[] values = {0L, 1L, -1L, 127L, -128L, 1234567890123L, -1234567890123L, Long.MAX_VALUE, Long.MIN_VALUE};
+        assertRoundTrips(new OrderedLongSerialiser(), values);
+        assertRoundTrips(new RawLongSerialiser(), values);
+        assertRoundTrips(new CompactRawLongSerialiser(), values);
+    }
+
+    @Test
+    public void shouldWriteToStreamAndReadFromOffsetForIntegerSerialisers() throws Exception {
+        final Integer[] values = {0, 1, -1, 127, -128, 255, 65536, -65537, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        assertRoundTrips(new OrderedIntegerSerialiser(), values);
+        assertRoundTrips(new RawIntegerSerialiser(), values);
+        assertRoundTrips(new CompactRawIntegerSerialiser(), values);
+    }
+
+    @Test
+    public void shouldWriteToStreamAndReadFromOffsetForFloatingPointSerialisers() throws Exception {
+        final Double[] doubles = {0.0, -0.0, 1.5, -1.5, Double.MAX_VALUE, Double.MIN_VALUE, Double.NEGATIVE_INFINITY};
+        assertRoundTrips(new OrderedDoubleSerialiser(), doubles);
+        assertRoundTrips(new RawDoubleSerialiser(), doubles);
+
+        final Float[] floats = {0.0f, -0.0f, 1.5f, -1.5f, Float.MAX_VALUE, Float.MIN_VALUE, Float.NEGATIVE_INFINITY};
+        assertRoundTrips(new OrderedFloatSerialiser(), floats);
+        assertRoundTrips(new RawFloatSerialiser(), floats);
+    }
+
+    @Test
+    public void shouldWriteToStreamAndReadFromOffsetForOtherSerialisers() throws Exception {
+        final Date[] dates = {new Date(0L), new Date(1234567890123L), new Date(-1234567890123L)};
+        assertRoundTrips(new OrderedDateSerialiser(), dates);
+        assertRoundTrips(new RawDateSerialiser(), dates);
+        assertRoundTrips(new BooleanSerialiser(), true, false);
+        assertRoundTrips(new BytesSerialiser(), new byte[]{1, 2, 3}, new byte[0]);
+        assertRoundTrips(new StringSerialiser(), "", "a string");
+        assertRoundTrips(new NullSerialiser(), "ignored");
+        assertRoundTrips(new JavaSerialiser(), "a string", 10L, new ArrayList<>(Arrays.asList(1, "two")));
+    }
+
+    @Test
+    public void shouldWriteToStreamAndReadFromOffsetForStringSerialisers() throws Exception {
+        // Given
+        final TreeSet<String> emptyTreeSet = new TreeSet<>();
+        final TreeSet<String> treeSet = new TreeSet<>(Arrays.asList("a", "caf\u00e9", "\u00fcber"));
+
+        // When / Then
+        assertRoundTrips(new StringSerialiser(), "caf\u00e9", "\u00fcber", "emoji \ud83d\ude00 end", "\u4e2d\u6587");
+        assertRoundTrips(new TreeSetStringSerialiser(), emptyTreeSet, treeSet);
+    }
+
+    @Test
+    public void shouldWriteToStreamAndReadFromOffsetForCollectionSerialisers() throws Exception {
+        // Given
+        final Set<Object> set = new HashSet<>(Arrays.asList(1L, -300L, Long.MAX_VALUE));
+        final Map<Object, Object> map = new HashMap<>();
+        map.put("one", 1);
+        map.put("two", -2);
+        final MapSerialiser mapSerialiser = new MapSerialiser();
+        mapSerialiser.setKeySerialiser(new StringSerialiser());
+        mapSerialiser.setValueSerialiser(new OrderedIntegerSerialiser());
+        final MultiSerialiser multiSerialiser = new MultiSerialiser()
+                .addSerialiser((byte) 0, new StringSerialiser(), String.class)
+                .addSerialiser((byte) 1, new OrderedLongSerialiser(), Long.class);
+
+        // When / Then
+        assertRoundTrips(new SetSerialiser(new CompactRawLongSerialiser()), set);
+        assertRoundTrips(new SetSerialiser(new StringSerialiser()), new HashSet<>(Arrays.asList("a", "caf\u00e9", "")));
+        assertRoundTrips(mapSerialiser, map);
+        assertRoundTrips(multiSerialiser, "a string", 10L);
+    }
+
+    @SafeVarargs
+    private final <T> void assertRoundTrips(final ToBytesSerialiser<T> serialiser, final T... values) throws SerialisationException {
+        for (final T value : values) {
+            // Given
+            final byte[] expected = serialiser.serialise(value);
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            out.write(PADDING, 0, PADDING.length);
+
+            // When
+            serialiser.serialise(value, out);
+            out.write(PADDING, 0, PADDING.length);
+            final byte[] padded = out.toByteArray();
+            final T fromOffset = serialiser.deserialise(padded, PADDING.length, expected.length);
+            final T fromBuffer = serialiser.deserialise(ByteBuffer.wrap(padded, PADDING.length, expected.length).slice());
+
+            // Then
+            final String message = serialiser.getClass().getSimpleName() + " " + value;
+            assertEquals(Arrays.toString(expected), Arrays.toString(Arrays.copyOfRange(padded, PADDING.length, padded.length - PADDING.length)), message);
+            assertTrue(Objects.deepEquals(serialiser.deserialise(expected), fromOffset), message);
+            assertTrue(Objects.deepEquals(serialiser.deserialise(expected), fromBuffer), message);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.serialisation.util;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.serialisation.IntegerSerialiser;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ExternalSortedIterableTest {
+
+    private static ExternalSortedIterable<Integer> sort(final List<Integer> items, final Integer limit,
+                                                        final boolean deduplicate, final File tempDirectory) {
+        final ExternalSortedIterable<Integer> sorted = new ExternalSortedIterable<>(Comparator.naturalOrder(),
+                limit, deduplicate, 10, new IntegerSerialiser(), tempDirectory);
+        sorted.addAll(items);
+        return sorted;
+    }
+
+    private static List<Integer> randomItems() {
+        final Random random = new Random(0L);
+        return IntStream.range(0, 105).map(i -> random.nextInt(50)).boxed().collect(Collectors.toList());
+    }
+
+    @Test
+    public void shouldSortItemsThatHaveBeenSpilledToDisk(@TempDir final Path tempDir) {
+        // Given
+        final List<Integer> items = randomItems();
+        final List<Integer> expected = new ArrayList<>(items);
+        expected.sort(Comparator.naturalOrder());
+
+        // When
+        final ExternalSortedIterable<Integer> sorted = sort(items, null, false, tempDir.toFile());
+
+        // Then
+        assertEquals(10, sorted.getNumberOfSpills());
+        assertEquals(expected, Lists.newArrayList(sorted));
+        assertEquals(expected, Lists.newArrayList(sorted));
+        sorted.close();
+    }
+
+    @Test
+    public void shouldDeduplicateAndLimitWhileMerging(@TempDir final Path tempDir) {
+        // Given
+        final List<Integer> items = randomItems();
+        final List<Integer> expected = items.stream().distinct().sorted().limit(25).collect(Collectors.toList());
+
+        // When
+        final ExternalSortedIterable<Integer> sorted = sort(items, 25, true, tempDir.toFile());
+
+        // Then
+        assertEquals(expected, Lists.newArrayList(sorted));
+        sorted.close();
+    }
+
+    @Test
+    public void shouldDeleteTemporaryFilesWhenClosed(@TempDir final Path tempDir) {
+        // Given
+        final ExternalSortedIterable<Integer> sorted = sort(randomItems(), null, false, tempDir.toFile());
+
+        // When
+        sorted.close();
+
+        // Then
+        assertEquals(0, tempDir.toFile().listFiles().length);
+    }
+
+    @Test
+    public void shouldKeepTemporaryFilesUntilClosed(@TempDir final Path tempDir) {
+        // Given
+        final ExternalSortedIterable<Integer> sorted = sort(randomItems(), null, false, tempDir.toFile());
+        final CloseableIterator<Integer> iterator = sorted.iterator();
+
+        // When
+        while (iterator.hasNext()) {
+            iterator.next();
+        }
+        iterator.close();
+
+        // Then
+        assertEquals(10, tempDir.toFile().listFiles().length);
+        sorted.close();
+        assertEquals(0, tempDir.toFile().listFiles().length);
+    }
+
+    @Test
+    public void shouldKeepItemsInMemoryOnceAnItemCannotBeSpilled(@TempDir final Path tempDir) {
+        // Given
+        final List<Integer> items = randomItems();
+        final List<Integer> expected = new ArrayList<>(items);
+        expected.sort(Comparator.naturalOrder());
+        final AtomicInteger added = new AtomicInteger();
+        final ExternalSortedIterable<Integer> sorted = new ExternalSortedIterable<>(Comparator.naturalOrder(),
+                null, false, 10, new IntegerSerialiser(), tempDir.toFile(), item -> added.incrementAndGet() <= 50);
+
+        // When
+        sorted.addAll(items);
+
+        // Then
+        assertEquals(5, sorted.getNumberOfSpills());
+        assertEquals(expected, Lists.newArrayList(sorted));
+        sorted.close();
+    }
+
+    @Test
+    public void shouldThrowWhenIteratedOverAfterClose(@TempDir final Path tempDir) {
+        // Given
+        final ExternalSortedIterable<Integer> sorted = sort(randomItems(), null, false, tempDir.toFile());
+
+        // When
+        sorted.close();
+
+        // Then
+        assertThrows(IllegalStateException.class, sorted::iterator);
+    }
+}
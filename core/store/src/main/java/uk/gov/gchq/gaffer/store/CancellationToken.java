@@ -0,0 +1,104 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store;
+
+import uk.gov.gchq.gaffer.core.exception.Status;
+
+/**
+ * A {@code CancellationToken} is used to stop a running operation chain. It
+ * is shared by a {@link Context} and its shallow clones, so cancelling the
+ * token stops all of the operations run with those contexts.
+ * <p>
+ * Cancellation is cooperative: long running handlers and the iterables
+ * returned by the store check the token and throw an
+ * {@link OperationCancelledException} once the token has been cancelled or
+ * its deadline has passed.
+ * </p>
+ */
+public final class CancellationToken {
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private volatile boolean cancelled;
+    private volatile boolean cancellable;
+    private volatile long deadline = NO_DEADLINE;
+
+    /**
+     * Cancels the operations using this token.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * @return true if the token has been cancelled or its deadline has passed
+     */
+    public boolean isCancelled() {
+        return cancelled || (NO_DEADLINE != deadline && System.currentTimeMillis() >= deadline);
+    }
+
+    /**
+     * @throws OperationCancelledException if the token has been cancelled or
+     *                                     its deadline has passed
+     */
+    public void throwIfCancelled() {
+        if (cancelled) {
+            throw new OperationCancelledException("The operation chain was cancelled");
+        }
+        if (NO_DEADLINE != deadline && System.currentTimeMillis() >= deadline) {
+            throw new OperationCancelledException("The operation chain did not complete before its deadline", Status.REQUEST_TIMEOUT);
+        }
+    }
+
+    /**
+     * Sets the time, in milliseconds since the epoch, at which the operations
+     * will be cancelled. If a deadline has already been set the earlier of the
+     * two is used.
+     *
+     * @param deadline the deadline in milliseconds since the epoch
+     */
+    public synchronized void setDeadline(final long deadline) {
+        if (deadline < this.deadline) {
+            this.deadline = deadline;
+        }
+        cancellable = true;
+    }
+
+    public long getDeadline() {
+        return deadline;
+    }
+
+    public boolean hasDeadline() {
+        return NO_DEADLINE != deadline;
+    }
+
+    /**
+     * Marks the token as one that may be cancelled while it is running, so the
+     * store checks it whilst iterating over results.
+     */
+    public void setCancellable() {
+        cancellable = true;
+    }
+
+    /**
+     * @return true if the token may be cancelled, either because it has a
+     * deadline or because it belongs to a job that can be cancelled while it
+     * reads its own results
+     */
+    public boolean isCancellable() {
+        return cancellable || cancelled;
+    }
+}
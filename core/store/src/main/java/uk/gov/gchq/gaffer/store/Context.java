@@ -21,6 +21,7 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.export.Exporter;
+import uk.gov.gchq.gaffer.store.scheduler.OperationScheduler;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.util.Collection;
@@ -28,17 +29,27 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * A {@code Context} contains operation chain execution information, such
  * as the user who executed the operation chain and a map of {@link Exporter}s.
  */
 public class Context {
+    /**
+     * The operation option used to set the maximum time, in milliseconds, an
+     * operation chain is allowed to run for.
+     */
+    public static final String TIMEOUT_OPTION = "gaffer.operation.timeout";
+
     private final User user;
     private final String jobId;
     private final Map<String, Object> config;
     private OperationChain<?> originalOpChain;
     private Map<String, Object> variables;
+    private final CancellationToken cancellationToken;
+    private OperationScheduler.Permit permit;
+    private final AtomicBoolean jobTracked = new AtomicBoolean(false);
 
     /**
      * Map of exporter simple class name to exporter
@@ -56,12 +67,29 @@ public class Context {
     /**
      * Create a new {@link Context} based on the provided context.
      * A shallow clone of the context is carried out and a new job ID is created.
+     * The clone shares the {@link CancellationToken} of the provided context
+     * and the {@link OperationScheduler.Permit} it was admitted with.
      *
      * @param context the context to shallow clone.
      */
     public Context(final Context context) {
-        this(null != context ? context.user : null, null != context ? context.config : null);
+        this(context, null != context ? context.cancellationToken : null);
+    }
+
+    /**
+     * Create a new {@link Context} based on the provided context, in the same
+     * way as {@link #Context(Context)}, but with the provided
+     * {@link CancellationToken}. This is used when the new context must be
+     * cancelled separately, for example for each run of a scheduled job.
+     *
+     * @param context           the context to shallow clone.
+     * @param cancellationToken the cancellation token for the new context.
+     */
+    Context(final Context context, final CancellationToken cancellationToken) {
+        this(null != context ? context.user : null, null != context ? context.config : null,
+                cancellationToken);
         exporters.putAll(context.exporters);
+        permit = context.permit;
         if (null != context.variables) {
             variables = context.getVariables();
         }
@@ -80,6 +108,10 @@ public class Context {
     }
 
     private Context(final User user, final Map<String, Object> config) {
+        this(user, config, (CancellationToken) null);
+    }
+
+    private Context(final User user, final Map<String, Object> config, final CancellationToken cancellationToken) {
         if (null == user) {
             throw new IllegalArgumentException("User is required");
         }
@@ -91,6 +123,7 @@ public class Context {
         }
         this.jobId = createJobId();
         this.variables = new HashMap<>();
+        this.cancellationToken = null != cancellationToken ? cancellationToken : new CancellationToken();
     }
 
     /**
@@ -116,7 +149,10 @@ public class Context {
             this.jobId = createJobId();
         } else {
             this.jobId = jobId;
+            // The job may already have been tracked with another context
+            this.jobTracked.set(true);
         }
+        this.cancellationToken = new CancellationToken();
     }
 
     public User getUser() {
@@ -210,6 +246,73 @@ public class Context {
         this.originalOpChain = originalOpChain;
     }
 
+    public CancellationToken getCancellationToken() {
+        return cancellationToken;
+    }
+
+    /**
+     * Cancels the operation chains running with this context or any of its
+     * shallow clones.
+     */
+    public void cancel() {
+        cancellationToken.cancel();
+    }
+
+    public boolean isCancelled() {
+        return cancellationToken.isCancelled();
+    }
+
+    /**
+     * Checks whether the operation chain should stop. Long running handlers
+     * should call this regularly.
+     *
+     * @throws OperationCancelledException if the context has been cancelled or
+     *                                     its deadline has passed
+     */
+    public void throwIfCancelled() {
+        cancellationToken.throwIfCancelled();
+    }
+
+    /**
+     * Sets the permit the operation chain running with this context was
+     * admitted with. While the permit is open, operations executed with this
+     * context or any of its shallow clones are not admitted again.
+     *
+     * @param permit the permit, or null to clear it
+     */
+    public void setPermit(final OperationScheduler.Permit permit) {
+        this.permit = permit;
+    }
+
+    public boolean isAdmitted() {
+        return null != permit && permit.isOpen();
+    }
+
+    /**
+     * Marks the job of this context as tracked by the job tracker.
+     *
+     * @return true if the job had not been tracked before, so the job tracker
+     * does not need to look up its previous details
+     */
+    boolean markJobTracked() {
+        return jobTracked.compareAndSet(false, true);
+    }
+
+    /**
+     * Sets the maximum time the operation chains running with this context are
+     * allowed to run for, measured from now.
+     *
+     * @param timeoutMillis the timeout in milliseconds
+     */
+    public void setTimeout(final long timeoutMillis) {
+        if (timeoutMillis < 0) {
+            throw new IllegalArgumentException("Timeout must not be negative");
+        }
+        final long now = System.currentTimeMillis();
+        cancellationToken.setDeadline(timeoutMillis > CancellationToken.NO_DEADLINE - now
+                ? CancellationToken.NO_DEADLINE - 1 : now + timeoutMillis);
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (this == obj) {
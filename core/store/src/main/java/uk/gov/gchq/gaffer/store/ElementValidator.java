@@ -22,6 +22,7 @@ import org.slf4j.LoggerFactory;
 import uk.gov.gchq.gaffer.commonutil.iterable.Validator;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.CompiledView;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.store.schema.Schema;
@@ -37,6 +38,7 @@ public class ElementValidator implements Validator<Element> {
     private static final Logger LOGGER = LoggerFactory.getLogger(ElementValidator.class);
     private final Schema schema;
     private final View view;
+    private final CompiledView compiledView;
     private final boolean includeIsA;
 
     public enum FilterType {
@@ -71,18 +73,40 @@ public class ElementValidator implements Validator<Element> {
     public ElementValidator(final Schema schema, final boolean includeIsA) {
         this.schema = schema;
         this.view = null;
+        this.compiledView = null;
         this.includeIsA = includeIsA;
     }
 
     /**
      * Constructs a {@code ElementValidator} with a {@link View} to use to
-     * validate {@link Element}s.
+     * validate {@link Element}s. The view filters are compiled the first time
+     * each group is validated, so the view should not be modified after the
+     * validator is created.
      *
      * @param view the {@link View} to use to
      *             validate {@link Element}s.
      */
     public ElementValidator(final View view) {
         this.view = view;
+        this.compiledView = null != view ? new CompiledView(view) : null;
+        this.schema = null;
+        includeIsA = false;
+    }
+
+    /**
+     * Constructs a {@code ElementValidator} with a {@link View} to use to
+     * validate {@link Element}s. The view filters are compiled against the
+     * property slots of the schema groups, so the properties of elements
+     * created from the schema are read by index. The schema is not used to
+     * validate the elements.
+     *
+     * @param view   the {@link View} to use to
+     *               validate {@link Element}s.
+     * @param schema the {@link Schema} the elements were created from
+     */
+    public ElementValidator(final View view, final Schema schema) {
+        this.view = view;
+        this.compiledView = null != view ? new CompiledView(view, schema::getPropertySlots) : null;
         this.schema = null;
         includeIsA = false;
     }
@@ -103,9 +127,7 @@ public class ElementValidator implements Validator<Element> {
         }
 
         if (null != view) {
-            return validateAgainstViewFilter(element, FilterType.PRE_AGGREGATION_FILTER)
-                    && validateAgainstViewFilter(element, FilterType.POST_AGGREGATION_FILTER)
-                    && validateAgainstViewFilter(element, FilterType.POST_TRANSFORM_FILTER);
+            return compiledView.test(element);
         }
 
         return true;
@@ -177,13 +199,13 @@ public class ElementValidator implements Validator<Element> {
             return true;
         }
 
-        final ViewElementDefinition elementDef = view.getElement(element.getGroup());
-        if (null == elementDef) {
-            return false;
+        if (filterType == FilterType.PRE_AGGREGATION_FILTER) {
+            return compiledView.testPreAggregation(element);
+        } else if (filterType == FilterType.POST_AGGREGATION_FILTER) {
+            return compiledView.testPostAggregation(element);
+        } else {
+            return compiledView.testPostTransform(element);
         }
-
-        final ElementFilter validator = getElementFilter(elementDef, filterType);
-        return null == validator || validator.test(element);
     }
 
     private ValidationResult validateAgainstViewFilterWithValidationResult(final Element element, final FilterType filterType) {
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store;
+
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.core.exception.Status;
+
+/**
+ * An {@code OperationCancelledException} is thrown when an operation chain is
+ * cancelled or passes its deadline while it is running.
+ */
+public class OperationCancelledException extends GafferRuntimeException {
+    private static final long serialVersionUID = 3640214376498137286L;
+
+    public OperationCancelledException(final String message) {
+        super(message);
+    }
+
+    public OperationCancelledException(final String message, final Status status) {
+        super(message, status);
+    }
+}
@@ -24,6 +24,7 @@ import uk.gov.gchq.gaffer.cache.CacheServiceLoader;
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.ExecutorService;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.core.exception.Status;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.IdentifierType;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
@@ -56,6 +57,7 @@ import uk.gov.gchq.gaffer.operation.impl.GetWalks;
 import uk.gov.gchq.gaffer.operation.impl.If;
 import uk.gov.gchq.gaffer.operation.impl.Limit;
 import uk.gov.gchq.gaffer.operation.impl.Reduce;
+import uk.gov.gchq.gaffer.operation.impl.ScoreOperationChain;
 import uk.gov.gchq.gaffer.operation.impl.SetVariable;
 import uk.gov.gchq.gaffer.operation.impl.Validate;
 import uk.gov.gchq.gaffer.operation.impl.ValidateOperationChain;
@@ -76,6 +78,7 @@ import uk.gov.gchq.gaffer.operation.impl.generate.GenerateObjects;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.job.CancelJob;
 import uk.gov.gchq.gaffer.operation.impl.job.CancelScheduledJob;
 import uk.gov.gchq.gaffer.operation.impl.job.GetAllJobDetails;
 import uk.gov.gchq.gaffer.operation.impl.job.GetJobDetails;
@@ -123,6 +126,7 @@ import uk.gov.gchq.gaffer.store.operation.handler.OperationChainHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.ReduceHandler;
+import uk.gov.gchq.gaffer.store.operation.handler.ScoreOperationChainHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.SetVariableHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.ValidateHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.ValidateOperationChainHandler;
@@ -138,6 +142,7 @@ import uk.gov.gchq.gaffer.store.operation.handler.function.FilterHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.function.TransformHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.generate.GenerateElementsHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.generate.GenerateObjectsHandler;
+import uk.gov.gchq.gaffer.store.operation.handler.job.CancelJobHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.job.CancelScheduledJobHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.job.GetAllJobDetailsHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.job.GetJobDetailsHandler;
@@ -160,11 +165,13 @@ import uk.gov.gchq.gaffer.store.operation.handler.output.ToSingletonListHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.output.ToStreamHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.output.ToVerticesHandler;
 import uk.gov.gchq.gaffer.store.optimiser.OperationChainOptimiser;
+import uk.gov.gchq.gaffer.store.scheduler.OperationScheduler;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaOptimiser;
 import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
 import uk.gov.gchq.gaffer.store.schema.ViewValidator;
+import uk.gov.gchq.gaffer.store.util.CancellableIterable;
 import uk.gov.gchq.gaffer.user.User;
 import uk.gov.gchq.koryphe.ValidationResult;
 import uk.gov.gchq.koryphe.util.ReflectionUtil;
@@ -177,7 +184,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.StreamSupport;
 
 import static java.util.Collections.unmodifiableList;
@@ -222,6 +231,9 @@ public abstract class Store {
     private GraphLibrary library;
 
     private JobTracker jobTracker;
+    private double jobTrackerSyncSampleRate = 1.0;
+    private OperationScheduler operationScheduler;
+    private final Map<String, Context> runningJobContexts = new ConcurrentHashMap<>();
     private String graphId;
 
     private boolean jobsRescheduled;
@@ -279,13 +291,18 @@ public abstract class Store {
 
         updateJsonSerialiser();
 
+        if (null != jobTracker) {
+            jobTracker.close();
+        }
         startCacheServiceLoader(properties);
         this.jobTracker = createJobTracker();
+        this.jobTrackerSyncSampleRate = properties.getJobTrackerSyncSampleRate();
 
         optimiseSchema();
         validateSchemas();
         addOpHandlers();
         addExecutorService(properties);
+        this.operationScheduler = createOperationScheduler(properties);
 
         if (properties.getJobTrackerEnabled() && !jobsRescheduled) {
             try (final CloseableIterable<JobDetail> scheduledJobs = this.jobTracker.getAllScheduledJobs()) {
@@ -388,17 +405,100 @@ public abstract class Store {
     }
 
     protected <O> O execute(final OperationChain<O> operation, final Context context) throws OperationException {
-        addOrUpdateJobDetail(operation, context, null, JobStatus.RUNNING);
+        applyTimeout(operation, context);
+        if (null == operationScheduler || context.isAdmitted()) {
+            return executeChain(operation, context);
+        }
+
+        final OperationScheduler.Permit permit = operationScheduler.admit(getUserId(context), () -> getOperationScore(operation, context));
+        context.setPermit(permit);
+        try {
+            return executeChain(operation, context);
+        } finally {
+            permit.close();
+        }
+    }
+
+    private <O> O executeChain(final OperationChain<O> operation, final Context context) throws OperationException {
+        final boolean track = isSynchronousExecutionTracked();
+        final boolean registered = registerRunningJob(context);
+        boolean unregisterOnClose = false;
+        if (track) {
+            trackChain(operation, context, null, JobStatus.RUNNING);
+        }
         try {
-            final O result = (O) handleOperation(operation, context);
-            addOrUpdateJobDetail(operation, context, null, JobStatus.FINISHED);
+            O result = (O) handleOperation(operation, context);
+            if (track) {
+                trackChain(operation, context, null, JobStatus.FINISHED);
+            }
+            if (registered && result instanceof CloseableIterable) {
+                // Lazy results are still being read after the chain returns,
+                // so the chain can be cancelled until they are read or closed
+                result = (O) unregisterOnClose((CloseableIterable<?>) result, context);
+                unregisterOnClose = true;
+            }
             return result;
         } catch (final Throwable t) {
-            addOrUpdateJobDetail(operation, context, t.getMessage(), JobStatus.FAILED);
+            if (track) {
+                trackChain(operation, context, t.getMessage(), getFailedStatus(context));
+            }
             throw t;
+        } finally {
+            if (registered && !unregisterOnClose) {
+                unregisterRunningJob(context);
+            }
+        }
+    }
+
+    private CloseableIterable<?> unregisterOnClose(final CloseableIterable<?> result, final Context context) {
+        final CancellationToken cancellationToken = context.getCancellationToken();
+        final CloseableIterable<?> iterable = result instanceof CancellableIterable
+                && cancellationToken == ((CancellableIterable<?>) result).getCancellationToken()
+                ? ((CancellableIterable<?>) result).getIterable() : result;
+        return new CancellableIterable<>(iterable, cancellationToken, () -> unregisterRunningJob(context));
+    }
+
+    /**
+     * Gets the context of a job or operation chain that is currently running,
+     * or whose results have not yet been closed, so that it can be cancelled.
+     *
+     * @param jobId the job id
+     * @return the context of the running job, or null if it is not running
+     */
+    public Context getRunningJobContext(final String jobId) {
+        return null != jobId ? runningJobContexts.get(jobId) : null;
+    }
+
+    private boolean registerRunningJob(final Context context) {
+        return null == runningJobContexts.putIfAbsent(context.getJobId(), context);
+    }
+
+    private void unregisterRunningJob(final Context context) {
+        runningJobContexts.remove(context.getJobId(), context);
+    }
+
+    private static JobStatus getFailedStatus(final Context context) {
+        return context.isCancelled() ? JobStatus.CANCELLED : JobStatus.FAILED;
+    }
+
+    private void applyTimeout(final Operation operation, final Context context) {
+        final String timeout = operation.getOption(Context.TIMEOUT_OPTION);
+        if (null != timeout) {
+            try {
+                context.setTimeout(Long.parseLong(timeout.trim()));
+            } catch (final NumberFormatException e) {
+                throw new IllegalArgumentException("The " + Context.TIMEOUT_OPTION + " option must be a number of milliseconds, but was: " + timeout, e);
+            }
         }
     }
 
+    private boolean isSynchronousExecutionTracked() {
+        if (null == jobTracker || jobTrackerSyncSampleRate <= 0) {
+            return false;
+        }
+        return jobTrackerSyncSampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < jobTrackerSyncSampleRate;
+    }
+
     /**
      * Executes a given operation job and returns the job detail.
      *
@@ -511,10 +611,16 @@ public abstract class Store {
                 Thread.currentThread().interrupt();
                 return;
             }
-            final Context newContext = context.shallowClone();
+            // Each run has its own token, so cancelling one run does not
+            // cancel the runs that follow it
+            final Context newContext = new Context(context, new CancellationToken());
             try {
                 executeJob(operationChain, newContext, jobDetail.getJobId());
             } catch (final OperationException e) {
+                if (Status.TOO_MANY_REQUESTS == e.getStatus()) {
+                    LOGGER.warn("Scheduled job {} was not run: {}", jobDetail.getJobId(), e.getMessage());
+                    return;
+                }
                 throw new RuntimeException("Exception within scheduled job", e);
             }
         }
@@ -523,7 +629,7 @@ public abstract class Store {
 
     private JobDetail runJob(final Operation operation,
                              final JobDetail jobDetail,
-                             final Context context) {
+                             final Context context) throws OperationException {
         final OperationChain<?> clonedOp =
                 (operation instanceof Operations)
                         ? (OperationChain) operation.shallowClone()
@@ -543,8 +649,13 @@ public abstract class Store {
             }
         }
 
-        runAsync(() -> {
+        // The job reads its own results, so they are checked for cancellation
+        // as each operation in the chain reads them
+        context.getCancellationToken().setCancellable();
+        final boolean registered = registerRunningJob(context);
+        final Runnable job = () -> {
             try {
+                applyTimeout(clonedOp, context);
                 handleOperation(clonedOp, context);
                 addOrUpdateJobDetail(clonedOp, context, null, JobStatus.FINISHED);
             } catch (final Error e) {
@@ -554,16 +665,94 @@ public abstract class Store {
             } catch (final Exception e) {
                 LOGGER.warn("Operation chain job failed to execute", e);
                 addOrUpdateJobDetail(clonedOp, context, e.getMessage(),
-                        JobStatus.FAILED);
+                        getFailedStatus(context));
+            } finally {
+                if (registered) {
+                    unregisterRunningJob(context);
+                }
             }
-        });
+        };
+
+        try {
+            if (null == operationScheduler) {
+                runAsync(job);
+            } else {
+                operationScheduler.submit(getUserId(context), getOperationScore(clonedOp, context), permit -> {
+                    context.setPermit(permit);
+                    job.run();
+                });
+            }
+        } catch (final OperationException | RuntimeException e) {
+            if (registered) {
+                unregisterRunningJob(context);
+            }
+            if (e instanceof OperationException) {
+                addOrUpdateJobDetail(clonedOp, context, e.getMessage(), JobStatus.FAILED);
+            }
+            throw e;
+        }
         return jobDetail;
     }
 
+    /**
+     * Runs a task on the store executor service. The task is not queued or
+     * counted by the {@link OperationScheduler}, as it may run for as long as
+     * the store is used. Operations the task executes should use a context
+     * with an {@link OperationScheduler#createInternalPermit() internal permit}
+     * so they are not queued either.
+     *
+     * @param runnable the task to run
+     */
     public void runAsync(final Runnable runnable) {
         getExecutorService().execute(runnable);
     }
 
+    public OperationScheduler getOperationScheduler() {
+        return operationScheduler;
+    }
+
+    /**
+     * Gets the score used to prioritise an operation chain. This is the score
+     * given by the {@link ScoreOperationChainHandler}, if the store has one,
+     * otherwise 0.
+     *
+     * @param operationChain the operation chain to score
+     * @param context        the context executing the operation chain
+     * @return the score of the operation chain
+     */
+    protected int getOperationScore(final OperationChain<?> operationChain, final Context context) {
+        final OperationHandler<?> handler = getOperationHandler(ScoreOperationChain.class);
+        if (handler instanceof ScoreOperationChainHandler) {
+            try {
+                return ((ScoreOperationChainHandler) handler).getChainScore(operationChain, context.getUser());
+            } catch (final RuntimeException e) {
+                LOGGER.debug("Unable to score operation chain, a score of 0 will be used", e);
+            }
+        }
+        return 0;
+    }
+
+    private static String getUserId(final Context context) {
+        return null != context && null != context.getUser() ? context.getUser().getUserId() : null;
+    }
+
+    private OperationScheduler createOperationScheduler(final StoreProperties properties) {
+        if (null != operationScheduler) {
+            operationScheduler.shutdown();
+        }
+
+        if (!Boolean.TRUE.equals(properties.getOperationSchedulerEnabled())) {
+            return null;
+        }
+
+        return new OperationScheduler(
+                properties.getOperationSchedulerInteractiveLimit(),
+                properties.getOperationSchedulerInteractiveQueueSize(),
+                properties.getOperationSchedulerBatchThreads(),
+                properties.getOperationSchedulerBatchQueueSize(),
+                properties.getOperationSchedulerUserLimit());
+    }
+
     protected ScheduledExecutorService getExecutorService() {
         return (null != ExecutorService.getService() && ExecutorService.isEnabled()) ?
                 ExecutorService.getService() : null;
@@ -799,7 +988,9 @@ public abstract class Store {
 
     protected JobTracker createJobTracker() {
         if (properties.getJobTrackerEnabled()) {
-            return new JobTracker();
+            return new JobTracker(properties.getJobTrackerAsync(),
+                    properties.getJobTrackerQueueSize(),
+                    properties.getJobTrackerBatchSize());
         }
         return null;
     }
@@ -878,7 +1069,7 @@ public abstract class Store {
      * uk.gov.gchq.gaffer.operation.OperationChain}
      */
     protected OperationHandler<? extends OperationChain<?>> getOperationChainHandler() {
-        return new OperationChainHandler<>(opChainValidator, opChainOptimisers);
+        return new OperationChainHandler<>(opChainValidator, opChainOptimisers, getProperties().getOperationChainValidationCacheSize());
     }
 
     protected HashMap<String, SchemaElementDefinition> getSchemaElements() {
@@ -923,9 +1114,19 @@ public abstract class Store {
         return operationHandlers.get(opClass);
     }
 
+    /**
+     * Tracks a synchronously executed operation chain. The job tracker builds
+     * the job detail, so in asynchronous mode this is done by its writer
+     * thread rather than the thread executing the chain.
+     */
+    private void trackChain(final OperationChain<?> operationChain, final Context context, final String msg, final JobStatus jobStatus) {
+        jobTracker.addOrUpdateJob(context.getJobId(), context.getUser(), operationChain, jobStatus, msg, context.markJobTracked());
+    }
+
     private JobDetail addOrUpdateJobDetail(final OperationChain<?> operationChain, final Context context, final String msg, final JobStatus jobStatus) {
         final JobDetail newJobDetail = new JobDetail(context.getJobId(), context.getUser(), operationChain, jobStatus, msg);
         if (null != jobTracker) {
+            context.markJobTracked();
             final JobDetail oldJobDetail = jobTracker.getJob(newJobDetail.getJobId(), context
                     .getUser());
             if (newJobDetail.getStatus().equals(JobStatus.SCHEDULED_PARENT)) {
@@ -948,6 +1149,7 @@ public abstract class Store {
         final OperationHandler<Operation> handler = getOperationHandler(operation.getClass());
         Object result;
         try {
+            context.throwIfCancelled();
             if (null != handler) {
                 result = handler.doOperation(operation, context, this);
             } else {
@@ -960,6 +1162,10 @@ public abstract class Store {
 
         if (null == result) {
             CloseableUtil.close(operation);
+        } else if (result instanceof CloseableIterable
+                && !(result instanceof CancellableIterable)
+                && context.getCancellationToken().isCancellable()) {
+            result = new CancellableIterable<>((CloseableIterable<?>) result, context.getCancellationToken());
         }
 
         return result;
@@ -1057,6 +1263,7 @@ public abstract class Store {
         addOperationHandler(Reduce.class, new ReduceHandler());
         addOperationHandler(Join.class, new JoinHandler());
         addOperationHandler(CancelScheduledJob.class, new CancelScheduledJobHandler());
+        addOperationHandler(CancelJob.class, new CancelJobHandler());
 
         // Context variables
         addOperationHandler(SetVariable.class, new SetVariableHandler());
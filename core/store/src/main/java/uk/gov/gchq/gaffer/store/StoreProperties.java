@@ -30,6 +30,7 @@ import uk.gov.gchq.gaffer.commonutil.DebugUtil;
 import uk.gov.gchq.gaffer.commonutil.StreamUtil;
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
 import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
+import uk.gov.gchq.gaffer.jobtracker.JobTracker;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiserModules;
 import uk.gov.gchq.gaffer.store.operation.declaration.OperationDeclarations;
@@ -68,9 +69,58 @@ public class StoreProperties implements Cloneable {
 
     public static final String JOB_TRACKER_ENABLED = "gaffer.store.job.tracker.enabled";
 
+    /**
+     * If true job details are written to the cache in batches by a background thread.
+     */
+    public static final String JOB_TRACKER_ASYNC = "gaffer.store.job.tracker.async";
+    public static final String JOB_TRACKER_QUEUE_SIZE = "gaffer.store.job.tracker.async.queue.size";
+    public static final String JOB_TRACKER_BATCH_SIZE = "gaffer.store.job.tracker.async.batch.size";
+
+    /**
+     * The fraction, between 0 and 1, of synchronous operation chain executions
+     * recorded in the job tracker. Jobs are always recorded.
+     */
+    public static final String JOB_TRACKER_SYNC_SAMPLE_RATE = "gaffer.store.job.tracker.sync.sample.rate";
+    public static final String JOB_TRACKER_SYNC_SAMPLE_RATE_DEFAULT = "1.0";
+
     public static final String EXECUTOR_SERVICE_THREAD_COUNT = "gaffer.store.job.executor.threads";
     public static final String EXECUTOR_SERVICE_THREAD_COUNT_DEFAULT = "50";
 
+    /**
+     * If true operations are run through an
+     * {@link uk.gov.gchq.gaffer.store.scheduler.OperationScheduler}, which
+     * limits how many run at once, orders them by score and rejects them when
+     * the queues are full.
+     */
+    public static final String OPERATION_SCHEDULER_ENABLED = "gaffer.store.operation.scheduler.enabled";
+    public static final String OPERATION_SCHEDULER_INTERACTIVE_LIMIT = "gaffer.store.operation.scheduler.interactive.limit";
+    public static final String OPERATION_SCHEDULER_INTERACTIVE_LIMIT_DEFAULT = "20";
+    public static final String OPERATION_SCHEDULER_INTERACTIVE_QUEUE_SIZE = "gaffer.store.operation.scheduler.interactive.queue.size";
+    public static final String OPERATION_SCHEDULER_INTERACTIVE_QUEUE_SIZE_DEFAULT = "100";
+    public static final String OPERATION_SCHEDULER_BATCH_THREADS = "gaffer.store.operation.scheduler.batch.threads";
+    public static final String OPERATION_SCHEDULER_BATCH_QUEUE_SIZE = "gaffer.store.operation.scheduler.batch.queue.size";
+    public static final String OPERATION_SCHEDULER_BATCH_QUEUE_SIZE_DEFAULT = "1000";
+
+    /**
+     * The maximum number of operations each user may have running or queued,
+     * or -1 for no limit.
+     */
+    public static final String OPERATION_SCHEDULER_USER_LIMIT = "gaffer.store.operation.scheduler.user.limit";
+    public static final String OPERATION_SCHEDULER_USER_LIMIT_DEFAULT = "-1";
+
+    /**
+     * The maximum number of expanded operation views a Graph caches. Setting it to 0 disables the cache.
+     */
+    public static final String GRAPH_VIEW_CACHE_SIZE = "gaffer.graph.view.cache.size";
+    public static final String GRAPH_VIEW_CACHE_SIZE_DEFAULT = "1000";
+
+    /**
+     * The maximum number of operation chain validation results the operation
+     * chain handler caches. Setting it to 0 disables the cache.
+     */
+    public static final String OPERATION_CHAIN_VALIDATION_CACHE_SIZE = "gaffer.store.operation.chain.validation.cache.size";
+    public static final String OPERATION_CHAIN_VALIDATION_CACHE_SIZE_DEFAULT = "1000";
+
     public static final String JSON_SERIALISER_CLASS = JSONSerialiser.JSON_SERIALISER_CLASS_KEY;
     public static final String JSON_SERIALISER_MODULES = JSONSerialiser.JSON_SERIALISER_MODULES;
     public static final String STRICT_JSON = JSONSerialiser.STRICT_JSON;
@@ -340,6 +390,38 @@ public class StoreProperties implements Cloneable {
         set(JOB_TRACKER_ENABLED, jobTrackerEnabled.toString());
     }
 
+    public Boolean getJobTrackerAsync() {
+        return Boolean.valueOf(get(JOB_TRACKER_ASYNC, "false"));
+    }
+
+    public void setJobTrackerAsync(final Boolean jobTrackerAsync) {
+        set(JOB_TRACKER_ASYNC, jobTrackerAsync.toString());
+    }
+
+    public Integer getJobTrackerQueueSize() {
+        return Integer.parseInt(get(JOB_TRACKER_QUEUE_SIZE, String.valueOf(JobTracker.DEFAULT_QUEUE_SIZE)));
+    }
+
+    public void setJobTrackerQueueSize(final Integer queueSize) {
+        set(JOB_TRACKER_QUEUE_SIZE, queueSize.toString());
+    }
+
+    public Integer getJobTrackerBatchSize() {
+        return Integer.parseInt(get(JOB_TRACKER_BATCH_SIZE, String.valueOf(JobTracker.DEFAULT_BATCH_SIZE)));
+    }
+
+    public void setJobTrackerBatchSize(final Integer batchSize) {
+        set(JOB_TRACKER_BATCH_SIZE, batchSize.toString());
+    }
+
+    public Double getJobTrackerSyncSampleRate() {
+        return Double.parseDouble(get(JOB_TRACKER_SYNC_SAMPLE_RATE, JOB_TRACKER_SYNC_SAMPLE_RATE_DEFAULT));
+    }
+
+    public void setJobTrackerSyncSampleRate(final Double sampleRate) {
+        set(JOB_TRACKER_SYNC_SAMPLE_RATE, sampleRate.toString());
+    }
+
     public String getSchemaClassName() {
         return get(SCHEMA_CLASS, Schema.class.getName());
     }
@@ -408,6 +490,74 @@ public class StoreProperties implements Cloneable {
         return Integer.parseInt(get(EXECUTOR_SERVICE_THREAD_COUNT, EXECUTOR_SERVICE_THREAD_COUNT_DEFAULT));
     }
 
+    public Boolean getOperationSchedulerEnabled() {
+        return Boolean.valueOf(get(OPERATION_SCHEDULER_ENABLED, "false"));
+    }
+
+    public void setOperationSchedulerEnabled(final Boolean enabled) {
+        set(OPERATION_SCHEDULER_ENABLED, enabled.toString());
+    }
+
+    public Integer getOperationSchedulerInteractiveLimit() {
+        return Integer.parseInt(get(OPERATION_SCHEDULER_INTERACTIVE_LIMIT, OPERATION_SCHEDULER_INTERACTIVE_LIMIT_DEFAULT));
+    }
+
+    public void setOperationSchedulerInteractiveLimit(final Integer limit) {
+        set(OPERATION_SCHEDULER_INTERACTIVE_LIMIT, limit.toString());
+    }
+
+    public Integer getOperationSchedulerInteractiveQueueSize() {
+        return Integer.parseInt(get(OPERATION_SCHEDULER_INTERACTIVE_QUEUE_SIZE, OPERATION_SCHEDULER_INTERACTIVE_QUEUE_SIZE_DEFAULT));
+    }
+
+    public void setOperationSchedulerInteractiveQueueSize(final Integer queueSize) {
+        set(OPERATION_SCHEDULER_INTERACTIVE_QUEUE_SIZE, queueSize.toString());
+    }
+
+    /**
+     * @return the number of threads used to run jobs. Defaults to the job
+     * executor thread count.
+     */
+    public Integer getOperationSchedulerBatchThreads() {
+        return Integer.parseInt(get(OPERATION_SCHEDULER_BATCH_THREADS, String.valueOf(getJobExecutorThreadCount())));
+    }
+
+    public void setOperationSchedulerBatchThreads(final Integer threads) {
+        set(OPERATION_SCHEDULER_BATCH_THREADS, threads.toString());
+    }
+
+    public Integer getOperationSchedulerBatchQueueSize() {
+        return Integer.parseInt(get(OPERATION_SCHEDULER_BATCH_QUEUE_SIZE, OPERATION_SCHEDULER_BATCH_QUEUE_SIZE_DEFAULT));
+    }
+
+    public void setOperationSchedulerBatchQueueSize(final Integer queueSize) {
+        set(OPERATION_SCHEDULER_BATCH_QUEUE_SIZE, queueSize.toString());
+    }
+
+    public Integer getOperationSchedulerUserLimit() {
+        return Integer.parseInt(get(OPERATION_SCHEDULER_USER_LIMIT, OPERATION_SCHEDULER_USER_LIMIT_DEFAULT));
+    }
+
+    public void setOperationSchedulerUserLimit(final Integer limit) {
+        set(OPERATION_SCHEDULER_USER_LIMIT, limit.toString());
+    }
+
+    public Integer getGraphViewCacheSize() {
+        return Integer.parseInt(get(GRAPH_VIEW_CACHE_SIZE, GRAPH_VIEW_CACHE_SIZE_DEFAULT));
+    }
+
+    public void setGraphViewCacheSize(final Integer viewCacheSize) {
+        set(GRAPH_VIEW_CACHE_SIZE, viewCacheSize.toString());
+    }
+
+    public Integer getOperationChainValidationCacheSize() {
+        return Integer.parseInt(get(OPERATION_CHAIN_VALIDATION_CACHE_SIZE, OPERATION_CHAIN_VALIDATION_CACHE_SIZE_DEFAULT));
+    }
+
+    public void setOperationChainValidationCacheSize(final Integer validationCacheSize) {
+        set(OPERATION_CHAIN_VALIDATION_CACHE_SIZE, validationCacheSize.toString());
+    }
+
     public void addOperationDeclarationPaths(final String... newPaths) {
         final String newPathsCsv = StringUtils.join(newPaths, ",");
         String combinedPaths = getOperationDeclarationPaths();
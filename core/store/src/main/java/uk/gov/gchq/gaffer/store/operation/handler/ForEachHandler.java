@@ -16,24 +16,68 @@
 
 package uk.gov.gchq.gaffer.store.operation.handler;
 
+import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
 import uk.gov.gchq.gaffer.operation.impl.ForEach;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUtil;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * An {@code OperationHandler} for the {@link ForEach} Operation.
+ * <p>
+ * By default the operation is executed for each input in turn and the results
+ * are returned in a list. The handler has settings which can be overridden by
+ * system administrators in an operationDeclarations.json file:
+ * <ul>
+ * <li>parallelism - the maximum number of operations to execute at the same
+ * time. If this is greater than 1 the operations are executed on a thread pool.
+ * They are all executed before the handler returns, as they are when executed
+ * in turn, so operations with side effects are executed exactly once.</li>
+ * <li>ordered - if true (the default) the results are returned in the same
+ * order as the inputs when executing in parallel, otherwise they are returned
+ * as soon as they are available.</li>
+ * <li>batchSize - if set, and the operation is a {@link GetElements} whose seeds
+ * can be matched back to the elements, then up to batchSize inputs are combined
+ * into a single {@link GetElements} and the elements returned are split back
+ * into a result per input.</li>
+ * </ul>
  *
  * @param <I> input type
  * @param <O> output type
  */
 public class ForEachHandler<I, O> implements OutputOperationHandler<ForEach<I, O>, Iterable<? extends O>> {
+    private Integer parallelism = null;
+    private boolean ordered = true;
+    private Integer batchSize = null;
 
     @Override
     public Iterable<? extends O> doOperation(final ForEach<I, O> forEach, final Context context, final Store store) throws OperationException {
@@ -44,9 +88,73 @@ public class ForEachHandler<I, O> implements OutputOperationHandler<ForEach<I, O
             throw new OperationException("Inputs cannot be null");
         }
 
+        final int chunkSize = isBatchable(forEach.getOperation()) ? batchSize : 1;
+        if (null != parallelism && 1 < parallelism) {
+            return executeInParallel(forEach.getOperation(), forEach.getInput(), chunkSize, context, store);
+        }
+
         final List<O> results = new ArrayList<>();
-        for (final I input : forEach.getInput()) {
-            final Operation clonedOperation = forEach.getOperation().shallowClone();
+        for (final List<? extends I> inputs : Iterables.partition(forEach.getInput(), chunkSize)) {
+            OperationHandlerUtil.throwIfCancelled(context);
+            results.addAll(executeOperation(forEach.getOperation(), inputs, context, store));
+        }
+        return results;
+    }
+
+    public Integer getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(final Integer parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    public void setOrdered(final boolean ordered) {
+        this.ordered = ordered;
+    }
+
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(final Integer batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @SuppressWarnings("deprecation")
+    private boolean isBatchable(final Operation operation) {
+        if (null == batchSize || 2 > batchSize || !(operation instanceof GetElements)) {
+            return false;
+        }
+        final GetElements getElements = (GetElements) operation;
+        return null == getElements.getInput()
+                && (null == getElements.getIncludeIncomingOutGoing() || IncludeIncomingOutgoingType.EITHER == getElements.getIncludeIncomingOutGoing())
+                && (null == getElements.getSeedMatching()
+                || uk.gov.gchq.gaffer.operation.SeedMatching.SeedMatchingType.RELATED == getElements.getSeedMatching());
+    }
+
+    /**
+     * Executes the operation for a chunk of inputs, returning a result for each input.
+     */
+    private List<O> executeOperation(final Operation operation, final List<? extends I> inputs, final Context context, final Store store) throws OperationException {
+        if (1 < inputs.size()) {
+            final List<List<ElementId>> seeds = getSeeds(inputs);
+            if (null != seeds) {
+                // The results of a batched GetElements are the elements for each input
+                @SuppressWarnings("unchecked")
+                final List<O> results = (List<O>) executeBatch((GetElements) operation, seeds, context, store);
+                return results;
+            }
+        }
+
+        final List<O> results = new ArrayList<>(inputs.size());
+        for (final I input : inputs) {
+            OperationHandlerUtil.throwIfCancelled(context);
+            final Operation clonedOperation = operation.shallowClone();
             OperationHandlerUtil.updateOperationInput(clonedOperation, input);
             results.add(executeOperation(clonedOperation, context, store));
         }
@@ -63,4 +171,141 @@ public class ForEachHandler<I, O> implements OutputOperationHandler<ForEach<I, O
         }
         return result;
     }
+
+    /**
+     * @return the seeds for each input, or null if any of the inputs is not an Iterable of {@link ElementId}s
+     */
+    private List<List<ElementId>> getSeeds(final List<? extends I> inputs) {
+        final List<List<ElementId>> seeds = new ArrayList<>(inputs.size());
+        for (final I input : inputs) {
+            if (!(input instanceof Iterable)) {
+                return null;
+            }
+            final List<ElementId> inputSeeds = new ArrayList<>();
+            for (final Object seed : (Iterable<?>) input) {
+                if (!(seed instanceof ElementId)) {
+                    return null;
+                }
+                inputSeeds.add((ElementId) seed);
+            }
+            seeds.add(inputSeeds);
+        }
+        return seeds;
+    }
+
+    /**
+     * Executes a single {@link GetElements} with the seeds from all of the inputs and gives each input the elements
+     * that are related to its seeds. Stores that set the matched vertex return an edge once for each seed it matched,
+     * so each copy of the edge is only given to the inputs with the seed it was matched on, as it would have been if
+     * the inputs had been executed separately.
+     */
+    private List<List<Element>> executeBatch(final GetElements operation, final List<List<ElementId>> seeds,
+                                             final Context context, final Store store) throws OperationException {
+        final Map<Object, Set<Integer>> inputsByVertex = new HashMap<>();
+        final List<EdgeId> edgeSeeds = new ArrayList<>();
+        final List<Integer> edgeSeedInputs = new ArrayList<>();
+        final Set<ElementId> allSeeds = new LinkedHashSet<>();
+        final List<List<Element>> results = new ArrayList<>(seeds.size());
+        for (int i = 0; i < seeds.size(); i++) {
+            for (final ElementId seed : seeds.get(i)) {
+                allSeeds.add(seed);
+                if (seed instanceof EntityId) {
+                    inputsByVertex.computeIfAbsent(((EntityId) seed).getVertex(), k -> new LinkedHashSet<>()).add(i);
+                } else {
+                    edgeSeeds.add((EdgeId) seed);
+                    edgeSeedInputs.add(i);
+                }
+            }
+            results.add(new ArrayList<>());
+        }
+
+        final GetElements clonedOperation = operation.shallowClone();
+        clonedOperation.setInput(allSeeds);
+        final Iterable<? extends Element> elements = store.execute(clonedOperation, context);
+        if (null == elements) {
+            return Collections.nCopies(seeds.size(), null);
+        }
+        try {
+            for (final Element element : elements) {
+                final Set<Integer> inputs = new LinkedHashSet<>();
+                if (element instanceof Entity) {
+                    inputs.addAll(inputsByVertex.getOrDefault(((Entity) element).getVertex(), Collections.emptySet()));
+                } else {
+                    final Edge edge = (Edge) element;
+                    if (null != edge.getMatchedVertex()) {
+                        inputs.addAll(inputsByVertex.getOrDefault(edge.getMatchedVertexValue(), Collections.emptySet()));
+                    } else {
+                        inputs.addAll(inputsByVertex.getOrDefault(edge.getSource(), Collections.emptySet()));
+                        inputs.addAll(inputsByVertex.getOrDefault(edge.getDestination(), Collections.emptySet()));
+                    }
+                }
+                for (int j = 0; j < edgeSeeds.size(); j++) {
+                    if (!inputs.contains(edgeSeedInputs.get(j)) && edgeSeeds.get(j).isRelated(element).isMatch()) {
+                        inputs.add(edgeSeedInputs.get(j));
+                    }
+                }
+                for (final Integer input : inputs) {
+                    results.get(input).add(element);
+                }
+            }
+        } finally {
+            CloseableUtil.close(elements);
+        }
+        return results;
+    }
+
+    /**
+     * Executes the operation on a thread pool, with at most parallelism chunks of inputs being executed at once, and
+     * waits for all of the results. Each chunk is executed with its own context, created from the context of the
+     * ForEach when the chunk is submitted.
+     */
+    private List<O> executeInParallel(final Operation operation, final Iterable<? extends I> inputs, final int chunkSize,
+                                      final Context context, final Store store) throws OperationException {
+        final ExecutorService executorService = Executors.newFixedThreadPool(parallelism,
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("ForEach-%d").build());
+        final CompletionService<List<O>> completionService = new ExecutorCompletionService<>(executorService);
+        final Map<Future<List<O>>, Integer> running = new HashMap<>();
+        // In ordered mode the results of each chunk are held until all of the chunks have been executed
+        final List<List<O>> chunkResults = new ArrayList<>();
+        final List<O> results = new ArrayList<>();
+        final Iterator<? extends List<? extends I>> chunks = Iterables.partition(inputs, chunkSize).iterator();
+        try {
+            while (chunks.hasNext() || !running.isEmpty()) {
+                while (running.size() < parallelism && chunks.hasNext()) {
+                    OperationHandlerUtil.throwIfCancelled(context);
+                    final List<? extends I> chunk = chunks.next();
+                    final Context taskContext = OperationHandlerUtil.createParallelContext(context);
+                    running.put(completionService.submit(() -> executeOperation(operation, chunk, taskContext, store)), chunkResults.size());
+                    chunkResults.add(null);
+                }
+                final Future<List<O>> future = completionService.take();
+                final int index = running.remove(future);
+                if (ordered) {
+                    chunkResults.set(index, future.get());
+                } else {
+                    results.addAll(future.get());
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OperationException("Interrupted while waiting for the ForEach results", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof OperationException) {
+                throw (OperationException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new OperationException("Failed to execute the ForEach operation: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        if (ordered) {
+            for (final List<O> chunkResult : chunkResults) {
+                results.addAll(chunkResult);
+            }
+        }
+        return results;
+    }
 }
@@ -16,11 +16,15 @@
 
 package uk.gov.gchq.gaffer.store.operation.handler;
 
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyClosableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.LimitedCloseableIterable;
-import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.commonutil.iterable.LimitedCloseableIterator;
 import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
@@ -49,14 +53,26 @@ import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUtil;
 import uk.gov.gchq.koryphe.impl.function.IterableFunction;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static java.lang.String.format;
 import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUtil.getResultsOrNull;
@@ -67,11 +83,12 @@ import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUt
  * The handler executes each {@link uk.gov.gchq.gaffer.operation.impl.get.GetElements}
  * operation in the parent GetWalks operation in turn and incrementally creates
  * an in-memory representation of the resulting graph. Once all GetElements
- * operations have been executed, a recursive depth-first search algorithm is
- * used to construct all of the {@link Walk}s that exist in the temporary
- * graph.
+ * operations have been executed, a depth-first search is used to lazily
+ * construct the {@link Walk}s that exist in the temporary graph. Walks are
+ * only built as the results are iterated over, the conditional is applied as
+ * each walk is built and iteration stops once the results limit is reached.
  * <p>
- * The default handler has two settings which can be overridden by system
+ * The default handler has four settings which can be overridden by system
  * administrators: <ul> <li>maxHops - prevent users from executing GetWalks
  * operations that contain more than a set number of hops.</li> <li>prune -
  * toggle pruning for the in-memory graph representation. Enabling pruning
@@ -79,16 +96,28 @@ import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUt
  * previous GetElements operation which do not join up with any edges in the
  * current GetElements operation (orphaned edges). This reduces the memory
  * footprint of the in-memory graph representation, but requires some additional
- * processing while constructing the in-memory graph.</li> </ul>
+ * processing while constructing the in-memory graph.</li> <li>parallelism -
+ * the number of threads in the fork-join pool used to explore the walks from
+ * each seed in parallel, and in the pool used to fetch the batches of the
+ * hops in parallel. Walks are still returned in seed order.</li> <li>hopBatchSize - the maximum
+ * number of seeds to query in a single GetElements operation. Larger hops are
+ * split into batches of this size.</li> </ul>
+ * <p>
+ * Each vertex is only queried once per hop, however many walks reach it. The
+ * edges along every walk are still recorded in the in-memory graph.
  * <p>
  * The maxHops setting is not set by default (i.e. there is no limit to the
  * number of hops that a user can request). The prune flag is enabled by default
  * (for applications where performance is paramount and any issues arising from
- * excessive memory usage can be mitigated, this flag can be disabled).
+ * excessive memory usage can be mitigated, this flag can be disabled). The
+ * parallelism and hopBatchSize are not set by default, so each hop is
+ * executed as a single operation and the walks are explored on the calling
+ * thread.
  * <p>
  * This operation handler can be modified by supplying an
  * operationDeclarations.json file in order to limit the maximum number of hops
- * permitted or to enable/disable the pruning feature.
+ * permitted, to enable/disable the pruning feature or to set the parallelism
+ * and batch size.
  * <p>
  * Currently the handler only supports creating {@link Walk}s which contain
  * {@link Edge}s.
@@ -96,6 +125,8 @@ import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUt
 public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterable<Walk>> {
     private Integer maxHops = null;
     private boolean prune = true;
+    private Integer parallelism = null;
+    private Integer hopBatchSize = null;
 
     @Override
     public Iterable<Walk> doOperation(final GetWalks getWalks, final Context context, final Store store) throws OperationException {
@@ -128,18 +159,28 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
 
         List<?> seeds = originalInput;
 
-        // Execute the operations
-        for (final OperationChain<Iterable<Element>> operation : getWalks.getOperations()) {
-            if (isWhileOperation(operation)) {
-                seeds = executeWhileOperation(
-                        operation, seeds, resultLimit,
-                        context, store, hops, adjacencyMaps, entityMaps
-                );
-            } else {
-                seeds = executeOperation(
-                        operation, seeds, resultLimit,
-                        context, store, hops, adjacencyMaps, entityMaps
-                );
+        // Execute the operations, sharing one pool between the batches of every hop
+        final ExecutorService hopExecutor = null != hopBatchSize && null != parallelism && parallelism > 1
+                ? Executors.newFixedThreadPool(parallelism, new ThreadFactoryBuilder().setDaemon(true).setNameFormat("GetWalks-%d").build())
+                : null;
+        try {
+            for (final OperationChain<Iterable<Element>> operation : getWalks.getOperations()) {
+                OperationHandlerUtil.throwIfCancelled(context);
+                if (isWhileOperation(operation)) {
+                    seeds = executeWhileOperation(
+                            operation, seeds, resultLimit,
+                            context, store, hops, adjacencyMaps, entityMaps, hopExecutor
+                    );
+                } else {
+                    seeds = executeOperation(
+                            operation, seeds, resultLimit,
+                            context, store, hops, adjacencyMaps, entityMaps, hopExecutor
+                    );
+                }
+            }
+        } finally {
+            if (null != hopExecutor) {
+                hopExecutor.shutdownNow();
             }
         }
 
@@ -152,10 +193,7 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
         final GraphWindow graphWindow = new GraphWindow(adjacencyMaps, entityMaps);
 
         // Track/recombine the edge objects and convert to return type
-        final Stream<Walk> walks = Streams.toStream(originalInput)
-                .flatMap(seed -> walk(seed.getVertex(), null, graphWindow, new LinkedList<>(), new LinkedList<>(), hops, getWalks.isIncludePartial()).stream());
-
-        return applyConditionalFiltering(walks, getWalks, context, store);
+        return new WalksIterable(originalInput, graphWindow, hops, getWalks, context, store);
     }
 
     public Integer getMaxHops() {
@@ -174,6 +212,22 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
         this.prune = prune;
     }
 
+    public Integer getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(final Integer parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public Integer getHopBatchSize() {
+        return hopBatchSize;
+    }
+
+    public void setHopBatchSize(final Integer hopBatchSize) {
+        this.hopBatchSize = hopBatchSize;
+    }
+
     private boolean isWhileOperation(final OperationChain<Iterable<Element>> operation) {
         return 1 == operation.getOperations().size()
                 && operation.getOperations().get(0) instanceof While;
@@ -186,7 +240,8 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
                                           final Store store,
                                           final int hops,
                                           final AdjacencyMaps adjacencyMaps,
-                                          final EntityMaps entityMaps) throws OperationException {
+                                          final EntityMaps entityMaps,
+                                          final ExecutorService hopExecutor) throws OperationException {
         List<?> resultSeeds = seeds;
         final While whileOp = (While) operation.getOperations().get(0);
         if (null != whileOp.getOperation()) {
@@ -214,6 +269,7 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
             }
 
             for (int repeatCount = 0; repeatCount < whileOp.getMaxRepeats(); repeatCount++) {
+                OperationHandlerUtil.throwIfCancelled(context);
                 final While whileOpClone = whileOp.shallowClone();
                 if (!whileHandler.isSatisfied(resultSeeds, whileOpClone, context, store)) {
                     break;
@@ -221,7 +277,7 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
                 resultSeeds = executeOperation(
                         (Output) whileOpClone.getOperation(),
                         resultSeeds, resultLimit,
-                        context, store, hops, adjacencyMaps, entityMaps
+                        context, store, hops, adjacencyMaps, entityMaps, hopExecutor
                 );
             }
         }
@@ -236,13 +292,15 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
                                      final Store store,
                                      final int hops,
                                      final AdjacencyMaps adjacencyMaps,
-                                     final EntityMaps entityMaps) throws OperationException {
-        final Iterable<Element> results = executeOperation(operation, seeds, resultLimit, context, store);
+                                     final EntityMaps entityMaps,
+                                     final ExecutorService hopExecutor) throws OperationException {
+        final Iterable<Element> results = executeOperation(operation, seeds, resultLimit, context, store, hopExecutor);
 
         final AdjacencyMap adjacencyMap = new AdjacencyMap();
         final EntityMap entityMap = new EntityMap();
 
-        final List<Object> nextSeeds = new ArrayList<>();
+        // Vertices reached along several walks only need to be queried once
+        final Set<Object> nextSeeds = new LinkedHashSet<>();
         for (final Element e : results) {
             if (e instanceof Edge) {
                 final Edge edge = (Edge) e;
@@ -260,14 +318,71 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
         }
         entityMaps.add(entityMap);
 
-        return nextSeeds;
+        return new ArrayList<>(nextSeeds);
     }
 
     private Iterable<Element> executeOperation(final Output<Iterable<Element>> operation,
                                                final List<?> seeds,
                                                final Integer resultLimit,
                                                final Context context,
-                                               final Store store) throws OperationException {
+                                               final Store store,
+                                               final ExecutorService hopExecutor) throws OperationException {
+        final List<?> distinctSeeds = new ArrayList<>(new LinkedHashSet<>(seeds));
+        if (null == hopBatchSize || distinctSeeds.size() <= hopBatchSize) {
+            return executeBatch(operation, distinctSeeds, resultLimit, context, store);
+        }
+
+        // Each batch needs its own copy of the operation as the input is set on it
+        final List<? extends List<?>> batches = Lists.partition(distinctSeeds, hopBatchSize);
+        final List<Iterable<Element>> results = new ArrayList<>(batches.size());
+        if (null == hopExecutor) {
+            for (final List<?> batch : batches) {
+                results.add(executeBatch(cloneOperation(operation), batch, resultLimit, context, store));
+            }
+        } else {
+            // Each batch has its own copy of the context, which shares the
+            // admission permit of this operation so it is not queued again
+            final List<Future<List<Element>>> futures = new ArrayList<>(batches.size());
+            try {
+                for (final List<?> batch : batches) {
+                    final Output<Iterable<Element>> batchOperation = cloneOperation(operation);
+                    final Context batchContext = OperationHandlerUtil.createParallelContext(context);
+                    futures.add(hopExecutor.submit(() -> Lists.newArrayList(executeBatch(batchOperation, batch, resultLimit, batchContext, store))));
+                }
+                for (final Future<List<Element>> future : futures) {
+                    results.add(future.get());
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OperationException("Interrupted while executing the GetWalks hop", e);
+            } catch (final ExecutionException e) {
+                if (e.getCause() instanceof OperationException) {
+                    throw (OperationException) e.getCause();
+                }
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new OperationException("Failed to execute the GetWalks hop: " + e.getCause().getMessage(), e.getCause());
+            } finally {
+                for (final Future<List<Element>> future : futures) {
+                    future.cancel(true);
+                }
+            }
+        }
+
+        return new LimitedCloseableIterable<>(Iterables.concat(results), 0, resultLimit, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Output<Iterable<Element>> cloneOperation(final Output<Iterable<Element>> operation) {
+        return (Output<Iterable<Element>>) operation.shallowClone();
+    }
+
+    private Iterable<Element> executeBatch(final Output<Iterable<Element>> operation,
+                                           final List<?> seeds,
+                                           final Integer resultLimit,
+                                           final Context context,
+                                           final Store store) throws OperationException {
 
         final Output<Iterable<Element>> convertedOp = new OperationChain.Builder()
                 .first(new ToEntitySeeds.Builder()
@@ -281,44 +396,7 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
         return new LimitedCloseableIterable<>(store.execute(convertedOp, context), 0, resultLimit, false);
     }
 
-    private List<Walk> walk(final Object curr, final Object prev, final GraphWindow graphWindow, final LinkedList<Set<Edge>> edgeQueue, final LinkedList<Set<Entity>> entityQueue, final int hops, final boolean includePartial) {
-        final List<Walk> walks = new ArrayList<>();
-
-        if (null != prev && hops != edgeQueue.size()) {
-            edgeQueue.offer(graphWindow.getAdjacencyMaps().get(edgeQueue.size()).getEdges(prev, curr));
-        }
-
-        entityQueue.offer(graphWindow.getEntityMaps().get(entityQueue.size()).get(curr));
-
-        if (hops == edgeQueue.size()) {
-            final Walk walk = buildWalk(edgeQueue, entityQueue);
-            walks.add(walk);
-        } else {
-            final Set<Object> dests = graphWindow.getAdjacencyMaps().get(edgeQueue.size()).getDestinations(curr);
-            if (dests.isEmpty()) {
-                if (includePartial) {
-                    final Walk walk = buildWalk(edgeQueue, entityQueue);
-                    walks.add(walk);
-                }
-            } else {
-                for (final Object obj : dests) {
-                    walks.addAll(walk(obj, curr, graphWindow, edgeQueue, entityQueue, hops, includePartial));
-                }
-            }
-        }
-
-        if (!edgeQueue.isEmpty()) {
-            edgeQueue.pollLast();
-        }
-
-        if (!entityQueue.isEmpty()) {
-            entityQueue.pollLast();
-        }
-
-        return walks;
-    }
-
-    private Walk buildWalk(final LinkedList<Set<Edge>> edgeQueue, final LinkedList<Set<Entity>> entityQueue) {
+    private static Walk buildWalk(final LinkedList<Set<Edge>> edgeQueue, final LinkedList<Set<Entity>> entityQueue) {
         final Walk.Builder builder = new Walk.Builder();
 
         final Iterator<Set<Edge>> edgeIterator = edgeQueue.iterator();
@@ -346,32 +424,22 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
         }
     }
 
-    private List<Walk> applyConditionalFiltering(
-            final Stream<Walk> walks,
-            final GetWalks getWalks,
-            final Context context,
-            final Store store) {
-        if (null == getWalks.getConditional() || null == getWalks.getConditional().getPredicate()) {
-            return walks.collect(Collectors.toList());
-        }
-
-        final Operation transformOperation = getWalks.getConditional().getTransform();
-        final Predicate conditionalPredicate = getWalks.getConditional().getPredicate();
-        final WalkPredicate walkPredicate = new WalkPredicate(transformOperation, conditionalPredicate, context, store);
-
-        return walks.filter(walkPredicate::test).collect(Collectors.toList());
-    }
-
-    private class WalkPredicate implements Predicate<Walk> {
+    /**
+     * Applies the GetWalks conditional to each {@link Walk}. The walks are
+     * built lazily, so the transform operation is executed as its own
+     * operation chain after the GetWalks operation has returned. Each walk
+     * iterator is given its own predicate with its own copy of the context.
+     */
+    private static final class WalkPredicate implements Predicate<Walk> {
         private final Operation transformOperation;
-        private final Predicate predicate;
+        private final Predicate<Object> predicate;
         private final Context context;
         private final Store store;
 
-        WalkPredicate(final Operation transformOperation,
-                      final Predicate predicate,
-                      final Context context,
-                      final Store store) {
+        private WalkPredicate(final Operation transformOperation,
+                              final Predicate<Object> predicate,
+                              final Context context,
+                              final Store store) {
             this.transformOperation = transformOperation;
             this.predicate = predicate;
             this.context = context;
@@ -390,10 +458,269 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
                     return (predicate.test(results));
                 } catch (final OperationException exception) {
                     throw new GafferRuntimeException(
-                            format("Unable to apply conditional logic to GetWalks output: ", exception.getMessage()),
+                            format("Unable to apply conditional logic to GetWalks output: %s", exception.getMessage()),
                             exception);
                 }
             }
         }
     }
+
+    private final class WalksIterable implements CloseableIterable<Walk> {
+        private final List<EntityId> seeds;
+        private final GraphWindow graphWindow;
+        private final int hops;
+        private final boolean includePartial;
+        private final Integer resultLimit;
+        private final Operation transformOperation;
+        private final Predicate<Object> conditionalPredicate;
+        private final Context context;
+        private final Store store;
+        private final Set<ParallelWalkIterator> openIterators = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+        @SuppressWarnings("unchecked")
+        private WalksIterable(final List<EntityId> seeds, final GraphWindow graphWindow, final int hops,
+                              final GetWalks getWalks, final Context context, final Store store) {
+            this.seeds = seeds;
+            this.graphWindow = graphWindow;
+            this.hops = hops;
+            this.includePartial = getWalks.isIncludePartial();
+            this.resultLimit = getWalks.getResultsLimit();
+            if (null == getWalks.getConditional() || null == getWalks.getConditional().getPredicate()) {
+                this.transformOperation = null;
+                this.conditionalPredicate = null;
+            } else {
+                this.transformOperation = getWalks.getConditional().getTransform();
+                this.conditionalPredicate = getWalks.getConditional().getPredicate();
+            }
+            this.context = context;
+            this.store = store;
+        }
+
+        @Override
+        public CloseableIterator<Walk> iterator() {
+            final CloseableIterator<Walk> walks;
+            if (null != parallelism && parallelism > 1) {
+                final ParallelWalkIterator iterator = new ParallelWalkIterator(this);
+                openIterators.add(iterator);
+                walks = iterator;
+            } else {
+                walks = new WalkIterator(seeds.iterator(), this);
+            }
+            return new LimitedCloseableIterator<>(walks, 0, resultLimit, false);
+        }
+
+        @Override
+        public void close() {
+            for (final ParallelWalkIterator iterator : openIterators) {
+                iterator.close();
+            }
+        }
+
+        private Predicate<Walk> createWalkPredicate() {
+            if (null == conditionalPredicate) {
+                return null;
+            }
+            return new WalkPredicate(transformOperation, conditionalPredicate,
+                    OperationHandlerUtil.createParallelContext(context), store);
+        }
+    }
+
+    /**
+     * Iterative depth-first search over the {@link GraphWindow} that builds
+     * each {@link Walk} only when it is requested. The walks from each seed
+     * are returned in the same order as the recursive search would have
+     * produced them.
+     */
+    private static final class WalkIterator implements CloseableIterator<Walk> {
+        private final Iterator<EntityId> seeds;
+        private final WalksIterable iterable;
+        private final Predicate<Walk> walkPredicate;
+        private final LinkedList<Set<Edge>> edgeQueue = new LinkedList<>();
+        private final LinkedList<Set<Entity>> entityQueue = new LinkedList<>();
+        private final Deque<Frame> stack = new ArrayDeque<>();
+        private Walk nextWalk;
+
+        private WalkIterator(final Iterator<EntityId> seeds, final WalksIterable iterable) {
+            this.seeds = seeds;
+            this.iterable = iterable;
+            this.walkPredicate = iterable.createWalkPredicate();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (null == nextWalk) {
+                final Walk walk = computeNext();
+                if (null == walk) {
+                    return false;
+                }
+                if (null == walkPredicate || walkPredicate.test(walk)) {
+                    nextWalk = walk;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Walk next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Walk walk = nextWalk;
+            nextWalk = null;
+            return walk;
+        }
+
+        @Override
+        public void close() {
+            stack.clear();
+        }
+
+        private Walk computeNext() {
+            while (true) {
+                if (stack.isEmpty()) {
+                    if (!seeds.hasNext()) {
+                        return null;
+                    }
+                    final Walk walk = visit(seeds.next().getVertex(), null);
+                    if (null != walk) {
+                        return walk;
+                    }
+                } else {
+                    final Frame frame = stack.peek();
+                    if (frame.destinations.hasNext()) {
+                        final Walk walk = visit(frame.destinations.next(), frame.vertex);
+                        if (null != walk) {
+                            return walk;
+                        }
+                    } else {
+                        stack.pop();
+                        leave();
+                    }
+                }
+            }
+        }
+
+        private Walk visit(final Object curr, final Object prev) {
+            final GraphWindow graphWindow = iterable.graphWindow;
+            if (null != prev) {
+                edgeQueue.offer(graphWindow.getAdjacencyMaps().get(edgeQueue.size()).getEdges(prev, curr));
+            }
+            entityQueue.offer(graphWindow.getEntityMaps().get(entityQueue.size()).get(curr));
+
+            Walk walk = null;
+            if (iterable.hops == edgeQueue.size()) {
+                walk = buildWalk(edgeQueue, entityQueue);
+            } else {
+                final Set<Object> dests = graphWindow.getAdjacencyMaps().get(edgeQueue.size()).getDestinations(curr);
+                if (!dests.isEmpty()) {
+                    stack.push(new Frame(curr, dests.iterator()));
+                    return null;
+                }
+                if (iterable.includePartial) {
+                    walk = buildWalk(edgeQueue, entityQueue);
+                }
+            }
+
+            leave();
+            return walk;
+        }
+
+        private void leave() {
+            if (!edgeQueue.isEmpty()) {
+                edgeQueue.pollLast();
+            }
+            if (!entityQueue.isEmpty()) {
+                entityQueue.pollLast();
+            }
+        }
+    }
+
+    private static final class Frame {
+        private final Object vertex;
+        private final Iterator<Object> destinations;
+
+        private Frame(final Object vertex, final Iterator<Object> destinations) {
+            this.vertex = vertex;
+            this.destinations = destinations;
+        }
+    }
+
+    /**
+     * Explores the walks from each seed on a {@link ForkJoinPool}. Only a
+     * bounded number of seeds are explored ahead of the consumer and the
+     * walks are returned in seed order. Each seed is explored with its own
+     * {@link WalkIterator}, so the conditional of each task is executed with
+     * its own copy of the context. The pool is shut down when the iterator,
+     * or the iterable that created it, is closed.
+     */
+    private final class ParallelWalkIterator implements CloseableIterator<Walk> {
+        private final Iterator<EntityId> seeds;
+        private final WalksIterable iterable;
+        private final Integer seedLimit;
+        private final ForkJoinPool pool;
+        private final Queue<Future<List<Walk>>> running = new ConcurrentLinkedQueue<>();
+        private Iterator<Walk> currentWalks = Collections.emptyIterator();
+
+        private ParallelWalkIterator(final WalksIterable iterable) {
+            this.seeds = iterable.seeds.iterator();
+            this.iterable = iterable;
+            // Explore one walk past the limit so the limit check still sees it
+            this.seedLimit = null != iterable.resultLimit ? iterable.resultLimit + 1 : null;
+            this.pool = new ForkJoinPool(parallelism);
+            submitTasks();
+        }
+
+        private void submitTasks() {
+            while (running.size() < parallelism * 2 && seeds.hasNext() && !pool.isShutdown()) {
+                final EntityId seed = seeds.next();
+                running.add(pool.submit(() -> Lists.newArrayList(new LimitedCloseableIterator<>(
+                        new WalkIterator(Collections.singletonList(seed).iterator(), iterable),
+                        0, seedLimit, true))));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!currentWalks.hasNext()) {
+                if (running.isEmpty()) {
+                    close();
+                    return false;
+                }
+                try {
+                    currentWalks = running.remove().get().iterator();
+                } catch (final CancellationException e) {
+                    // The iterable has been closed
+                    close();
+                    return false;
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    close();
+                    throw new GafferRuntimeException("Interrupted while waiting for the GetWalks results", e);
+                } catch (final ExecutionException e) {
+                    close();
+                    throw new GafferRuntimeException("Failed to build the walks: " + e.getCause().getMessage(), e.getCause());
+                }
+                submitTasks();
+            }
+            return true;
+        }
+
+        @Override
+        public Walk next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return currentWalks.next();
+        }
+
+        @Override
+        public void close() {
+            pool.shutdownNow();
+            for (final Future<List<Walk>> future : running) {
+                future.cancel(true);
+            }
+            running.clear();
+            iterable.openIterators.remove(this);
+        }
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2020 Crown Copyright
+ * Copyright 2017-2021 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,27 +15,44 @@
  */
 package uk.gov.gchq.gaffer.store.operation.handler;
 
+import uk.gov.gchq.gaffer.cache.impl.ConcurrentCache;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.io.Input;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.OperationChainValidator;
 import uk.gov.gchq.gaffer.store.optimiser.OperationChainOptimiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
 import uk.gov.gchq.koryphe.ValidationResult;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUtil.updateOperationInput;
 
 /**
  * A {@code OperationChainHandler} handles {@link OperationChain}s.
+ * <p>
+ * Validation results can be cached, keyed by the user and the json of the
+ * operation chain with the input of each top level operation removed, so
+ * repeated queries of the same shape are only validated once. The cache is
+ * cleared if the store schema changes. The optimisers are still run for every
+ * chain, as they may depend on the inputs.
  *
  * @param <OUT> the output type of the operation chain
  */
 public class OperationChainHandler<OUT> implements OutputOperationHandler<OperationChain<OUT>, OUT> {
     private final OperationChainValidator opChainValidator;
     private final List<OperationChainOptimiser> opChainOptimisers;
+    private final ConcurrentCache<ValidationKey, ValidationResult> validationCache;
+    private volatile Schema validationCacheSchema;
 
     @Override
     public OUT doOperation(final OperationChain<OUT> operationChain, final Context context, final Store store) throws OperationException {
@@ -52,8 +69,7 @@ public class OperationChainHandler<OUT> implements OutputOperationHandler<Operat
     }
 
     public <O> OperationChain<O> prepareOperationChain(final OperationChain<O> operationChain, final Context context, final Store store) {
-        final ValidationResult validationResult = opChainValidator.validate(operationChain, context
-                .getUser(), store);
+        final ValidationResult validationResult = validate(operationChain, context.getUser(), store);
         if (!validationResult.isValid()) {
             throw new IllegalArgumentException("Operation chain is invalid. " + validationResult
                     .getErrorString());
@@ -67,8 +83,76 @@ public class OperationChainHandler<OUT> implements OutputOperationHandler<Operat
     }
 
     public OperationChainHandler(final OperationChainValidator opChainValidator, final List<OperationChainOptimiser> opChainOptimisers) {
+        this(opChainValidator, opChainOptimisers, 0);
+    }
+
+    /**
+     * @param opChainValidator    the operation chain validator
+     * @param opChainOptimisers   the operation chain optimisers
+     * @param validationCacheSize the maximum number of validation results to cache, or 0 to disable the cache
+     */
+    public OperationChainHandler(final OperationChainValidator opChainValidator, final List<OperationChainOptimiser> opChainOptimisers, final int validationCacheSize) {
         this.opChainValidator = opChainValidator;
         this.opChainOptimisers = opChainOptimisers;
+        this.validationCache = validationCacheSize > 0
+                ? new ConcurrentCache<>(validationCacheSize, ConcurrentCache.UNBOUNDED, false, false)
+                : null;
+    }
+
+    private ValidationResult validate(final OperationChain<?> operationChain, final User user, final Store store) {
+        if (null == validationCache) {
+            return opChainValidator.validate(operationChain, user, store);
+        }
+
+        final Schema schema = store.getSchema();
+        if (schema != validationCacheSchema) {
+            validationCache.clear();
+            validationCacheSchema = schema;
+        }
+
+        final String shape = getShape(operationChain);
+        if (null == shape) {
+            return opChainValidator.validate(operationChain, user, store);
+        }
+
+        final ValidationKey key = new ValidationKey(shape, user);
+        ValidationResult validationResult = validationCache.get(key);
+        if (null == validationResult) {
+            validationResult = opChainValidator.validate(operationChain, user, store);
+            validationCache.put(key, validationResult);
+        }
+        return validationResult;
+    }
+
+    /**
+     * Gets the json of the operation chain with the input of each top level
+     * operation removed. Validation only checks whether an input is set, so
+     * this is recorded at the start of the shape instead.
+     *
+     * @return the shape, or null if the operation chain cannot be serialised
+     */
+    private static String getShape(final OperationChain<?> operationChain) {
+        final StringBuilder inputs = new StringBuilder();
+        final List<Operation> operations = new ArrayList<>(operationChain.getOperations().size());
+        try {
+            for (final Operation operation : operationChain.getOperations()) {
+                if (operation instanceof Input && null != ((Input<?>) operation).getInput()) {
+                    final Operation clone = operation.shallowClone();
+                    ((Input<?>) clone).setInput(null);
+                    operations.add(clone);
+                    inputs.append('1');
+                } else {
+                    operations.add(operation);
+                    inputs.append('0');
+                }
+            }
+
+            final OperationChain<?> shapeChain = new OperationChain<>(operations);
+            shapeChain.setOptions(operationChain.getOptions());
+            return inputs.append(new String(JSONSerialiser.serialise(shapeChain), StandardCharsets.UTF_8)).toString();
+        } catch (final SerialisationException | RuntimeException e) {
+            return null;
+        }
     }
 
     protected OperationChainValidator getOpChainValidator() {
@@ -78,4 +162,33 @@ public class OperationChainHandler<OUT> implements OutputOperationHandler<Operat
     protected List<OperationChainOptimiser> getOpChainOptimisers() {
         return opChainOptimisers;
     }
+
+    private static final class ValidationKey {
+        private final String shape;
+        private final User user;
+
+        private ValidationKey(final String shape, final User user) {
+            this.shape = shape;
+            this.user = user;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (null == obj || getClass() != obj.getClass()) {
+                return false;
+            }
+
+            final ValidationKey other = (ValidationKey) obj;
+            return shape.equals(other.shape) && Objects.equals(user, other.user);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * shape.hashCode() + Objects.hashCode(user);
+        }
+    }
 }
@@ -22,6 +22,7 @@ import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 
 import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUtil.getResultsOrNull;
+import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUtil.throwIfCancelled;
 import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUtil.updateOperationInput;
 
 /**
@@ -59,6 +60,7 @@ public class WhileHandler implements OutputOperationHandler<While<Object, Object
 
         Object input = operation.getInput();
         for (int repeatCount = 0; repeatCount < operation.getMaxRepeats(); repeatCount++) {
+            throwIfCancelled(context);
             final While operationClone = operation.shallowClone();
             if (!isSatisfied(input, operationClone, context, store)) {
                 break;
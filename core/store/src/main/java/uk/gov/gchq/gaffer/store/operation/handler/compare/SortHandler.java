@@ -22,22 +22,41 @@ import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.compare.Max;
 import uk.gov.gchq.gaffer.operation.impl.compare.Sort;
+import uk.gov.gchq.gaffer.serialisation.util.ExternalSortedIterable;
 import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.OperationCancelledException;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.store.serialiser.ElementSpillSerialiser;
 
+import java.io.File;
 import java.util.Collections;
 import java.util.Objects;
 import java.util.stream.Stream;
 
+import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUtil.throwIfCancelled;
+
 /**
- * A {@code SortHandler} handles the {@link Sort} operation. It does that
- * in memory using the {@link uk.gov.gchq.gaffer.commonutil.iterable.LimitedInMemorySortedIterable}.
+ * A {@code SortHandler} handles the {@link Sort} operation. By default it does
+ * that in memory using the {@link uk.gov.gchq.gaffer.commonutil.iterable.LimitedInMemorySortedIterable}.
  * If the resultLimit is set to one that it just deletes the operation to the
  * {@link MaxHandler}.
+ * <p>
+ * If maxElementsInMemory is set, and the resultLimit is not set or is larger
+ * than it, then the elements are sorted using an {@link ExternalSortedIterable}.
+ * This writes sorted runs of up to maxElementsInMemory elements to temporary
+ * files in the tempDirectory (or the default temporary directory) using the
+ * serialisers from the schema, and merges them when the results are iterated
+ * over. If an element cannot be written using the schema without losing
+ * information, for example because it has a transient property, the remaining
+ * elements are sorted in memory instead. The temporary files are deleted when
+ * the results are closed. These settings can be configured by supplying an operationDeclarations.json
+ * file.
  */
 public class SortHandler implements OutputOperationHandler<Sort, Iterable<? extends Element>> {
     private static final MaxHandler MAX_HANDLER = new MaxHandler();
+    private Integer maxElementsInMemory = null;
+    private String tempDirectory = null;
 
     @Override
     public Iterable<? extends Element> doOperation(final Sort operation, final Context context, final Store store) throws OperationException {
@@ -60,9 +79,14 @@ public class SortHandler implements OutputOperationHandler<Sort, Iterable<? exte
             return Collections.singletonList(max);
         }
 
+        if (useExternalSort(operation)) {
+            return externalSort(operation, context, store);
+        }
+
         try (final Stream<? extends Element> stream =
                      Streams.toStream(operation.getInput())
-                             .filter(Objects::nonNull)) {
+                             .filter(Objects::nonNull)
+                             .peek(element -> throwIfCancelled(context))) {
             return stream.collect(
                     GafferCollectors.toLimitedInMemorySortedIterable(
                             operation.getCombinedComparator(),
@@ -74,4 +98,54 @@ public class SortHandler implements OutputOperationHandler<Sort, Iterable<? exte
             CloseableUtil.close(operation);
         }
     }
+
+    public Integer getMaxElementsInMemory() {
+        return maxElementsInMemory;
+    }
+
+    public void setMaxElementsInMemory(final Integer maxElementsInMemory) {
+        this.maxElementsInMemory = maxElementsInMemory;
+    }
+
+    public String getTempDirectory() {
+        return tempDirectory;
+    }
+
+    public void setTempDirectory(final String tempDirectory) {
+        this.tempDirectory = tempDirectory;
+    }
+
+    private boolean useExternalSort(final Sort operation) {
+        return null != maxElementsInMemory
+                && (null == operation.getResultLimit() || operation.getResultLimit() > maxElementsInMemory);
+    }
+
+    private Iterable<? extends Element> externalSort(final Sort operation, final Context context, final Store store) throws OperationException {
+        final ElementSpillSerialiser serialiser = new ElementSpillSerialiser(store.getSchema());
+        final ExternalSortedIterable<Element> sorted = new ExternalSortedIterable<>(
+                operation.getCombinedComparator(),
+                operation.getResultLimit(),
+                operation.isDeduplicate(),
+                maxElementsInMemory,
+                serialiser,
+                null == tempDirectory ? null : new File(tempDirectory),
+                serialiser::canSerialise);
+        try {
+            for (final Element element : operation.getInput()) {
+                if (null != element) {
+                    throwIfCancelled(context);
+                    sorted.add(element);
+                }
+            }
+        } catch (final OperationCancelledException e) {
+            sorted.close();
+            throw e;
+        } catch (final RuntimeException e) {
+            sorted.close();
+            throw new OperationException("Failed to sort elements: " + e.getMessage(), e);
+        } finally {
+            CloseableUtil.close(operation);
+        }
+        return sorted;
+    }
 }
@@ -30,11 +30,23 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
 import uk.gov.gchq.koryphe.ValidationResult;
 
+import java.io.File;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * An {@code AggregateHandler} handles {@link Aggregate} operations.
+ * <p>
+ * By default the elements are aggregated in memory. If maxElementsInMemory is
+ * set, at most that many partially aggregated elements are held in memory and
+ * the rest are written to temporary files in the tempDirectory (or the default
+ * temporary directory). This requires all the schema serialisers to be
+ * {@link uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser}s.
+ */
 public class AggregateHandler implements OutputOperationHandler<Aggregate, Iterable<? extends Element>> {
     private final FunctionValidator<Aggregate> validator = new AggregateValidator();
+    private Integer maxElementsInMemory = null;
+    private String tempDirectory = null;
 
     @Override
     public Iterable<? extends Element> doOperation(final Aggregate operation, final Context context, final Store store) throws OperationException {
@@ -63,9 +75,29 @@ public class AggregateHandler implements OutputOperationHandler<Aggregate, Itera
             throw new OperationException("Aggregate operation is invalid. " + result.getErrorString());
         }
 
+        if (null != maxElementsInMemory) {
+            return AggregatorUtil.queryAggregate(operation.getInput(), schema, buildView(operation), false,
+                    maxElementsInMemory, null == tempDirectory ? null : new File(tempDirectory));
+        }
         return AggregatorUtil.queryAggregate(operation.getInput(), schema, buildView(operation));
     }
 
+    public Integer getMaxElementsInMemory() {
+        return maxElementsInMemory;
+    }
+
+    public void setMaxElementsInMemory(final Integer maxElementsInMemory) {
+        this.maxElementsInMemory = maxElementsInMemory;
+    }
+
+    public String getTempDirectory() {
+        return tempDirectory;
+    }
+
+    public void setTempDirectory(final String tempDirectory) {
+        this.tempDirectory = tempDirectory;
+    }
+
     private View buildView(final Aggregate operation) {
         View.Builder builder = new View.Builder();
         if (null != operation.getEntities()) {
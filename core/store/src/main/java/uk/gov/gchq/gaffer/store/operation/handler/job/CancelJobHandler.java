@@ -0,0 +1,57 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler.job;
+
+import org.apache.commons.lang3.StringUtils;
+
+import uk.gov.gchq.gaffer.core.exception.Status;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.job.CancelJob;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
+import uk.gov.gchq.gaffer.user.User;
+
+/**
+ * A {@code CancelJobHandler} cancels a running job or operation chain. Only
+ * the user who started the job, or an administrator, can cancel it.
+ */
+public class CancelJobHandler implements OperationHandler<CancelJob> {
+    @Override
+    public Void doOperation(final CancelJob operation, final Context context, final Store store) throws OperationException {
+        if (null == operation.getJobId()) {
+            throw new OperationException("job id must be specified");
+        }
+
+        final Context runningContext = store.getRunningJobContext(operation.getJobId());
+        if (null == runningContext) {
+            throw new OperationException("Job with jobId: " + operation.getJobId() + " is not running and cannot be cancelled.");
+        }
+
+        if (!canCancel(context.getUser(), runningContext.getUser(), store.getProperties().getAdminAuth())) {
+            throw new OperationException("User does not have permission to cancel job with jobId: " + operation.getJobId(), Status.FORBIDDEN);
+        }
+
+        runningContext.cancel();
+        return null;
+    }
+
+    private boolean canCancel(final User user, final User jobUser, final String adminAuth) {
+        return StringUtils.equals(user.getUserId(), jobUser.getUserId())
+                || (StringUtils.isNotEmpty(adminAuth) && user.getOpAuths().contains(adminAuth));
+    }
+}
@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.store.operation.handler.join;
 
+import com.google.common.collect.Lists;
 
 import uk.gov.gchq.gaffer.commonutil.exception.LimitExceededException;
 import uk.gov.gchq.gaffer.commonutil.iterable.LimitedCloseableIterable;
@@ -32,6 +33,7 @@ import uk.gov.gchq.koryphe.tuple.MapTuple;
 import java.util.ArrayList;
 
 import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUtil.getResultsOrNull;
+import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUtil.throwIfCancelled;
 import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUtil.updateOperationInput;
 
 public class JoinHandler<I> implements OutputOperationHandler<Join<I>, Iterable<? extends MapTuple>> {
@@ -70,13 +72,22 @@ public class JoinHandler<I> implements OutputOperationHandler<Join<I>, Iterable<
                         context,
                         store);
 
-        final Iterable limitedLeftIterable;
-        final Iterable limitedRightIterable;
+        Iterable<?> limitedLeftIterable;
+        Iterable<?> limitedRightIterable;
 
         try {
-            limitedLeftIterable = new LimitedCloseableIterable(operation.getInput(), 0, limit, false);
-            limitedRightIterable = new LimitedCloseableIterable(rightIterable, 0, limit, false);
-            return joinFunction.join(limitedLeftIterable, limitedRightIterable, operation.getMatchMethod(), matchKey, operation.isFlatten());
+            limitedLeftIterable = new LimitedCloseableIterable<>(operation.getInput(), 0, limit, false);
+            limitedRightIterable = new LimitedCloseableIterable<>(rightIterable, 0, limit, false);
+            // The keys are read into memory so that the limit is checked now, the match candidates are indexed
+            // when the match is initialised and the joined results are generated as they are iterated over.
+            throwIfCancelled(context);
+            if (matchKey.equals(MatchKey.LEFT)) {
+                limitedLeftIterable = Lists.newArrayList(limitedLeftIterable);
+            } else {
+                limitedRightIterable = Lists.newArrayList(limitedRightIterable);
+            }
+            throwIfCancelled(context);
+            return joinFunction.lazyJoin(limitedLeftIterable, limitedRightIterable, operation.getMatchMethod(), matchKey, operation.isFlatten());
         } catch (final LimitExceededException e) {
             throw new OperationException("Join exceeded the collectionLimit, a solution is to increasing collectionLimit value in the join operation.", e);
         }
@@ -16,20 +16,27 @@
 
 package uk.gov.gchq.gaffer.store.operation.handler.join.match;
 
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.comparison.ElementJoinComparator;
 import uk.gov.gchq.gaffer.operation.impl.join.match.Match;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
  * Tests for matches for Elements within a Join Operation, groupBy properties can be optionally specified.
+ * The match candidates are indexed by their identifiers, group and groupBy properties when the match is
+ * initialised, so finding the matches for an Element does not require scanning all of the candidates.
  */
 public class ElementMatch implements Match {
     private ElementJoinComparator elementJoinComparator;
     private Iterable matchCandidates;
+    private Map<List<Object>, List<Element>> indexedMatchCandidates;
 
     private static final String NULL_MATCH_CANDIDATES_ERROR_MESSAGE = "ElementMatch must be initialised with non-null match candidates";
 
@@ -47,6 +54,9 @@ public class ElementMatch implements Match {
 
     public void setElementGroupByProperties(final Set<String> groupByProperties) {
         elementJoinComparator.setGroupByProperties(groupByProperties);
+        if (null != matchCandidates) {
+            indexMatchCandidates();
+        }
     }
 
     @Override
@@ -55,6 +65,7 @@ public class ElementMatch implements Match {
             throw new IllegalArgumentException(NULL_MATCH_CANDIDATES_ERROR_MESSAGE);
         }
         this.matchCandidates = matchCandidates;
+        indexMatchCandidates();
     }
 
     @Override
@@ -64,13 +75,51 @@ public class ElementMatch implements Match {
         }
 
         List matches = new ArrayList<>();
+        if (null == testObject) {
+            return matches;
+        }
 
+        final List<Element> candidates = indexedMatchCandidates.get(getJoinKey((Element) testObject));
+        if (null != candidates) {
+            for (final Element candidate : candidates) {
+                matches.add(candidate.shallowClone());
+            }
+        }
+        return matches;
+    }
 
+    private void indexMatchCandidates() {
+        indexedMatchCandidates = new HashMap<>();
         for (final Object entry : matchCandidates) {
-            if (elementJoinComparator.test((Element) entry, (Element) testObject)) {
-                matches.add(((Element) entry).shallowClone());
+            if (null != entry) {
+                indexedMatchCandidates.computeIfAbsent(getJoinKey((Element) entry), k -> new ArrayList<>())
+                        .add((Element) entry);
             }
         }
-        return matches;
+    }
+
+    /**
+     * Creates a key which is equal for two Elements if and only if the {@link ElementJoinComparator} considers them
+     * to be equal.
+     */
+    private List<Object> getJoinKey(final Element element) {
+        final Set<String> groupByProperties = elementJoinComparator.getGroupByProperties();
+        final List<Object> key = new ArrayList<>(6 + (null == groupByProperties ? 0 : groupByProperties.size()));
+        key.add(element.getClass());
+        key.add(element.getGroup());
+        if (element instanceof Entity) {
+            key.add(((Entity) element).getVertex());
+        } else {
+            final Edge edge = (Edge) element;
+            key.add(edge.getSource());
+            key.add(edge.getDestination());
+            key.add(edge.getDirectedType());
+        }
+        if (null != groupByProperties) {
+            for (final String property : groupByProperties) {
+                key.add(element.getProperty(property));
+            }
+        }
+        return key;
     }
 }
@@ -63,6 +63,7 @@ public class KeyFunctionMatch implements Match {
             throw new IllegalArgumentException(NULL_MATCH_CANDIDATES_ERROR_MESSAGE);
         }
         // Iterates over match candidates, creates an index using second key function.
+        keyedMatchCandidates = new HashMap<>();
         for (final Object matchCandidate : matchCandidates) {
             Object key = secondKeyFunction.apply(matchCandidate);
             List list = keyedMatchCandidates.get(key);
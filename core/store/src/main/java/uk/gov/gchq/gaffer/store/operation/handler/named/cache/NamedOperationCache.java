@@ -24,6 +24,7 @@ import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.named.operation.NamedOperationDetail;
+import uk.gov.gchq.gaffer.named.operation.NamedOperationTemplate;
 import uk.gov.gchq.gaffer.named.operation.cache.exception.CacheOperationFailedException;
 import uk.gov.gchq.gaffer.user.User;
 
@@ -162,6 +163,8 @@ public class NamedOperationCache {
             CacheServiceLoader.getService().clearCache(CACHE_NAME);
         } catch (final CacheOperationException e) {
             throw new CacheOperationFailedException("Failed to clear cache", e);
+        } finally {
+            NamedOperationTemplate.invalidateAll();
         }
     }
 
@@ -175,6 +178,7 @@ public class NamedOperationCache {
      */
     public void deleteFromCache(final String name) throws CacheOperationFailedException {
         CacheServiceLoader.getService().removeFromCache(CACHE_NAME, name);
+        NamedOperationTemplate.invalidate(name);
 
         if (null != CacheServiceLoader.getService().getFromCache(CACHE_NAME, name)) {
             throw new CacheOperationFailedException("Failed to remove " + name + " from cache");
@@ -200,6 +204,8 @@ public class NamedOperationCache {
             }
         } catch (final CacheOperationException e) {
             throw new CacheOperationFailedException(e);
+        } finally {
+            NamedOperationTemplate.invalidate(name);
         }
     }
 
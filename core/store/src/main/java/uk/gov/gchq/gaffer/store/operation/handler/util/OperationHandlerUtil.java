@@ -21,8 +21,11 @@ import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.io.Input;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.OperationCancelledException;
 import uk.gov.gchq.gaffer.store.Store;
 
+import java.util.HashMap;
+
 /**
  * Utilities for Operation Handlers.
  */
@@ -68,6 +71,38 @@ public final class OperationHandlerUtil {
         }
     }
 
+    /**
+     * Creates the context for an operation that is executed on another thread
+     * while the operation that started it is running. The context is a shallow
+     * clone of the provided context with its own copy of the variables, so
+     * operations running in parallel do not modify the same context.
+     *
+     * @param context the context of the operation that started the parallel operation
+     * @return the context to execute the parallel operation with
+     */
+    public static Context createParallelContext(final Context context) {
+        final Context parallelContext = context.shallowClone();
+        if (null != context.getVariables()) {
+            parallelContext.setVariables(new HashMap<>(context.getVariables()));
+        }
+        return parallelContext;
+    }
+
+    /**
+     * Checks whether the operation chain being run with the provided context
+     * has been cancelled. Handlers can be run without a context, for example
+     * in tests, in which case there is nothing to check.
+     *
+     * @param context the context, which may be null
+     * @throws OperationCancelledException if the context has been cancelled or
+     *                                     its deadline has passed
+     */
+    public static void throwIfCancelled(final Context context) {
+        if (null != context) {
+            context.throwIfCancelled();
+        }
+    }
+
     /**
      * Executes and operation on the store and returns the results or null.
      *
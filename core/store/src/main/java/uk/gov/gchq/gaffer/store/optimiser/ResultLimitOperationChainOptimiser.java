@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.io.Output;
+
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+/**
+ * Passes the result limit of a {@link Limit} down to the retrieval operation
+ * directly before it, as the {@link #RESULT_LIMIT_HINT} option. Store
+ * retrievers can use the hint to size their batches and to stop scanning early.
+ * <p>
+ * The hint is only ever an upper bound on the number of results the caller
+ * will read, so a retriever that ignores it still returns the correct results.
+ * When the {@link Limit} does not truncate, the hint is one more than the
+ * limit so that the {@link Limit} can still detect that it was exceeded.
+ */
+public class ResultLimitOperationChainOptimiser extends AbstractOperationChainOptimiser {
+    public static final String RESULT_LIMIT_HINT = "gaffer.operation.result.limit.hint";
+
+    /**
+     * Gets the result limit hint set on an operation by this optimiser.
+     *
+     * @param operation the operation
+     * @return the result limit hint, or null if there is no valid hint.
+     */
+    public static Integer getResultLimitHint(final Operation operation) {
+        if (null == operation) {
+            return null;
+        }
+        final String hint = operation.getOption(RESULT_LIMIT_HINT);
+        if (null == hint) {
+            return null;
+        }
+        try {
+            final int limit = Integer.parseInt(hint);
+            return limit < 0 ? null : limit;
+        } catch (final NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Override
+    protected List<Operation> addPreOperations(final Operation previousOp, final Operation currentOp) {
+        return emptyList();
+    }
+
+    @Override
+    protected List<Operation> optimiseCurrentOperation(final Operation previousOp, final Operation currentOp, final Operation nextOp) {
+        if (currentOp instanceof Output && currentOp instanceof GraphFilters && nextOp instanceof Limit) {
+            final Limit<?> limit = (Limit<?>) nextOp;
+            if (null != limit.getResultLimit() && limit.getResultLimit() >= 0 && limit.getResultLimit() < Integer.MAX_VALUE) {
+                final int hint = Boolean.FALSE.equals(limit.getTruncate())
+                        ? limit.getResultLimit() + 1
+                        : limit.getResultLimit();
+                final Integer existingHint = getResultLimitHint(currentOp);
+                if (null == existingHint || hint < existingHint) {
+                    // Clone the operation so the caller's operation is not modified
+                    final Operation hintedOp = currentOp.shallowClone();
+                    hintedOp.addOption(RESULT_LIMIT_HINT, Integer.toString(hint));
+                    return singletonList(hintedOp);
+                }
+            }
+        }
+        return singletonList(currentOp);
+    }
+
+    @Override
+    protected List<Operation> addPostOperations(final Operation currentOp, final Operation nextOp) {
+        return emptyList();
+    }
+
+    @Override
+    protected List<Operation> optimiseAll(final List<Operation> ops) {
+        return ops;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+}
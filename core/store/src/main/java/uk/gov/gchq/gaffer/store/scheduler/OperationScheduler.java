@@ -0,0 +1,401 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.scheduler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.core.exception.Status;
+import uk.gov.gchq.gaffer.operation.OperationException;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+
+/**
+ * An {@code OperationScheduler} controls when operations are executed by a
+ * {@link uk.gov.gchq.gaffer.store.Store}. There are two separate lanes:
+ * <ul>
+ * <li>interactive - synchronous executions, which run on the calling thread
+ * once they have been admitted. At most {@code interactiveLimit} run at once
+ * and the rest wait for a free slot.</li>
+ * <li>batch - jobs, which run on a pool of
+ * {@code batchThreads} threads.</li>
+ * </ul>
+ * <p>
+ * Waiting operations are ordered by their score, so cheap operations are run
+ * before expensive ones. Operations with the same score are run in the order
+ * they arrived. If a lane's queue is full, or a user already has
+ * {@code userLimit} operations running or waiting, the operation is rejected
+ * straight away with a {@link Status#TOO_MANY_REQUESTS} status rather than
+ * being queued.
+ * </p>
+ * <p>
+ * Operations executed while a {@link Permit} is open, such as the operations
+ * within a job or a named operation, are not queued again. The caller carries
+ * the open permit on the {@link uk.gov.gchq.gaffer.store.Context}, so this
+ * also covers operations that a handler runs on other threads with a clone of
+ * the context.
+ * </p>
+ */
+public final class OperationScheduler {
+    public static final int UNLIMITED = -1;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OperationScheduler.class);
+    private final Gate interactive;
+    private final ThreadPoolExecutor batch;
+    private final int batchLimit;
+    private final AtomicInteger batchOutstanding = new AtomicInteger();
+    private final int userLimit;
+    private final ConcurrentHashMap<String, AtomicInteger> userCounts = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public OperationScheduler(final int interactiveLimit,
+                              final int interactiveQueueSize,
+                              final int batchThreads,
+                              final int batchQueueSize,
+                              final int userLimit) {
+        if (interactiveLimit < 1) {
+            throw new IllegalArgumentException("Interactive limit must be at least 1");
+        }
+        if (batchThreads < 1) {
+            throw new IllegalArgumentException("Batch threads must be at least 1");
+        }
+        if (interactiveQueueSize < 0 || batchQueueSize < 0) {
+            throw new IllegalArgumentException("Queue sizes must not be negative");
+        }
+        if (UNLIMITED != userLimit && userLimit < 1) {
+            throw new IllegalArgumentException("User limit must be at least 1, or " + UNLIMITED + " for no limit");
+        }
+
+        this.interactive = new Gate(interactiveLimit, interactiveQueueSize);
+        this.batchLimit = batchThreads + batchQueueSize;
+        this.userLimit = userLimit;
+        this.batch = new ThreadPoolExecutor(batchThreads, batchThreads, 60L, TimeUnit.SECONDS,
+                new PriorityBlockingQueue<>(), runnable -> {
+            final Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.batch.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Waits until a synchronous operation can be run on the calling thread.
+     * The returned {@link Permit} must be closed when the operation has
+     * finished.
+     *
+     * @param userId the id of the user executing the operation
+     * @param score  supplies the score of the operation, lower scores are run
+     *               first
+     * @return the permit to close when the operation has finished
+     * @throws OperationException if the operation is rejected or the thread is
+     *                            interrupted while waiting
+     */
+    public Permit admit(final String userId, final IntSupplier score) throws OperationException {
+        final String user = getUserKey(userId);
+        acquireUser(user);
+        try {
+            interactive.acquire(score.getAsInt(), sequence.getAndIncrement());
+        } catch (final OperationException | RuntimeException e) {
+            releaseUser(user);
+            throw e;
+        }
+
+        return new OpenPermit(() -> {
+            interactive.release();
+            releaseUser(user);
+        });
+    }
+
+    /**
+     * Queues a task to be run on the batch pool.
+     *
+     * @param userId the id of the user running the task
+     * @param score  the score of the task, lower scores are run first
+     * @param task   the task to run
+     * @throws OperationException if the task is rejected
+     */
+    public void submit(final String userId, final int score, final Runnable task) throws OperationException {
+        submit(userId, score, permit -> task.run());
+    }
+
+    /**
+     * Queues a task to be run on the batch pool. The task is given a
+     * {@link Permit} that is open while it runs, so the operations it
+     * executes are not queued again.
+     *
+     * @param userId the id of the user running the task
+     * @param score  the score of the task, lower scores are run first
+     * @param task   the task to run
+     * @throws OperationException if the task is rejected
+     */
+    public void submit(final String userId, final int score, final Consumer<Permit> task) throws OperationException {
+        final String user = getUserKey(userId);
+        acquireUser(user);
+        if (batchOutstanding.incrementAndGet() > batchLimit) {
+            batchOutstanding.decrementAndGet();
+            releaseUser(user);
+            throw new OperationException("The batch queue is full, please try again later", Status.TOO_MANY_REQUESTS);
+        }
+
+        try {
+            batch.execute(new BatchTask(task, user, score, sequence.getAndIncrement()));
+        } catch (final RejectedExecutionException e) {
+            batchOutstanding.decrementAndGet();
+            releaseUser(user);
+            throw new OperationException("Unable to run task: " + e.getMessage(), e, Status.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    /**
+     * Creates an open permit that is not counted against any limit. It is for
+     * internal tasks that run outside of the scheduler, such as the tasks
+     * given to {@link uk.gov.gchq.gaffer.store.Store#runAsync(Runnable)}, so
+     * the operations they execute are not queued.
+     *
+     * @return the permit to close when the task has finished
+     */
+    public static Permit createInternalPermit() {
+        return new OpenPermit(() -> {
+        });
+    }
+
+    public int getRunningInteractiveCount() {
+        return interactive.getRunning();
+    }
+
+    public int getQueuedInteractiveCount() {
+        return interactive.getWaiting();
+    }
+
+    public int getQueuedBatchCount() {
+        return batch.getQueue().size();
+    }
+
+    /**
+     * Stops the batch pool. Queued tasks are not run.
+     */
+    public void shutdown() {
+        batch.shutdownNow();
+    }
+
+    private static String getUserKey(final String userId) {
+        return null != userId ? userId : "";
+    }
+
+    private void acquireUser(final String user) throws OperationException {
+        if (UNLIMITED == userLimit) {
+            return;
+        }
+
+        final AtomicInteger count = userCounts.computeIfAbsent(user, k -> new AtomicInteger());
+        if (count.incrementAndGet() > userLimit) {
+            releaseUser(user);
+            throw new OperationException("User " + user + " already has the maximum of "
+                    + userLimit + " operations running or queued", Status.TOO_MANY_REQUESTS);
+        }
+    }
+
+    private void releaseUser(final String user) {
+        if (UNLIMITED == userLimit) {
+            return;
+        }
+
+        userCounts.computeIfPresent(user, (k, count) -> count.decrementAndGet() <= 0 ? null : count);
+    }
+
+    /**
+     * A permit to run an admitted operation, which must be closed when the
+     * operation has finished.
+     */
+    public interface Permit extends AutoCloseable {
+        /**
+         * @return true until the permit has been closed
+         */
+        boolean isOpen();
+
+        @Override
+        void close();
+    }
+
+    private static final class OpenPermit implements Permit {
+        private final AtomicBoolean open = new AtomicBoolean(true);
+        private final Runnable onClose;
+
+        private OpenPermit(final Runnable onClose) {
+            this.onClose = onClose;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open.get();
+        }
+
+        @Override
+        public void close() {
+            if (open.compareAndSet(true, false)) {
+                onClose.run();
+            }
+        }
+    }
+
+    private final class BatchTask implements Runnable, Comparable<BatchTask> {
+        private final Consumer<Permit> task;
+        private final String user;
+        private final int score;
+        private final long sequence;
+
+        private BatchTask(final Consumer<Permit> task, final String user, final int score, final long sequence) {
+            this.task = task;
+            this.user = user;
+            this.score = score;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public void run() {
+            final Permit permit = createInternalPermit();
+            try {
+                task.accept(permit);
+            } catch (final RuntimeException e) {
+                LOGGER.warn("Batch task failed", e);
+            } finally {
+                permit.close();
+                batchOutstanding.decrementAndGet();
+                releaseUser(user);
+            }
+        }
+
+        @Override
+        public int compareTo(final BatchTask other) {
+            final int result = Integer.compare(score, other.score);
+            return 0 != result ? result : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /**
+     * Limits the number of operations running at once. Waiting operations are
+     * admitted in score order, and a slot is handed directly to the next
+     * waiting operation when it is released.
+     */
+    private static final class Gate {
+        private final int limit;
+        private final int queueSize;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final PriorityQueue<Waiter> waiting = new PriorityQueue<>();
+        private int running;
+
+        private Gate(final int limit, final int queueSize) {
+            this.limit = limit;
+            this.queueSize = queueSize;
+        }
+
+        private void acquire(final int score, final long sequence) throws OperationException {
+            lock.lock();
+            try {
+                if (running < limit && waiting.isEmpty()) {
+                    running++;
+                    return;
+                }
+                if (waiting.size() >= queueSize) {
+                    throw new OperationException("Too many operations are waiting to run, please try again later", Status.TOO_MANY_REQUESTS);
+                }
+
+                final Waiter waiter = new Waiter(score, sequence, lock.newCondition());
+                waiting.add(waiter);
+                try {
+                    while (!waiter.admitted) {
+                        waiter.condition.await();
+                    }
+                } catch (final InterruptedException e) {
+                    if (waiter.admitted) {
+                        release();
+                    } else {
+                        waiting.remove(waiter);
+                    }
+                    Thread.currentThread().interrupt();
+                    throw new OperationException("Interrupted while waiting to run the operation", e);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void release() {
+            lock.lock();
+            try {
+                final Waiter next = waiting.poll();
+                if (null != next) {
+                    next.admitted = true;
+                    next.condition.signal();
+                } else {
+                    running--;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int getRunning() {
+            lock.lock();
+            try {
+                return running;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int getWaiting() {
+            lock.lock();
+            try {
+                return waiting.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static final class Waiter implements Comparable<Waiter> {
+        private final int score;
+        private final long sequence;
+        private final Condition condition;
+        private boolean admitted;
+
+        private Waiter(final int score, final long sequence, final Condition condition) {
+            this.score = score;
+            this.sequence = sequence;
+            this.condition = condition;
+        }
+
+        @Override
+        public int compareTo(final Waiter other) {
+            final int result = Integer.compare(score, other.score);
+            return 0 != result ? result : Long.compare(sequence, other.sequence);
+        }
+    }
+}
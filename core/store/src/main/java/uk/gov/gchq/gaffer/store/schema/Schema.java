@@ -30,6 +30,7 @@ import uk.gov.gchq.gaffer.commonutil.GroupUtil;
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
 import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
 import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.data.element.PropertySlots;
 import uk.gov.gchq.gaffer.data.elementdefinition.ElementDefinitions;
 import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
@@ -284,6 +285,17 @@ public class Schema extends ElementDefinitions<SchemaEntityDefinition, SchemaEdg
         return (SchemaElementDefinition) super.getElement(group);
     }
 
+    /**
+     * @param group the group
+     * @return the property slots of the group, or null if the group is not in
+     * the schema
+     * @see SchemaElementDefinition#getPropertySlots()
+     */
+    public PropertySlots getPropertySlots(final String group) {
+        final SchemaElementDefinition elementDef = getElement(group);
+        return null != elementDef ? elementDef.getPropertySlots() : null;
+    }
+
     public String getVisibilityProperty() {
         return visibilityProperty;
     }
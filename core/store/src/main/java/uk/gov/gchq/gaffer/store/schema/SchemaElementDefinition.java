@@ -31,6 +31,10 @@ import uk.gov.gchq.gaffer.commonutil.PropertiesUtil;
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
 import uk.gov.gchq.gaffer.commonutil.iterable.TransformIterable;
 import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.data.element.PropertySlots;
+import uk.gov.gchq.gaffer.data.element.SlottedProperties;
+import uk.gov.gchq.gaffer.data.element.function.CompiledElementAggregator;
 import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.elementdefinition.ElementDefinition;
@@ -93,10 +97,14 @@ public abstract class SchemaElementDefinition implements ElementDefinition {
 
     protected ElementAggregator ingestAggregatorCache;
 
+    protected CompiledElementAggregator compiledIngestAggregatorCache;
+
     protected final Map<Set<String>, ElementAggregator> queryAggregatorCacheMap = new HashMap<>();
 
     protected Schema schemaReference;
 
+    protected PropertySlots propertySlotsCache;
+
     /**
      * A ordered set of property names that should be stored to allow
      * query time aggregation to group based on their values.
@@ -128,6 +136,31 @@ public abstract class SchemaElementDefinition implements ElementDefinition {
         return properties.keySet();
     }
 
+    /**
+     * @return the slot indices of the properties in this element definition,
+     * in the same order as {@link #getProperties()}.
+     */
+    @JsonIgnore
+    public PropertySlots getPropertySlots() {
+        PropertySlots slots = propertySlotsCache;
+        // The builders only ever add properties, so a change in size means the cache is out of date
+        if (null == slots || slots.size() != properties.size()) {
+            slots = new PropertySlots(properties.keySet());
+            propertySlotsCache = slots;
+        }
+        return slots;
+    }
+
+    /**
+     * Creates an empty {@link Properties} which holds the properties in this
+     * element definition in an array.
+     *
+     * @return the new properties
+     */
+    public Properties createProperties() {
+        return new SlottedProperties(getPropertySlots());
+    }
+
     public boolean containsProperty(final String propertyName) {
         return properties.containsKey(propertyName);
     }
@@ -232,6 +265,20 @@ public abstract class SchemaElementDefinition implements ElementDefinition {
         return ingestAggregatorCache;
     }
 
+    /**
+     * @return the ingest aggregator, compiled into a thread safe
+     * {@link CompiledElementAggregator}.
+     */
+    @JsonIgnore
+    public CompiledElementAggregator getCompiledIngestAggregator() {
+        CompiledElementAggregator compiled = compiledIngestAggregatorCache;
+        if (null == compiled) {
+            compiled = getIngestAggregator().compile(getPropertySlots());
+            compiledIngestAggregatorCache = compiled;
+        }
+        return compiled;
+    }
+
     @JsonIgnore
     private synchronized void createIngestAggregator() {
         if (null == ingestAggregatorCache) {
@@ -560,6 +607,7 @@ public abstract class SchemaElementDefinition implements ElementDefinition {
         groupBy = Collections.unmodifiableSet(groupBy);
         properties = Collections.unmodifiableMap(properties);
         identifiers = Collections.unmodifiableMap(identifiers);
+        propertySlotsCache = new PropertySlots(properties.keySet());
         if (null != validator) {
             validator.lock();
         }
@@ -755,6 +803,7 @@ public abstract class SchemaElementDefinition implements ElementDefinition {
                 elDef.propertiesInAggregatorCache = null;
                 elDef.fullAggregatorCache = null;
                 elDef.ingestAggregatorCache = null;
+                elDef.compiledIngestAggregatorCache = null;
                 elDef.queryAggregatorCacheMap.clear();
 
                 if (null != elementDef.groupBy && !elementDef.groupBy.isEmpty()) {
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.serialiser;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.Serialiser;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Serialiser to write {@link Element}s to temporary files, for example when
+ * sorting or aggregating more elements than can be held in memory. It uses the
+ * {@link ElementSerialiser} and also writes the matched vertex of an
+ * {@link Edge}.
+ * <p>
+ * The schema serialisers only write the properties in the schema, so
+ * {@link #canSerialise(Element)} should be used to check an element will be
+ * deserialised without losing any information before it is written.
+ */
+public class ElementSpillSerialiser implements ToBytesSerialiser<Element> {
+    private static final long serialVersionUID = 3385046423941838752L;
+    private static final byte NO_MATCHED_VERTEX = -1;
+    private final Schema schema;
+    private final ToBytesSerialiser<Object> vertexSerialiser;
+    private final ElementSerialiser elementSerialiser;
+    private transient Map<String, Set<String>> requiredProperties;
+
+    @SuppressWarnings("unchecked")
+    public ElementSpillSerialiser(final Schema schema) {
+        this.schema = schema;
+        final Serialiser<?, ?> vertexSerialiser = schema.getVertexSerialiser();
+        if (vertexSerialiser instanceof ToBytesSerialiser) {
+            this.vertexSerialiser = (ToBytesSerialiser<Object>) vertexSerialiser;
+            this.elementSerialiser = new ElementSerialiser(schema);
+        } else {
+            this.vertexSerialiser = null;
+            this.elementSerialiser = null;
+        }
+    }
+
+    /**
+     * Checks whether an element can be serialised and deserialised again
+     * without losing any information. This is not the case if its group is
+     * not in the schema, if it has a property that is not in the schema (for
+     * example a transient property) or that the schema serialiser cannot
+     * handle, or if it is missing a property that would be deserialised as a
+     * non null value.
+     *
+     * @param element the element to check
+     * @return true if the element can be serialised without losing any information
+     */
+    public boolean canSerialise(final Element element) {
+        if (null == elementSerialiser || null == element) {
+            return false;
+        }
+
+        final SchemaElementDefinition elementDefinition;
+        if (element instanceof Entity) {
+            elementDefinition = schema.getEntity(element.getGroup());
+            if (null == elementDefinition || !canSerialiseVertex(((Entity) element).getVertex())) {
+                return false;
+            }
+        } else if (element instanceof Edge) {
+            elementDefinition = schema.getEdge(element.getGroup());
+            if (null == elementDefinition
+                    || !canSerialiseVertex(((Edge) element).getSource())
+                    || !canSerialiseVertex(((Edge) element).getDestination())) {
+                return false;
+            }
+        } else {
+            return false;
+        }
+
+        for (final Map.Entry<String, Object> entry : element.getProperties().entrySet()) {
+            if (null == entry.getValue()) {
+                continue;
+            }
+            final Serialiser<?, ?> serialiser = getSerialiser(elementDefinition, entry.getKey());
+            if (!(serialiser instanceof ToBytesSerialiser) || !serialiser.canHandle(entry.getValue().getClass())) {
+                return false;
+            }
+        }
+        for (final String propertyName : getRequiredProperties(element.getGroup(), elementDefinition)) {
+            if (null == element.getProperty(propertyName)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public byte[] serialise(final Element element) throws SerialisationException {
+        if (null == elementSerialiser) {
+            throw new SerialisationException("The schema vertex serialiser must be a " + ToBytesSerialiser.class.getSimpleName());
+        }
+        final EdgeId.MatchedVertex matchedVertex = element instanceof Edge ? ((Edge) element).getMatchedVertex() : null;
+        final byte[] elementBytes = elementSerialiser.serialise(element);
+        final byte[] bytes = new byte[elementBytes.length + 1];
+        bytes[0] = null == matchedVertex ? NO_MATCHED_VERTEX : (byte) matchedVertex.ordinal();
+        System.arraycopy(elementBytes, 0, bytes, 1, elementBytes.length);
+        return bytes;
+    }
+
+    @Override
+    public Element deserialise(final byte[] bytes) throws SerialisationException {
+        if (null == elementSerialiser) {
+            throw new SerialisationException("The schema vertex serialiser must be a " + ToBytesSerialiser.class.getSimpleName());
+        }
+        final Element element = elementSerialiser.deserialise(Arrays.copyOfRange(bytes, 1, bytes.length));
+        if (NO_MATCHED_VERTEX == bytes[0]) {
+            return element;
+        }
+        final Edge edge = (Edge) element;
+        return new Edge(edge.getGroup(), edge.getSource(), edge.getDestination(), edge.isDirected(),
+                EdgeId.MatchedVertex.values()[bytes[0]], edge.getProperties());
+    }
+
+    @Override
+    public Element deserialiseEmpty() {
+        return null;
+    }
+
+    @Override
+    public boolean preservesObjectOrdering() {
+        return false;
+    }
+
+    @Override
+    public boolean isConsistent() {
+        return false;
+    }
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return Element.class.isAssignableFrom(clazz);
+    }
+
+    private boolean canSerialiseVertex(final Object vertex) {
+        return null != vertex && vertexSerialiser.canHandle(vertex.getClass());
+    }
+
+    /**
+     * @return the properties of the group that are deserialised as a non null
+     * value when they are missing, so must be set for an element to be
+     * serialised without losing any information. Properties without a
+     * {@link ToBytesSerialiser} are included as they cannot be serialised at all.
+     */
+    private Set<String> getRequiredProperties(final String group, final SchemaElementDefinition elementDefinition) {
+        if (null == requiredProperties) {
+            requiredProperties = new HashMap<>();
+        }
+        return requiredProperties.computeIfAbsent(group, g -> {
+            final Set<String> required = new HashSet<>();
+            for (final String propertyName : elementDefinition.getProperties()) {
+                final Serialiser<?, ?> serialiser = getSerialiser(elementDefinition, propertyName);
+                try {
+                    if (!(serialiser instanceof ToBytesSerialiser) || null != ((ToBytesSerialiser<?>) serialiser).deserialiseEmpty()) {
+                        required.add(propertyName);
+                    }
+                } catch (final SerialisationException e) {
+                    required.add(propertyName);
+                }
+            }
+            return required;
+        });
+    }
+
+    private static Serialiser<?, ?> getSerialiser(final SchemaElementDefinition elementDefinition, final String propertyName) {
+        final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
+        return null != typeDefinition ? typeDefinition.getSerialiser() : null;
+    }
+}
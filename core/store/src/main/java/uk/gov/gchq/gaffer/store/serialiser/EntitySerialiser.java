@@ -90,7 +90,7 @@ public class EntitySerialiser extends PropertiesSerialiser<Entity> {
             throw new SerialisationException("No SchemaElementDefinition found for group " + group + ", is this group in your schema?");
         }
 
-        final Entity entity = new Entity(group, vertex);
+        final Entity entity = new Entity(group, vertex, elementDefinition.createProperties());
         deserialiseProperties(bytes, entity.getProperties(), elementDefinition, lastDelimiter);
         return entity;
     }
@@ -20,6 +20,7 @@ import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.data.element.SlottedProperties;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 import uk.gov.gchq.gaffer.serialisation.util.LengthValueBytesSerialiserUtil;
@@ -60,9 +61,20 @@ public abstract class PropertiesSerialiser<T> implements ToBytesSerialiser<T> {
     }
 
     protected void serialiseProperties(final Properties properties, final SchemaElementDefinition elementDefinition, final ByteArrayOutputStream out) throws SerialisationException {
+        if (properties instanceof SlottedProperties
+                && ((SlottedProperties) properties).getSlots().equals(elementDefinition.getPropertySlots())) {
+            // The slots are in the same order as the element definition properties so can be read directly
+            final SlottedProperties slottedProperties = (SlottedProperties) properties;
+            int index = 0;
+            for (final String propertyName : elementDefinition.getProperties()) {
+                final ToBytesSerialiser<Object> serialiser = getSerialiser(elementDefinition.getPropertyTypeDef(propertyName));
+                LengthValueBytesSerialiserUtil.serialise(serialiser, slottedProperties.getSlot(index++), out);
+            }
+            return;
+        }
+
         for (final String propertyName : elementDefinition.getProperties()) {
-            final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
-            final ToBytesSerialiser<Object> serialiser = (null != typeDefinition) ? (ToBytesSerialiser) typeDefinition.getSerialiser() : null;
+            final ToBytesSerialiser<Object> serialiser = getSerialiser(elementDefinition.getPropertyTypeDef(propertyName));
             LengthValueBytesSerialiserUtil.serialise(serialiser, properties.get(propertyName), out);
         }
     }
@@ -70,16 +82,28 @@ public abstract class PropertiesSerialiser<T> implements ToBytesSerialiser<T> {
     protected void deserialiseProperties(final byte[] bytes, final Properties properties, final SchemaElementDefinition elementDefinition, final int[] delimiter) throws SerialisationException {
         final int arrayLength = bytes.length;
         final Iterator<String> propertyNames = elementDefinition.getProperties().iterator();
+        final SlottedProperties slottedProperties = properties instanceof SlottedProperties
+                && ((SlottedProperties) properties).getSlots().equals(elementDefinition.getPropertySlots())
+                ? (SlottedProperties) properties : null;
+        int index = 0;
         while (propertyNames.hasNext() && delimiter[0] < arrayLength) {
             final String propertyName = propertyNames.next();
-            final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
-            final ToBytesSerialiser<Object> serialiser = (null != typeDefinition) ? (ToBytesSerialiser) typeDefinition.getSerialiser() : null;
+            final ToBytesSerialiser<Object> serialiser = getSerialiser(elementDefinition.getPropertyTypeDef(propertyName));
 
             final Object property = LengthValueBytesSerialiserUtil.deserialise(serialiser, bytes, delimiter);
-            properties.put(propertyName, property);
+            if (null != slottedProperties) {
+                slottedProperties.putSlot(index++, property);
+            } else {
+                properties.put(propertyName, property);
+            }
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private static ToBytesSerialiser<Object> getSerialiser(final TypeDefinition typeDefinition) {
+        return (null != typeDefinition) ? (ToBytesSerialiser<Object>) typeDefinition.getSerialiser() : null;
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (this == obj) {
@@ -15,38 +15,70 @@
  */
 package uk.gov.gchq.gaffer.store.util;
 
+import com.google.common.primitives.Longs;
+import com.google.common.primitives.UnsignedBytes;
 
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
-import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.GroupedProperties;
 import uk.gov.gchq.gaffer.data.element.ReservedPropertyNames;
+import uk.gov.gchq.gaffer.data.element.function.CompiledElementAggregator;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.Serialiser;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.util.ExternalSortedIterable;
+import uk.gov.gchq.gaffer.serialisation.util.LengthValueBytesSerialiserUtil;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.store.serialiser.ElementSpillSerialiser;
 import uk.gov.gchq.koryphe.Since;
 import uk.gov.gchq.koryphe.Summary;
 import uk.gov.gchq.koryphe.binaryoperator.KorypheBinaryOperator;
 import uk.gov.gchq.koryphe.function.KorypheFunction;
 import uk.gov.gchq.koryphe.predicate.KoryphePredicate;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
 
 /**
  * Utility methods to help with doing aggregation of elements. Aggregation differs
  * depending on if it ingest or query time aggregation. Ingest aggregation uses
  * the groupBy properties in a {@link Schema}, whereas query time aggregation first
  * checks the {@link View} to see if the groupBy properties have been overridden.
+ * <p>
+ * Elements are grouped using a {@link GroupKey} holding just the group,
+ * identifiers and groupBy values, rather than a clone of each element. There
+ * are three ways of aggregating: <ul> <li>in memory, where all of the
+ * aggregated elements are held in a hash map.</li> <li>sorted, where the input
+ * is already ordered so that elements with the same key are next to each other.
+ * These are aggregated lazily as the result is iterated over.</li> <li>with a
+ * memory budget, where the partially aggregated elements are written to sorted
+ * files on disk whenever the budget is reached and then merged when the result
+ * is iterated over. This requires the schema serialisers to be
+ * {@link ToBytesSerialiser}s.</li> </ul>
  */
 public final class AggregatorUtil {
     private AggregatorUtil() {
@@ -67,23 +99,51 @@ public final class AggregatorUtil {
         if (null == schema) {
             throw new IllegalArgumentException("Schema is required");
         }
-        final Collection<String> aggregatedGroups = schema.getAggregatedGroups();
-        final List<Element> aggregatableElements = new ArrayList<>();
-        final List<Element> nonAggregatedElements = new ArrayList<>();
-        for (final Element element : elements) {
-            if (null != element) {
-                if (aggregatedGroups.contains(element.getGroup())) {
-                    aggregatableElements.add(element);
-                } else {
-                    nonAggregatedElements.add(element);
-                }
-            }
+        return hashAggregate(elements, schema.getAggregatedGroups(), new ToGroupKey(getIngestGroupBys(schema)), new IngestElementBinaryOperator(schema));
+    }
+
+    /**
+     * Applies ingest aggregation to the provided iterable of {@link Element}s,
+     * which must be ordered so that elements with the same group, identifiers
+     * and groupBy values are next to each other. The elements are aggregated
+     * lazily as the result is iterated over, so only one aggregated element is
+     * held in memory at a time.
+     *
+     * @param elements the sorted elements to be aggregated
+     * @param schema   the schema containing the aggregators and groupBy properties to use
+     * @return the aggregated elements, in the same order as the input.
+     */
+    public static CloseableIterable<Element> ingestAggregateSorted(final Iterable<? extends Element> elements, final Schema schema) {
+        if (null == schema) {
+            throw new IllegalArgumentException("Schema is required");
         }
+        return sortedAggregate(elements, schema.getAggregatedGroups(), new ToGroupKey(getIngestGroupBys(schema)), new IngestElementBinaryOperator(schema));
+    }
 
-        final Iterable<Element> aggregatedElements = Streams.toStream(aggregatableElements)
-                .collect(Collectors.groupingBy(new ToIngestElementKey(schema), Collectors.reducing(null, new IngestElementBinaryOperator(schema))))
-                .values();
-        return new ChainedIterable<>(aggregatedElements, nonAggregatedElements);
+    /**
+     * Applies ingest aggregation to the provided iterable of {@link Element}s,
+     * holding at most maxElementsInMemory elements in memory. Once this is
+     * reached the partially aggregated elements are written to a sorted file in
+     * the temporary directory and the files are merged as the result is iterated
+     * over. The files are deleted when the result is closed. The vertex and
+     * groupBy properties must have consistent {@link ToBytesSerialiser}s. Once
+     * an element is found that the schema serialisers cannot write without
+     * losing information, for example because it has a transient property, no
+     * more files are written and the remaining elements are aggregated in memory.
+     *
+     * @param elements            the elements to be aggregated
+     * @param schema              the schema containing the aggregators, groupBy properties and serialisers to use
+     * @param maxElementsInMemory the maximum number of elements to hold in memory
+     * @param tempDirectory       the directory to write the files to, or null to use the default temporary directory
+     * @return the aggregated elements.
+     */
+    public static CloseableIterable<Element> ingestAggregate(final Iterable<? extends Element> elements, final Schema schema,
+                                                             final int maxElementsInMemory, final File tempDirectory) {
+        if (null == schema) {
+            throw new IllegalArgumentException("Schema is required");
+        }
+        final Map<String, Set<String>> groupBys = getIngestGroupBys(schema);
+        return spillingAggregate(elements, schema, groupBys, false, new IngestElementBinaryOperator(schema), maxElementsInMemory, tempDirectory);
     }
 
     /**
@@ -124,22 +184,179 @@ public final class AggregatorUtil {
         if (null == view) {
             throw new IllegalArgumentException("View is required");
         }
-        final Collection<String> aggregatedGroups = schema.getAggregatedGroups();
-        final List<Element> aggregatableElements = new ArrayList<>();
+        return hashAggregate(elements, schema.getAggregatedGroups(),
+                new ToGroupKey(getQueryGroupBys(schema, view), includeMatchedVertex), new QueryElementBinaryOperator(schema, view));
+    }
+
+    /**
+     * Applies query time aggregation to the provided iterable of {@link Element}s,
+     * which must be ordered so that elements with the same group, identifiers
+     * and groupBy values are next to each other. The elements are aggregated
+     * lazily as the result is iterated over, so only one aggregated element is
+     * held in memory at a time.
+     *
+     * @param elements             the sorted elements to be aggregated
+     * @param schema               the schema containing the aggregators and groupBy properties to use
+     * @param view                 the view containing the aggregators and groupBy properties to use
+     * @param includeMatchedVertex whether aggregation groups should include the Edge Matched Vertex
+     * @return the aggregated elements, in the same order as the input.
+     */
+    public static CloseableIterable<Element> queryAggregateSorted(final Iterable<? extends Element> elements, final Schema schema, final View view, final boolean includeMatchedVertex) {
+        if (null == schema) {
+            throw new IllegalArgumentException("Schema is required");
+        }
+        if (null == view) {
+            throw new IllegalArgumentException("View is required");
+        }
+        return sortedAggregate(elements, schema.getAggregatedGroups(),
+                new ToGroupKey(getQueryGroupBys(schema, view), includeMatchedVertex), new QueryElementBinaryOperator(schema, view));
+    }
+
+    /**
+     * Applies query time aggregation to the provided iterable of {@link Element}s,
+     * holding at most maxElementsInMemory elements in memory. Once this is
+     * reached the partially aggregated elements are written to a sorted file in
+     * the temporary directory and the files are merged as the result is iterated
+     * over. The files are deleted when the result is closed. The vertex and
+     * groupBy properties must have consistent {@link ToBytesSerialiser}s. Once
+     * an element is found that the schema serialisers cannot write without
+     * losing information, for example because it has a transient property, no
+     * more files are written and the remaining elements are aggregated in memory.
+     *
+     * @param elements             the elements to be aggregated
+     * @param schema               the schema containing the aggregators, groupBy properties and serialisers to use
+     * @param view                 the view containing the aggregators and groupBy properties to use
+     * @param includeMatchedVertex whether aggregation groups should include the Edge Matched Vertex
+     * @param maxElementsInMemory  the maximum number of elements to hold in memory
+     * @param tempDirectory        the directory to write the files to, or null to use the default temporary directory
+     * @return the aggregated elements.
+     */
+    public static CloseableIterable<Element> queryAggregate(final Iterable<? extends Element> elements, final Schema schema, final View view, final boolean includeMatchedVertex,
+                                                            final int maxElementsInMemory, final File tempDirectory) {
+        if (null == schema) {
+            throw new IllegalArgumentException("Schema is required");
+        }
+        if (null == view) {
+            throw new IllegalArgumentException("View is required");
+        }
+        final Map<String, Set<String>> groupBys = getQueryGroupBys(schema, view);
+        return spillingAggregate(elements, schema, groupBys, includeMatchedVertex, new QueryElementBinaryOperator(schema, view), maxElementsInMemory, tempDirectory);
+    }
+
+    private static CloseableIterable<Element> hashAggregate(final Iterable<? extends Element> elements,
+                                                            final Collection<String> aggregatedGroups,
+                                                            final ToGroupKey toGroupKey,
+                                                            final BinaryOperator<Element> aggregator) {
+        final Map<GroupKey, Element> aggregatedElements = new HashMap<>();
         final List<Element> nonAggregatedElements = new ArrayList<>();
         for (final Element element : elements) {
             if (null != element) {
                 if (aggregatedGroups.contains(element.getGroup())) {
-                    aggregatableElements.add(element);
+                    aggregatedElements.merge(toGroupKey.apply(element), element, aggregator);
                 } else {
                     nonAggregatedElements.add(element);
                 }
             }
         }
-        final Iterable<Element> aggregatedElements = Streams.toStream(aggregatableElements)
-                .collect(Collectors.groupingBy(new ToQueryElementKey(schema, view, includeMatchedVertex), Collectors.reducing(null, new QueryElementBinaryOperator(schema, view))))
-                .values();
-        return new ChainedIterable<>(aggregatedElements, nonAggregatedElements);
+        return new ChainedIterable<>(aggregatedElements.values(), nonAggregatedElements);
+    }
+
+    private static CloseableIterable<Element> sortedAggregate(final Iterable<? extends Element> elements,
+                                                              final Collection<String> aggregatedGroups,
+                                                              final ToGroupKey toGroupKey,
+                                                              final BinaryOperator<Element> aggregator) {
+        return new CloseableIterable<Element>() {
+            @Override
+            public CloseableIterator<Element> iterator() {
+                return new AdjacentAggregatingIterator<Element>(elements.iterator(),
+                        e -> aggregatedGroups.contains(e.getGroup()) ? toGroupKey.apply(e) : null,
+                        Function.identity(), aggregator);
+            }
+
+            @Override
+            public void close() {
+                CloseableUtil.close(elements);
+            }
+        };
+    }
+
+    private static CloseableIterable<Element> spillingAggregate(final Iterable<? extends Element> elements,
+                                                                final Schema schema,
+                                                                final Map<String, Set<String>> groupBys,
+                                                                final boolean includeMatchedVertex,
+                                                                final BinaryOperator<Element> aggregator,
+                                                                final int maxElementsInMemory,
+                                                                final File tempDirectory) {
+        if (1 > maxElementsInMemory) {
+            throw new IllegalArgumentException("The maximum number of elements in memory must be greater than 0");
+        }
+        final Collection<String> aggregatedGroups = schema.getAggregatedGroups();
+        final ToGroupKey toGroupKey = new ToGroupKey(groupBys, includeMatchedVertex);
+        final BinaryKeyWriter keyWriter = new BinaryKeyWriter(schema, groupBys, includeMatchedVertex);
+        final ElementSpillSerialiser elementSerialiser = new ElementSpillSerialiser(schema);
+        final Map<GroupKey, Element> aggregatedElements = new HashMap<>();
+        final List<Element> nonAggregatedElements = new ArrayList<>();
+        ExternalSortedIterable<KeyedElement> sorted = null;
+        boolean spilling = true;
+        long nonAggregatedCount = 0;
+        try {
+            for (final Element element : elements) {
+                if (null != element) {
+                    if (spilling && !elementSerialiser.canSerialise(element)) {
+                        spilling = false;
+                    }
+                    if (aggregatedGroups.contains(element.getGroup())) {
+                        aggregatedElements.merge(toGroupKey.apply(element), element, aggregator);
+                    } else {
+                        nonAggregatedElements.add(element);
+                    }
+                    if (spilling && aggregatedElements.size() + nonAggregatedElements.size() >= maxElementsInMemory) {
+                        if (null == sorted) {
+                            // The aggregated elements are checked again as they are written
+                            sorted = new ExternalSortedIterable<>(KeyedElement::compareTo, null, false, maxElementsInMemory,
+                                    new KeyedElementSerialiser(elementSerialiser), tempDirectory,
+                                    keyedElement -> elementSerialiser.canSerialise(keyedElement.getElement()));
+                        }
+                        for (final Element aggregatedElement : aggregatedElements.values()) {
+                            sorted.add(new KeyedElement(keyWriter.write(aggregatedElement), aggregatedElement));
+                        }
+                        for (final Element nonAggregatedElement : nonAggregatedElements) {
+                            sorted.add(new KeyedElement(keyWriter.writeUnique(nonAggregatedCount++), nonAggregatedElement));
+                        }
+                        aggregatedElements.clear();
+                        nonAggregatedElements.clear();
+                    }
+                }
+            }
+        } catch (final RuntimeException e) {
+            CloseableUtil.close(sorted);
+            throw e;
+        }
+
+        if (null == sorted) {
+            return new ChainedIterable<>(aggregatedElements.values(), nonAggregatedElements);
+        }
+
+        for (final Element aggregatedElement : aggregatedElements.values()) {
+            sorted.add(new KeyedElement(keyWriter.write(aggregatedElement), aggregatedElement));
+        }
+        for (final Element nonAggregatedElement : nonAggregatedElements) {
+            sorted.add(new KeyedElement(keyWriter.writeUnique(nonAggregatedCount++), nonAggregatedElement));
+        }
+
+        final ExternalSortedIterable<KeyedElement> partialAggregates = sorted;
+        return new CloseableIterable<Element>() {
+            @Override
+            public CloseableIterator<Element> iterator() {
+                return new AdjacentAggregatingIterator<KeyedElement>(partialAggregates.iterator(),
+                        KeyedElement::getKey, KeyedElement::getElement, aggregator);
+            }
+
+            @Override
+            public void close() {
+                partialAggregates.close();
+            }
+        };
     }
 
     /**
@@ -172,6 +389,92 @@ public final class AggregatorUtil {
         }
     }
 
+    /**
+     * A compact key for grouping elements during aggregation. It consists of
+     * the group, the identifiers and the groupBy values of an element.
+     */
+    public static final class GroupKey {
+        private final Object[] values;
+        private final int hashCode;
+
+        private GroupKey(final Object[] values) {
+            this.values = values;
+            this.hashCode = Arrays.deepHashCode(values);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return this == obj
+                    || (obj instanceof GroupKey && hashCode == ((GroupKey) obj).hashCode
+                    && Arrays.deepEquals(values, ((GroupKey) obj).values));
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.deepToString(values);
+        }
+    }
+
+    /**
+     * A Function that takes an element as input and outputs a {@link GroupKey}
+     * that consists of the Group, the Identifiers and the Group-by values. This
+     * groups elements in the same way as {@link ToElementKey} without cloning
+     * the element.
+     */
+    @Since("1.22.1")
+    @Summary("Extracts the group key of an Element")
+    public static class ToGroupKey extends KorypheFunction<Element, GroupKey> {
+        private final Map<String, Set<String>> groupToGroupBys;
+        private final boolean includeMatchedVertex;
+
+        public ToGroupKey(final Map<String, Set<String>> groupToGroupBys) {
+            this(groupToGroupBys, false);
+        }
+
+        public ToGroupKey(final Map<String, Set<String>> groupToGroupBys, final boolean includeMatchedVertex) {
+            if (null == groupToGroupBys) {
+                throw new IllegalArgumentException("groupToGroupBys map is required");
+            }
+            this.groupToGroupBys = groupToGroupBys;
+            this.includeMatchedVertex = includeMatchedVertex;
+        }
+
+        @Override
+        public GroupKey apply(final Element element) {
+            final Set<String> groupBy = groupToGroupBys.get(element.getGroup());
+            if (null == groupBy) {
+                throw new IllegalArgumentException("Group " + element.getGroup() + " was not recognised");
+            }
+
+            final Object[] values;
+            int i = 0;
+            if (element instanceof Entity) {
+                values = new Object[2 + groupBy.size()];
+                values[i++] = element.getGroup();
+                values[i++] = ((Entity) element).getVertex();
+            } else {
+                final Edge edge = (Edge) element;
+                values = new Object[(includeMatchedVertex ? 5 : 4) + groupBy.size()];
+                values[i++] = edge.getGroup();
+                values[i++] = edge.getSource();
+                values[i++] = edge.getDestination();
+                values[i++] = edge.isDirected();
+                if (includeMatchedVertex) {
+                    values[i++] = edge.getMatchedVertex();
+                }
+            }
+            for (final String propertyName : groupBy) {
+                values[i++] = element.getProperty(propertyName);
+            }
+            return new GroupKey(values);
+        }
+    }
+
     @Since("1.0.0")
     @Summary("Extracts the key of an element")
     public static class ToElementKey extends KorypheFunction<Element, Element> {
@@ -273,6 +576,7 @@ public final class AggregatorUtil {
     protected static class ElementBinaryOperator extends KorypheBinaryOperator<Element> {
         private final Schema schema;
         private final View view;
+        private final Map<String, CompiledElementAggregator> queryAggregators = new ConcurrentHashMap<>();
 
         protected ElementBinaryOperator(final Schema schema, final View view) {
             if (null == schema) {
@@ -284,18 +588,14 @@ public final class AggregatorUtil {
 
         @Override
         public Element _apply(final Element a, final Element b) {
-            final String group = a.getGroup();
-            if (null == view) {
-                return schema.getElement(group).getIngestAggregator().apply(a, b);
-            }
-            final ViewElementDefinition elementDef = view.getElement(group);
-            return schema.getElement(group).getQueryAggregator(elementDef.getGroupBy(), elementDef.getAggregator()).apply(a, b);
+            return getAggregator(schema, view, queryAggregators, a.getGroup()).apply(a, b);
         }
     }
 
     protected static class PropertiesBinaryOperator extends KorypheBinaryOperator<GroupedProperties> {
         private final Schema schema;
         private final View view;
+        private final Map<String, CompiledElementAggregator> queryAggregators = new ConcurrentHashMap<>();
 
         protected PropertiesBinaryOperator(final Schema schema, final View view) {
             if (null == schema) {
@@ -307,19 +607,38 @@ public final class AggregatorUtil {
 
         @Override
         public GroupedProperties _apply(final GroupedProperties a, final GroupedProperties b) {
-            final String group = a.getGroup();
-            if (null == view) {
-                schema.getElement(a.getGroup()).getIngestAggregator().apply(a, b);
-            } else {
-                final ViewElementDefinition elementDef = view.getElement(group);
-                schema.getElement(group).getQueryAggregator(elementDef.getGroupBy(), elementDef.getAggregator()).apply(a, b);
-            }
+            getAggregator(schema, view, queryAggregators, a.getGroup()).apply(a, b);
 
             // The aggregator will always return a so this is safe
             return a;
         }
     }
 
+    /**
+     * Gets the compiled aggregator for a group. Without a view this is the
+     * schema ingest aggregator. With a view, the query aggregator combining
+     * the view group by and aggregator with the schema is created and compiled
+     * the first time the group is aggregated, then reused from the cache.
+     */
+    private static CompiledElementAggregator getAggregator(final Schema schema, final View view,
+                                                           final Map<String, CompiledElementAggregator> queryAggregators,
+                                                           final String group) {
+        final SchemaElementDefinition schemaElementDef = schema.getElement(group);
+        if (null == view) {
+            return schemaElementDef.getCompiledIngestAggregator();
+        }
+
+        final CompiledElementAggregator aggregator = queryAggregators.get(group);
+        if (null != aggregator) {
+            return aggregator;
+        }
+        return queryAggregators.computeIfAbsent(group, g -> {
+            final ViewElementDefinition elementDef = view.getElement(g);
+            return schemaElementDef.getQueryAggregator(elementDef.getGroupBy(), elementDef.getAggregator())
+                    .compile(schema.getPropertySlots(g));
+        });
+    }
+
     public static Map<String, Set<String>> getIngestGroupBys(final Schema schema) {
         if (null == schema) {
             throw new IllegalArgumentException("Schema is required");
@@ -381,4 +700,232 @@ public final class AggregatorUtil {
         }
         return groupBy;
     }
+
+    /**
+     * Aggregates adjacent items which have equal keys. Items with a null key
+     * are not aggregated.
+     */
+    private static final class AdjacentAggregatingIterator<T> implements CloseableIterator<Element> {
+        private final Iterator<? extends T> input;
+        private final Function<T, Object> toKey;
+        private final Function<T, Element> toElement;
+        private final BinaryOperator<Element> aggregator;
+        private T pending;
+        private Object pendingKey;
+
+        private AdjacentAggregatingIterator(final Iterator<? extends T> input,
+                                            final Function<T, Object> toKey,
+                                            final Function<T, Element> toElement,
+                                            final BinaryOperator<Element> aggregator) {
+            this.input = input;
+            this.toKey = toKey;
+            this.toElement = toElement;
+            this.aggregator = aggregator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null == pending) {
+                pending = nextNonNull();
+                if (null == pending) {
+                    close();
+                    return false;
+                }
+                pendingKey = toKey.apply(pending);
+            }
+            return true;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Element result = toElement.apply(pending);
+            final Object key = pendingKey;
+            pending = null;
+            pendingKey = null;
+            if (null != key) {
+                T candidate;
+                while (null != (candidate = nextNonNull())) {
+                    final Object candidateKey = toKey.apply(candidate);
+                    if (!key.equals(candidateKey)) {
+                        pending = candidate;
+                        pendingKey = candidateKey;
+                        break;
+                    }
+                    result = aggregator.apply(result, toElement.apply(candidate));
+                }
+            }
+            return result;
+        }
+
+        private T nextNonNull() {
+            while (input.hasNext()) {
+                final T item = input.next();
+                if (null != item) {
+                    return item;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(input);
+        }
+    }
+
+    /**
+     * A partially aggregated element and its binary group key.
+     */
+    private static final class KeyedElement implements Comparable<KeyedElement> {
+        private final byte[] key;
+        private final Element element;
+
+        private KeyedElement(final byte[] key, final Element element) {
+            this.key = key;
+            this.element = element;
+        }
+
+        private Object getKey() {
+            return ByteBuffer.wrap(key);
+        }
+
+        private Element getElement() {
+            return element;
+        }
+
+        @Override
+        public int compareTo(final KeyedElement other) {
+            return UnsignedBytes.lexicographicalComparator().compare(key, other.key);
+        }
+    }
+
+    /**
+     * Writes the group, identifiers and groupBy values of an element to bytes
+     * using the schema serialisers, so that elements with the same
+     * {@link GroupKey} have the same bytes. The serialisers must be consistent,
+     * otherwise equal values could be written as different bytes and would not
+     * be aggregated together.
+     */
+    private static final class BinaryKeyWriter {
+        private static final byte AGGREGATED = 0;
+        private static final byte NOT_AGGREGATED = 1;
+        private final StringSerialiser stringSerialiser = new StringSerialiser();
+        private final Map<String, Set<String>> groupBys;
+        private final boolean includeMatchedVertex;
+        private final ToBytesSerialiser<Object> vertexSerialiser;
+        private final Map<String, Map<String, ToBytesSerialiser<Object>>> groupBySerialisers = new HashMap<>();
+
+        private BinaryKeyWriter(final Schema schema, final Map<String, Set<String>> groupBys, final boolean includeMatchedVertex) {
+            this.groupBys = groupBys;
+            this.includeMatchedVertex = includeMatchedVertex;
+            this.vertexSerialiser = getKeySerialiser(schema.getVertexSerialiser(), "Vertex serialiser");
+            for (final Map.Entry<String, Set<String>> entry : groupBys.entrySet()) {
+                final SchemaElementDefinition elementDef = schema.getElement(entry.getKey());
+                if (null == elementDef) {
+                    continue;
+                }
+                final Map<String, ToBytesSerialiser<Object>> serialisers = new HashMap<>();
+                for (final String propertyName : entry.getValue()) {
+                    final TypeDefinition typeDef = elementDef.getPropertyTypeDef(propertyName);
+                    serialisers.put(propertyName, getKeySerialiser(null != typeDef ? typeDef.getSerialiser() : null,
+                            "Property " + propertyName + " in group " + entry.getKey()));
+                }
+                groupBySerialisers.put(entry.getKey(), serialisers);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static ToBytesSerialiser<Object> getKeySerialiser(final Serialiser<?, ?> serialiser, final String name) {
+            if (!(serialiser instanceof ToBytesSerialiser) || !serialiser.isConsistent()) {
+                throw new IllegalArgumentException(name + " must have a consistent "
+                        + ToBytesSerialiser.class.getSimpleName() + " to aggregate with a memory budget");
+            }
+            return (ToBytesSerialiser<Object>) serialiser;
+        }
+
+        private byte[] write(final Element element) {
+            final Map<String, ToBytesSerialiser<Object>> serialisers = groupBySerialisers.get(element.getGroup());
+            try (final ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+                out.write(AGGREGATED);
+                LengthValueBytesSerialiserUtil.serialise(stringSerialiser, element.getGroup(), out);
+                if (element instanceof Entity) {
+                    LengthValueBytesSerialiserUtil.serialise(vertexSerialiser, ((Entity) element).getVertex(), out);
+                } else {
+                    final Edge edge = (Edge) element;
+                    LengthValueBytesSerialiserUtil.serialise(vertexSerialiser, edge.getSource(), out);
+                    LengthValueBytesSerialiserUtil.serialise(vertexSerialiser, edge.getDestination(), out);
+                    out.write(edge.isDirected() ? 1 : 0);
+                    if (includeMatchedVertex) {
+                        out.write(null == edge.getMatchedVertex() ? -1 : edge.getMatchedVertex().ordinal());
+                    }
+                }
+                for (final String propertyName : groupBys.get(element.getGroup())) {
+                    LengthValueBytesSerialiserUtil.serialise(serialisers.get(propertyName), element.getProperty(propertyName), out);
+                }
+                return out.toByteArray();
+            } catch (final Exception e) {
+                throw new RuntimeException("Unable to serialise the group key of element: " + element, e);
+            }
+        }
+
+        private byte[] writeUnique(final long index) {
+            final byte[] key = new byte[1 + Longs.BYTES];
+            key[0] = NOT_AGGREGATED;
+            System.arraycopy(Longs.toByteArray(index), 0, key, 1, Longs.BYTES);
+            return key;
+        }
+    }
+
+    /**
+     * Serialises a {@link KeyedElement} as its length prefixed key and then the
+     * element, using the {@link ElementSpillSerialiser} so the matched vertex
+     * of an edge is kept.
+     */
+    private static final class KeyedElementSerialiser implements ToBytesSerialiser<KeyedElement> {
+        private static final long serialVersionUID = -6123474386453871447L;
+        private final ElementSpillSerialiser elementSerialiser;
+
+        private KeyedElementSerialiser(final ElementSpillSerialiser elementSerialiser) {
+            this.elementSerialiser = elementSerialiser;
+        }
+
+        @Override
+        public byte[] serialise(final KeyedElement keyedElement) throws SerialisationException {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            LengthValueBytesSerialiserUtil.serialise(keyedElement.key, out);
+            final byte[] elementBytes = elementSerialiser.serialise(keyedElement.element);
+            out.write(elementBytes, 0, elementBytes.length);
+            return out.toByteArray();
+        }
+
+        @Override
+        public KeyedElement deserialise(final byte[] bytes) throws SerialisationException {
+            final int[] delimiter = new int[]{0};
+            final byte[] key = LengthValueBytesSerialiserUtil.deserialise(bytes, delimiter);
+            return new KeyedElement(key, elementSerialiser.deserialise(Arrays.copyOfRange(bytes, delimiter[0], bytes.length)));
+        }
+
+        @Override
+        public KeyedElement deserialiseEmpty() {
+            return null;
+        }
+
+        @Override
+        public boolean preservesObjectOrdering() {
+            return false;
+        }
+
+        @Override
+        public boolean isConsistent() {
+            return false;
+        }
+
+        @Override
+        public boolean canHandle(final Class clazz) {
+            return KeyedElement.class.isAssignableFrom(clazz);
+        }
+    }
 }
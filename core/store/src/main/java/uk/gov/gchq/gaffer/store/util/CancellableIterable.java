@@ -0,0 +1,162 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.util;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.store.CancellationToken;
+import uk.gov.gchq.gaffer.store.OperationCancelledException;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A {@code CancellableIterable} wraps a {@link CloseableIterable} and checks a
+ * {@link CancellationToken} before each item is returned. Once the token is
+ * cancelled, or its deadline passes, the wrapped iterator is closed, which
+ * releases any scanners it holds, and an {@link OperationCancelledException}
+ * is thrown.
+ * <p>
+ * An optional close action is run once, when the iterable or one of its
+ * iterators is first closed, or when an iterator has been read to the end.
+ * The store uses this to keep an operation chain registered, so that it can
+ * still be cancelled, until its results have been read or closed.
+ * </p>
+ *
+ * @param <T> the type of items in the iterable.
+ */
+public class CancellableIterable<T> implements CloseableIterable<T> {
+    private final CloseableIterable<T> iterable;
+    private final CancellationToken cancellationToken;
+    private final Runnable closeAction;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    public CancellableIterable(final CloseableIterable<T> iterable, final CancellationToken cancellationToken) {
+        this(iterable, cancellationToken, null);
+    }
+
+    public CancellableIterable(final CloseableIterable<T> iterable, final CancellationToken cancellationToken, final Runnable closeAction) {
+        if (null == iterable) {
+            throw new IllegalArgumentException("Iterable is required");
+        }
+        if (null == cancellationToken) {
+            throw new IllegalArgumentException("Cancellation token is required");
+        }
+        this.iterable = iterable;
+        this.cancellationToken = cancellationToken;
+        this.closeAction = closeAction;
+    }
+
+    /**
+     * Gets the underlying iterable from an iterable that may have been wrapped
+     * in one or more {@link CancellableIterable}s, so that handlers can check
+     * what type of iterable they have been given.
+     *
+     * @param iterable the iterable, which may be a {@link CancellableIterable}
+     * @return the underlying iterable
+     */
+    public static Object unwrap(final Object iterable) {
+        Object unwrapped = iterable;
+        while (unwrapped instanceof CancellableIterable) {
+            unwrapped = ((CancellableIterable<?>) unwrapped).getIterable();
+        }
+        return unwrapped;
+    }
+
+    public CloseableIterable<T> getIterable() {
+        return iterable;
+    }
+
+    public CancellationToken getCancellationToken() {
+        return cancellationToken;
+    }
+
+    @Override
+    public void close() {
+        try {
+            CloseableUtil.close(iterable);
+        } finally {
+            runCloseAction();
+        }
+    }
+
+    @Override
+    public CloseableIterator<T> iterator() {
+        cancellationToken.throwIfCancelled();
+        return new CancellableIterator(iterable.iterator());
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("iterable", iterable)
+                .toString();
+    }
+
+    private void runCloseAction() {
+        if (null != closeAction && closed.compareAndSet(false, true)) {
+            closeAction.run();
+        }
+    }
+
+    private final class CancellableIterator implements CloseableIterator<T> {
+        private final Iterator<T> iterator;
+
+        private CancellableIterator(final Iterator<T> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            checkCancelled();
+            final boolean hasNext = iterator.hasNext();
+            if (!hasNext) {
+                runCloseAction();
+            }
+            return hasNext;
+        }
+
+        @Override
+        public T next() {
+            checkCancelled();
+            return iterator.next();
+        }
+
+        @Override
+        public void remove() {
+            iterator.remove();
+        }
+
+        @Override
+        public void close() {
+            try {
+                CloseableUtil.close(iterator);
+            } finally {
+                runCloseAction();
+            }
+        }
+
+        private void checkCancelled() {
+            if (cancellationToken.isCancelled()) {
+                close();
+                cancellationToken.throwIfCancelled();
+            }
+        }
+    }
+}
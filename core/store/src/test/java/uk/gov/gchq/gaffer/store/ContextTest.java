@@ -18,6 +18,7 @@ package uk.gov.gchq.gaffer.store;
 
 import org.junit.jupiter.api.Test;
 
+import uk.gov.gchq.gaffer.core.exception.Status;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.export.Exporter;
 import uk.gov.gchq.gaffer.user.User;
@@ -30,6 +31,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
@@ -200,4 +202,63 @@ public class ContextTest {
         assertEquals(context.getVariable("testVar"), "testVarVal");
         assertEquals(context.getVariable("testVar2"), "testVarVal2");
     }
+
+    @Test
+    public void shouldShareCancellationWithShallowClones() {
+        // Given
+        final Context context = new Context(new User("user"));
+        final Context clonedContext = context.shallowClone();
+
+        // When
+        clonedContext.cancel();
+
+        // Then
+        assertSame(context.getCancellationToken(), clonedContext.getCancellationToken());
+        assertTrue(context.isCancelled());
+        assertThrows(OperationCancelledException.class, context::throwIfCancelled);
+    }
+
+    @Test
+    public void shouldNotShareCancellationWithCloneGivenItsOwnToken() {
+        // Given
+        final Context context = new Context(new User("user"));
+        final Context clonedContext = new Context(context, new CancellationToken());
+
+        // When
+        context.cancel();
+
+        // Then
+        assertEquals(context.getUser(), clonedContext.getUser());
+        assertNotEquals(context.getJobId(), clonedContext.getJobId());
+        assertNotSame(context.getCancellationToken(), clonedContext.getCancellationToken());
+        assertFalse(clonedContext.isCancelled());
+    }
+
+    @Test
+    public void shouldCancelContextWhenTimeoutHasPassed() {
+        // Given
+        final Context context = new Context(new User("user"));
+
+        // When
+        context.setTimeout(0);
+
+        // Then
+        assertTrue(context.isCancelled());
+        assertTrue(context.getCancellationToken().isCancellable());
+        final OperationCancelledException exception = assertThrows(OperationCancelledException.class, context::throwIfCancelled);
+        assertEquals(Status.REQUEST_TIMEOUT, exception.getStatus());
+    }
+
+    @Test
+    public void shouldNotBeCancelledByDefault() {
+        // Given
+        final Context context = new Context(new User("user"));
+
+        // When
+        context.throwIfCancelled();
+
+        // Then
+        assertFalse(context.isCancelled());
+        assertFalse(context.getCancellationToken().isCancellable());
+    }
 }
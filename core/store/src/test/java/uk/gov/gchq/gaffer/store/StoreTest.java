@@ -89,6 +89,7 @@ import uk.gov.gchq.gaffer.operation.impl.generate.GenerateObjects;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.job.CancelJob;
 import uk.gov.gchq.gaffer.operation.impl.job.CancelScheduledJob;
 import uk.gov.gchq.gaffer.operation.impl.job.GetAllJobDetails;
 import uk.gov.gchq.gaffer.operation.impl.job.GetJobDetails;
@@ -129,6 +130,7 @@ import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaOptimiser;
 import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.store.util.CancellableIterable;
 import uk.gov.gchq.gaffer.user.User;
 import uk.gov.gchq.koryphe.ValidationResult;
 import uk.gov.gchq.koryphe.impl.binaryoperator.StringConcat;
@@ -460,7 +462,7 @@ public class StoreTest {
         final CloseableIterable<? extends Element> result = store.execute(opChain, context);
 
         // Then
-        assertSame(getElementsResult, result);
+        assertSame(getElementsResult, CancellableIterable.unwrap(result));
     }
 
     @Test
@@ -559,6 +561,7 @@ public class StoreTest {
                 ForEach.class,
                 Reduce.class,
                 CancelScheduledJob.class,
+                CancelJob.class,
 
                 // Function
                 Filter.class,
@@ -669,6 +672,7 @@ public class StoreTest {
                 ForEach.class,
                 Reduce.class,
                 CancelScheduledJob.class,
+                CancelJob.class,
 
                 // Function
                 Filter.class,
@@ -1055,7 +1059,7 @@ public class StoreTest {
         final CloseableIterable<? extends Element> result = store.execute(opChain, context);
 
         // Then
-        assertSame(expectedResult, result);
+        assertSame(expectedResult, CancellableIterable.unwrap(result));
         verify(getAllElementsHandler).doOperation(getAllElements, context, store);
         verify(addElementsHandler, never()).doOperation(addElements, context, store);
         verify(getElementsHandler, never()).doOperation(getElements, context, store);
@@ -18,31 +18,60 @@ package uk.gov.gchq.gaffer.store.integration;
 
 import org.junit.jupiter.api.Test;
 
+import uk.gov.gchq.gaffer.cache.impl.HashMapCacheService;
+import uk.gov.gchq.gaffer.cache.util.CacheProperties;
 import uk.gov.gchq.gaffer.commonutil.StreamUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.graph.Walk;
+import uk.gov.gchq.gaffer.jobtracker.JobDetail;
+import uk.gov.gchq.gaffer.jobtracker.JobStatus;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.ForEach;
+import uk.gov.gchq.gaffer.operation.impl.GetWalks;
+import uk.gov.gchq.gaffer.operation.impl.Map;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToList;
 import uk.gov.gchq.gaffer.serialisation.Serialiser;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.OperationCancelledException;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.gaffer.store.StoreTrait;
+import uk.gov.gchq.gaffer.store.operation.handler.ForEachHandler;
+import uk.gov.gchq.gaffer.store.operation.handler.GetWalksHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.impl.function.ToString;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static uk.gov.gchq.gaffer.store.StoreTrait.INGEST_AGGREGATION;
 import static uk.gov.gchq.gaffer.store.StoreTrait.PRE_AGGREGATION_FILTERING;
@@ -75,6 +104,206 @@ public class StoreIT {
         assertTrue(testStore.getSchema().validate().isValid());
     }
 
+    @Test
+    public void shouldNotQueueParallelForEachOperationsWithinAnAdmittedOperation() throws Exception {
+        // Given
+        final TestStore testStore = createStoreWithOneInteractiveSlot();
+        final ForEachHandler<Object, Object> forEachHandler = new ForEachHandler<>();
+        forEachHandler.setParallelism(2);
+        testStore.addOperationHandler(ForEach.class, forEachHandler);
+        final OperationChain<List<?>> opChain = new OperationChain.Builder()
+                .first(new ForEach.Builder<>()
+                        .input(Arrays.asList(1, 2, 3, 4))
+                        .operation(new Map.Builder<>()
+                                .first(new ToString())
+                                .build())
+                        .build())
+                .then(new ToList<>())
+                .build();
+
+        // When
+        final List<?> results = testStore.execute(opChain, new Context(new User()));
+
+        // Then
+        assertEquals(Arrays.asList("1", "2", "3", "4"), results);
+        assertEquals(0, testStore.getOperationScheduler().getRunningInteractiveCount());
+    }
+
+    @Test
+    public void shouldNotQueueParallelGetWalksHopsWithinAnAdmittedOperation() throws Exception {
+        // Given
+        final TestStore testStore = createStoreWithOneInteractiveSlot();
+        final GetWalksHandler getWalksHandler = new GetWalksHandler();
+        getWalksHandler.setParallelism(2);
+        getWalksHandler.setHopBatchSize(1);
+        testStore.addOperationHandler(GetWalks.class, getWalksHandler);
+        final GetElements getElements = new GetElements.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+        final OperationChain<List<? extends Walk>> opChain = new OperationChain.Builder()
+                .first(new GetWalks.Builder()
+                        .input(new EntitySeed("A"), new EntitySeed("B"))
+                        .operations(getElements, getElements.shallowClone())
+                        .build())
+                .then(new ToList<Walk>())
+                .build();
+
+        // When
+        final List<? extends Walk> results = testStore.execute(opChain, new Context(new User()));
+
+        // Then
+        final List<List<Object>> vertices = new ArrayList<>();
+        for (final Walk walk : results) {
+            vertices.add(walk.getVerticesOrdered());
+        }
+        assertEquals(Arrays.asList(
+                Arrays.asList("A", "A1", "A11"),
+                Arrays.asList("B", "B1", "B11")), vertices);
+        assertEquals(0, testStore.getOperationScheduler().getRunningInteractiveCount());
+    }
+
+    @Test
+    public void shouldKeepOperationChainRegisteredUntilItsResultsAreClosed() throws Exception {
+        // Given
+        final TestStore testStore = new TestStore();
+        testStore.initialise("graphId", Schema.fromJson(StreamUtil.schemas(getClass())), new StoreProperties());
+        final Context context = new Context(new User());
+
+        // When
+        final CloseableIterable<? extends Element> results = testStore.execute(new GetElements.Builder()
+                .input(new EntitySeed("A"))
+                .build(), context);
+
+        // Then
+        assertSame(context, testStore.getRunningJobContext(context.getJobId()));
+        results.close();
+        assertNull(testStore.getRunningJobContext(context.getJobId()));
+    }
+
+    @Test
+    public void shouldUnregisterOperationChainWhenItReturnsAResultThatIsNotCloseable() throws Exception {
+        // Given
+        final TestStore testStore = new TestStore();
+        testStore.initialise("graphId", Schema.fromJson(StreamUtil.schemas(getClass())), new StoreProperties());
+        final Context context = new Context(new User());
+        final OperationChain<List<? extends Element>> opChain = new OperationChain.Builder()
+                .first(new GetElements.Builder()
+                        .input(new EntitySeed("A"))
+                        .build())
+                .then(new ToList<>())
+                .build();
+
+        // When
+        final List<? extends Element> results = testStore.execute(opChain, context);
+
+        // Then
+        assertEquals(1, results.size());
+        assertNull(testStore.getRunningJobContext(context.getJobId()));
+    }
+
+    @Test
+    public void shouldUnregisterOperationChainWhenItsResultsAreReadWithoutBeingClosed() throws Exception {
+        // Given
+        final TestStore testStore = new TestStore();
+        testStore.initialise("graphId", Schema.fromJson(StreamUtil.schemas(getClass())), new StoreProperties());
+        final Context context = new Context(new User());
+        final CloseableIterable<? extends Element> results = testStore.execute(new GetElements.Builder()
+                .input(new EntitySeed("A"))
+                .build(), context);
+
+        // When
+        final List<Element> elements = new ArrayList<>();
+        for (final Element element : results) {
+            elements.add(element);
+        }
+
+        // Then
+        assertEquals(1, elements.size());
+        assertNull(testStore.getRunningJobContext(context.getJobId()));
+    }
+
+    @Test
+    public void shouldNotWrapTheResultsPassedBetweenOperationsInAChain() throws Exception {
+        // Given
+        final TestStore testStore = new TestStore();
+        testStore.initialise("graphId", Schema.fromJson(StreamUtil.schemas(getClass())), new StoreProperties());
+        final OperationChain<Object> opChain = new OperationChain<>(
+                new GetElements.Builder()
+                        .input(new EntitySeed("A"))
+                        .build(),
+                new Map<>(input -> input.getClass()));
+
+        // When
+        final Object resultClass = testStore.execute(opChain, new Context(new User()));
+
+        // Then
+        assertEquals(WrappedCloseableIterable.class, resultClass);
+    }
+
+    @Test
+    public void shouldCancelOperationChainWhoseResultsAreStillOpen() throws Exception {
+        // Given
+        final TestStore testStore = new TestStore();
+        testStore.initialise("graphId", Schema.fromJson(StreamUtil.schemas(getClass())), new StoreProperties());
+        final Context context = new Context(new User());
+        final CloseableIterable<? extends Element> results = testStore.execute(new GetElements.Builder()
+                .input(new EntitySeed("A"))
+                .build(), context);
+
+        // When
+        testStore.getRunningJobContext(context.getJobId()).cancel();
+
+        // Then
+        assertThrows(OperationCancelledException.class, results::iterator);
+        results.close();
+    }
+
+    @Test
+    public void shouldTrackSynchronousOperationChainsWithAnAsynchronousJobTracker() throws Exception {
+        // Given
+        final StoreProperties properties = new StoreProperties();
+        properties.set(CacheProperties.CACHE_SERVICE_CLASS, HashMapCacheService.class.getName());
+        properties.setJobTrackerEnabled(true);
+        properties.setJobTrackerAsync(true);
+        final TestStore testStore = new TestStore();
+        testStore.initialise("graphId", Schema.fromJson(StreamUtil.schemas(getClass())), properties);
+        final Context context = new Context(new User());
+        final OperationChain<List<? extends Element>> opChain = new OperationChain.Builder()
+                .first(new GetElements.Builder()
+                        .input(new EntitySeed("A"))
+                        .build())
+                .then(new ToList<>())
+                .build();
+
+        // When
+        testStore.execute(opChain, context);
+        testStore.getJobTracker().flush();
+
+        // Then
+        final JobDetail jobDetail = testStore.getJobTracker().getJob(context.getJobId(), context.getUser());
+        assertEquals(JobStatus.FINISHED, jobDetail.getStatus());
+        assertEquals(opChain.toOverviewString(), jobDetail.getOpChain());
+        assertNotNull(jobDetail.getStartTime());
+        assertNotNull(jobDetail.getEndTime());
+    }
+
+    /**
+     * Creates a store that runs one interactive operation at a time and
+     * rejects, rather than queues, any others. Any nested operation that is
+     * admitted again fails straight away.
+     */
+    private TestStore createStoreWithOneInteractiveSlot() throws StoreException {
+        final StoreProperties properties = new StoreProperties();
+        properties.setOperationSchedulerEnabled(true);
+        properties.setOperationSchedulerInteractiveLimit(1);
+        properties.setOperationSchedulerInteractiveQueueSize(0);
+        final TestStore testStore = new TestStore();
+        testStore.initialise("graphId", Schema.fromJson(StreamUtil.schemas(getClass())), properties);
+        return testStore;
+    }
+
     private class TestStore extends Store {
         private final Set<StoreTrait> traits = new HashSet<>(Arrays.asList(INGEST_AGGREGATION, PRE_AGGREGATION_FILTERING, TRANSFORMATION));
 
@@ -89,7 +318,20 @@ public class StoreIT {
 
         @Override
         protected OutputOperationHandler<GetElements, CloseableIterable<? extends Element>> getGetElementsHandler() {
-            return null;
+            return (operation, context, store) -> {
+                final List<Element> edges = new ArrayList<>();
+                for (final ElementId seed : operation.getInput()) {
+                    final Object vertex = ((EntityId) seed).getVertex();
+                    edges.add(new Edge.Builder()
+                            .group(TestGroups.EDGE)
+                            .source(vertex)
+                            .dest(vertex + "1")
+                            .directed(true)
+                            .matchedVertex(EdgeId.MatchedVertex.SOURCE)
+                            .build());
+                }
+                return new WrappedCloseableIterable<>(edges);
+            };
         }
 
         @Override
@@ -16,9 +16,17 @@
 
 package uk.gov.gchq.gaffer.store.operation.handler;
 
+import com.google.common.collect.Lists;
 import org.junit.jupiter.api.Test;
 
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.impl.ForEach;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.operation.io.InputOutput;
@@ -26,14 +34,20 @@ import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 public class ForEachHandlerTest {
@@ -97,4 +111,171 @@ public class ForEachHandlerTest {
         assertThat(result).hasSize(1);
         assertSame(output, result.get(0));
     }
+
+    @Test
+    public void shouldExecuteInParallelAndReturnResultsInOrder() throws OperationException {
+        // Given
+        final Store store = mock(Store.class);
+        final Context context = new Context(new User());
+        given(store.execute(any(GetElements.class), any(Context.class)))
+                .willAnswer(invocation -> ((GetElements) invocation.getArgument(0)).getInput());
+
+        final List<List<EntitySeed>> inputs = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            inputs.add(Collections.singletonList(new EntitySeed(i)));
+        }
+        final ForEach<List<EntitySeed>, Iterable<? extends EntitySeed>> forEach = new ForEach.Builder<List<EntitySeed>, Iterable<? extends EntitySeed>>()
+                .input(inputs)
+                .operation(new GetElements())
+                .build();
+
+        final ForEachHandler<List<EntitySeed>, Iterable<? extends EntitySeed>> handler = new ForEachHandler<>();
+        handler.setParallelism(4);
+
+        // When
+        final Iterable<? extends Iterable<? extends EntitySeed>> result = handler.doOperation(forEach, context, store);
+
+        // Then
+        assertThat(Lists.newArrayList(result)).isEqualTo(inputs);
+    }
+
+    @Test
+    public void shouldBatchGetElementsAndSplitTheResultsPerInput() throws OperationException {
+        // Given
+        final Store store = mock(Store.class);
+        final Context context = new Context(new User());
+        final Edge edge = new Edge.Builder().group(TestGroups.EDGE).source(1).dest(2).directed(true).build();
+        given(store.execute(any(GetElements.class), eq(context))).willAnswer(invocation -> {
+            final List<Element> elements = new ArrayList<>();
+            for (final ElementId seed : ((GetElements) invocation.getArgument(0)).getInput()) {
+                elements.add(new Entity(TestGroups.ENTITY, ((EntitySeed) seed).getVertex()));
+            }
+            elements.add(edge);
+            return elements;
+        });
+
+        final List<List<EntitySeed>> inputs = Arrays.asList(
+                Collections.singletonList(new EntitySeed(1)),
+                Collections.singletonList(new EntitySeed(2)),
+                Arrays.asList(new EntitySeed(1), new EntitySeed(3)));
+        final ForEach<List<EntitySeed>, Iterable<? extends Element>> forEach = new ForEach.Builder<List<EntitySeed>, Iterable<? extends Element>>()
+                .input(inputs)
+                .operation(new GetElements())
+                .build();
+
+        final ForEachHandler<List<EntitySeed>, Iterable<? extends Element>> handler = new ForEachHandler<>();
+        handler.setBatchSize(10);
+
+        // When
+        final List<Iterable<? extends Element>> result = Lists.newArrayList(handler.doOperation(forEach, context, store));
+
+        // Then
+        verify(store, times(1)).execute(any(GetElements.class), eq(context));
+        assertThat(result).containsExactly(
+                Arrays.asList(new Entity(TestGroups.ENTITY, 1), edge),
+                Arrays.asList(new Entity(TestGroups.ENTITY, 2), edge),
+                Arrays.asList(new Entity(TestGroups.ENTITY, 1), new Entity(TestGroups.ENTITY, 3), edge));
+    }
+
+    @Test
+    public void shouldExecuteParallelOperationsWithTheirOwnContext() throws OperationException {
+        // Given
+        final Store store = mock(Store.class);
+        final Context context = new Context(new User());
+        context.setVariable("variable", "value");
+        final List<Context> taskContexts = Collections.synchronizedList(new ArrayList<>());
+        given(store.execute(any(GetElements.class), any(Context.class))).willAnswer(invocation -> {
+            taskContexts.add(invocation.getArgument(1));
+            return ((GetElements) invocation.getArgument(0)).getInput();
+        });
+
+        final List<List<EntitySeed>> inputs = Arrays.asList(
+                Collections.singletonList(new EntitySeed(1)),
+                Collections.singletonList(new EntitySeed(2)));
+        final ForEach<List<EntitySeed>, Iterable<? extends EntitySeed>> forEach = new ForEach.Builder<List<EntitySeed>, Iterable<? extends EntitySeed>>()
+                .input(inputs)
+                .operation(new GetElements())
+                .build();
+
+        final ForEachHandler<List<EntitySeed>, Iterable<? extends EntitySeed>> handler = new ForEachHandler<>();
+        handler.setParallelism(2);
+
+        // When
+        Lists.newArrayList(handler.doOperation(forEach, context, store));
+
+        // Then
+        assertThat(taskContexts).hasSize(2);
+        for (final Context taskContext : taskContexts) {
+            assertThat(taskContext).isNotSameAs(context);
+            assertThat(taskContext.getUser()).isEqualTo(context.getUser());
+            assertThat(taskContext.getVariables()).isEqualTo(context.getVariables()).isNotSameAs(context.getVariables());
+        }
+    }
+
+    @Test
+    public void shouldExecuteParallelOperationsOnceBeforeReturning() throws OperationException {
+        // Given
+        final Store store = mock(Store.class);
+        final Context context = new Context(new User());
+        final AtomicInteger executions = new AtomicInteger();
+        given(store.execute(any(GetElements.class), any(Context.class))).willAnswer(invocation -> {
+            executions.incrementAndGet();
+            return ((GetElements) invocation.getArgument(0)).getInput();
+        });
+
+        final List<List<EntitySeed>> inputs = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            inputs.add(Collections.singletonList(new EntitySeed(i)));
+        }
+        final ForEach<List<EntitySeed>, Iterable<? extends EntitySeed>> forEach = new ForEach.Builder<List<EntitySeed>, Iterable<? extends EntitySeed>>()
+                .input(inputs)
+                .operation(new GetElements())
+                .build();
+
+        final ForEachHandler<List<EntitySeed>, Iterable<? extends EntitySeed>> handler = new ForEachHandler<>();
+        handler.setParallelism(4);
+
+        // When
+        final Iterable<? extends Iterable<? extends EntitySeed>> result = handler.doOperation(forEach, context, store);
+        final int executionsBeforeReading = executions.get();
+        Lists.newArrayList(result);
+        Lists.newArrayList(result);
+
+        // Then
+        assertThat(executionsBeforeReading).isEqualTo(20);
+        assertThat(executions.get()).isEqualTo(20);
+    }
+
+    @Test
+    public void shouldGiveEachInputAnEdgeOnceWhenBothEndsAreInTheSameBatch() throws OperationException {
+        // Given
+        final Store store = mock(Store.class);
+        final Context context = new Context(new User());
+        final Edge edgeMatchedOnSource = new Edge.Builder().group(TestGroups.EDGE).source(1).dest(2).directed(true)
+                .matchedVertex(EdgeId.MatchedVertex.SOURCE).build();
+        final Edge edgeMatchedOnDestination = new Edge.Builder().group(TestGroups.EDGE).source(1).dest(2).directed(true)
+                .matchedVertex(EdgeId.MatchedVertex.DESTINATION).build();
+        // The edge is returned once for each seed it matches, as it is by the Accumulo store
+        given(store.execute(any(GetElements.class), any(Context.class)))
+                .willReturn(Arrays.asList(edgeMatchedOnSource, edgeMatchedOnDestination));
+
+        final List<List<EntitySeed>> inputs = Arrays.asList(
+                Collections.singletonList(new EntitySeed(1)),
+                Collections.singletonList(new EntitySeed(2)));
+        final ForEach<List<EntitySeed>, Iterable<? extends Element>> forEach = new ForEach.Builder<List<EntitySeed>, Iterable<? extends Element>>()
+                .input(inputs)
+                .operation(new GetElements())
+                .build();
+
+        final ForEachHandler<List<EntitySeed>, Iterable<? extends Element>> handler = new ForEachHandler<>();
+        handler.setBatchSize(10);
+
+        // When
+        final List<Iterable<? extends Element>> result = Lists.newArrayList(handler.doOperation(forEach, context, store));
+
+        // Then
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0)).containsExactly(edgeMatchedOnSource);
+        assertThat(result.get(1)).containsExactly(edgeMatchedOnDestination);
+    }
 }
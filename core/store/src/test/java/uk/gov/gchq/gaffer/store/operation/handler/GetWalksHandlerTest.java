@@ -17,18 +17,39 @@
 package uk.gov.gchq.gaffer.store.operation.handler;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.collect.Lists;
 import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.exception.LimitExceededException;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.graph.Walk;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.impl.GetWalks;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class GetWalksHandlerTest {
     @Test
@@ -65,4 +86,116 @@ public class GetWalksHandlerTest {
         // Then
         assertNotNull(deserialisedObj);
     }
+
+    @Test
+    public void shouldReturnWalksInSeedOrderWhenExploredInParallel() throws Exception {
+        // Given
+        final Store store = mock(Store.class);
+        final Context context = new Context();
+        final Iterable<Element> firstHop = Arrays.asList(createEdge("A", "B"), createEdge("X", "B"));
+        final Iterable<Element> secondHop = Arrays.asList(createEdge("B", "D"), createEdge("B", "E"));
+        given(store.execute(any(Output.class), eq(context))).willReturn(firstHop, secondHop);
+
+        final GetElements getElements = new GetElements.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+        final GetWalks operation = new GetWalks.Builder()
+                .input(new EntitySeed("A"), new EntitySeed("X"))
+                .operations(getElements, getElements.shallowClone())
+                .build();
+
+        final GetWalksHandler handler = new GetWalksHandler();
+        handler.setParallelism(2);
+
+        // When
+        final Iterable<Walk> result = handler.doOperation(operation, context, store);
+
+        // Then
+        final List<List<Object>> vertices = Lists.newArrayList(result).stream()
+                .map(Walk::getVerticesOrdered)
+                .collect(Collectors.toList());
+        assertEquals(Arrays.asList(
+                Arrays.asList("A", "B", "D"),
+                Arrays.asList("A", "B", "E"),
+                Arrays.asList("X", "B", "D"),
+                Arrays.asList("X", "B", "E")), vertices);
+    }
+
+    @Test
+    public void shouldThrowWhenWalksExceedResultsLimitWhenExploredInParallel() throws Exception {
+        // Given
+        final Store store = mock(Store.class);
+        final Context context = new Context();
+        final Iterable<Element> firstHop = Arrays.asList(createEdge("A", "B"), createEdge("X", "B"));
+        final Iterable<Element> secondHop = Arrays.asList(createEdge("B", "D"), createEdge("B", "E"));
+        given(store.execute(any(Output.class), eq(context))).willReturn(firstHop, secondHop);
+
+        final GetElements getElements = new GetElements.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+        final GetWalks operation = new GetWalks.Builder()
+                .input(new EntitySeed("A"), new EntitySeed("X"))
+                .operations(getElements, getElements.shallowClone())
+                .resultsLimit(3)
+                .build();
+
+        final GetWalksHandler handler = new GetWalksHandler();
+        handler.setParallelism(2);
+
+        // When
+        final Iterable<Walk> result = handler.doOperation(operation, context, store);
+
+        // Then
+        assertThrows(LimitExceededException.class, () -> Lists.newArrayList(result));
+    }
+
+    @Test
+    public void shouldQueryEachVertexOnceInBatchesPerHop() throws Exception {
+        // Given
+        final Store store = mock(Store.class);
+        final Context context = new Context();
+        given(store.execute(any(Output.class), eq(context))).willReturn(
+                Arrays.asList(createEdge("A", "B")),
+                Arrays.asList(createEdge("X", "B")),
+                Arrays.asList(createEdge("B", "D")));
+
+        final GetElements getElements = new GetElements.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+        final GetWalks operation = new GetWalks.Builder()
+                .input(new EntitySeed("A"), new EntitySeed("X"))
+                .operations(getElements, getElements.shallowClone())
+                .build();
+
+        final GetWalksHandler handler = new GetWalksHandler();
+        handler.setHopBatchSize(1);
+
+        // When
+        final Iterable<Walk> result = handler.doOperation(operation, context, store);
+
+        // Then
+        final List<List<Object>> vertices = Lists.newArrayList(result).stream()
+                .map(Walk::getVerticesOrdered)
+                .collect(Collectors.toList());
+        assertEquals(Arrays.asList(
+                Arrays.asList("A", "B", "D"),
+                Arrays.asList("X", "B", "D")), vertices);
+        verify(store, times(3)).execute(any(Output.class), eq(context));
+    }
+
+    private Edge createEdge(final String source, final String destination) {
+        return new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source(source)
+                .dest(destination)
+                .directed(true)
+                .matchedVertex(EdgeId.MatchedVertex.SOURCE)
+                .build();
+    }
 }
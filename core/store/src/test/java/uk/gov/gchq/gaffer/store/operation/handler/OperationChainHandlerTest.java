@@ -21,6 +21,7 @@ import org.junit.jupiter.api.Test;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.data.EntitySeed;
@@ -33,6 +34,7 @@ import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.gaffer.store.operation.OperationChainValidator;
 import uk.gov.gchq.gaffer.store.optimiser.OperationChainOptimiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.user.User;
 import uk.gov.gchq.koryphe.ValidationResult;
 
@@ -44,6 +46,8 @@ import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class OperationChainHandlerTest {
 
@@ -149,4 +153,37 @@ public class OperationChainHandlerTest {
         // Then
         assertSame(entityA, result);
     }
+
+    @Test
+    public void shouldValidateChainsWithTheSameShapeOnce() throws OperationException {
+        // Given
+        final OperationChainValidator opChainValidator = mock(OperationChainValidator.class);
+        final OperationChainHandler opChainHandler = new OperationChainHandler(opChainValidator, Collections.emptyList(), 10);
+
+        final Store store = mock(Store.class);
+        final User user = new User.Builder().userId("user").opAuth("auth").build();
+        final Context context = new Context(user);
+        given(store.getSchema()).willReturn(new Schema());
+        given(opChainValidator.validate(any(), any(), any())).willReturn(new ValidationResult());
+
+        // When
+        opChainHandler.doOperation(new OperationChain<>(new GetElements.Builder()
+                .input(new EntitySeed("A"))
+                .build()), context, store);
+        opChainHandler.doOperation(new OperationChain<>(new GetElements.Builder()
+                .input(new EntitySeed("B"))
+                .build()), context, store);
+        opChainHandler.doOperation(new OperationChain<>(new GetElements.Builder()
+                .input(new EntitySeed("A"))
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build())
+                .build()), context, store);
+        opChainHandler.doOperation(new OperationChain<>(new GetElements.Builder()
+                .input(new EntitySeed("A"))
+                .build()), new Context(new User("otherUser")), store);
+
+        // Then
+        verify(opChainValidator, times(3)).validate(any(), any(), any());
+    }
 }
@@ -19,7 +19,9 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Element;
@@ -27,7 +29,14 @@ import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.comparison.ElementPropertyComparator;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.compare.Sort;
-
+import uk.gov.gchq.gaffer.serialisation.IntegerSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
@@ -40,6 +49,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
 
 public class SortHandlerTest {
 
@@ -290,6 +301,94 @@ public class SortHandlerTest {
                 assertEquals(resultLimit, Iterables.size(result));
         }
 
+        @Test
+        public void shouldSortUsingTemporaryFilesWhenMaxElementsInMemoryIsSet(@TempDir final Path tempDir)
+                        throws OperationException {
+                // Given
+                final Schema schema = new Schema.Builder()
+                                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                                                .vertex("string").property("property", "int").build())
+                                .type("string", new TypeDefinition.Builder().clazz(String.class)
+                                                .serialiser(new StringSerialiser()).build())
+                                .type("int", new TypeDefinition.Builder().clazz(Integer.class)
+                                                .serialiser(new IntegerSerialiser()).build())
+                                .vertexSerialiser(new StringSerialiser())
+                                .build();
+                final Store store = mock(Store.class);
+                given(store.getSchema()).willReturn(schema);
+
+                final List<Entity> input = new ArrayList<>();
+                final Random random = new Random(0L);
+                for (int i = 0; i < 100; i++) {
+                        input.add(new Entity.Builder().group(TestGroups.ENTITY).vertex("vertex" + i)
+                                        .property("property", random.nextInt(20)).build());
+                }
+                input.add(input.get(0));
+
+                final ElementPropertyComparator comparator = new ElementPropertyComparator.Builder()
+                                .groups(TestGroups.ENTITY).property("property").build();
+                final Sort sort = new Sort.Builder().input(input).comparators(comparator)
+                                .resultLimit(50).deduplicate(true).build();
+
+                final SortHandler handler = new SortHandler();
+                handler.setMaxElementsInMemory(10);
+                handler.setTempDirectory(tempDir.toString());
+
+                // When
+                final Iterable<? extends Element> result = handler.doOperation(sort, null, store);
+
+                // Then
+                assertTrue(tempDir.toFile().listFiles().length > 0);
+                final List<Element> expected = input.stream().distinct().sorted(comparator).limit(50)
+                                .collect(Collectors.toList());
+                assertEquals(expected, Lists.newArrayList(result));
+                assertEquals(expected, Lists.newArrayList(result));
+                CloseableUtil.close(result);
+                assertEquals(0, tempDir.toFile().listFiles().length);
+        }
+
+        @Test
+        public void shouldKeepPropertiesThatAreNotInTheSchemaWhenMaxElementsInMemoryIsSet(@TempDir final Path tempDir)
+                        throws OperationException {
+                // Given
+                final Schema schema = new Schema.Builder()
+                                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                                                .vertex("string").property("property", "int").build())
+                                .type("string", new TypeDefinition.Builder().clazz(String.class)
+                                                .serialiser(new StringSerialiser()).build())
+                                .type("int", new TypeDefinition.Builder().clazz(Integer.class)
+                                                .serialiser(new IntegerSerialiser()).build())
+                                .vertexSerialiser(new StringSerialiser())
+                                .build();
+                final Store store = mock(Store.class);
+                given(store.getSchema()).willReturn(schema);
+
+                final List<Entity> input = new ArrayList<>();
+                final Random random = new Random(0L);
+                for (int i = 0; i < 100; i++) {
+                        input.add(new Entity.Builder().group(TestGroups.ENTITY).vertex("vertex" + i)
+                                        .property("property", random.nextInt(20))
+                                        .property("transientProperty", "value" + i).build());
+                }
+
+                final ElementPropertyComparator comparator = new ElementPropertyComparator.Builder()
+                                .groups(TestGroups.ENTITY).property("property").build();
+                final Sort sort = new Sort.Builder().input(input).comparators(comparator).build();
+
+                final SortHandler handler = new SortHandler();
+                handler.setMaxElementsInMemory(10);
+                handler.setTempDirectory(tempDir.toString());
+
+                // When
+                final Iterable<? extends Element> result = handler.doOperation(sort, null, store);
+
+                // Then
+                assertEquals(0, tempDir.toFile().listFiles().length);
+                final List<Element> expected = input.stream().sorted(comparator).collect(Collectors.toList());
+                assertEquals(expected, Lists.newArrayList(result));
+                CloseableUtil.close(result);
+        }
+
         private static class ElementComparatorImpl implements Comparator<Element> {
                 @Override
                 public int compare(final Element o1, final Element o2) {
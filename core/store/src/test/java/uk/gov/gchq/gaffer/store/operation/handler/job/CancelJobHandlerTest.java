@@ -0,0 +1,112 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler.job;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.core.exception.Status;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.job.CancelJob;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreProperties;
+import uk.gov.gchq.gaffer.user.User;
+
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class CancelJobHandlerTest {
+
+    @Test
+    public void shouldThrowExceptionWithNoJobId() {
+        // Given
+        final CancelJob operation = new CancelJob.Builder()
+                .jobId(null)
+                .build();
+        final CancelJobHandler handler = new CancelJobHandler();
+        final Store store = mock(Store.class);
+
+        // When / Then
+        assertThatExceptionOfType(OperationException.class)
+                .isThrownBy(() -> handler.doOperation(operation, new Context(new User("user")), store))
+                .withMessage("job id must be specified");
+    }
+
+    @Test
+    public void shouldThrowExceptionIfJobIsNotRunning() {
+        // Given
+        final CancelJob operation = new CancelJob.Builder()
+                .jobId("jobId")
+                .build();
+        final CancelJobHandler handler = new CancelJobHandler();
+        final Store store = mock(Store.class);
+
+        given(store.getRunningJobContext("jobId")).willReturn(null);
+
+        // When / Then
+        assertThatExceptionOfType(OperationException.class)
+                .isThrownBy(() -> handler.doOperation(operation, new Context(new User("user")), store))
+                .withMessage("Job with jobId: jobId is not running and cannot be cancelled.");
+    }
+
+    @Test
+    public void shouldCancelRunningJobForSameUser() throws OperationException {
+        // Given
+        final Context runningContext = new Context(new User("user"));
+        final CancelJob operation = new CancelJob.Builder()
+                .jobId(runningContext.getJobId())
+                .build();
+        final CancelJobHandler handler = new CancelJobHandler();
+        final Store store = mock(Store.class);
+
+        given(store.getRunningJobContext(runningContext.getJobId())).willReturn(runningContext);
+        given(store.getProperties()).willReturn(new StoreProperties());
+
+        // When
+        handler.doOperation(operation, new Context(new User("user")), store);
+
+        // Then
+        assertTrue(runningContext.isCancelled());
+    }
+
+    @Test
+    public void shouldNotCancelRunningJobForAnotherUser() {
+        // Given
+        final Context runningContext = new Context(new User("user"));
+        final CancelJob operation = new CancelJob.Builder()
+                .jobId(runningContext.getJobId())
+                .build();
+        final CancelJobHandler handler = new CancelJobHandler();
+        final Store store = mock(Store.class);
+
+        given(store.getRunningJobContext(runningContext.getJobId())).willReturn(runningContext);
+        given(store.getProperties()).willReturn(new StoreProperties());
+
+        // When
+        final OperationException exception = assertThrows(OperationException.class,
+                () -> handler.doOperation(operation, new Context(new User("otherUser")), store));
+
+        // Then
+        assertEquals(Status.FORBIDDEN, exception.getStatus());
+        assertFalse(runningContext.isCancelled());
+    }
+}
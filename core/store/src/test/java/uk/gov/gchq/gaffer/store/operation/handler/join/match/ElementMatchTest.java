@@ -16,11 +16,13 @@
 
 package uk.gov.gchq.gaffer.store.operation.handler.join.match;
 
+import com.google.common.collect.Sets;
 import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.commonutil.CollectionUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 
@@ -230,4 +232,42 @@ public class ElementMatchTest {
         // Then
         assertThat(matchingElements).isEmpty();
     }
+
+    @Test
+    public void shouldMatchEdgesUsingGroupByPropertiesSetAfterInit() {
+        // Given
+        Edge testEdge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("source")
+                .dest("dest")
+                .directed(true)
+                .property(TestPropertyNames.COUNT, 3L)
+                .build();
+
+        Edge sameCountEdge = testEdge.shallowClone();
+        Edge otherCountEdge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("source")
+                .dest("dest")
+                .directed(true)
+                .property(TestPropertyNames.COUNT, 5L)
+                .build();
+        Edge undirectedEdge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("source")
+                .dest("dest")
+                .directed(false)
+                .property(TestPropertyNames.COUNT, 3L)
+                .build();
+
+        ElementMatch elementMatch = new ElementMatch();
+        elementMatch.init(Arrays.asList(sameCountEdge, otherCountEdge, undirectedEdge));
+
+        // When
+        elementMatch.setElementGroupByProperties(Sets.newHashSet(TestPropertyNames.COUNT));
+        List<Element> matchingElements = elementMatch.matching(testEdge);
+
+        // Then
+        assertThat(matchingElements).containsExactly(sameCountEdge);
+    }
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToVertices;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ResultLimitOperationChainOptimiserTest {
+
+    @Test
+    public void shouldAddResultLimitHintToOperationBeforeLimit() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements();
+        final Limit<Object> limit = new Limit<>(10);
+
+        // When
+        final List<Operation> ops = optimise(getAllElements, limit);
+
+        // Then
+        assertEquals(2, ops.size());
+        assertEquals(10, (int) ResultLimitOperationChainOptimiser.getResultLimitHint(ops.get(0)));
+        assertSame(limit, ops.get(1));
+    }
+
+    @Test
+    public void shouldNotModifyOriginalOperation() {
+        // Given
+        final GetElements getElements = new GetElements.Builder()
+                .input(new EntitySeed("vertex"))
+                .option("key", "value")
+                .build();
+
+        // When
+        final List<Operation> ops = optimise(getElements, new Limit<>(10));
+
+        // Then
+        assertEquals(GetElements.class, ops.get(0).getClass());
+        assertEquals("value", ops.get(0).getOption("key"));
+        assertNull(ResultLimitOperationChainOptimiser.getResultLimitHint(getElements));
+    }
+
+    @Test
+    public void shouldAddOneToHintWhenLimitDoesNotTruncate() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements();
+
+        // When
+        final List<Operation> ops = optimise(getAllElements, new Limit<>(10, false));
+
+        // Then
+        assertEquals(11, (int) ResultLimitOperationChainOptimiser.getResultLimitHint(ops.get(0)));
+    }
+
+    @Test
+    public void shouldNotAddHintWhenLimitDoesNotDirectlyFollowOperation() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements();
+
+        // When
+        final List<Operation> ops = optimise(getAllElements, new ToVertices(), new Limit<>(10));
+
+        // Then
+        assertSame(getAllElements, ops.get(0));
+        assertNull(ResultLimitOperationChainOptimiser.getResultLimitHint(ops.get(0)));
+    }
+
+    @Test
+    public void shouldNotAddHintWhenLimitHasNoResultLimit() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements();
+
+        // When
+        final List<Operation> ops = optimise(getAllElements, new Limit<>());
+
+        // Then
+        assertSame(getAllElements, ops.get(0));
+    }
+
+    @Test
+    public void shouldIgnoreInvalidHints() {
+        // Given
+        final GetAllElements invalidHint = new GetAllElements.Builder()
+                .option(ResultLimitOperationChainOptimiser.RESULT_LIMIT_HINT, "invalid")
+                .build();
+        final GetAllElements negativeHint = new GetAllElements.Builder()
+                .option(ResultLimitOperationChainOptimiser.RESULT_LIMIT_HINT, "-1")
+                .build();
+
+        // When / Then
+        assertNull(ResultLimitOperationChainOptimiser.getResultLimitHint(invalidHint));
+        assertNull(ResultLimitOperationChainOptimiser.getResultLimitHint(negativeHint));
+    }
+
+    private List<Operation> optimise(final Operation... operations) {
+        return new ResultLimitOperationChainOptimiser().optimise(new OperationChain<>(operations)).getOperations();
+    }
+}
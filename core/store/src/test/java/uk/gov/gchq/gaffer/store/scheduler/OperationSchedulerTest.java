@@ -0,0 +1,242 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.core.exception.Status;
+import uk.gov.gchq.gaffer.operation.OperationException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class OperationSchedulerTest {
+
+    @Test
+    public void shouldRejectOperationWhenInteractiveQueueIsFull() throws Exception {
+        // Given
+        final OperationScheduler scheduler = new OperationScheduler(1, 0, 1, 0, OperationScheduler.UNLIMITED);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Thread holder = startHolding(scheduler, release);
+
+        // When
+        final OperationException exception = assertThrows(OperationException.class, () -> scheduler.admit("user2", () -> 0));
+        release.countDown();
+        holder.join(10000);
+
+        // Then
+        assertEquals(Status.TOO_MANY_REQUESTS, exception.getStatus());
+        try (final OperationScheduler.Permit next = scheduler.admit("user2", () -> 0)) {
+            assertEquals(1, scheduler.getRunningInteractiveCount());
+        }
+        assertEquals(0, scheduler.getRunningInteractiveCount());
+    }
+
+    @Test
+    public void shouldAdmitWaitingOperationsInScoreOrder() throws Exception {
+        // Given
+        final OperationScheduler scheduler = new OperationScheduler(1, 10, 1, 0, OperationScheduler.UNLIMITED);
+        final List<Integer> admitted = Collections.synchronizedList(new ArrayList<>());
+        final OperationScheduler.Permit permit = scheduler.admit("user", () -> 0);
+        final Thread expensive = startWaiting(scheduler, 5, admitted);
+        waitForQueued(scheduler, 1);
+        final Thread cheap = startWaiting(scheduler, 1, admitted);
+        waitForQueued(scheduler, 2);
+
+        // When
+        permit.close();
+        expensive.join(10000);
+        cheap.join(10000);
+
+        // Then
+        assertEquals(Arrays.asList(1, 5), admitted);
+        assertEquals(0, scheduler.getRunningInteractiveCount());
+    }
+
+    @Test
+    public void shouldKeepPermitOpenUntilItIsClosed() throws Exception {
+        // Given
+        final OperationScheduler scheduler = new OperationScheduler(1, 0, 1, 0, OperationScheduler.UNLIMITED);
+        final OperationScheduler.Permit permit = scheduler.admit("user", () -> 0);
+        assertTrue(permit.isOpen());
+
+        // When
+        permit.close();
+        permit.close();
+
+        // Then
+        assertFalse(permit.isOpen());
+        assertEquals(0, scheduler.getRunningInteractiveCount());
+        try (final OperationScheduler.Permit next = scheduler.admit("user", () -> 0)) {
+            assertEquals(1, scheduler.getRunningInteractiveCount());
+        }
+    }
+
+    @Test
+    public void shouldGiveBatchTasksAPermitThatIsOpenWhileTheyRun() throws Exception {
+        // Given
+        final OperationScheduler scheduler = new OperationScheduler(1, 0, 1, 0, OperationScheduler.UNLIMITED);
+        final List<OperationScheduler.Permit> permits = Collections.synchronizedList(new ArrayList<>());
+        final List<Boolean> openWhileRunning = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch finished = new CountDownLatch(1);
+
+        // When
+        scheduler.submit("user", 0, permit -> {
+            permits.add(permit);
+            openWhileRunning.add(permit.isOpen());
+            finished.countDown();
+        });
+
+        // Then
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+        assertEquals(Collections.singletonList(true), openWhileRunning);
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (permits.get(0).isOpen() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(permits.get(0).isOpen());
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void shouldRejectOperationWhenUserLimitIsReached() throws Exception {
+        // Given
+        final OperationScheduler scheduler = new OperationScheduler(10, 10, 1, 10, 1);
+        final CountDownLatch release = new CountDownLatch(1);
+        scheduler.submit("user1", 0, () -> await(release));
+
+        // When
+        final OperationException exception = assertThrows(OperationException.class, () -> scheduler.admit("user1", () -> 0));
+
+        // Then
+        assertEquals(Status.TOO_MANY_REQUESTS, exception.getStatus());
+        try (final OperationScheduler.Permit permit = scheduler.admit("user2", () -> 0)) {
+            assertEquals(1, scheduler.getRunningInteractiveCount());
+        }
+        release.countDown();
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void shouldRunBatchTasksInScoreOrder() throws Exception {
+        // Given
+        final OperationScheduler scheduler = new OperationScheduler(1, 0, 1, 10, OperationScheduler.UNLIMITED);
+        final List<Integer> ran = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch finished = new CountDownLatch(3);
+        scheduler.submit("user", 0, () -> {
+            await(release);
+            finished.countDown();
+        });
+        scheduler.submit("user", 5, () -> {
+            ran.add(5);
+            finished.countDown();
+        });
+        scheduler.submit("user", 1, () -> {
+            ran.add(1);
+            finished.countDown();
+        });
+
+        // When
+        release.countDown();
+
+        // Then
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(1, 5), ran);
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void shouldRejectBatchTaskWhenBatchQueueIsFull() throws Exception {
+        // Given
+        final OperationScheduler scheduler = new OperationScheduler(1, 0, 1, 1, OperationScheduler.UNLIMITED);
+        final CountDownLatch release = new CountDownLatch(1);
+        scheduler.submit("user", 0, () -> await(release));
+        scheduler.submit("user", 0, () -> {
+        });
+
+        // When
+        final OperationException exception = assertThrows(OperationException.class, () -> scheduler.submit("user", 0, () -> {
+        }));
+
+        // Then
+        assertEquals(Status.TOO_MANY_REQUESTS, exception.getStatus());
+        release.countDown();
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenLimitsAreInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> new OperationScheduler(0, 0, 1, 0, OperationScheduler.UNLIMITED));
+        assertThrows(IllegalArgumentException.class, () -> new OperationScheduler(1, 0, 0, 0, OperationScheduler.UNLIMITED));
+        assertThrows(IllegalArgumentException.class, () -> new OperationScheduler(1, -1, 1, 0, OperationScheduler.UNLIMITED));
+        assertThrows(IllegalArgumentException.class, () -> new OperationScheduler(1, 0, 1, 0, 0));
+    }
+
+    private static Thread startHolding(final OperationScheduler scheduler, final CountDownLatch release) throws InterruptedException {
+        final CountDownLatch holding = new CountDownLatch(1);
+        final Thread thread = new Thread(() -> {
+            try (final OperationScheduler.Permit permit = scheduler.admit("user1", () -> 0)) {
+                holding.countDown();
+                await(release);
+            } catch (final OperationException e) {
+                fail(e.getMessage());
+            }
+        });
+        thread.start();
+        assertTrue(holding.await(10, TimeUnit.SECONDS));
+        return thread;
+    }
+
+    private static Thread startWaiting(final OperationScheduler scheduler, final int score, final List<Integer> admitted) {
+        final Thread thread = new Thread(() -> {
+            try (final OperationScheduler.Permit permit = scheduler.admit("user", () -> score)) {
+                admitted.add(score);
+            } catch (final OperationException e) {
+                fail(e.getMessage());
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    private static void waitForQueued(final OperationScheduler scheduler, final int queued) throws InterruptedException {
+        final long end = System.currentTimeMillis() + 10000;
+        while (scheduler.getQueuedInteractiveCount() < queued && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+        assertEquals(queued, scheduler.getQueuedInteractiveCount());
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.serialiser;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.IntegerSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ElementSpillSerialiserTest {
+
+    private static ElementSpillSerialiser serialiser;
+
+    @BeforeAll
+    public static void setUp() {
+        final Schema schema = new Schema.Builder()
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property("count", "int")
+                        .build())
+                .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                        .source("string")
+                        .destination("string")
+                        .property("count", "int")
+                        .build())
+                .type("string", new TypeDefinition.Builder().clazz(String.class)
+                        .serialiser(new StringSerialiser()).build())
+                .type("int", new TypeDefinition.Builder().clazz(Integer.class)
+                        .serialiser(new IntegerSerialiser()).build())
+                .vertexSerialiser(new StringSerialiser())
+                .build();
+        serialiser = new ElementSpillSerialiser(schema);
+    }
+
+    @Test
+    public void shouldSerialiseEdgeWithMatchedVertex() throws SerialisationException {
+        // Given
+        final Edge edge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("source")
+                .dest("destination")
+                .directed(true)
+                .matchedVertex(EdgeId.MatchedVertex.DESTINATION)
+                .property("count", 3)
+                .build();
+
+        // When
+        final Element deserialisedElement = serialiser.deserialise(serialiser.serialise(edge));
+
+        // Then
+        assertTrue(serialiser.canSerialise(edge));
+        assertEquals(edge, deserialisedElement);
+        assertEquals(EdgeId.MatchedVertex.DESTINATION, ((Edge) deserialisedElement).getMatchedVertex());
+    }
+
+    @Test
+    public void shouldSerialiseEntity() throws SerialisationException {
+        // Given
+        final Entity entity = new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("vertex")
+                .property("count", 3)
+                .build();
+
+        // When
+        final Element deserialisedElement = serialiser.deserialise(serialiser.serialise(entity));
+
+        // Then
+        assertTrue(serialiser.canSerialise(entity));
+        assertEquals(entity, deserialisedElement);
+    }
+
+    @Test
+    public void shouldNotBeAbleToSerialiseElementWithPropertyNotInSchema() {
+        // Given
+        final Entity entity = new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("vertex")
+                .property("count", 3)
+                .property("transientProperty", "value")
+                .build();
+
+        // When / Then
+        assertFalse(serialiser.canSerialise(entity));
+    }
+
+    @Test
+    public void shouldNotBeAbleToSerialiseElementWithPropertyOfWrongType() {
+        // Given
+        final Entity entity = new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("vertex")
+                .property("count", "three")
+                .build();
+
+        // When / Then
+        assertFalse(serialiser.canSerialise(entity));
+    }
+
+    @Test
+    public void shouldNotBeAbleToSerialiseElementWithGroupNotInSchema() {
+        // Given
+        final Entity entity = new Entity.Builder()
+                .group(TestGroups.ENTITY_2)
+                .vertex("vertex")
+                .build();
+
+        // When / Then
+        assertFalse(serialiser.canSerialise(entity));
+    }
+}
@@ -19,6 +19,7 @@ package uk.gov.gchq.gaffer.store.util;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import uk.gov.gchq.gaffer.commonutil.StreamUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
@@ -33,6 +34,10 @@ import uk.gov.gchq.gaffer.data.element.id.EdgeId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.function.ExampleFilterFunction;
+import uk.gov.gchq.gaffer.serialisation.Serialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
 import uk.gov.gchq.gaffer.store.TestTypes;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
@@ -40,7 +45,10 @@ import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaTest;
 import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
 import uk.gov.gchq.koryphe.impl.binaryoperator.Product;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -1103,4 +1111,157 @@ public class AggregatorUtilTest {
                         .property("visibility", "vis1")
                         .build());
     }
+
+    @Test
+    public void shouldIngestAggregateElementsWithMemoryBudgetTheSameAsInMemory() {
+        // Given
+        final Schema schema = createSerialisableSchema();
+        final List<Element> elements = createElementsToAggregate();
+        final List<Element> copy = elements.stream().map(Element::shallowClone).collect(Collectors.toList());
+
+        // When
+        final List<Element> inMemory = Lists.newArrayList(AggregatorUtil.ingestAggregate(elements, schema));
+        final List<Element> withBudget;
+        try (final CloseableIterable<Element> aggregated = AggregatorUtil.ingestAggregate(copy, schema, 3, null)) {
+            withBudget = Lists.newArrayList(aggregated);
+        }
+
+        // Then
+        assertThat(inMemory).hasSize(5);
+        assertElementEquals(inMemory, withBudget);
+    }
+
+    @Test
+    public void shouldKeepPropertiesNotInTheSchemaWhenIngestAggregatingWithMemoryBudget(@TempDir final Path tempDir) {
+        // Given
+        final Schema schema = createSerialisableSchema();
+        final List<Element> elements = createElementsToAggregate();
+        elements.forEach(e -> e.putProperty("transientProperty", "value"));
+        final List<Element> copy = elements.stream().map(Element::shallowClone).collect(Collectors.toList());
+
+        // When
+        final List<Element> inMemory = Lists.newArrayList(AggregatorUtil.ingestAggregate(elements, schema));
+        final List<Element> withBudget;
+        try (final CloseableIterable<Element> aggregated = AggregatorUtil.ingestAggregate(copy, schema, 3, tempDir.toFile())) {
+            withBudget = Lists.newArrayList(aggregated);
+            assertThat(tempDir.toFile().listFiles()).isEmpty();
+        }
+
+        // Then
+        assertElementEquals(inMemory, withBudget);
+        assertThat(withBudget).allMatch(e -> "value".equals(e.getProperty("transientProperty")));
+    }
+
+    @Test
+    public void shouldRejectMemoryBudgetWhenGroupBySerialiserIsNotConsistent() {
+        // Given
+        final Schema schema = createSerialisableSchema(new JavaSerialiser());
+        final List<Element> elements = createElementsToAggregate();
+
+        // When / Then
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> AggregatorUtil.ingestAggregate(elements, schema, 3, null))
+                .withMessageContaining(TestPropertyNames.PROP_1);
+    }
+
+    @Test
+    public void shouldIngestAggregateSortedElementsLazily() {
+        // Given
+        final Schema schema = createSerialisableSchema();
+        final List<Element> elements = createElementsToAggregate();
+        final List<Element> copy = elements.stream().map(Element::shallowClone).collect(Collectors.toList());
+        final Function<Element, String> toKey = e -> new AggregatorUtil.ToGroupKey(AggregatorUtil.getIngestGroupBys(schema)).apply(e).toString();
+        copy.sort((a, b) -> toKey.apply(a).compareTo(toKey.apply(b)));
+
+        // When
+        final List<Element> inMemory = Lists.newArrayList(AggregatorUtil.ingestAggregate(elements, schema));
+        final List<Element> sorted = Lists.newArrayList(AggregatorUtil.ingestAggregateSorted(copy, schema));
+
+        // Then
+        assertElementEquals(inMemory, sorted);
+    }
+
+    @Test
+    public void shouldCreateEqualGroupKeysForElementsWithSameGroupBy() {
+        // Given
+        final Schema schema = createSerialisableSchema();
+        final Function<Element, AggregatorUtil.GroupKey> fn = new AggregatorUtil.ToGroupKey(AggregatorUtil.getIngestGroupBys(schema));
+        final List<Element> elements = createElementsToAggregate();
+
+        // When
+        final AggregatorUtil.GroupKey key1 = fn.apply(elements.get(0));
+        final AggregatorUtil.GroupKey key2 = fn.apply(elements.get(1));
+        final AggregatorUtil.GroupKey key3 = fn.apply(elements.get(2));
+
+        // Then
+        assertEquals(key1, key2);
+        assertEquals(key1.hashCode(), key2.hashCode());
+        assertThat(key3).isNotEqualTo(key1);
+    }
+
+    private Schema createSerialisableSchema() {
+        return createSerialisableSchema(new StringSerialiser());
+    }
+
+    private Schema createSerialisableSchema(final Serialiser propertySerialiser) {
+        return new Schema.Builder()
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex(TestTypes.ID_STRING)
+                        .property(TestPropertyNames.COUNT, TestTypes.PROP_COUNT)
+                        .property(TestPropertyNames.PROP_1, TestTypes.PROP_STRING)
+                        .groupBy(TestPropertyNames.PROP_1)
+                        .build())
+                .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                        .source(TestTypes.ID_STRING)
+                        .destination(TestTypes.ID_STRING)
+                        .directed(TestTypes.DIRECTED_TRUE)
+                        .property(TestPropertyNames.COUNT, TestTypes.PROP_COUNT)
+                        .build())
+                .entity(TestGroups.NON_AGG_ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex(TestTypes.ID_STRING)
+                        .aggregate(false)
+                        .build())
+                .type(TestTypes.ID_STRING, new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .serialiser(new StringSerialiser())
+                        .build())
+                .type(TestTypes.PROP_STRING, new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .serialiser(propertySerialiser)
+                        .build())
+                .type(TestTypes.PROP_COUNT, new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .serialiser(new CompactRawLongSerialiser())
+                        .aggregateFunction(new Sum())
+                        .build())
+                .type(TestTypes.DIRECTED_TRUE, Boolean.class)
+                .vertexSerialiser(new StringSerialiser())
+                .build();
+    }
+
+    private List<Element> createElementsToAggregate() {
+        final List<Element> elements = new ArrayList<>();
+        for (final String prop : Arrays.asList("a", "a", "b", "a")) {
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("vertex1")
+                    .property(TestPropertyNames.COUNT, 1L)
+                    .property(TestPropertyNames.PROP_1, prop)
+                    .build());
+        }
+        for (final String dest : Arrays.asList("vertex2", "vertex3", "vertex2")) {
+            elements.add(new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source("vertex1")
+                    .dest(dest)
+                    .directed(true)
+                    .property(TestPropertyNames.COUNT, 1L)
+                    .build());
+        }
+        elements.add(new Entity.Builder()
+                .group(TestGroups.NON_AGG_ENTITY)
+                .vertex("vertex1")
+                .build());
+        return elements;
+    }
 }
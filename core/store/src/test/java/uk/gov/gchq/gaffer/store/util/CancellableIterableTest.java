@@ -0,0 +1,166 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.util;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
+import uk.gov.gchq.gaffer.store.CancellationToken;
+import uk.gov.gchq.gaffer.store.OperationCancelledException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CancellableIterableTest {
+    @Test
+    public void shouldIterateOverAllItemsWhenNotCancelled() {
+        // Given
+        final CancellableIterable<String> iterable = new CancellableIterable<>(
+                new WrappedCloseableIterable<>(Arrays.asList("a", "b", "c")), new CancellationToken());
+
+        // When
+        final List<String> items = new ArrayList<>();
+        for (final String item : iterable) {
+            items.add(item);
+        }
+
+        // Then
+        assertEquals(Arrays.asList("a", "b", "c"), items);
+    }
+
+    @Test
+    public void shouldCloseIteratorAndThrowWhenCancelled() {
+        // Given
+        final CancellationToken token = new CancellationToken();
+        final TrackingIterable iterable = new TrackingIterable(Arrays.asList("a", "b", "c"));
+        final CloseableIterator<String> itr = new CancellableIterable<>(iterable, token).iterator();
+        assertEquals("a", itr.next());
+
+        // When
+        token.cancel();
+
+        // Then
+        assertThrows(OperationCancelledException.class, itr::hasNext);
+        assertTrue(iterable.closed);
+    }
+
+    @Test
+    public void shouldThrowWhenDeadlineHasPassed() {
+        // Given
+        final CancellationToken token = new CancellationToken();
+        token.setDeadline(System.currentTimeMillis() - 1);
+
+        // When / Then
+        assertThrows(OperationCancelledException.class,
+                () -> new CancellableIterable<>(new WrappedCloseableIterable<>(Arrays.asList("a")), token).iterator());
+    }
+
+    @Test
+    public void shouldRunCloseActionOnceWhenClosed() {
+        // Given
+        final TrackingIterable trackingIterable = new TrackingIterable(Arrays.asList("a", "b", "c"));
+        final AtomicInteger closeActionCount = new AtomicInteger();
+        final CancellableIterable<String> iterable = new CancellableIterable<>(
+                trackingIterable, new CancellationToken(), closeActionCount::incrementAndGet);
+
+        // When
+        iterable.close();
+        iterable.close();
+
+        // Then
+        assertTrue(trackingIterable.closed);
+        assertEquals(1, closeActionCount.get());
+    }
+
+    @Test
+    public void shouldRunCloseActionWhenAnIteratorIsClosed() {
+        // Given
+        final TrackingIterable trackingIterable = new TrackingIterable(Arrays.asList("a", "b", "c"));
+        final AtomicInteger closeActionCount = new AtomicInteger();
+        final CancellableIterable<String> iterable = new CancellableIterable<>(
+                trackingIterable, new CancellationToken(), closeActionCount::incrementAndGet);
+        final CloseableIterator<String> itr = iterable.iterator();
+        assertEquals("a", itr.next());
+
+        // When
+        itr.close();
+        iterable.close();
+
+        // Then
+        assertEquals(1, closeActionCount.get());
+    }
+
+    @Test
+    public void shouldUnwrapNestedCancellableIterables() {
+        // Given
+        final CloseableIterable<String> wrapped = new WrappedCloseableIterable<>(Arrays.asList("a"));
+        final CancellableIterable<String> iterable = new CancellableIterable<>(
+                new CancellableIterable<>(wrapped, new CancellationToken()), new CancellationToken());
+
+        // When
+        final Object unwrapped = CancellableIterable.unwrap(iterable);
+
+        // Then
+        assertSame(wrapped, unwrapped);
+        assertSame(wrapped, CancellableIterable.unwrap(wrapped));
+    }
+
+    private static final class TrackingIterable implements CloseableIterable<String> {
+        private final List<String> items;
+        private boolean closed;
+
+        private TrackingIterable(final List<String> items) {
+            this.items = items;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        @Override
+        public CloseableIterator<String> iterator() {
+            final Iterator<String> itr = items.iterator();
+            return new CloseableIterator<String>() {
+                @Override
+                public void close() {
+                    closed = true;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return itr.hasNext();
+                }
+
+                @Override
+                public String next() {
+                    return itr.next();
+                }
+            };
+        }
+    }
+}
@@ -22,6 +22,7 @@ import uk.gov.gchq.gaffer.cache.ICache;
 import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -52,6 +53,15 @@ public class HazelcastCache <K, V> implements ICache<K, V> {
         }
     }
 
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> entries) throws CacheOperationException {
+        try {
+            distributedMap.putAll(entries);
+        } catch (final Exception e) {
+            throw new CacheOperationException(e);
+        }
+    }
+
     @Override
     public void remove(final K key) {
         distributedMap.remove(key);
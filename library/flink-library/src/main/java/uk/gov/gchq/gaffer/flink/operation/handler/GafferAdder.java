@@ -27,6 +27,7 @@ import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.StoreProperties;
+import uk.gov.gchq.gaffer.store.scheduler.OperationScheduler;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.user.User;
 
@@ -74,7 +75,7 @@ public class GafferAdder implements Serializable {
 
     private transient Store store;
     private transient ConsumableBlockingQueue<Element> queue;
-    private transient boolean restart;
+    private transient volatile boolean restart;
 
     public <OP extends Validatable & Operation> GafferAdder(final OP operation, final Store store) {
         this.store = store;
@@ -111,19 +112,31 @@ public class GafferAdder implements Serializable {
 
         if (restart && !queue.isEmpty()) {
             restart = false;
-            store.runAsync(() -> {
-                try {
-                    store.execute(new AddElements.Builder()
-                                    .input(queue)
-                                    .validate(validate)
-                                    .skipInvalidElements(skipInvalid)
-                                    .build(),
-                            new Context(new User()));
-                    restart = true;
-                } catch (final OperationException e) {
-                    throw new RuntimeException(e.getMessage(), e);
-                }
-            });
+            try {
+                store.runAsync(this::addQueuedElements);
+            } catch (final RuntimeException e) {
+                restart = true;
+                throw e;
+            }
+        }
+    }
+
+    private void addQueuedElements() {
+        final Context context = new Context(new User());
+        try (final OperationScheduler.Permit permit = OperationScheduler.createInternalPermit()) {
+            // The adder runs for as long as elements arrive, so it is not
+            // queued by the operation scheduler
+            context.setPermit(permit);
+            store.execute(new AddElements.Builder()
+                            .input(queue)
+                            .validate(validate)
+                            .skipInvalidElements(skipInvalid)
+                            .build(),
+                    context);
+        } catch (final OperationException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        } finally {
+            restart = true;
         }
     }
 }
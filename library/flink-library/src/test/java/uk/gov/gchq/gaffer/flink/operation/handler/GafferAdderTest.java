@@ -23,15 +23,23 @@ import org.mockito.Mockito;
 import uk.gov.gchq.gaffer.commonutil.iterable.ConsumableBlockingQueue;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.flink.operation.handler.util.FlinkConstants;
+import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElementsFromSocket;
+import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
+import java.util.concurrent.RejectedExecutionException;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 public class GafferAdderTest {
@@ -156,4 +164,54 @@ public class GafferAdderTest {
                 .skipInvalidElements(false)
                 .build()), Mockito.any());
     }
+
+    @Test
+    public void shouldRestartAddElementsIfTheAdderCouldNotBeRun() throws Exception {
+        // Given
+        final AddElementsFromSocket op = mock(AddElementsFromSocket.class);
+        final Store store = mock(Store.class);
+        given(store.getProperties()).willReturn(new StoreProperties());
+        given(store.getSchema()).willReturn(new Schema());
+        given(op.isValidate()).willReturn(true);
+        given(op.isSkipInvalidElements()).willReturn(false);
+        given(op.getOption(FlinkConstants.MAX_QUEUE_SIZE)).willReturn(MAX_QUEUE_SIZE_OPTION);
+        doThrow(new RejectedExecutionException("Executor is shut down"))
+                .doNothing()
+                .when(store).runAsync(any(Runnable.class));
+        final Element element = mock(Element.class);
+        final GafferAdder adder = new GafferAdder(op, store);
+
+        // When
+        assertThrows(RejectedExecutionException.class, () -> adder.add(element));
+        adder.add(element);
+
+        // Then
+        verify(store, times(2)).runAsync(any(Runnable.class));
+    }
+
+    @Test
+    public void shouldRestartAddElementsIfAddingElementsFails() throws Exception {
+        // Given
+        final AddElementsFromSocket op = mock(AddElementsFromSocket.class);
+        final Store store = mock(Store.class);
+        given(store.getProperties()).willReturn(new StoreProperties());
+        given(store.getSchema()).willReturn(new Schema());
+        given(op.isValidate()).willReturn(true);
+        given(op.isSkipInvalidElements()).willReturn(false);
+        given(op.getOption(FlinkConstants.MAX_QUEUE_SIZE)).willReturn(MAX_QUEUE_SIZE_OPTION);
+        doThrow(new OperationException("Store is unavailable"))
+                .when(store).execute(any(AddElements.class), any(Context.class));
+        final Element element = mock(Element.class);
+        final GafferAdder adder = new GafferAdder(op, store);
+
+        // When
+        adder.add(element);
+        final ArgumentCaptor<Runnable> runnableCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(store).runAsync(runnableCaptor.capture());
+        assertThrows(RuntimeException.class, () -> runnableCaptor.getValue().run());
+        adder.add(element);
+
+        // Then
+        verify(store, times(2)).runAsync(any(Runnable.class));
+    }
 }
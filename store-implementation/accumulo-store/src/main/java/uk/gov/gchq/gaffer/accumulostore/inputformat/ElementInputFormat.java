@@ -32,11 +32,10 @@ import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
 import uk.gov.gchq.gaffer.commonutil.CommonConstants;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
-import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
 import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.IndexedView;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
-import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.schema.Schema;
@@ -73,7 +72,7 @@ public class ElementInputFormat extends InputFormatBase<Element, NullWritable> {
     private static class ElementWithPropertiesRecordReader extends InputFormatBase.RecordReaderBase<Element, NullWritable> {
 
         private AccumuloElementConverter converter;
-        private View view;
+        private IndexedView view;
 
         ElementWithPropertiesRecordReader(final String keyPackageClass, final Schema schema, final View view)
                 throws StoreException, SchemaException, SerialisationException, UnsupportedEncodingException {
@@ -86,7 +85,7 @@ public class ElementInputFormat extends InputFormatBase<Element, NullWritable> {
             }
             keyPackage.setSchema(schema);
             this.converter = keyPackage.getKeyConverter();
-            this.view = view;
+            this.view = new IndexedView(view);
         }
 
         @Override
@@ -97,17 +96,15 @@ public class ElementInputFormat extends InputFormatBase<Element, NullWritable> {
                 final Entry<Key, Value> entry = scannerIterator.next();
                 try {
                     currentK = converter.getFullElement(entry.getKey(), entry.getValue(), false);
-                    final ViewElementDefinition viewDef = view.getElement(currentK.getGroup());
-                    if (null != viewDef) {
-                        final ElementTransformer transformer = viewDef.getTransformer();
-                        if (null != transformer) {
-                            transformer.apply(currentK);
+                    final IndexedView.Group group = view.getGroup(currentK.getGroup());
+                    if (null != group) {
+                        group.transform(currentK);
+                        if (!group.testPostTransform(currentK)) {
+                            continue;
                         }
+                        group.removeProperties(currentK);
                     }
-                    if (doPostFilter(currentK, view)) {
-                        ViewUtil.removeProperties(view, currentK);
-                        return true;
-                    }
+                    return true;
                 } catch (final AccumuloElementConversionException e) {
                     throw new IOException("Exception converting the key-value to an Element:", e);
                 }
@@ -124,10 +124,10 @@ public abstract class AbstractElementFilter extends Filter {
             LOGGER.debug("Determining groups that don't need to be filtered based on view {}", view);
             if (filterType == ElementValidator.FilterType.PRE_AGGREGATION_FILTER) {
                 updateViewGroupsWithoutFilters(view, ViewElementDefinition::hasPreAggregationFilters);
-                elementPredicate = new ElementValidator(view)::validateInput;
+                elementPredicate = new ElementValidator(view, schema)::validateInput;
             } else {
                 updateViewGroupsWithoutFilters(view, ViewElementDefinition::hasPostAggregationFilters);
-                elementPredicate = new ElementValidator(view)::validateAggregation;
+                elementPredicate = new ElementValidator(view, schema)::validateAggregation;
             }
         }
     }
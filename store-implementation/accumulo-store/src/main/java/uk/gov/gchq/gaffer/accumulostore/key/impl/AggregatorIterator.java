@@ -31,7 +31,7 @@ import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
 import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsBuilder;
 import uk.gov.gchq.gaffer.commonutil.CommonConstants;
 import uk.gov.gchq.gaffer.data.element.Properties;
-import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
+import uk.gov.gchq.gaffer.data.element.function.CompiledElementAggregator;
 import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
@@ -63,7 +63,7 @@ public class AggregatorIterator extends Combiner {
         }
         final String group = elementConverter.getGroupFromColumnFamily(key.getColumnFamilyData().getBackingArray());
         Properties properties;
-        final ElementAggregator aggregator = schema.getElement(group).getIngestAggregator();
+        final CompiledElementAggregator aggregator = schema.getElement(group).getCompiledIngestAggregator();
         try {
             properties = elementConverter.getPropertiesFromValue(group, value);
         } catch (final AccumuloElementConversionException e) {
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.impl;
+
+import org.apache.accumulo.core.data.ArrayByteSequence;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.OptionDescriber;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.WrappingIterator;
+
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The {@code ElementGroupCountIterator} consumes every key value pair the
+ * iterators below it return for the seeked range and instead returns a single
+ * entry containing the number of entries in each column family (i.e. in each
+ * element group). Use {@link #decodeCounts(Value)} to read the counts.
+ * <p>
+ * The entry is keyed on the last key that was counted. If the scan is
+ * interrupted and re-seeked after the entry has been returned, the new range
+ * starts after that key, so no key value pair is counted twice.
+ * </p>
+ * <p>
+ * It must be applied after all other scan time iterators, so the counts match
+ * the elements the same scan would otherwise have returned.
+ * </p>
+ */
+public class ElementGroupCountIterator extends WrappingIterator implements OptionDescriber {
+    private Key topKey;
+    private Value topValue;
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.ELEMENT_GROUP_COUNT_ITERATOR_NAME,
+                "Returns the number of key value pairs in each column family").build();
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        return true;
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final ElementGroupCountIterator copy = new ElementGroupCountIterator();
+        copy.setSource(getSource().deepCopy(env));
+        return copy;
+    }
+
+    @Override
+    public void seek(final Range range, final Collection<ByteSequence> columnFamilies, final boolean inclusive) throws IOException {
+        super.seek(range, columnFamilies, inclusive);
+        countGroups();
+    }
+
+    @Override
+    public void next() throws IOException {
+        topKey = null;
+        topValue = null;
+    }
+
+    @Override
+    public boolean hasTop() {
+        return null != topKey;
+    }
+
+    @Override
+    public Key getTopKey() {
+        return topKey;
+    }
+
+    @Override
+    public Value getTopValue() {
+        return topValue;
+    }
+
+    /**
+     * Reads the counts from a value returned by this iterator.
+     *
+     * @param value the value
+     * @return the number of entries in each column family
+     * @throws IOException if the value cannot be read
+     */
+    public static Map<String, Long> decodeCounts(final Value value) throws IOException {
+        final Map<String, Long> counts = new HashMap<>();
+        try (final DataInputStream in = new DataInputStream(new ByteArrayInputStream(value.get()))) {
+            final int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                final byte[] columnFamily = new byte[in.readInt()];
+                in.readFully(columnFamily);
+                counts.put(new String(columnFamily, StandardCharsets.UTF_8), in.readLong());
+            }
+        }
+        return counts;
+    }
+
+    private void countGroups() throws IOException {
+        final Map<ByteSequence, Long> counts = new TreeMap<>();
+        final SortedKeyValueIterator<Key, Value> source = getSource();
+        Key lastKey = null;
+        while (source.hasTop()) {
+            final Key key = source.getTopKey();
+            final ByteSequence columnFamily = key.getColumnFamilyData();
+            final Long count = counts.get(columnFamily);
+            if (null == count) {
+                counts.put(new ArrayByteSequence(columnFamily.toArray()), 1L);
+            } else {
+                counts.put(columnFamily, count + 1);
+            }
+            // The source may reuse its key, so it is copied before moving on
+            lastKey = new Key(key);
+            source.next();
+        }
+
+        if (null == lastKey) {
+            topKey = null;
+            topValue = null;
+            return;
+        }
+
+        topKey = lastKey;
+        topValue = encodeCounts(counts);
+    }
+
+    private static Value encodeCounts(final Map<ByteSequence, Long> counts) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(counts.size());
+            for (final Map.Entry<ByteSequence, Long> entry : counts.entrySet()) {
+                final byte[] columnFamily = entry.getKey().toArray();
+                out.writeInt(columnFamily.length);
+                out.write(columnFamily);
+                out.writeLong(entry.getValue());
+            }
+        }
+        return new Value(bytes.toByteArray());
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.impl;
+
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.OptionDescriber;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.WrappingIterator;
+
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsBuilder;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * The {@code ResultLimitIterator} stops returning key value pairs once it has
+ * returned the configured number of pairs from the seeked range, so tablet
+ * servers stop reading data the client will never consume.
+ * <p>
+ * The limit is applied to each seeked range, so a scan over several ranges
+ * or tablets may still return more pairs than the limit in total. It must be
+ * applied after all other scan time iterators and only when no further
+ * filtering is done on the client, otherwise fewer results than the limit may
+ * be returned.
+ * </p>
+ */
+public class ResultLimitIterator extends WrappingIterator implements OptionDescriber {
+    private long limit = Long.MAX_VALUE;
+    private long count;
+
+    @Override
+    public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options, final IteratorEnvironment env) throws IOException {
+        super.init(source, options, env);
+        validateOptions(options);
+        limit = Long.parseLong(options.get(AccumuloStoreConstants.RESULT_LIMIT));
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.RESULT_LIMIT_ITERATOR_NAME,
+                "Only returns the given number of key value pairs from each seeked range")
+                .addNamedOption(AccumuloStoreConstants.RESULT_LIMIT, "The maximum number of key value pairs to return")
+                .build();
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        if (null == options || !options.containsKey(AccumuloStoreConstants.RESULT_LIMIT)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.RESULT_LIMIT);
+        }
+        try {
+            if (Long.parseLong(options.get(AccumuloStoreConstants.RESULT_LIMIT)) < 0) {
+                throw new IllegalArgumentException("The " + AccumuloStoreConstants.RESULT_LIMIT + " must not be negative");
+            }
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("The " + AccumuloStoreConstants.RESULT_LIMIT + " must be a number", e);
+        }
+        return true;
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final ResultLimitIterator copy = new ResultLimitIterator();
+        copy.setSource(getSource().deepCopy(env));
+        copy.limit = limit;
+        return copy;
+    }
+
+    @Override
+    public void seek(final Range range, final Collection<ByteSequence> columnFamilies, final boolean inclusive) throws IOException {
+        count = 0;
+        super.seek(range, columnFamilies, inclusive);
+    }
+
+    @Override
+    public boolean hasTop() {
+        return count < limit && super.hasTop();
+    }
+
+    @Override
+    public void next() throws IOException {
+        count++;
+        if (count < limit) {
+            super.next();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.operation.handler;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
+import uk.gov.gchq.gaffer.accumulostore.operation.impl.CountAllElements;
+import uk.gov.gchq.gaffer.accumulostore.retriever.impl.AccumuloGroupCountRetriever;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.user.User;
+
+public class CountAllElementsHandler implements OutputOperationHandler<CountAllElements, Long> {
+    @Override
+    public Long doOperation(final CountAllElements operation, final Context context, final Store store)
+            throws OperationException {
+        return doOperation(operation, context.getUser(), (AccumuloStore) store);
+    }
+
+    public Long doOperation(final CountAllElements operation, final User user, final AccumuloStore store) throws OperationException {
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(operation.getView())
+                .directedType(operation.getDirectedType())
+                .options(operation.getOptions())
+                .build();
+        long count = 0;
+        try (final CloseableIterator<Pair<String, Long>> partialCounts = new AccumuloGroupCountRetriever(store, getAllElements, user).iterator()) {
+            while (partialCounts.hasNext()) {
+                count += partialCounts.next().getSecond();
+            }
+        } catch (final IteratorSettingException | StoreException e) {
+            throw new OperationException("Failed to count elements", e);
+        }
+        return count;
+    }
+}
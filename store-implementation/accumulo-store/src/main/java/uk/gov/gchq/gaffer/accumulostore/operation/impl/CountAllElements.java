@@ -0,0 +1,101 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.operation.impl;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import uk.gov.gchq.gaffer.data.element.id.DirectedType;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
+import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.operation.serialisation.TypeReferenceImpl;
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+
+import java.util.Map;
+
+/**
+ * A {@code CountAllElements} operation counts the elements a
+ * {@link uk.gov.gchq.gaffer.operation.impl.get.GetAllElements} with the same
+ * view and directed type would return. The elements are counted by the
+ * Accumulo tablet servers, so they are not sent to the client. Any post
+ * transform filters in the view are not applied.
+ */
+@JsonPropertyOrder(value = {"class", "view"}, alphabetic = true)
+@Since("1.22.1")
+@Summary("Counts all elements compatible with a provided View")
+public class CountAllElements implements
+        Output<Long>,
+        GraphFilters {
+    private View view;
+    private DirectedType directedType;
+    private Map<String, String> options;
+
+    @Override
+    public View getView() {
+        return view;
+    }
+
+    @Override
+    public void setView(final View view) {
+        this.view = view;
+    }
+
+    @Override
+    public DirectedType getDirectedType() {
+        return directedType;
+    }
+
+    @Override
+    public void setDirectedType(final DirectedType directedType) {
+        this.directedType = directedType;
+    }
+
+    @Override
+    public TypeReference<Long> getOutputTypeReference() {
+        return new TypeReferenceImpl.Long();
+    }
+
+    @Override
+    public Map<String, String> getOptions() {
+        return options;
+    }
+
+    @Override
+    public void setOptions(final Map<String, String> options) {
+        this.options = options;
+    }
+
+    @Override
+    public CountAllElements shallowClone() {
+        return new CountAllElements.Builder()
+                .view(view)
+                .directedType(directedType)
+                .options(options)
+                .build();
+    }
+
+    public static class Builder extends Operation.BaseBuilder<CountAllElements, Builder>
+            implements Output.Builder<CountAllElements, Long, Builder>,
+            GraphFilters.Builder<CountAllElements, Builder> {
+        public Builder() {
+            super(new CountAllElements());
+        }
+    }
+}
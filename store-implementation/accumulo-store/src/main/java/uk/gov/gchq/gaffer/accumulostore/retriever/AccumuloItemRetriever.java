@@ -28,16 +28,19 @@ import org.slf4j.LoggerFactory;
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.RangeFactoryException;
+import uk.gov.gchq.gaffer.accumulostore.key.impl.ResultLimitIterator;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorSettingBuilder;
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyCloseableIterator;
 import uk.gov.gchq.gaffer.data.element.Element;
-import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.io.Input;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.optimiser.ResultLimitOperationChainOptimiser;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.util.Collections;
@@ -86,6 +89,34 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
         return iterator;
     }
 
+    /**
+     * Creates a scanner as {@link AccumuloRetriever#getScanner(Set)} does and,
+     * if the operation has a result limit hint and no filtering is done on the
+     * client, adds a {@link ResultLimitIterator} so each tablet server stops
+     * scanning a range once it has returned enough elements.
+     *
+     * @param ranges the ranges to get the scanner for
+     * @return A {@link BatchScanner} for the table specified in the properties with the ranges provided.
+     * @throws TableNotFoundException if an accumulo table could not be found
+     * @throws StoreException         if a connection to accumulo could not be created.
+     */
+    @Override
+    protected BatchScanner getScanner(final Set<Range> ranges) throws TableNotFoundException, StoreException {
+        final BatchScanner scanner = super.getScanner(ranges);
+        final Integer resultLimit = ResultLimitOperationChainOptimiser.getResultLimitHint(operation);
+        if (null != resultLimit && !operation.getView().hasPostTransformFilters()) {
+            final IteratorSetting resultLimitIteratorSetting = new IteratorSettingBuilder(
+                    AccumuloStoreConstants.RESULT_LIMIT_ITERATOR_PRIORITY,
+                    AccumuloStoreConstants.RESULT_LIMIT_ITERATOR_NAME,
+                    ResultLimitIterator.class)
+                    .option(AccumuloStoreConstants.RESULT_LIMIT, Integer.toString(resultLimit))
+                    .build();
+            scanner.addScanIterator(resultLimitIteratorSetting);
+            LOGGER.debug("Added iterator to BatchScanner: {}", resultLimitIteratorSetting);
+        }
+        return scanner;
+    }
+
     protected abstract void addToRanges(final I_ITEM seed, final Set<Range> ranges) throws RangeFactoryException;
 
     protected class ElementIterator implements CloseableIterator<Element> {
@@ -140,7 +171,7 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
                 }
                 doTransformation(nextElm);
                 if (doPostFilter(nextElm)) {
-                    ViewUtil.removeProperties(operation.getView(), nextElm);
+                    doRemoveProperties(nextElm);
                     return true;
                 } else {
                     nextElm = null;
@@ -34,7 +34,7 @@ import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
-import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.IndexedView;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.StoreException;
@@ -54,6 +54,7 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
     protected final OP operation;
     protected final AccumuloElementConverter elementConverter;
     protected final IteratorSetting[] iteratorSettings;
+    private IndexedView indexedView;
 
     protected AccumuloRetriever(final AccumuloStore store, final OP operation,
                                 final User user, final IteratorSetting... iteratorSettings)
@@ -79,9 +80,12 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
      * @param element the element to transform
      */
     public void doTransformation(final Element element) {
-        final ViewElementDefinition viewDef = operation.getView().getElement(element.getGroup());
-        if (null != viewDef) {
-            transform(element, viewDef.getTransformer());
+        final IndexedView view = getIndexedView();
+        if (view.hasTransformers()) {
+            final IndexedView.Group group = view.getGroup(element.getGroup());
+            if (null != group) {
+                transform(element, group.getTransformer());
+            }
         }
     }
 
@@ -92,13 +96,36 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
      * @return the result of validating the element against the post filters
      */
     public boolean doPostFilter(final Element element) {
-        final ViewElementDefinition viewDef = operation.getView().getElement(element.getGroup());
-        if (null != viewDef) {
-            return postFilter(element, viewDef.getPostTransformFilter());
+        final IndexedView view = getIndexedView();
+        if (view.hasPostTransformFilters()) {
+            final IndexedView.Group group = view.getGroup(element.getGroup());
+            if (null != group) {
+                return postFilter(element, group.getPostTransformFilter());
+            }
         }
         return true;
     }
 
+    /**
+     * Removes any properties from an element that are not required by the view
+     *
+     * @param element the element to remove properties from
+     */
+    public void doRemoveProperties(final Element element) {
+        getIndexedView().removeProperties(element);
+    }
+
+    /**
+     * @return the operation view, indexed for applying to each element. It is
+     * created on first use and recreated if the operation view is replaced.
+     */
+    protected IndexedView getIndexedView() {
+        if (null == indexedView || indexedView.getView() != operation.getView()) {
+            indexedView = new IndexedView(operation.getView());
+        }
+        return indexedView;
+    }
+
     @Override
     public void close() {
         if (null != iterator) {
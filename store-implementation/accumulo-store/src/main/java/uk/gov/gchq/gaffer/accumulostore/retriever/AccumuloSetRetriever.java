@@ -40,7 +40,6 @@ import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
-import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.io.InputOutput;
 import uk.gov.gchq.gaffer.store.StoreException;
@@ -217,7 +216,7 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
                 nextElm = iterator.next();
                 if (checkIfBothEndsInSet(nextElm)) {
                     if (doPostFilter(nextElm)) {
-                        ViewUtil.removeProperties(operation.getView(), nextElm);
+                        doRemoveProperties(nextElm);
                         return true;
                     }
                 }
@@ -313,7 +312,7 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
                     if (secondaryCheck(nextElm)) {
                         doTransformation(nextElm);
                         if (doPostFilter(nextElm)) {
-                            ViewUtil.removeProperties(operation.getView(), nextElm);
+                            doRemoveProperties(nextElm);
                             return true;
                         }
                     }
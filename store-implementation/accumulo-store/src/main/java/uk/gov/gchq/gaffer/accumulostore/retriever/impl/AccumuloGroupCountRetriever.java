@@ -0,0 +1,167 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.retriever.impl;
+
+import org.apache.accumulo.core.client.BatchScanner;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
+import uk.gov.gchq.gaffer.accumulostore.key.impl.ElementGroupCountIterator;
+import uk.gov.gchq.gaffer.accumulostore.retriever.AccumuloRetriever;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorSettingBuilder;
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.EmptyCloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.GroupCounts;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+
+/**
+ * An {@code AccumuloGroupCountRetriever} counts the elements a
+ * {@link GetAllElements} would return, by group, without returning the elements
+ * themselves. The same iterators as {@link AccumuloAllElementsRetriever} are
+ * applied and an {@link ElementGroupCountIterator} is added after them, so each
+ * tablet server only returns the counts for each group in the ranges it scanned.
+ * The iterable contains these partial counts; {@link #getGroupCounts()}
+ * combines them.
+ * <p>
+ * The counts do not take account of any post transform filters in the view.
+ * </p>
+ */
+public class AccumuloGroupCountRetriever extends AccumuloRetriever<GetAllElements, Pair<String, Long>> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloGroupCountRetriever.class);
+
+    public AccumuloGroupCountRetriever(final AccumuloStore store, final GetAllElements operation,
+                                       final User user)
+            throws IteratorSettingException, StoreException {
+        super(store, operation, user,
+                store.getKeyPackage().getIteratorFactory().getElementPropertyRangeQueryFilter(operation),
+                store.getKeyPackage().getIteratorFactory().getElementPreAggregationFilterIteratorSetting(operation.getView(), store),
+                store.getKeyPackage().getIteratorFactory().getElementPostAggregationFilterIteratorSetting(operation.getView(), store),
+                store.getKeyPackage().getIteratorFactory().getEdgeEntityDirectionFilterIteratorSetting(operation),
+                store.getKeyPackage().getIteratorFactory().getQueryTimeAggregatorIteratorSetting(operation.getView(), store),
+                new IteratorSettingBuilder(AccumuloStoreConstants.ELEMENT_GROUP_COUNT_ITERATOR_PRIORITY,
+                        AccumuloStoreConstants.ELEMENT_GROUP_COUNT_ITERATOR_NAME, ElementGroupCountIterator.class)
+                        .build());
+    }
+
+    /**
+     * Only 1 iterator can be open at a time.
+     *
+     * @return a closeable iterator of partial group counts.
+     */
+    @Override
+    public CloseableIterator<Pair<String, Long>> iterator() {
+        CloseableUtil.close(iterator);
+
+        final BatchScanner scanner;
+        try {
+            scanner = getScanner(Collections.singleton(new Range()));
+        } catch (final TableNotFoundException | StoreException e) {
+            LOGGER.error("{} returning empty iterator", e.getMessage(), e);
+            return new EmptyCloseableIterator<>();
+        }
+
+        iterator = new GroupCountIterator(scanner);
+        return iterator;
+    }
+
+    /**
+     * Combines the partial counts returned by each tablet.
+     *
+     * @return the number of elements in each group
+     */
+    public GroupCounts getGroupCounts() {
+        final Map<String, Long> counts = new HashMap<>();
+        try (final CloseableIterator<Pair<String, Long>> partialCounts = iterator()) {
+            while (partialCounts.hasNext()) {
+                final Pair<String, Long> partialCount = partialCounts.next();
+                counts.merge(partialCount.getFirst(), partialCount.getSecond(), Long::sum);
+            }
+        }
+
+        final GroupCounts groupCounts = new GroupCounts();
+        for (final Entry<String, Long> entry : counts.entrySet()) {
+            final int count = Math.toIntExact(entry.getValue());
+            if (store.getSchema().isEntity(entry.getKey())) {
+                groupCounts.addEntityGroup(entry.getKey(), count);
+            } else {
+                groupCounts.addEdgeGroup(entry.getKey(), count);
+            }
+        }
+        return groupCounts;
+    }
+
+    private static final class GroupCountIterator implements CloseableIterator<Pair<String, Long>> {
+        private final BatchScanner scanner;
+        private final Iterator<Entry<Key, Value>> scannerIterator;
+        private Iterator<Entry<String, Long>> counts = Collections.emptyIterator();
+
+        private GroupCountIterator(final BatchScanner scanner) {
+            this.scanner = scanner;
+            this.scannerIterator = scanner.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!counts.hasNext()) {
+                if (!scannerIterator.hasNext()) {
+                    close();
+                    return false;
+                }
+                try {
+                    counts = ElementGroupCountIterator.decodeCounts(scannerIterator.next().getValue()).entrySet().iterator();
+                } catch (final IOException e) {
+                    close();
+                    throw new RuntimeException("Unable to read the group counts: " + e.getMessage(), e);
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Pair<String, Long> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Entry<String, Long> count = counts.next();
+            return new Pair<>(count.getKey(), count.getValue());
+        }
+
+        @Override
+        public void close() {
+            scanner.close();
+        }
+    }
+}
@@ -28,6 +28,8 @@ public final class AccumuloStoreConstants {
     public static final String COLUMN_QUALIFIER_AGGREGATOR_ITERATOR_NAME = "Column_Qualifier_Aggregator";
     public static final String ROW_ID_AGGREGATOR_ITERATOR_NAME = "Row_ID_Aggregator";
     public static final String RANGE_ELEMENT_PROPERTY_FILTER_ITERATOR_NAME = "Range_Element_Property_Filter";
+    public static final String ELEMENT_GROUP_COUNT_ITERATOR_NAME = "Element_Group_Count";
+    public static final String RESULT_LIMIT_ITERATOR_NAME = "Result_Limit";
 
     // Converter class to be used in iterators must be on classpath of all
     // iterators
@@ -58,6 +60,7 @@ public final class AccumuloStoreConstants {
     public static final String BLOOM_FILTER = "Bloom_Filter";
     public static final String BLOOM_FILTER_CHARSET = "ISO-8859-1";
     public static final String COLUMN_FAMILY = "columnFamily";
+    public static final String RESULT_LIMIT = "Result_Limit";
 
     // Iterator priorities
     // Applied during major compactions, minor compactions  and scans.
@@ -78,6 +81,10 @@ public final class AccumuloStoreConstants {
     public static final int COLUMN_QUALIFIER_AGGREGATOR_ITERATOR_PRIORITY = 36;
     // Applied only during scans.
     public static final int ELEMENT_POST_AGGREGATION_FILTER_ITERATOR_PRIORITY = 37;
+    // Applied only during scans, after all other scan time iterators.
+    public static final int ELEMENT_GROUP_COUNT_ITERATOR_PRIORITY = 40;
+    // Applied only during scans, after all other scan time iterators.
+    public static final int RESULT_LIMIT_ITERATOR_PRIORITY = 41;
 
     // Operations options
     public static final String ADD_ELEMENTS_FROM_HDFS_SKIP_IMPORT = "accumulostore.operation.hdfs.skip_import";
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.optimiser;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.operation.impl.CountAllElementGroups;
+import uk.gov.gchq.gaffer.accumulostore.operation.impl.CountAllElements;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.CountGroups;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.koryphe.impl.predicate.Exists;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static uk.gov.gchq.gaffer.data.element.id.DirectedType.DIRECTED;
+
+public class CountAllElementsOperationChainOptimiserTest {
+
+    private static final View VIEW = new View.Builder()
+            .entity("BasicEntity")
+            .edge("BasicEdge")
+            .build();
+
+    @Test
+    public void shouldReplaceGetAllElementsAndCountWithCountAllElements() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(VIEW)
+                .directedType(DIRECTED)
+                .option("key", "value")
+                .build();
+
+        // When
+        final List<Operation> ops = optimise(getAllElements, new Count<>());
+
+        // Then
+        assertEquals(1, ops.size());
+        assertSame(CountAllElements.class, ops.get(0).getClass());
+        final CountAllElements countAllElements = (CountAllElements) ops.get(0);
+        assertSame(VIEW, countAllElements.getView());
+        assertEquals(DIRECTED, countAllElements.getDirectedType());
+        assertEquals("value", countAllElements.getOption("key"));
+    }
+
+    @Test
+    public void shouldReplaceGetAllElementsAndCountGroupsWithCountAllElementGroups() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(VIEW)
+                .build();
+
+        // When
+        final List<Operation> ops = optimise(getAllElements, new CountGroups());
+
+        // Then
+        assertEquals(1, ops.size());
+        assertSame(CountAllElementGroups.class, ops.get(0).getClass());
+        assertSame(VIEW, ((CountAllElementGroups) ops.get(0)).getView());
+    }
+
+    @Test
+    public void shouldNotOptimiseCountGroupsWithLimit() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(VIEW)
+                .build();
+
+        // When
+        final List<Operation> ops = optimise(getAllElements, new CountGroups.Builder().limit(10).build());
+
+        // Then
+        assertEquals(2, ops.size());
+        assertSame(GetAllElements.class, ops.get(0).getClass());
+        assertSame(CountGroups.class, ops.get(1).getClass());
+    }
+
+    @Test
+    public void shouldNotOptimiseWhenViewHasPostTransformFilters() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .entity("BasicEntity", new ViewElementDefinition.Builder()
+                                .postTransformFilter(new ElementFilter.Builder()
+                                        .select("count")
+                                        .execute(new Exists())
+                                        .build())
+                                .build())
+                        .build())
+                .build();
+
+        // When
+        final List<Operation> ops = optimise(getAllElements, new Count<>());
+
+        // Then
+        assertEquals(2, ops.size());
+        assertSame(GetAllElements.class, ops.get(0).getClass());
+        assertSame(Count.class, ops.get(1).getClass());
+    }
+
+    private List<Operation> optimise(final Operation... operations) {
+        return new CountAllElementsOperationChainOptimiser().optimise(new OperationChain<>(operations)).getOperations();
+    }
+}
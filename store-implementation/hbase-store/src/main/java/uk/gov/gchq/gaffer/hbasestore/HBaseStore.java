@@ -59,6 +59,7 @@ import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.gaffer.store.StoreTrait;
 import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.store.optimiser.ResultLimitOperationChainOptimiser;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaOptimiser;
@@ -141,6 +142,9 @@ public class HBaseStore extends Store {
         } else {
             super.initialise(graphId, schema, getProperties());
         }
+
+        // Add OperationChainOptimisers
+        addOperationChainOptimisers(Collections.singletonList(new ResultLimitOperationChainOptimiser()));
     }
 
     public Configuration getConfiguration() {
@@ -18,6 +18,7 @@ package uk.gov.gchq.gaffer.hbasestore.coprocessor.processor;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.LazyElementCell;
 import uk.gov.gchq.gaffer.store.ElementValidator;
+import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.koryphe.Since;
 import uk.gov.gchq.koryphe.Summary;
 
@@ -30,6 +31,10 @@ public class PreAggregationFilterProcessor extends FilterProcessor {
         validator = new ElementValidator(view);
     }
 
+    public PreAggregationFilterProcessor(final View view, final Schema schema) {
+        validator = new ElementValidator(view, schema);
+    }
+
     @Override
     public boolean test(final LazyElementCell elementCell) {
         return validator.validateInput(elementCell.getElement());
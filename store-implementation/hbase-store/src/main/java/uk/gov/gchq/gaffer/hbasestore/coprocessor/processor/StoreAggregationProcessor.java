@@ -20,7 +20,7 @@ import org.apache.hadoop.hbase.CellUtil;
 
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Properties;
-import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
+import uk.gov.gchq.gaffer.data.element.function.CompiledElementAggregator;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.LazyElementCell;
@@ -49,7 +49,7 @@ public class StoreAggregationProcessor implements GafferScannerProcessor {
         }
 
         final List<LazyElementCell> output = new ArrayList<>();
-        ElementAggregator aggregator = null;
+        CompiledElementAggregator aggregator = null;
         Properties aggregatedProperties = null;
         LazyElementCell firstElementCell = null;
         for (final LazyElementCell elementCell : elementCells) {
@@ -77,7 +77,7 @@ public class StoreAggregationProcessor implements GafferScannerProcessor {
             } else {
                 final String group = firstElementCell.getGroup();
                 if (null == aggregator) {
-                    aggregator = schema.getElement(group).getIngestAggregator();
+                    aggregator = schema.getElement(group).getCompiledIngestAggregator();
                     aggregatedProperties = firstElementCell.getElement().getProperties();
                 }
 
@@ -74,11 +74,11 @@ public class QueryScanner extends GafferScanner implements RegionScanner {
         processors.add(new ValidationProcessor(schema));
 
         if (null != view) {
-            processors.add(new PreAggregationFilterProcessor(view));
+            processors.add(new PreAggregationFilterProcessor(view, schema));
             if (schema.isAggregationEnabled()) {
                 processors.add(new QueryAggregationProcessor(serialisation, schema, view));
             }
-            processors.add(new PostAggregationFilterProcessor(view));
+            processors.add(new PostAggregationFilterProcessor(view, schema));
         }
 
         if (!extraProcessors.isEmpty()) {
@@ -33,10 +33,8 @@ import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.iterable.TransformOneToManyIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Element;
-import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
 import uk.gov.gchq.gaffer.data.element.id.ElementId;
-import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
-import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.IndexedView;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
@@ -45,6 +43,7 @@ import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.ElementValidator;
 import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.optimiser.ResultLimitOperationChainOptimiser;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.io.IOException;
@@ -58,6 +57,7 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
     private final ElementSerialisation serialisation;
     private final RowRangeFactory rowRangeFactory;
     private final ElementValidator validator;
+    private final IndexedView view;
     private final Iterable<? extends ElementId> ids;
     private final HBaseStore store;
     private final Authorizations authorisations;
@@ -76,7 +76,8 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
                           final Class<?>... extraProcessors) throws StoreException {
         this.serialisation = new ElementSerialisation(store.getSchema());
         this.rowRangeFactory = new RowRangeFactory(serialisation);
-        this.validator = new ElementValidator(operation.getView());
+        this.validator = new ElementValidator(operation.getView(), store.getSchema());
+        this.view = new IndexedView(operation.getView());
         this.store = store;
         this.operation = operation;
         this.ids = ids;
@@ -126,12 +127,11 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
 
     private Element deserialiseAndTransform(final Cell cell) {
         try {
-            Element element = serialisation.getElement(cell, includeMatchedVertex);
-            final ViewElementDefinition viewDef = operation.getView().getElement(element.getGroup());
-            if (null != viewDef) {
-                final ElementTransformer transformer = viewDef.getTransformer();
-                if (null != transformer) {
-                    element = transformer.apply(element);
+            final Element element = serialisation.getElement(cell, includeMatchedVertex);
+            if (view.hasTransformers()) {
+                final IndexedView.Group group = view.getGroup(element.getGroup());
+                if (null != group) {
+                    return group.transform(element);
                 }
             }
             return element;
@@ -181,6 +181,11 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
                 scan.setAttribute(HBaseStoreConstants.EXTRA_PROCESSORS, extraProcessors);
             }
             scan.setMaxVersions();
+            final Integer resultLimit = ResultLimitOperationChainOptimiser.getResultLimitHint(operation);
+            if (null != resultLimit && !operation.getView().hasPostTransformFilters()) {
+                // Avoid fetching more rows in each RPC than the caller will read
+                scan.setCaching(Math.max(1, resultLimit));
+            }
             table = store.getTable();
             return new WrappedCloseableIterable<>(table.getScanner(scan));
         } catch (final IOException | StoreException e) {
@@ -228,7 +233,7 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
                             final Cell possibleNext = cellsItr.next();
                             nextElement = deserialiseAndTransform(possibleNext);
                             if (postTransformFilter(nextElement)) {
-                                ViewUtil.removeProperties(operation.getView(), nextElement);
+                                view.removeProperties(nextElement);
                                 hasNext = true;
                                 return true;
                             } else {
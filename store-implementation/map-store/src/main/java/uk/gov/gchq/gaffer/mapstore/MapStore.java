@@ -23,11 +23,13 @@ import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.mapstore.impl.AddElementsHandler;
+import uk.gov.gchq.gaffer.mapstore.impl.CountAllElementGroupsDefaultViewHandler;
 import uk.gov.gchq.gaffer.mapstore.impl.CountAllElementsDefaultViewHandler;
 import uk.gov.gchq.gaffer.mapstore.impl.GetAdjacentIdsHandler;
 import uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandler;
 import uk.gov.gchq.gaffer.mapstore.impl.GetElementsHandler;
 import uk.gov.gchq.gaffer.mapstore.impl.MapImpl;
+import uk.gov.gchq.gaffer.mapstore.operation.CountAllElementGroupsDefaultView;
 import uk.gov.gchq.gaffer.mapstore.operation.CountAllElementsDefaultView;
 import uk.gov.gchq.gaffer.mapstore.optimiser.CountAllElementsOperationChainOptimiser;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
@@ -43,6 +45,7 @@ import uk.gov.gchq.gaffer.store.StoreTrait;
 import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.job.GetAllJobDetailsHandler;
+import uk.gov.gchq.gaffer.store.optimiser.ResultLimitOperationChainOptimiser;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
 import java.util.HashSet;
@@ -87,7 +90,7 @@ public class MapStore extends Store {
         super.initialise(graphId, schema, properties);
 
         // Add OperationChainOptimisers
-        super.addOperationChainOptimisers(asList(new CountAllElementsOperationChainOptimiser()));
+        super.addOperationChainOptimisers(asList(new CountAllElementsOperationChainOptimiser(), new ResultLimitOperationChainOptimiser()));
 
         // Initialise maps
         mapImpl = createMapImpl();
@@ -129,6 +132,7 @@ public class MapStore extends Store {
     @Override
     protected void addAdditionalOperationHandlers() {
         addOperationHandler(CountAllElementsDefaultView.class, new CountAllElementsDefaultViewHandler());
+        addOperationHandler(CountAllElementGroupsDefaultView.class, new CountAllElementGroupsDefaultViewHandler());
         addOperationHandler(GetAllJobDetails.class, new GetAllJobDetailsHandler());
     }
 
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import uk.gov.gchq.gaffer.data.GroupCounts;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.mapstore.MapStore;
+import uk.gov.gchq.gaffer.mapstore.operation.CountAllElementGroupsDefaultView;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreTrait;
+import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.stream.Stream;
+
+/**
+ * An {@link uk.gov.gchq.gaffer.store.operation.handler.OperationHandler} for the
+ * {@link CountAllElementGroupsDefaultView} operation on the {@link MapStore}.
+ * If visibilities are not in use the counts are read from the sizes of the
+ * maps, without recreating any elements.
+ */
+public class CountAllElementGroupsDefaultViewHandler implements OutputOperationHandler<CountAllElementGroupsDefaultView, GroupCounts> {
+    @Override
+    public GroupCounts doOperation(final CountAllElementGroupsDefaultView operation, final Context context, final Store store)
+            throws OperationException {
+        return doOperation(context, (MapStore) store);
+    }
+
+    private GroupCounts doOperation(final Context context, final MapStore mapStore) {
+        final User user = context.getUser();
+        final Schema schema = mapStore.getSchema();
+        final boolean supportsVisibility = mapStore.getTraits().contains(StoreTrait.VISIBILITY);
+        final GroupCounts groupCounts = new GroupCounts();
+
+        if (!supportsVisibility) {
+            for (final String group : schema.getGroups()) {
+                final int count = Math.toIntExact(mapStore.getMapImpl().countElements(group));
+                if (count > 0) {
+                    if (schema.isEntity(group)) {
+                        groupCounts.addEntityGroup(group, count);
+                    } else {
+                        groupCounts.addEdgeGroup(group, count);
+                    }
+                }
+            }
+            return groupCounts;
+        }
+
+        Stream<Element> elementStream = Stream.concat(
+                mapStore.getMapImpl().getAllAggElements(schema.getGroups()),
+                mapStore.getMapImpl().getAllNonAggElements(schema.getGroups()));
+        elementStream = GetElementsUtil.applyVisibilityFilter(elementStream, schema, user);
+        elementStream.forEach(element -> {
+            if (element instanceof Entity) {
+                groupCounts.addEntityGroup(element.getGroup());
+            } else {
+                groupCounts.addEdgeGroup(element.getGroup());
+            }
+        });
+        return groupCounts;
+    }
+}
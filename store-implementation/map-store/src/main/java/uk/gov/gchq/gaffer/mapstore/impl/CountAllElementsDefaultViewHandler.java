@@ -45,6 +45,14 @@ public class CountAllElementsDefaultViewHandler implements OutputOperationHandle
         final Schema schema = mapStore.getSchema();
         final boolean supportsVisibility = mapStore.getTraits().contains(StoreTrait.VISIBILITY);
 
+        if (!supportsVisibility) {
+            long count = 0;
+            for (final String group : schema.getGroups()) {
+                count += mapStore.getMapImpl().countElements(group);
+            }
+            return count;
+        }
+
         Stream<Element> elementStream = Stream.concat(
                 mapStore.getMapImpl().getAllAggElements(schema.getGroups()),
                 mapStore.getMapImpl().getAllNonAggElements(schema.getGroups()));
@@ -28,6 +28,7 @@ import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.StoreTrait;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.store.optimiser.ResultLimitOperationChainOptimiser;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.user.User;
 
@@ -72,7 +73,8 @@ public class GetAllElementsHandler implements OutputOperationHandler<GetAllEleme
             }
             elements = GetElementsUtil.applyDirectedTypeFilter(elements, getAllElements.getView().hasEdges(), getAllElements.getDirectedType());
             elements = elements.map(element -> mapImpl.cloneElement(element, schema));
-            elements = GetElementsUtil.applyView(elements, schema, getAllElements.getView());
+            elements = GetElementsUtil.applyView(elements, schema, getAllElements.getView(), false,
+                    ResultLimitOperationChainOptimiser.getResultLimitHint(getAllElements));
             elements = elements.map(element -> {
                 ViewUtil.removeProperties(getAllElements.getView(), element);
                 return element;
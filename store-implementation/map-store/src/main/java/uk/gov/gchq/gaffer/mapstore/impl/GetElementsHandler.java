@@ -31,6 +31,7 @@ import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.StoreTrait;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.store.optimiser.ResultLimitOperationChainOptimiser;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.user.User;
 
@@ -89,7 +90,8 @@ public class GetElementsHandler
                 elements = GetElementsUtil.applyVisibilityFilter(elements, schema, user);
             }
             elements = elements.map(element -> mapImpl.cloneElement(element, schema));
-            elements = GetElementsUtil.applyView(elements, schema, getElements.getView());
+            elements = GetElementsUtil.applyView(elements, schema, getElements.getView(), false,
+                    ResultLimitOperationChainOptimiser.getResultLimitHint(getElements));
             elements = elements.map(element -> {
                 ViewUtil.removeProperties(getElements.getView(), element);
                 return element;
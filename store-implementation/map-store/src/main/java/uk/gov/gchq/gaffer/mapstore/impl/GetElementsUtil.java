@@ -32,6 +32,7 @@ import uk.gov.gchq.gaffer.data.element.id.DirectedType;
 import uk.gov.gchq.gaffer.data.element.id.EdgeId;
 import uk.gov.gchq.gaffer.data.element.id.ElementId;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.CompiledView;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.operation.SeedMatching.SeedMatchingType;
@@ -183,7 +184,29 @@ public final class GetElementsUtil {
                                             final Schema schema,
                                             final View view,
                                             final boolean includeMatchedVertex) {
+        return applyView(elementStream, schema, view, includeMatchedVertex, null);
+    }
+
+    /**
+     * Applies the filters, aggregation and transforms in the {@link View}.
+     * If a result limit is provided, the caller will not read more than that
+     * many elements, so when no query time aggregation is required the
+     * remaining elements are not read at all.
+     *
+     * @param elementStream        the elements
+     * @param schema               the schema
+     * @param view                 the view to apply
+     * @param includeMatchedVertex whether aggregation should include the Edge Matched Vertex
+     * @param resultLimit          the maximum number of elements the caller will read, or null
+     * @return the elements with the view applied
+     */
+    public static Stream<Element> applyView(final Stream<Element> elementStream,
+                                            final Schema schema,
+                                            final View view,
+                                            final boolean includeMatchedVertex,
+                                            final Integer resultLimit) {
         final Set<String> viewGroups = view.getGroups();
+        final CompiledView compiledView = new CompiledView(view, schema::getPropertySlots);
         Stream<Element> stream = elementStream;
         // Check group is valid
         if (!view.getEntityGroups().equals(schema.getEntityGroups())
@@ -192,20 +215,18 @@ public final class GetElementsUtil {
         }
 
         // Apply pre-aggregation filter
-        stream = stream.filter(e -> {
-            final ViewElementDefinition ved = view.getElement(e.getGroup());
-            return ved.getPreAggregationFilter() == null || ved.getPreAggregationFilter().test(e);
-        });
-
-        // Apply aggregation
-        final CloseableIterable<Element> iterable = AggregatorUtil.queryAggregate(stream.collect(Collectors.toList()), schema, view, includeMatchedVertex);
-        stream = StreamSupport.stream(iterable.spliterator(), false);
+        stream = stream.filter(compiledView::testPreAggregation);
+
+        // Apply aggregation. If there is a result limit and none of the groups
+        // are aggregated, only the elements up to the limit are read instead.
+        final boolean limitResults = null != resultLimit && Collections.disjoint(viewGroups, schema.getAggregatedGroups());
+        if (!limitResults) {
+            final CloseableIterable<Element> iterable = AggregatorUtil.queryAggregate(stream.collect(Collectors.toList()), schema, view, includeMatchedVertex);
+            stream = StreamSupport.stream(iterable.spliterator(), false);
+        }
 
         // Apply post-aggregation filter
-        stream = stream.filter(e -> {
-            final ViewElementDefinition ved = view.getElement(e.getGroup());
-            return ved.getPostAggregationFilter() == null || ved.getPostAggregationFilter().test(e);
-        });
+        stream = stream.filter(compiledView::testPostAggregation);
 
         // Apply transform
         stream = stream.map(e -> {
@@ -218,10 +239,11 @@ public final class GetElementsUtil {
         });
 
         // Apply post transform filter
-        stream = stream.filter(e -> {
-            final ViewElementDefinition ved = view.getElement(e.getGroup());
-            return ved.getPostTransformFilter() == null || ved.getPostTransformFilter().test(e);
-        });
+        stream = stream.filter(compiledView::testPostTransform);
+
+        if (limitResults) {
+            stream = stream.limit(resultLimit).collect(Collectors.toList()).stream();
+        }
 
         return stream;
     }
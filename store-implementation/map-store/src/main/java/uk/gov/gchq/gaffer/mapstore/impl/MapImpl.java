@@ -200,6 +200,28 @@ public class MapImpl {
                 .flatMap(Streams::toStream);
     }
 
+    /**
+     * Counts the elements in a group directly from the maps, without
+     * recreating them.
+     *
+     * @param group the group to count
+     * @return the number of elements in the group
+     */
+    long countElements(final String group) {
+        long count = 0;
+        final Map<Element, GroupedProperties> groupAggElements = aggElements.get(group);
+        if (null != groupAggElements) {
+            count += groupAggElements.size();
+        }
+        final Map<Element, Long> groupNonAggElements = nonAggElements.get(group);
+        if (null != groupNonAggElements) {
+            for (final Long elementCount : groupNonAggElements.values()) {
+                count += elementCount;
+            }
+        }
+        return count;
+    }
+
     Stream<Element> getAllElements(final Set<String> groups) {
         return Stream.concat(getAllAggElements(groups), getAllNonAggElements(groups));
     }
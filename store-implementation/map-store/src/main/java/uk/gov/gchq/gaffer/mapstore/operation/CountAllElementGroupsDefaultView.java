@@ -0,0 +1,88 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.operation;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import uk.gov.gchq.gaffer.data.GroupCounts;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.io.InputOutput;
+import uk.gov.gchq.gaffer.operation.io.MultiInput;
+import uk.gov.gchq.gaffer.operation.serialisation.TypeReferenceImpl;
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+
+import java.util.Map;
+
+/**
+ * A {@code CountAllElementGroupsDefaultView} operation counts all of the
+ * {@link Element}s present in a {@link uk.gov.gchq.gaffer.mapstore.MapStore},
+ * by group.
+ */
+@JsonPropertyOrder(value = {"class", "input"}, alphabetic = true)
+@Since("1.22.1")
+@Summary("Counts all elements by group")
+public class CountAllElementGroupsDefaultView implements
+        InputOutput<Iterable<? extends Element>, GroupCounts>,
+        MultiInput<Element> {
+    private Iterable<? extends Element> input;
+    private Map<String, String> options;
+
+    @Override
+    public Iterable<? extends Element> getInput() {
+        return input;
+    }
+
+    @Override
+    public void setInput(final Iterable<? extends Element> input) {
+        this.input = input;
+    }
+
+    @Override
+    public TypeReference<GroupCounts> getOutputTypeReference() {
+        return new TypeReferenceImpl.CountGroups();
+    }
+
+    @Override
+    public CountAllElementGroupsDefaultView shallowClone() {
+        return new CountAllElementGroupsDefaultView.Builder()
+                .input(input)
+                .options(options)
+                .build();
+    }
+
+    @Override
+    public Map<String, String> getOptions() {
+        return options;
+    }
+
+    @Override
+    public void setOptions(final Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static final class Builder
+            extends Operation.BaseBuilder<CountAllElementGroupsDefaultView, Builder>
+            implements InputOutput.Builder<CountAllElementGroupsDefaultView, Iterable<? extends Element>, GroupCounts, Builder>,
+            MultiInput.Builder<CountAllElementGroupsDefaultView, Element, Builder> {
+        public Builder() {
+            super(new CountAllElementGroupsDefaultView());
+        }
+    }
+}
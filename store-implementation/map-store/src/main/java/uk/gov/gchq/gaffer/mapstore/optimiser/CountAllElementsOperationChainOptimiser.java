@@ -16,9 +16,11 @@
 
 package uk.gov.gchq.gaffer.mapstore.optimiser;
 
+import uk.gov.gchq.gaffer.mapstore.operation.CountAllElementGroupsDefaultView;
 import uk.gov.gchq.gaffer.mapstore.operation.CountAllElementsDefaultView;
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.CountGroups;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.store.optimiser.AbstractOperationChainOptimiser;
 
@@ -28,6 +30,11 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static uk.gov.gchq.gaffer.data.element.id.DirectedType.EITHER;
 
+/**
+ * Replaces a {@link GetAllElements} with no view followed by a {@link Count}
+ * or an unlimited {@link CountGroups} with a single operation that counts the
+ * elements in the {@link uk.gov.gchq.gaffer.mapstore.MapStore} directly.
+ */
 public class CountAllElementsOperationChainOptimiser extends AbstractOperationChainOptimiser {
 
     @Override
@@ -37,10 +44,15 @@ public class CountAllElementsOperationChainOptimiser extends AbstractOperationCh
 
     @Override
     protected List<Operation> optimiseCurrentOperation(final Operation previousOp, final Operation currentOp, final Operation nextOp) {
-        if (isNonFilteringGetAllElementsOperation(previousOp) && isCountOperation(currentOp)) {
-            return singletonList(new CountAllElementsDefaultView.Builder().build());
+        if (isNonFilteringGetAllElementsOperation(previousOp)) {
+            if (isCountOperation(currentOp)) {
+                return singletonList(new CountAllElementsDefaultView.Builder().build());
+            }
+            if (isCountGroupsOperation(currentOp)) {
+                return singletonList(new CountAllElementGroupsDefaultView.Builder().build());
+            }
         }
-        if (isNonFilteringGetAllElementsOperation(currentOp) && isCountOperation(nextOp)) {
+        if (isNonFilteringGetAllElementsOperation(currentOp) && (isCountOperation(nextOp) || isCountGroupsOperation(nextOp))) {
             return emptyList();
         }
         return singletonList(currentOp);
@@ -69,6 +81,12 @@ public class CountAllElementsOperationChainOptimiser extends AbstractOperationCh
         return null != operation && Count.class.equals(operation.getClass());
     }
 
+    private boolean isCountGroupsOperation(final Operation operation) {
+        return null != operation
+                && CountGroups.class.equals(operation.getClass())
+                && null == ((CountGroups) operation).getLimit();
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -20,6 +20,7 @@ import org.junit.jupiter.api.Test;
 import uk.gov.gchq.gaffer.mapstore.optimiser.CountAllElementsOperationChainOptimiser;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.StoreTrait;
+import uk.gov.gchq.gaffer.store.optimiser.ResultLimitOperationChainOptimiser;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
 import java.util.Arrays;
@@ -48,7 +49,7 @@ public class MapStoreTest {
     }
 
     @Test
-    public void shouldConfigureCountAllElementsOperationChainOptimiser() throws Exception {
+    public void shouldConfigureOperationChainOptimisers() throws Exception {
         // Given
         final MapStore mapStore = new MapStore();
 
@@ -56,7 +57,8 @@ public class MapStoreTest {
         mapStore.initialise("graphId", new Schema(), new MapStoreProperties());
 
         // Then
-        assertEquals(1, mapStore.getOperationChainOptimisers().size());
+        assertEquals(2, mapStore.getOperationChainOptimisers().size());
         assertTrue(mapStore.getOperationChainOptimisers().contains(new CountAllElementsOperationChainOptimiser()));
+        assertTrue(mapStore.getOperationChainOptimisers().contains(new ResultLimitOperationChainOptimiser()));
     }
 }
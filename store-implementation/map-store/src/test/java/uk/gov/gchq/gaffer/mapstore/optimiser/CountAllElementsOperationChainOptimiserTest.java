@@ -22,6 +22,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 
 import uk.gov.gchq.gaffer.data.element.id.DirectedType;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.mapstore.operation.CountAllElementGroupsDefaultView;
 import uk.gov.gchq.gaffer.mapstore.operation.CountAllElementsDefaultView;
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
@@ -48,6 +49,8 @@ public class CountAllElementsOperationChainOptimiserTest {
     private static final Operation GET_ALL_ELEMENTS_EITHER_DIRECTED = new GetAllElements.Builder().directedType(DirectedType.EITHER).build();
     private static final Operation GET_ELEMENTS_DEFAULT_VIEW = new GetElements.Builder().build();
     private static final Operation COUNT_GROUPS = new CountGroups();
+    private static final Operation COUNT_GROUPS_WITH_LIMIT = new CountGroups.Builder().limit(10).build();
+    private static final Operation COUNT_ALL_ELEMENT_GROUPS_DEFAULT_VIEW = new CountAllElementGroupsDefaultView.Builder().build();
 
     @ParameterizedTest
     @MethodSource("inputOperationChainAndExpectedOptimizedOperationChain")
@@ -77,6 +80,10 @@ public class CountAllElementsOperationChainOptimiserTest {
                 arguments(
                         new OperationChain(GET_ALL_ELEMENTS_EITHER_DIRECTED, COUNT),
                         new OperationChain(COUNT_ALL_ELEMENTS_DEFAULT_VIEW)
+                ),
+                arguments(
+                        new OperationChain(GET_ALL_ELEMENTS_DEFAULT_VIEW, COUNT_GROUPS),
+                        new OperationChain(COUNT_ALL_ELEMENT_GROUPS_DEFAULT_VIEW)
                 )
         );
     }
@@ -97,7 +104,7 @@ public class CountAllElementsOperationChainOptimiserTest {
     static Stream<Arguments> nonOptimisableInputOperationChain() {
         return Stream.of(
                 /* OperationChain's which should not be optimised */
-                arguments(new OperationChain(GET_ALL_ELEMENTS_DEFAULT_VIEW, COUNT_GROUPS)),
+                arguments(new OperationChain(GET_ALL_ELEMENTS_DEFAULT_VIEW, COUNT_GROUPS_WITH_LIMIT)),
                 arguments(new OperationChain(GET_ELEMENTS_DEFAULT_VIEW, COUNT)),
                 arguments(new OperationChain(GET_ALL_ELEMENTS_NON_DEFAULT_VIEW, COUNT)),
                 arguments(new OperationChain(GET_ALL_ELEMENTS_DIRECTED, COUNT)),
@@ -30,9 +30,13 @@ import org.slf4j.LoggerFactory;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.CountGroups;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.AddElementsHandler;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.CountFromStatisticsHandler;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.CountGroupsFromStatisticsHandler;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.GetAdjacentIdsHandler;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.GetAllElementsHandler;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.GetElementsHandler;
@@ -40,6 +44,7 @@ import uk.gov.gchq.gaffer.parquetstore.operation.handler.spark.GetDataFrameOfEle
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.spark.ImportJavaRDDOfElementsHandler;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.spark.ImportRDDOfElementsHandler;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.CalculatePartitioner;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.CalculateStatistics;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.GraphPartitioner;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.GroupPartitioner;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.Partition;
@@ -60,6 +65,8 @@ import uk.gov.gchq.gaffer.parquetstore.serialisation.impl.StringParquetSerialise
 import uk.gov.gchq.gaffer.parquetstore.serialisation.impl.TreeSetStringParquetSerialiser;
 import uk.gov.gchq.gaffer.parquetstore.serialisation.impl.TypeSubTypeValueParquetSerialiser;
 import uk.gov.gchq.gaffer.parquetstore.serialisation.impl.TypeValueParquetSerialiser;
+import uk.gov.gchq.gaffer.parquetstore.statistics.GraphStatistics;
+import uk.gov.gchq.gaffer.parquetstore.statistics.serialisation.GraphStatisticsSerialiser;
 import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
 import uk.gov.gchq.gaffer.serialisation.Serialiser;
 import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
@@ -73,6 +80,7 @@ import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.gaffer.store.StoreTrait;
 import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.store.optimiser.ResultLimitOperationChainOptimiser;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaOptimiser;
@@ -85,6 +93,10 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static uk.gov.gchq.gaffer.store.StoreTrait.INGEST_AGGREGATION;
@@ -112,6 +124,7 @@ public class ParquetStore extends Store {
     public static final String REVERSED_EDGES = "reversedEdges";
     public static final String PARTITION = "partition";
     public static final int LENGTH_OF_PARTITION_NUMBER_IN_FILENAME = 7;
+    private static final long READER_THREAD_KEEP_ALIVE_SECONDS = 60L;
 
     @SuppressFBWarnings("MS_MUTABLE_ARRAY")
     public static final Serialiser[] SERIALISERS = new Serialiser[]{
@@ -145,9 +158,11 @@ public class ParquetStore extends Store {
             ));
 
     private GraphPartitioner graphPartitioner;
+    private GraphStatistics graphStatistics;
     private long currentSnapshot;
     private SchemaUtils schemaUtils;
     private FileSystem fs;
+    private ExecutorService readerExecutorService;
 
     @Override
     public void initialise(final String graphId, final Schema schema, final StoreProperties properties) throws StoreException {
@@ -165,6 +180,7 @@ public class ParquetStore extends Store {
         }
         LOGGER.info("Initialising ParquetStore for graph id {}", graphId);
         super.initialise(graphId, schema, parquetStoreProperties);
+        addOperationChainOptimisers(Collections.singletonList(new ResultLimitOperationChainOptimiser()));
         try {
             fs = FileSystem.get(new Configuration());
             schemaUtils = new SchemaUtils(getSchema());
@@ -246,6 +262,10 @@ public class ParquetStore extends Store {
         return new Path(getProperties().getDataDir() + "/" + SNAPSHOT + "=" + currentSnapshot, "graphPartitioner");
     }
 
+    public Path getGraphStatisticsPath() {
+        return new Path(getProperties().getDataDir() + "/" + SNAPSHOT + "=" + currentSnapshot, "graphStatistics");
+    }
+
     private void loadGraphPartitioner() throws StoreException {
         final String dataDir = getDataDir();
         try {
@@ -264,6 +284,7 @@ public class ParquetStore extends Store {
                 }
                 LOGGER.info("Loading graph partitioner from path {}", path);
                 loadGraphPartitioner(path);
+                loadGraphStatistics();
             } else {
                 throw new StoreException("Data directory " + dataDir + " does not exist - store is in an inconsistent state");
             }
@@ -278,10 +299,62 @@ public class ParquetStore extends Store {
         stream.close();
     }
 
+    /**
+     * Loads the {@link GraphStatistics} for the current snapshot, calculating them from the Parquet file footers and
+     * writing them to the snapshot directory if they do not already exist. The statistics are only an optimisation,
+     * so if they cannot be obtained they are set to null and queries read every file.
+     */
+    private void loadGraphStatistics() {
+        final Path path = getGraphStatisticsPath();
+        try {
+            if (!fs.exists(path)) {
+                LOGGER.info("Graph statistics do not exist in {} so creating them", path);
+                final GraphStatistics statistics =
+                        new CalculateStatistics(new Path(getDataDir() + "/" + getSnapshotPath(this.currentSnapshot)), getSchema(), fs).call();
+                LOGGER.info("Writing graph statistics to {}", path);
+                final FSDataOutputStream stream = fs.create(path);
+                new GraphStatisticsSerialiser().write(statistics, stream);
+                stream.close();
+            }
+            LOGGER.info("Loading graph statistics from path {}", path);
+            final FSDataInputStream stream = fs.open(path);
+            this.graphStatistics = new GraphStatisticsSerialiser().read(stream);
+            stream.close();
+        } catch (final IOException | RuntimeException e) {
+            LOGGER.warn("Unable to load graph statistics from {}, queries will not use statistics", path, e);
+            this.graphStatistics = null;
+        }
+    }
+
     public FileSystem getFS() {
         return fs;
     }
 
+    /**
+     * Returns the pool of threads shared by all queries against this store for reading Parquet files. The pool
+     * contains at most {@link ParquetStoreProperties#getThreadsAvailable()} threads, which are daemon threads that
+     * are released when they have been idle for a while. Readers give their thread back to the pool whenever their
+     * query's results are not being consumed, so a slow or abandoned query cannot hold up the others.
+     *
+     * @return The {@link ExecutorService} used to read Parquet files.
+     */
+    public synchronized ExecutorService getReaderExecutorService() {
+        if (null == readerExecutorService) {
+            final int threads = getProperties().getThreadsAvailable();
+            LOGGER.debug("Creating reader thread pool with {} threads", threads);
+            final ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads,
+                    READER_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    runnable -> {
+                        final Thread thread = new Thread(runnable, "parquet-reader-" + getGraphId());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            pool.allowCoreThreadTimeOut(true);
+            readerExecutorService = pool;
+        }
+        return readerExecutorService;
+    }
+
     public SchemaUtils getSchemaUtils() {
         return schemaUtils;
     }
@@ -412,6 +485,8 @@ public class ParquetStore extends Store {
         addOperationHandler(GetDataFrameOfElements.class, new GetDataFrameOfElementsHandler());
         addOperationHandler(ImportJavaRDDOfElements.class, new ImportJavaRDDOfElementsHandler());
         addOperationHandler(ImportRDDOfElements.class, new ImportRDDOfElementsHandler());
+        addOperationHandler(Count.class, new CountFromStatisticsHandler<>());
+        addOperationHandler(CountGroups.class, new CountGroupsFromStatisticsHandler());
 //        addOperationHandler(GetGraphFrameOfElements.class, new GetGraphFrameOfElementsHandler());
     }
 
@@ -474,4 +549,11 @@ public class ParquetStore extends Store {
     public GraphPartitioner getGraphPartitioner() {
         return graphPartitioner;
     }
+
+    /**
+     * @return the {@link GraphStatistics} for the current snapshot, or null if they are not available
+     */
+    public GraphStatistics getGraphStatistics() {
+        return graphStatistics;
+    }
 }
@@ -41,7 +41,10 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
     public static final String PARQUET_ROW_GROUP_SIZE_IN_BYTES = "parquet.add_elements.row_group.size";
     public static final String PARQUET_PAGE_SIZE_IN_BYTES = "parquet.add_elements.page.size";
     public static final String PARQUET_THREADS_AVAILABLE = "parquet.threadsAvailable";
+    public static final String PARQUET_RETRIEVER_QUEUE_SIZE = "parquet.retriever.queue.size";
     public static final String PARQUET_ADD_ELEMENTS_OUTPUT_FILES_PER_GROUP = "parquet.add_elements.output_files_per_group";
+    public static final String PARQUET_ADD_ELEMENTS_LOCAL_THRESHOLD = "parquet.add_elements.local.threshold";
+    public static final String PARQUET_READER_COLUMNAR = "parquet.reader.columnar";
     public static final String SPARK_MASTER = "spark.master";
     public static final String PARQUET_SKIP_VALIDATION = "parquet.skip_validation";
     public static final String COMPRESSION_CODEC = "parquet.compression.codec";
@@ -54,7 +57,10 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
     public static final String PARQUET_SORT_BY_SPLITS_ON_INGEST_DEFAULT = "false";
     private static final String PARQUET_SPLIT_POINTS_SAMPLE_RATE_DEFAULT = "10";
     private static final String PARQUET_THREADS_AVAILABLE_DEFAULT = "3";
+    private static final String PARQUET_RETRIEVER_QUEUE_SIZE_DEFAULT = "10000";
     private static final String PARQUET_ADD_ELEMENTS_OUTPUT_FILES_PER_GROUP_DEFAULT = "10";
+    private static final String PARQUET_ADD_ELEMENTS_LOCAL_THRESHOLD_DEFAULT = "100000";
+    private static final String PARQUET_READER_COLUMNAR_DEFAULT = "false";
     private static final String SPARK_MASTER_DEFAULT = "local[*]";
     private static final String PARQUET_SKIP_VALIDATION_DEFAULT = "false";
     private static final String COMPRESSION_CODEC_DEFAULT = "GZIP";
@@ -104,6 +110,20 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
         set(PARQUET_THREADS_AVAILABLE, threadsAvailable.toString());
     }
 
+    /**
+     * The maximum number of {@link uk.gov.gchq.gaffer.data.element.Element}s that the reader threads of a single query
+     * can buffer before they block waiting for the consumer to catch up.
+     *
+     * @return The size of the queue used to pass elements from the reader threads to the consumer.
+     */
+    public Integer getRetrieverQueueSize() {
+        return Integer.parseInt(get(PARQUET_RETRIEVER_QUEUE_SIZE, PARQUET_RETRIEVER_QUEUE_SIZE_DEFAULT));
+    }
+
+    public void setRetrieverQueueSize(final Integer retrieverQueueSize) {
+        set(PARQUET_RETRIEVER_QUEUE_SIZE, retrieverQueueSize.toString());
+    }
+
     public Integer getRowGroupSize() {
         return Integer.parseInt(get(PARQUET_ROW_GROUP_SIZE_IN_BYTES, PARQUET_ROW_GROUP_SIZE_IN_BYTES_DEFAULT));
     }
@@ -128,6 +148,36 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
         set(PARQUET_ADD_ELEMENTS_OUTPUT_FILES_PER_GROUP, String.valueOf(outputFilesPerGroup));
     }
 
+    /**
+     * The maximum number of {@link uk.gov.gchq.gaffer.data.element.Element}s that an
+     * {@link uk.gov.gchq.gaffer.operation.impl.add.AddElements} operation can contain for them to be added using
+     * local threads rather than Spark. Setting this to 0 means Spark is always used.
+     *
+     * @return The maximum number of elements that will be added without using Spark.
+     */
+    public int getAddElementsLocalThreshold() {
+        return Integer.parseInt(get(PARQUET_ADD_ELEMENTS_LOCAL_THRESHOLD, PARQUET_ADD_ELEMENTS_LOCAL_THRESHOLD_DEFAULT));
+    }
+
+    public void setAddElementsLocalThreshold(final int addElementsLocalThreshold) {
+        set(PARQUET_ADD_ELEMENTS_LOCAL_THRESHOLD, String.valueOf(addElementsLocalThreshold));
+    }
+
+    /**
+     * If true then queries read Parquet files a batch of rows at a time, evaluating the filter on the whole batch and
+     * only building {@link uk.gov.gchq.gaffer.data.element.Element}s for the rows that match. Files where the
+     * requested columns include lists or maps are always read a row at a time.
+     *
+     * @return True if Parquet files should be read a batch of rows at a time.
+     */
+    public boolean getColumnarReader() {
+        return Boolean.parseBoolean(get(PARQUET_READER_COLUMNAR, PARQUET_READER_COLUMNAR_DEFAULT));
+    }
+
+    public void setColumnarReader(final boolean columnarReader) {
+        set(PARQUET_READER_COLUMNAR, String.valueOf(columnarReader));
+    }
+
     /**
      * If the Spark master is set in this class then that will be used. Otherwise the Spark default config set on the
      * local machine will be used, if you run your code as a spark-submit command or from the spark-shell.
@@ -20,34 +20,70 @@ import org.apache.parquet.hadoop.api.InitContext;
 import org.apache.parquet.hadoop.api.ReadSupport;
 import org.apache.parquet.io.api.RecordMaterializer;
 import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Type;
 
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * This class provides the {@link ReadSupport} required by the {@link ParquetElementReader} making use of the
  * {@link ElementRecordMaterialiser} to directly build the Gaffer Elements from the Parquet types.
+ * If a set of Gaffer columns to read is provided then only the Parquet columns derived from those Gaffer columns
+ * are requested, so the other columns are never decoded.
  */
 public class ElementReadSupport extends ReadSupport<Element> {
     private final boolean isEntity;
     private final GafferGroupObjectConverter converter;
+    private final Set<String> columnsToRead;
 
     public ElementReadSupport(final boolean isEntity, final GafferGroupObjectConverter converter) {
+        this(isEntity, converter, null);
+    }
+
+    public ElementReadSupport(final boolean isEntity, final GafferGroupObjectConverter converter, final Set<String> columnsToRead) {
         super();
         this.isEntity = isEntity;
         this.converter = converter;
+        this.columnsToRead = columnsToRead;
     }
 
     @Override
     public RecordMaterializer<Element> prepareForRead(final Configuration configuration, final Map<String, String> map,
                                                       final MessageType parquetSchema, final ReadContext readContext) {
-        return new ElementRecordMaterialiser(parquetSchema, isEntity, converter);
+        return new ElementRecordMaterialiser(readContext.getRequestedSchema(), isEntity, converter);
     }
 
     @Override
     public ReadContext init(final InitContext context) {
-        return new ReadContext(context.getFileSchema());
+        return new ReadContext(getRequestedSchema(context.getFileSchema(), columnsToRead));
+    }
+
+    /**
+     * Projects the schema of a file onto the Parquet columns derived from the given Gaffer columns.
+     *
+     * @param fileSchema    the schema of the Parquet file
+     * @param columnsToRead the Gaffer columns to read, or null to read all of them
+     * @return the schema containing only the requested columns
+     */
+    public static MessageType getRequestedSchema(final MessageType fileSchema, final Set<String> columnsToRead) {
+        if (null == columnsToRead) {
+            return fileSchema;
+        }
+        final List<Type> fields = fileSchema.getFields()
+                .stream()
+                .filter(field -> columnsToRead.contains(getGafferColumn(field.getName())))
+                .collect(Collectors.toList());
+        return new MessageType(fileSchema.getName(), fields);
+    }
+
+    private static String getGafferColumn(final String parquetField) {
+        // Gaffer columns that are stored as multiple Parquet columns are named column_suffix
+        final int index = parquetField.indexOf('_');
+        return -1 == index ? parquetField : parquetField.substring(0, index);
     }
 }
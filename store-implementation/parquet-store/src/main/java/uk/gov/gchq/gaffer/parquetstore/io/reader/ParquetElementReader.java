@@ -23,6 +23,7 @@ import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
 
 import java.io.IOException;
+import java.util.Set;
 
 /**
  * This is the Parquet reader that can read the Parquet files directly to Elements provided the files are written the
@@ -51,6 +52,7 @@ public class ParquetElementReader extends ParquetReader<Element> {
     public static class Builder<Element> extends ParquetReader.Builder<Element> {
         private boolean isEntity;
         private GafferGroupObjectConverter converter;
+        private Set<String> columnsToRead;
 
         public Builder(final Path path) {
             super(path);
@@ -66,9 +68,20 @@ public class ParquetElementReader extends ParquetReader<Element> {
             return this;
         }
 
+        /**
+         * Restricts the columns that are read from the file to those derived from the provided Gaffer columns.
+         *
+         * @param columnsToRead the Gaffer columns to read, or {@code null} to read every column
+         * @return this Builder
+         */
+        public ParquetElementReader.Builder<Element> withColumnsToRead(final Set<String> columnsToRead) {
+            this.columnsToRead = columnsToRead;
+            return this;
+        }
+
         @Override
         protected ReadSupport<Element> getReadSupport() {
-            return (ReadSupport<Element>) new ElementReadSupport(isEntity, converter);
+            return (ReadSupport<Element>) new ElementReadSupport(isEntity, converter, columnsToRead);
         }
     }
 }
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.io.reader.columnar;
+
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.LogicalInverseRewriter;
+import org.apache.parquet.filter2.predicate.Operators;
+import org.apache.parquet.filter2.predicate.UserDefinedPredicate;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * A <code>BatchFilter</code> evaluates a {@link FilterPredicate} against a batch of rows held in
+ * {@link ColumnVector}s, producing a flag per row saying whether the row matches. It follows the same semantics as
+ * Parquet's record level filtering: a column that has not been read is treated as being null, {@code eq(column, null)}
+ * matches the null rows, {@code notEq} keeps the null rows and the ordering predicates never match a null row.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class BatchFilter implements FilterPredicate.Visitor<boolean[]> {
+    private final FilterPredicate filterPredicate;
+    private Map<String, ColumnVector> columns;
+    private int count;
+
+    public BatchFilter(final FilterPredicate filterPredicate) {
+        this.filterPredicate = LogicalInverseRewriter.rewrite(filterPredicate);
+    }
+
+    /**
+     * @param columns the columns of the batch keyed by the dot separated path of the column
+     * @param count   the number of rows in the batch
+     * @return an array of length {@code count} where an entry is true if the corresponding row matches the predicate
+     */
+    public boolean[] evaluate(final Map<String, ColumnVector> columns, final int count) {
+        this.columns = columns;
+        this.count = count;
+        return filterPredicate.accept(this);
+    }
+
+    private ColumnVector getColumn(final Operators.Column<?> column) {
+        return columns.get(column.getColumnPath().toDotString());
+    }
+
+    private boolean[] compare(final Operators.Column<?> column, final Object value, final Comparison comparison) {
+        final boolean[] result = new boolean[count];
+        final ColumnVector vector = getColumn(column);
+        if (null == vector) {
+            return result;
+        }
+        for (int row = 0; row < count; row++) {
+            result[row] = !vector.isNull(row) && comparison.test(vector.compareTo(row, value));
+        }
+        return result;
+    }
+
+    private boolean[] isNull(final Operators.Column<?> column, final boolean expected) {
+        final boolean[] result = new boolean[count];
+        final ColumnVector vector = getColumn(column);
+        if (null == vector) {
+            Arrays.fill(result, expected);
+            return result;
+        }
+        for (int row = 0; row < count; row++) {
+            result[row] = vector.isNull(row) == expected;
+        }
+        return result;
+    }
+
+    @Override
+    public <T extends Comparable<T>> boolean[] visit(final Operators.Eq<T> eq) {
+        if (null == eq.getValue()) {
+            return isNull(eq.getColumn(), true);
+        }
+        return compare(eq.getColumn(), eq.getValue(), c -> 0 == c);
+    }
+
+    @Override
+    public <T extends Comparable<T>> boolean[] visit(final Operators.NotEq<T> notEq) {
+        if (null == notEq.getValue()) {
+            return isNull(notEq.getColumn(), false);
+        }
+        final boolean[] result = compare(notEq.getColumn(), notEq.getValue(), c -> 0 != c);
+        final boolean[] nulls = isNull(notEq.getColumn(), true);
+        for (int row = 0; row < count; row++) {
+            result[row] |= nulls[row];
+        }
+        return result;
+    }
+
+    @Override
+    public <T extends Comparable<T>> boolean[] visit(final Operators.Lt<T> lt) {
+        return compare(lt.getColumn(), lt.getValue(), c -> c < 0);
+    }
+
+    @Override
+    public <T extends Comparable<T>> boolean[] visit(final Operators.LtEq<T> ltEq) {
+        return compare(ltEq.getColumn(), ltEq.getValue(), c -> c <= 0);
+    }
+
+    @Override
+    public <T extends Comparable<T>> boolean[] visit(final Operators.Gt<T> gt) {
+        return compare(gt.getColumn(), gt.getValue(), c -> c > 0);
+    }
+
+    @Override
+    public <T extends Comparable<T>> boolean[] visit(final Operators.GtEq<T> gtEq) {
+        return compare(gtEq.getColumn(), gtEq.getValue(), c -> c >= 0);
+    }
+
+    @Override
+    public boolean[] visit(final Operators.And and) {
+        final boolean[] left = and.getLeft().accept(this);
+        final boolean[] right = and.getRight().accept(this);
+        for (int row = 0; row < count; row++) {
+            left[row] &= right[row];
+        }
+        return left;
+    }
+
+    @Override
+    public boolean[] visit(final Operators.Or or) {
+        final boolean[] left = or.getLeft().accept(this);
+        final boolean[] right = or.getRight().accept(this);
+        for (int row = 0; row < count; row++) {
+            left[row] |= right[row];
+        }
+        return left;
+    }
+
+    @Override
+    public boolean[] visit(final Operators.Not not) {
+        // Not is removed by the LogicalInverseRewriter, this is only reached for predicates that cannot be inverted
+        final boolean[] result = not.getPredicate().accept(this);
+        for (int row = 0; row < count; row++) {
+            result[row] = !result[row];
+        }
+        return result;
+    }
+
+    @Override
+    public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> boolean[] visit(final Operators.UserDefined<T, U> udp) {
+        return keep(udp.getColumn(), udp.getUserDefinedPredicate(), true);
+    }
+
+    @Override
+    public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> boolean[] visit(final Operators.LogicalNotUserDefined<T, U> udp) {
+        return keep(udp.getUserDefined().getColumn(), udp.getUserDefined().getUserDefinedPredicate(), false);
+    }
+
+    private boolean[] keep(final Operators.Column<?> column, final UserDefinedPredicate predicate, final boolean expected) {
+        final boolean[] result = new boolean[count];
+        final ColumnVector vector = getColumn(column);
+        for (int row = 0; row < count; row++) {
+            final Comparable value = null == vector ? null : vector.getFilterValue(row);
+            result[row] = predicate.keep(value) == expected;
+        }
+        return result;
+    }
+
+    private interface Comparison {
+        boolean test(int comparison);
+    }
+}
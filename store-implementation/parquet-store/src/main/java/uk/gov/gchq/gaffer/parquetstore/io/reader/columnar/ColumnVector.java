@@ -0,0 +1,192 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.io.reader.columnar;
+
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnReader;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.OriginalType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+
+/**
+ * A {@code ColumnVector} holds the values of a single non-repeated Parquet column for a batch of rows. The values are
+ * decoded into a primitive array of the column's physical type so that filters can be evaluated on them without
+ * creating an object per value.
+ */
+public class ColumnVector {
+    private final String path;
+    private final PrimitiveTypeName type;
+    private final boolean isUtf8;
+    private final int maxDefinitionLevel;
+    private final boolean[] nulls;
+    private int[] ints;
+    private long[] longs;
+    private float[] floats;
+    private double[] doubles;
+    private boolean[] booleans;
+    private Binary[] binaries;
+
+    public ColumnVector(final ColumnDescriptor descriptor, final OriginalType originalType, final int capacity) {
+        this.path = String.join(".", descriptor.getPath());
+        this.type = descriptor.getType();
+        this.isUtf8 = OriginalType.UTF8 == originalType;
+        this.maxDefinitionLevel = descriptor.getMaxDefinitionLevel();
+        this.nulls = new boolean[capacity];
+        switch (type) {
+            case INT32:
+                ints = new int[capacity];
+                break;
+            case INT64:
+                longs = new long[capacity];
+                break;
+            case FLOAT:
+                floats = new float[capacity];
+                break;
+            case DOUBLE:
+                doubles = new double[capacity];
+                break;
+            case BOOLEAN:
+                booleans = new boolean[capacity];
+                break;
+            default:
+                binaries = new Binary[capacity];
+                break;
+        }
+    }
+
+    /**
+     * Decodes the next {@code count} values from the given {@link ColumnReader} into this vector.
+     *
+     * @param reader the reader positioned at the next value of the column
+     * @param count  the number of values to read
+     */
+    public void read(final ColumnReader reader, final int count) {
+        for (int row = 0; row < count; row++) {
+            final boolean isNull = reader.getCurrentDefinitionLevel() < maxDefinitionLevel;
+            nulls[row] = isNull;
+            if (!isNull) {
+                switch (type) {
+                    case INT32:
+                        ints[row] = reader.getInteger();
+                        break;
+                    case INT64:
+                        longs[row] = reader.getLong();
+                        break;
+                    case FLOAT:
+                        floats[row] = reader.getFloat();
+                        break;
+                    case DOUBLE:
+                        doubles[row] = reader.getDouble();
+                        break;
+                    case BOOLEAN:
+                        booleans[row] = reader.getBoolean();
+                        break;
+                    default:
+                        binaries[row] = reader.getBinary();
+                        break;
+                }
+            } else if (null != binaries) {
+                binaries[row] = null;
+            }
+            reader.consume();
+        }
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public boolean isNull(final int row) {
+        return nulls[row];
+    }
+
+    /**
+     * Compares the value in the given row to a value of the type used by Parquet's filter predicates for this column,
+     * i.e. {@link Integer}, {@link Long}, {@link Float}, {@link Double}, {@link Boolean} or {@link Binary}. The row
+     * must not be null.
+     *
+     * @param row   the row
+     * @param value the value to compare to
+     * @return a negative integer, zero, or a positive integer as the value in the row is less than, equal to, or
+     * greater than the given value
+     */
+    public int compareTo(final int row, final Object value) {
+        switch (type) {
+            case INT32:
+                return Integer.compare(ints[row], (Integer) value);
+            case INT64:
+                return Long.compare(longs[row], (Long) value);
+            case FLOAT:
+                return Float.compare(floats[row], (Float) value);
+            case DOUBLE:
+                return Double.compare(doubles[row], (Double) value);
+            case BOOLEAN:
+                return Boolean.compare(booleans[row], (Boolean) value);
+            default:
+                return binaries[row].compareTo((Binary) value);
+        }
+    }
+
+    /**
+     * Returns the value in the given row using the types of Parquet's filter predicates, or null if the row is null.
+     *
+     * @param row the row
+     * @return the value
+     */
+    public Comparable getFilterValue(final int row) {
+        if (nulls[row]) {
+            return null;
+        }
+        switch (type) {
+            case INT32:
+                return ints[row];
+            case INT64:
+                return longs[row];
+            case FLOAT:
+                return floats[row];
+            case DOUBLE:
+                return doubles[row];
+            case BOOLEAN:
+                return booleans[row];
+            default:
+                return binaries[row];
+        }
+    }
+
+    /**
+     * Returns the value in the given row using the types produced by the row-based
+     * {@link uk.gov.gchq.gaffer.parquetstore.io.reader.converter.PrimitiveConverter}, or null if the row is null.
+     *
+     * @param row the row
+     * @return the value
+     */
+    public Object getParquetObject(final int row) {
+        if (nulls[row]) {
+            return null;
+        }
+        switch (type) {
+            case INT32:
+            case INT64:
+            case FLOAT:
+            case DOUBLE:
+            case BOOLEAN:
+                return getFilterValue(row);
+            default:
+                return isUtf8 ? binaries[row].toStringUsingUTF8() : binaries[row].getBytes();
+        }
+    }
+}
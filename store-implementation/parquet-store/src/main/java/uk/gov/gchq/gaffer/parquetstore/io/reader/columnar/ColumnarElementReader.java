@@ -0,0 +1,252 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.io.reader.columnar;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnReader;
+import org.apache.parquet.column.impl.ColumnReadStoreImpl;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.compat.RowGroupFilter;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.format.converter.ParquetMetadataConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.FileMetaData;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.io.api.Converter;
+import org.apache.parquet.io.api.GroupConverter;
+import org.apache.parquet.io.api.PrimitiveConverter;
+import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.parquetstore.io.reader.ElementReadSupport;
+import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A <code>ColumnarElementReader</code> reads {@link Element}s from a Parquet file a batch of rows at a time. The pages
+ * of each requested column are decoded into {@link ColumnVector}s, the {@link FilterPredicate} is evaluated against
+ * the whole batch by a {@link BatchFilter} and only the rows that match are materialised into {@link Element}s.
+ * <p>
+ * Only columns that are not repeated can be decoded this way, so {@link #open} returns null if any of the requested
+ * columns is a list or a map, in which case the row based
+ * {@link uk.gov.gchq.gaffer.parquetstore.io.reader.ParquetElementReader} should be used instead.
+ */
+public final class ColumnarElementReader implements Closeable {
+    public static final int DEFAULT_BATCH_SIZE = 4096;
+    private static final Logger LOGGER = LoggerFactory.getLogger(ColumnarElementReader.class);
+
+    private final ParquetFileReader fileReader;
+    private final MessageType requestedSchema;
+    private final String createdBy;
+    private final boolean isEntity;
+    private final GafferGroupObjectConverter converter;
+    private final BatchFilter batchFilter;
+    private final int batchSize;
+    private final Map<ColumnDescriptor, ColumnVector> vectors = new LinkedHashMap<>();
+    private final Map<String, ColumnVector> vectorsByPath = new HashMap<>();
+    private final Map<ColumnDescriptor, ColumnReader> columnReaders = new HashMap<>();
+    private long rowsRemainingInRowGroup;
+    private boolean[] selected;
+    private int rowsInBatch;
+    private int nextRow;
+
+    private ColumnarElementReader(final ParquetFileReader fileReader,
+                                  final MessageType requestedSchema,
+                                  final String createdBy,
+                                  final boolean isEntity,
+                                  final GafferGroupObjectConverter converter,
+                                  final FilterPredicate filter,
+                                  final int batchSize) {
+        this.fileReader = fileReader;
+        this.requestedSchema = requestedSchema;
+        this.createdBy = createdBy;
+        this.isEntity = isEntity;
+        this.converter = converter;
+        this.batchFilter = null == filter ? null : new BatchFilter(filter);
+        this.batchSize = batchSize;
+        for (final ColumnDescriptor descriptor : requestedSchema.getColumns()) {
+            final Type type = requestedSchema.getType(descriptor.getPath());
+            final ColumnVector vector = new ColumnVector(descriptor, type.getOriginalType(), batchSize);
+            vectors.put(descriptor, vector);
+            vectorsByPath.put(vector.getPath(), vector);
+        }
+    }
+
+    /**
+     * Opens a reader for the given file if all of the requested columns can be read a batch at a time.
+     *
+     * @param configuration the Hadoop configuration
+     * @param path          the Parquet file
+     * @param isEntity      true if the file contains {@link uk.gov.gchq.gaffer.data.element.Entity}s
+     * @param converter     the converter for the group stored in the file
+     * @param columnsToRead the Gaffer columns to read, or null to read all of them
+     * @param filter        the filter to apply, may be null
+     * @param batchSize     the maximum number of rows to decode at once
+     * @return the reader, or null if the file contains repeated columns that have been requested
+     * @throws IOException if the footer of the file cannot be read
+     */
+    public static ColumnarElementReader open(final Configuration configuration,
+                                             final Path path,
+                                             final boolean isEntity,
+                                             final GafferGroupObjectConverter converter,
+                                             final Set<String> columnsToRead,
+                                             final FilterPredicate filter,
+                                             final int batchSize) throws IOException {
+        final ParquetMetadata footer = ParquetFileReader.readFooter(configuration, path, ParquetMetadataConverter.NO_FILTER);
+        final FileMetaData fileMetaData = footer.getFileMetaData();
+        final MessageType requestedSchema = ElementReadSupport.getRequestedSchema(fileMetaData.getSchema(), columnsToRead);
+        if (!canRead(requestedSchema)) {
+            return null;
+        }
+        final List<BlockMetaData> blocks = null == filter
+                ? footer.getBlocks()
+                : RowGroupFilter.filterRowGroups(FilterCompat.get(filter), footer.getBlocks(), fileMetaData.getSchema());
+        final ParquetFileReader fileReader = new ParquetFileReader(configuration, fileMetaData, path, blocks, requestedSchema.getColumns());
+        return new ColumnarElementReader(fileReader, requestedSchema, fileMetaData.getCreatedBy(), isEntity, converter, filter, batchSize);
+    }
+
+    /**
+     * @param schema the requested schema
+     * @return true if none of the columns in the schema are repeated
+     */
+    public static boolean canRead(final MessageType schema) {
+        for (final ColumnDescriptor descriptor : schema.getColumns()) {
+            if (0 != descriptor.getMaxRepetitionLevel()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the next {@link Element} that matches the filter, or null if there are no more
+     * @throws IOException if the file cannot be read
+     */
+    public Element read() throws IOException {
+        while (true) {
+            while (nextRow < rowsInBatch) {
+                final int row = nextRow++;
+                if (null == selected || selected[row]) {
+                    final Element element = materialise(row);
+                    if (null != element) {
+                        return element;
+                    }
+                }
+            }
+            if (!readNextBatch()) {
+                return null;
+            }
+        }
+    }
+
+    private boolean readNextBatch() throws IOException {
+        if (0L == rowsRemainingInRowGroup && !readNextRowGroup()) {
+            return false;
+        }
+        rowsInBatch = (int) Math.min(batchSize, rowsRemainingInRowGroup);
+        for (final Map.Entry<ColumnDescriptor, ColumnVector> entry : vectors.entrySet()) {
+            entry.getValue().read(columnReaders.get(entry.getKey()), rowsInBatch);
+        }
+        rowsRemainingInRowGroup -= rowsInBatch;
+        selected = null == batchFilter ? null : batchFilter.evaluate(vectorsByPath, rowsInBatch);
+        nextRow = 0;
+        return true;
+    }
+
+    private boolean readNextRowGroup() throws IOException {
+        PageReadStore pages = fileReader.readNextRowGroup();
+        while (null != pages && 0L == pages.getRowCount()) {
+            pages = fileReader.readNextRowGroup();
+        }
+        if (null == pages) {
+            return false;
+        }
+        final ColumnReadStoreImpl columnReadStore = new ColumnReadStoreImpl(pages,
+                new NoOpGroupConverter(requestedSchema), requestedSchema, createdBy);
+        for (final ColumnDescriptor descriptor : vectors.keySet()) {
+            columnReaders.put(descriptor, columnReadStore.getColumnReader(descriptor));
+        }
+        rowsRemainingInRowGroup = pages.getRowCount();
+        return true;
+    }
+
+    private Element materialise(final int row) {
+        final Map<String, Object[]> parquetColumnToObject = new HashMap<>(vectorsByPath.size());
+        for (final ColumnVector vector : vectorsByPath.values()) {
+            final Object value = vector.getParquetObject(row);
+            if (null != value) {
+                parquetColumnToObject.put(vector.getPath(), new Object[]{value});
+            }
+        }
+        try {
+            return converter.buildElementFromParquetObjects(parquetColumnToObject, isEntity);
+        } catch (final SerialisationException e) {
+            LOGGER.warn("Failed to build the Element, skipping this Element {}", parquetColumnToObject);
+            return null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        fileReader.close();
+    }
+
+    /**
+     * The {@link ColumnReadStoreImpl} requires a converter for each column even though the values are read directly
+     * from the {@link ColumnReader}s, so this provides converters that ignore everything they are given.
+     */
+    private static final class NoOpGroupConverter extends GroupConverter {
+        private final Converter[] converters;
+
+        private NoOpGroupConverter(final GroupType type) {
+            converters = new Converter[type.getFieldCount()];
+            for (int i = 0; i < converters.length; i++) {
+                final Type field = type.getType(i);
+                converters[i] = field.isPrimitive() ? new PrimitiveConverter() { } : new NoOpGroupConverter(field.asGroupType());
+            }
+        }
+
+        @Override
+        public Converter getConverter(final int fieldIndex) {
+            return converters[fieldIndex];
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void end() {
+        }
+    }
+}
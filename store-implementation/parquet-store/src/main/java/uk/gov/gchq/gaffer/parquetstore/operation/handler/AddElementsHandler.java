@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.parquetstore.operation.handler;
 
+import com.google.common.collect.Iterators;
 import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
@@ -25,16 +26,23 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import scala.Option;
 
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.AggregateAndSortData;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.CallableResult;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.MergeSortedDataLocally;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.WriteUnsortedData;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.GraphPartitioner;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.Partition;
+import uk.gov.gchq.gaffer.parquetstore.partitioner.PartitionKey;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.serialisation.GraphPartitionerSerialiser;
+import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
 import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
 import uk.gov.gchq.gaffer.parquetstore.utils.SparkParquetUtils;
 import uk.gov.gchq.gaffer.spark.SparkContextUtil;
@@ -46,7 +54,11 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -56,6 +68,9 @@ import java.util.function.BiFunction;
 
 /**
  * An {@link OperationHandler} for the {@link AddElements} operation on the {@link ParquetStore}.
+ * <p>
+ * If the operation contains no more than {@link ParquetStoreProperties#getAddElementsLocalThreshold()} elements then
+ * they are merged into the existing data using a local thread pool, otherwise Spark is used.
  */
 public class AddElementsHandler implements OperationHandler<AddElements> {
     private static final Logger LOGGER = LoggerFactory.getLogger(AddElementsHandler.class);
@@ -71,6 +86,134 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
     private void addElements(final AddElements addElementsOperation,
                              final Context context,
                              final ParquetStore store) throws OperationException {
+        final Iterable<? extends Element> input = addElementsOperation.getInput();
+        if (null == input) {
+            return;
+        }
+        try {
+            // Buffer up to the threshold number of elements - if there are more than that then use Spark
+            final int threshold = store.getProperties().getAddElementsLocalThreshold();
+            final List<Element> buffer = new ArrayList<>();
+            final Iterator<? extends Element> iterator = input.iterator();
+            while (buffer.size() <= threshold && iterator.hasNext()) {
+                buffer.add(iterator.next());
+            }
+            if (buffer.isEmpty()) {
+                LOGGER.info("No elements to add");
+            } else if (buffer.size() <= threshold) {
+                LOGGER.info("Adding {} elements without using Spark", buffer.size());
+                addElementsLocally(buffer, store);
+            } else {
+                LOGGER.info("Adding more than {} elements so using Spark", threshold);
+                final Iterator<Element> allElements = Iterators.concat(buffer.iterator(), iterator);
+                addElementsUsingSpark(() -> allElements, context, store);
+            }
+        } finally {
+            CloseableUtil.close(input);
+        }
+    }
+
+    /**
+     * Adds the elements using a local thread pool: the elements are split by group and partition using the existing
+     * partitioner and then the new elements for each partition are merged with the existing data for that partition,
+     * writing straight into the new snapshot directory.
+     */
+    private void addElementsLocally(final List<Element> elements,
+                                    final ParquetStore store) throws OperationException {
+        final FileSystem fs = store.getFS();
+        final Schema schema = store.getSchema();
+        final SchemaUtils schemaUtils = store.getSchemaUtils();
+        final GraphPartitioner currentGraphPartitioner = store.getGraphPartitioner();
+        final ParquetStoreProperties properties = store.getProperties();
+
+        // Split the elements by group and partition (NB this uses the existing partitioner - adding elements using
+        // this operation does not effect the partitions).
+        final Map<String, Map<Integer, List<Element>>> groupToPartitionIdToElements = new HashMap<>();
+        final Map<String, Map<Integer, List<Element>>> groupToPartitionIdToElementsForReversedEdges = new HashMap<>();
+        try {
+            for (final Element element : elements) {
+                final String group = element.getGroup();
+                if (!schema.getGroups().contains(group)) {
+                    LOGGER.warn("Skipped the addition of an Element of group {} as that group does not exist in the schema.", group);
+                    continue;
+                }
+                final GafferGroupObjectConverter converter = schemaUtils.getConverter(group);
+                final int partitionId = currentGraphPartitioner.getGroupPartitioner(group)
+                        .getPartitionId(new PartitionKey(converter.corePropertiesToParquetObjects(element)));
+                groupToPartitionIdToElements.computeIfAbsent(group, g -> new HashMap<>())
+                        .computeIfAbsent(partitionId, p -> new ArrayList<>())
+                        .add(element);
+                if (element instanceof Edge) {
+                    final Edge edge = (Edge) element;
+                    if (!edge.getSource().equals(edge.getDestination())) {
+                        final int reversedPartitionId = currentGraphPartitioner.getGroupPartitionerForReversedEdges(group)
+                                .getPartitionId(new PartitionKey(converter.corePropertiesToParquetObjectsForReversedEdge(edge)));
+                        groupToPartitionIdToElementsForReversedEdges.computeIfAbsent(group, g -> new HashMap<>())
+                                .computeIfAbsent(reversedPartitionId, p -> new ArrayList<>())
+                                .add(edge);
+                    }
+                }
+            }
+        } catch (final SerialisationException e) {
+            throw new OperationException("SerialisationException splitting elements by partition", e);
+        }
+
+        final ExecutorService threadPool = Executors.newFixedThreadPool(properties.getThreadsAvailable());
+        try {
+            // Small adds can complete within the same millisecond as the previous one so ensure the snapshot id increases
+            final long snapshot = Math.max(System.currentTimeMillis(), store.getLatestSnapshot() + 1);
+            final String newDataDir = store.getDataDir() + "/" + ParquetStore.getSnapshotPath(snapshot) + "-tmp";
+            LOGGER.info("Writing merged data to new snapshot directory {}", newDataDir);
+            createGroupDirectories(fs, schema, newDataDir);
+
+            // For every group and partition, merge the new data with the old data
+            final List<Callable<CallableResult>> tasks = new ArrayList<>();
+            for (final String group : schema.getGroups()) {
+                final String groupDir = newDataDir + "/" + ParquetStore.getGroupSubDir(group, false);
+                final Map<Integer, List<Element>> partitionIdToElements =
+                        groupToPartitionIdToElements.getOrDefault(group, Collections.emptyMap());
+                for (final Partition partition : currentGraphPartitioner.getGroupPartitioner(group).getPartitions()) {
+                    final int partitionId = partition.getPartitionId();
+                    tasks.add(new MergeSortedDataLocally(schemaUtils, fs, store.getFile(group, partition),
+                            partitionIdToElements.getOrDefault(partitionId, Collections.emptyList()),
+                            groupDir + "/" + ParquetStore.getFile(partitionId), group, group + "-" + partitionId,
+                            false, properties.getCompressionCodecName(), properties.getRowGroupSize(), properties.getPageSize()));
+                }
+            }
+            for (final String group : schema.getEdgeGroups()) {
+                final String groupDir = newDataDir + "/" + ParquetStore.getGroupSubDir(group, true);
+                final Map<Integer, List<Element>> partitionIdToElements =
+                        groupToPartitionIdToElementsForReversedEdges.getOrDefault(group, Collections.emptyMap());
+                for (final Partition partition : currentGraphPartitioner.getGroupPartitionerForReversedEdges(group).getPartitions()) {
+                    final int partitionId = partition.getPartitionId();
+                    tasks.add(new MergeSortedDataLocally(schemaUtils, fs, store.getFileForReversedEdges(group, partition),
+                            partitionIdToElements.getOrDefault(partitionId, Collections.emptyList()),
+                            groupDir + "/" + ParquetStore.getFile(partitionId), group, "reversed-" + group + "-" + partitionId,
+                            true, properties.getCompressionCodecName(), properties.getRowGroupSize(), properties.getPageSize()));
+                }
+            }
+            LOGGER.info("Invoking {} MergeSortedDataLocally tasks", tasks.size());
+            for (final Future<CallableResult> future : threadPool.invokeAll(tasks)) {
+                final CallableResult result = future.get();
+                LOGGER.debug("Result {} from task", result);
+            }
+
+            commitSnapshot(store, newDataDir, snapshot, currentGraphPartitioner);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OperationException("InterruptedException running MergeSortedDataLocally tasks", e);
+        } catch (final ExecutionException e) {
+            throw new OperationException("ExecutionException running MergeSortedDataLocally tasks", e);
+        } catch (final IOException | StoreException e) {
+            throw new OperationException("Exception writing new snapshot directory", e);
+        } finally {
+            threadPool.shutdown();
+        }
+    }
+
+    private void addElementsUsingSpark(final Iterable<? extends Element> elements,
+                                       final Context context,
+                                       final ParquetStore store) throws OperationException {
         // Set up
         final FileSystem fs = store.getFS();
         final Schema schema = store.getSchema();
@@ -80,7 +223,7 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         final GraphPartitioner currentGraphPartitioner = store.getGraphPartitioner();
         SparkParquetUtils.configureSparkForAddElements(spark, store.getProperties());
 
-        // Write data from addElementsOperation split by group and partition (NB this uses the existing partitioner -
+        // Write data from the elements split by group and partition (NB this uses the existing partitioner -
         // adding elements using this operation does not effect the partitions).
         final String tmpDirectory = store.getTempFilesDir();
         final BiFunction<String, Integer, String> directoryForGroupAndPartitionId = (group, partitionId) ->
@@ -97,7 +240,7 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         LOGGER.trace("currentGraphPartitioner is {}", currentGraphPartitioner);
         new WriteUnsortedData(store, currentGraphPartitioner,
                 directoryForGroupAndPartitionId, directoryForGroupAndPartitionIdForReversedEdges)
-                .writeElements(addElementsOperation.getInput());
+                .writeElements(elements);
 
         // For every group and partition, aggregate the new data with the old data and then sort
         final BiFunction<String, Integer, String> directoryForSortedResultsForGroupAndPartitionId = (group, partitionId) ->
@@ -163,17 +306,7 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             final long snapshot = System.currentTimeMillis();
             final String newDataDir = store.getDataDir() + "/" + ParquetStore.getSnapshotPath(snapshot) + "-tmp";
             LOGGER.info("Moving aggregated and sorted data to new snapshot directory {}", newDataDir);
-            fs.mkdirs(new Path(newDataDir));
-            for (final String group : schema.getGroups()) {
-                final Path groupDir = new Path(newDataDir, ParquetStore.getGroupSubDir(group, false));
-                fs.mkdirs(groupDir);
-                LOGGER.info("Created directory {}", groupDir);
-            }
-            for (final String group : schema.getEdgeGroups()) {
-                final Path groupDir = new Path(newDataDir, ParquetStore.getGroupSubDir(group, true));
-                fs.mkdirs(groupDir);
-                LOGGER.info("Created directory {}", groupDir);
-            }
+            createGroupDirectories(fs, schema, newDataDir);
             for (final String group : schema.getGroups()) {
                 final String groupDir = newDataDir + "/" + ParquetStore.getGroupSubDir(group, false);
                 final List<Partition> partitions = currentGraphPartitioner.getGroupPartitioner(group).getPartitions();
@@ -224,24 +357,46 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             // Delete temporary data directory
             LOGGER.info("Deleting temporary directory {}", tmpDirectory);
             fs.delete(new Path(tmpDirectory), true);
-            // Write out graph partitioner (unchanged from previous one)
-            final Path newGraphPartitionerPath = new Path(newDataDir + "/graphPartitioner");
-            final FSDataOutputStream stream = fs.create(newGraphPartitionerPath);
-            LOGGER.info("Writing graph partitioner to {}", newGraphPartitionerPath);
-            new GraphPartitionerSerialiser().write(currentGraphPartitioner, stream);
-            stream.close();
-            // Move snapshot-tmp directory to snapshot
-            final String directoryWithoutTmp = newDataDir.substring(0, newDataDir.lastIndexOf("-tmp"));
-            LOGGER.info("Renaming {} to {}", newDataDir, directoryWithoutTmp);
-            fs.rename(new Path(newDataDir), new Path(directoryWithoutTmp));
-            // Set snapshot on store to new value
-            LOGGER.info("Updating latest snapshot on store to {}", snapshot);
-            store.setLatestSnapshot(snapshot);
+            commitSnapshot(store, newDataDir, snapshot, currentGraphPartitioner);
         } catch (final IOException | StoreException e) {
             throw new OperationException("IOException moving results files into new snapshot directory", e);
         }
     }
 
+    private static void createGroupDirectories(final FileSystem fs, final Schema schema, final String newDataDir) throws IOException {
+        fs.mkdirs(new Path(newDataDir));
+        for (final String group : schema.getGroups()) {
+            final Path groupDir = new Path(newDataDir, ParquetStore.getGroupSubDir(group, false));
+            fs.mkdirs(groupDir);
+            LOGGER.info("Created directory {}", groupDir);
+        }
+        for (final String group : schema.getEdgeGroups()) {
+            final Path groupDir = new Path(newDataDir, ParquetStore.getGroupSubDir(group, true));
+            fs.mkdirs(groupDir);
+            LOGGER.info("Created directory {}", groupDir);
+        }
+    }
+
+    private static void commitSnapshot(final ParquetStore store,
+                                       final String newDataDir,
+                                       final long snapshot,
+                                       final GraphPartitioner graphPartitioner) throws IOException, StoreException {
+        final FileSystem fs = store.getFS();
+        // Write out graph partitioner (unchanged from previous one)
+        final Path newGraphPartitionerPath = new Path(newDataDir + "/graphPartitioner");
+        final FSDataOutputStream stream = fs.create(newGraphPartitionerPath);
+        LOGGER.info("Writing graph partitioner to {}", newGraphPartitionerPath);
+        new GraphPartitionerSerialiser().write(graphPartitioner, stream);
+        stream.close();
+        // Move snapshot-tmp directory to snapshot
+        final String directoryWithoutTmp = newDataDir.substring(0, newDataDir.lastIndexOf("-tmp"));
+        LOGGER.info("Renaming {} to {}", newDataDir, directoryWithoutTmp);
+        fs.rename(new Path(newDataDir), new Path(directoryWithoutTmp));
+        // Set snapshot on store to new value
+        LOGGER.info("Updating latest snapshot on store to {}", snapshot);
+        store.setLatestSnapshot(snapshot);
+    }
+
     private static ExecutorService createThreadPool(final SparkSession spark, final ParquetStoreProperties storeProperties) {
         final int numberOfThreads;
         final Option<String> sparkDriverCores = spark.conf().getOption("spark.driver.cores");
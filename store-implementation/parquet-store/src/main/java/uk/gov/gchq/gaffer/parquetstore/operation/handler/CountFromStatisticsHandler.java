@@ -0,0 +1,51 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.operation.handler;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.ParquetElementRetriever;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.operation.handler.CountHandler;
+import uk.gov.gchq.gaffer.store.util.CancellableIterable;
+
+import java.util.Map;
+
+/**
+ * A {@link CountHandler} for the {@link ParquetStore} which answers {@link Count} from the
+ * {@link uk.gov.gchq.gaffer.parquetstore.statistics.GraphStatistics} when its input comes directly from an unfiltered
+ * {@link uk.gov.gchq.gaffer.operation.impl.get.GetAllElements}, rather than reading every element. Otherwise the
+ * elements are counted as normal.
+ */
+public class CountFromStatisticsHandler<T> extends CountHandler<T> {
+    @Override
+    public Long doOperation(final Count operation, final Context context, final Store store)
+            throws OperationException {
+        final Object input = CancellableIterable.unwrap(operation.getInput());
+        if (input instanceof ParquetElementRetriever) {
+            final Map<String, Long> counts = ((ParquetElementRetriever) input).getGroupCountsFromStatistics();
+            if (null != counts) {
+                CloseableUtil.close(operation);
+                return counts.values().stream().mapToLong(Long::longValue).sum();
+            }
+        }
+        return super.doOperation(operation, context, store);
+    }
+}
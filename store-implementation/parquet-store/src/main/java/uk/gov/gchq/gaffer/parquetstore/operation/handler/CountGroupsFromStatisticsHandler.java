@@ -0,0 +1,85 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.operation.handler;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.data.GroupCounts;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.CountGroups;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.ParquetElementRetriever;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.operation.handler.CountGroupsHandler;
+import uk.gov.gchq.gaffer.store.util.CancellableIterable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@link CountGroupsHandler} for the {@link ParquetStore} which answers {@link CountGroups} from the
+ * {@link uk.gov.gchq.gaffer.parquetstore.statistics.GraphStatistics} when its input comes directly from an unfiltered
+ * {@link uk.gov.gchq.gaffer.operation.impl.get.GetAllElements}, rather than reading every element. Otherwise the
+ * elements are counted as normal.
+ */
+public class CountGroupsFromStatisticsHandler extends CountGroupsHandler {
+    @Override
+    public GroupCounts doOperation(final CountGroups operation, final Context context, final Store store)
+            throws OperationException {
+        final Object input = CancellableIterable.unwrap(operation.getInput());
+        if (input instanceof ParquetElementRetriever) {
+            final Map<String, Long> counts = ((ParquetElementRetriever) input).getGroupCountsFromStatistics();
+            if (null != counts) {
+                final GroupCounts groupCounts = getGroupCounts(counts, operation.getLimit(), store);
+                if (null != groupCounts) {
+                    CloseableUtil.close(operation);
+                    return groupCounts;
+                }
+            }
+        }
+        return super.doOperation(operation, context, store);
+    }
+
+    private GroupCounts getGroupCounts(final Map<String, Long> counts, final Integer limit, final Store store) {
+        long total = 0L;
+        final Map<String, Integer> entityGroups = new HashMap<>();
+        final Map<String, Integer> edgeGroups = new HashMap<>();
+        for (final Map.Entry<String, Long> entry : counts.entrySet()) {
+            final long count = entry.getValue();
+            total += count;
+            if (0L == count) {
+                continue;
+            }
+            if (count > Integer.MAX_VALUE) {
+                return null;
+            }
+            if (store.getSchema().getEntityGroups().contains(entry.getKey())) {
+                entityGroups.put(entry.getKey(), (int) count);
+            } else {
+                edgeGroups.put(entry.getKey(), (int) count);
+            }
+        }
+        if (null != limit && total > limit) {
+            // Which groups are counted before the limit is hit depends on the order of the elements
+            return null;
+        }
+        final GroupCounts groupCounts = new GroupCounts();
+        groupCounts.setEntityGroups(entityGroups);
+        groupCounts.setEdgeGroups(edgeGroups);
+        return groupCounts;
+    }
+}
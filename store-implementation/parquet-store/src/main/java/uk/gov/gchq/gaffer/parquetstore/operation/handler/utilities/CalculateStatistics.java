@@ -0,0 +1,137 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.format.converter.ParquetMetadataConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.statistics.ColumnStatistics;
+import uk.gov.gchq.gaffer.parquetstore.statistics.FileStatistics;
+import uk.gov.gchq.gaffer.parquetstore.statistics.GraphStatistics;
+import uk.gov.gchq.gaffer.parquetstore.statistics.GroupStatistics;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Calculates the {@link GraphStatistics} from a snapshot directory containing all the Parquet files for a graph.
+ * Only the footers of the files are read. Statistics are kept for top-level columns of primitive numeric or boolean
+ * type, and only if every row group of the file has statistics for that column.
+ */
+public class CalculateStatistics {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CalculateStatistics.class);
+    private static final Set<PrimitiveTypeName> SUPPORTED_TYPES = EnumSet.of(PrimitiveTypeName.BOOLEAN,
+            PrimitiveTypeName.INT32, PrimitiveTypeName.INT64, PrimitiveTypeName.FLOAT, PrimitiveTypeName.DOUBLE);
+
+    private final Path path;
+    private final Schema schema;
+    private final FileSystem fs;
+
+    public CalculateStatistics(final Path path, final Schema schema, final FileSystem fs) {
+        this.path = path;
+        this.schema = schema;
+        this.fs = fs;
+    }
+
+    public GraphStatistics call() throws IOException {
+        final GraphStatistics graphStatistics = new GraphStatistics();
+        for (final String group : schema.getGroups()) {
+            LOGGER.info("Calculating GroupStatistics for group {}", group);
+            graphStatistics.addGroupStatistics(group, calculateGroupStatistics(group, false));
+        }
+        for (final String group : schema.getEdgeGroups()) {
+            LOGGER.info("Calculating GroupStatistics for reversed edge group {}", group);
+            graphStatistics.addGroupStatisticsForReversedEdges(group, calculateGroupStatistics(group, true));
+        }
+        return graphStatistics;
+    }
+
+    private GroupStatistics calculateGroupStatistics(final String group, final boolean reversed) throws IOException {
+        final GroupStatistics groupStatistics = new GroupStatistics(group);
+        final Path groupPath = new Path(path, ParquetStore.getGroupSubDir(group, reversed));
+        if (!fs.exists(groupPath)) {
+            return groupStatistics;
+        }
+        final FileStatus[] files = fs.listStatus(groupPath, p -> p.getName().endsWith(".parquet"));
+        LOGGER.debug("Found {} files in {}", files.length, groupPath);
+        for (final FileStatus file : files) {
+            groupStatistics.addFileStatistics(file.getPath().getName(), calculateFileStatistics(file.getPath()));
+        }
+        return groupStatistics;
+    }
+
+    private FileStatistics calculateFileStatistics(final Path file) throws IOException {
+        LOGGER.debug("Reading footer of {}", file);
+        final ParquetMetadata footer = ParquetFileReader.readFooter(fs.getConf(), file, ParquetMetadataConverter.NO_FILTER);
+        long rowCount = 0L;
+        final Map<String, ColumnStatistics> columnToStatistics = new HashMap<>();
+        final Set<String> unusableColumns = new HashSet<>();
+        for (final BlockMetaData block : footer.getBlocks()) {
+            rowCount += block.getRowCount();
+            for (final ColumnChunkMetaData columnChunk : block.getColumns()) {
+                final String column = columnChunk.getPath().toDotString();
+                if (unusableColumns.contains(column)) {
+                    continue;
+                }
+                final ColumnStatistics chunkStatistics = getColumnStatistics(columnChunk);
+                if (null == chunkStatistics) {
+                    unusableColumns.add(column);
+                    columnToStatistics.remove(column);
+                } else {
+                    columnToStatistics.merge(column, chunkStatistics, ColumnStatistics::merge);
+                }
+            }
+        }
+        final FileStatistics fileStatistics = new FileStatistics(rowCount);
+        columnToStatistics.forEach(fileStatistics::addColumnStatistics);
+        return fileStatistics;
+    }
+
+    private ColumnStatistics getColumnStatistics(final ColumnChunkMetaData columnChunk) {
+        if (1 != columnChunk.getPath().size() || !SUPPORTED_TYPES.contains(columnChunk.getType())) {
+            return null;
+        }
+        final Statistics statistics = columnChunk.getStatistics();
+        if (null == statistics) {
+            return null;
+        }
+        if (!statistics.hasNonNullValue()) {
+            // Either every value is null, or no statistics were written for this chunk
+            if (statistics.getNumNulls() == columnChunk.getValueCount()) {
+                return new ColumnStatistics(null, null, statistics.getNumNulls());
+            }
+            return null;
+        }
+        return new ColumnStatistics(statistics.genericGetMin(), statistics.genericGetMax(), statistics.getNumNulls());
+    }
+}
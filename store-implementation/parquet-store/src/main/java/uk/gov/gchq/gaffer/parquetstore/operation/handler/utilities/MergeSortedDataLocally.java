@@ -0,0 +1,285 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.parquetstore.io.reader.ParquetElementReader;
+import uk.gov.gchq.gaffer.parquetstore.io.writer.ParquetElementWriter;
+import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
+import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Merges a small list of new {@link Element}s into the existing, sorted and aggregated, Parquet file for a single
+ * partition of a group and writes the result to one sorted and aggregated file, without using Spark.
+ * <p>
+ * The new elements are sorted (and aggregated if the group requires it) in memory. The existing file is then streamed
+ * and merged with them, so only the new elements and the elements that share a sort key are held in memory at any
+ * time. The sort order matches the order produced by Spark when sorting by {@link SchemaUtils#columnsToSortBy}.
+ */
+public class MergeSortedDataLocally implements Callable<CallableResult> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MergeSortedDataLocally.class);
+
+    private final SchemaUtils schemaUtils;
+    private final FileSystem fs;
+    private final String existingFile;
+    private final List<Element> newElements;
+    private final String outputFile;
+    private final String group;
+    private final String id; // Used in the logging statements so that users of this class can provide some context as to what is being done
+    private final boolean reversed;
+    private final CompressionCodecName compressionCodecName;
+    private final int rowGroupSize;
+    private final int pageSize;
+    private final boolean aggregate;
+    private final GafferGroupObjectConverter converter;
+    private final ParquetObjectsComparator comparator = new ParquetObjectsComparator();
+    private ParquetWriter<Element> writer;
+
+    public MergeSortedDataLocally(final SchemaUtils schemaUtils,
+                                  final FileSystem fs,
+                                  final String existingFile,
+                                  final List<Element> newElements,
+                                  final String outputFile,
+                                  final String group,
+                                  final String id,
+                                  final boolean reversed,
+                                  final CompressionCodecName compressionCodecName,
+                                  final int rowGroupSize,
+                                  final int pageSize) throws SerialisationException {
+        this.schemaUtils = schemaUtils;
+        this.fs = fs;
+        this.existingFile = existingFile;
+        this.newElements = newElements;
+        this.outputFile = outputFile;
+        this.group = group;
+        this.id = id;
+        this.reversed = reversed;
+        this.compressionCodecName = compressionCodecName;
+        this.rowGroupSize = rowGroupSize;
+        this.pageSize = pageSize;
+        this.aggregate = schemaUtils.getGafferSchema().getAggregatedGroups().contains(group);
+        this.converter = schemaUtils.getConverter(group);
+    }
+
+    @Override
+    public CallableResult call() throws Exception {
+        final Schema schema = schemaUtils.getGafferSchema();
+        final List<Element> sortedNewElements = new ArrayList<>();
+        if (aggregate) {
+            AggregatorUtil.ingestAggregate(newElements, schema).forEach(sortedNewElements::add);
+        } else {
+            sortedNewElements.addAll(newElements);
+        }
+        final List<Object[]> newKeys = new ArrayList<>(sortedNewElements.size());
+        final List<Integer> order = new ArrayList<>(sortedNewElements.size());
+        for (int i = 0; i < sortedNewElements.size(); i++) {
+            newKeys.add(getSortKey(sortedNewElements.get(i)));
+            order.add(i);
+        }
+        order.sort((i, j) -> comparator.compare(newKeys.get(i), newKeys.get(j)));
+        LOGGER.info("Merging {} new elements with existing file {} for group {} and id {} (results will be written to {})",
+                sortedNewElements.size(), existingFile, group, id, outputFile);
+
+        final Path existingPath = new Path(existingFile);
+        final ParquetReader<Element> reader = fs.exists(existingPath)
+                ? new ParquetElementReader.Builder<Element>(existingPath)
+                .isEntity(schema.getEntityGroups().contains(group))
+                .usingConverter(converter)
+                .build()
+                : null;
+        try {
+            final Iterator<Integer> newIterator = order.iterator();
+            Element nextExisting = null == reader ? null : reader.read();
+            Object[] nextExistingKey = null == nextExisting ? null : getSortKey(nextExisting);
+            Element nextNew = null;
+            Object[] nextNewKey = null;
+            if (newIterator.hasNext()) {
+                final int index = newIterator.next();
+                nextNew = sortedNewElements.get(index);
+                nextNewKey = newKeys.get(index);
+            }
+
+            final List<Element> run = new ArrayList<>();
+            Object[] runKey = null;
+            while (null != nextExisting || null != nextNew) {
+                final Element element;
+                final Object[] key;
+                // Existing elements are taken first when the keys are equal
+                if (null != nextExisting && (null == nextNew || comparator.compare(nextExistingKey, nextNewKey) <= 0)) {
+                    element = nextExisting;
+                    key = nextExistingKey;
+                    nextExisting = reader.read();
+                    nextExistingKey = null == nextExisting ? null : getSortKey(nextExisting);
+                } else {
+                    element = nextNew;
+                    key = nextNewKey;
+                    if (newIterator.hasNext()) {
+                        final int index = newIterator.next();
+                        nextNew = sortedNewElements.get(index);
+                        nextNewKey = newKeys.get(index);
+                    } else {
+                        nextNew = null;
+                        nextNewKey = null;
+                    }
+                }
+                if (null != runKey && 0 != comparator.compare(runKey, key)) {
+                    writeRun(run, schema);
+                    run.clear();
+                }
+                runKey = key;
+                run.add(element);
+            }
+            writeRun(run, schema);
+        } finally {
+            if (null != reader) {
+                reader.close();
+            }
+            if (null != writer) {
+                writer.close();
+            }
+        }
+        return CallableResult.SUCCESS;
+    }
+
+    /**
+     * Writes a run of elements that share the same sort key, aggregating them if required.
+     */
+    private void writeRun(final List<Element> run, final Schema schema) throws IOException {
+        if (run.isEmpty()) {
+            return;
+        }
+        final Iterable<Element> toWrite = aggregate && run.size() > 1 ? AggregatorUtil.ingestAggregate(run, schema) : run;
+        for (final Element element : toWrite) {
+            getWriter().write(element);
+        }
+    }
+
+    private ParquetWriter<Element> getWriter() throws IOException {
+        if (null == writer) {
+            LOGGER.debug("Creating writer for group {} and id {} in path {}", group, id, outputFile);
+            writer = new ParquetElementWriter.Builder(new Path(outputFile))
+                    .withType(schemaUtils.getParquetSchema(group))
+                    .usingConverter(converter)
+                    .withSparkSchema(schemaUtils.getSparkSchema(group))
+                    .withCompressionCodec(compressionCodecName)
+                    .withRowGroupSize(rowGroupSize)
+                    .withPageSize(pageSize)
+                    .build();
+        }
+        return writer;
+    }
+
+    private Object[] getSortKey(final Element element) throws SerialisationException {
+        final Object[] coreKey = reversed
+                ? converter.corePropertiesToParquetObjectsForReversedEdge((Edge) element)
+                : converter.corePropertiesToParquetObjects(element);
+        final List<Object> key = new ArrayList<>();
+        for (final Object object : coreKey) {
+            key.add(object);
+        }
+        for (final String groupByProperty : schemaUtils.getGafferSchema().getElement(group).getGroupBy()) {
+            for (final Object object : converter.gafferObjectToParquetObjects(groupByProperty, element.getProperty(groupByProperty))) {
+                key.add(object);
+            }
+        }
+        return key.toArray();
+    }
+
+    /**
+     * Compares arrays of Parquet objects in the same way that Spark orders the corresponding columns: nulls first,
+     * strings by their UTF-8 bytes and binary values as unsigned bytes.
+     */
+    public static class ParquetObjectsComparator implements Comparator<Object[]>, Serializable {
+        private static final long serialVersionUID = -3164329843254987523L;
+
+        @Override
+        public int compare(final Object[] objects1, final Object[] objects2) {
+            final int length = Math.min(objects1.length, objects2.length);
+            for (int i = 0; i < length; i++) {
+                final int diff = compareObjects(objects1[i], objects2[i]);
+                if (0 != diff) {
+                    return diff;
+                }
+            }
+            return Integer.compare(objects1.length, objects2.length);
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static int compareObjects(final Object object1, final Object object2) {
+            if (null == object1) {
+                return null == object2 ? 0 : -1;
+            }
+            if (null == object2) {
+                return 1;
+            }
+            if (object1 instanceof byte[] && object2 instanceof byte[]) {
+                return compareBytes((byte[]) object1, (byte[]) object2);
+            }
+            if (object1 instanceof String && object2 instanceof String) {
+                return compareStrings((String) object1, (String) object2);
+            }
+            return ((Comparable) object1).compareTo(object2);
+        }
+
+        private static int compareBytes(final byte[] bytes1, final byte[] bytes2) {
+            final int length = Math.min(bytes1.length, bytes2.length);
+            for (int i = 0; i < length; i++) {
+                final int diff = (bytes1[i] & 0xff) - (bytes2[i] & 0xff);
+                if (0 != diff) {
+                    return diff;
+                }
+            }
+            return bytes1.length - bytes2.length;
+        }
+
+        private static int compareStrings(final String string1, final String string2) {
+            // Comparing code points gives the same order as comparing UTF-8 bytes
+            int i = 0;
+            int j = 0;
+            while (i < string1.length() && j < string2.length()) {
+                final int codePoint1 = string1.codePointAt(i);
+                final int codePoint2 = string2.codePointAt(j);
+                if (codePoint1 != codePoint2) {
+                    return Integer.compare(codePoint1, codePoint2);
+                }
+                i += Character.charCount(codePoint1);
+                j += Character.charCount(codePoint2);
+            }
+            return Integer.compare(string1.length() - i, string2.length() - j);
+        }
+    }
+}
@@ -22,7 +22,9 @@ import org.slf4j.LoggerFactory;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.DirectedType;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
@@ -30,22 +32,42 @@ import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
 import uk.gov.gchq.gaffer.parquetstore.query.ParquetQuery;
 import uk.gov.gchq.gaffer.parquetstore.query.QueryGenerator;
+import uk.gov.gchq.gaffer.parquetstore.statistics.GraphStatistics;
+import uk.gov.gchq.gaffer.parquetstore.statistics.GroupStatistics;
+import uk.gov.gchq.gaffer.store.optimiser.ResultLimitOperationChainOptimiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 /**
  * Converts the inputs for get element operations to a mapping of files to Parquet filters which is
  * then looped over to retrieve the filtered Elements.
+ * <p>
+ * The files are read on the {@link ParquetStore}'s shared, bounded reader thread pool and the elements are passed
+ * to the iterator through a bounded queue, so results are available as soon as the first file is being read. When
+ * the queue is full a reader pauses and gives its thread back to the pool, and the iterator resumes it once the
+ * consumer has read half of the queue. An iterator that is not being consumed therefore never holds a reader thread
+ * or holds up another query. Closing the iterator stops any outstanding reads and closes the files.
  */
 public class ParquetElementRetriever implements CloseableIterable<Element> {
     private static final Logger LOGGER = LoggerFactory.getLogger(ParquetElementRetriever.class);
@@ -67,6 +89,59 @@ public class ParquetElementRetriever implements CloseableIterable<Element> {
     public void close() {
     }
 
+    /**
+     * Returns the number of elements in each group that this retriever would return, calculated from the
+     * {@link GraphStatistics} of the store without reading any data. This is only possible for a
+     * {@link GetAllElements} operation whose view does not filter the elements, when there is no visibility property
+     * and no validation to apply and when the statistics are available.
+     *
+     * @return a map from group to the number of elements in that group, or null if the counts cannot be calculated
+     * from the statistics
+     */
+    public Map<String, Long> getGroupCountsFromStatistics() {
+        final GraphStatistics graphStatistics = store.getGraphStatistics();
+        if (!(operation instanceof GetAllElements) || null == graphStatistics) {
+            return null;
+        }
+        final GetAllElements getAllElements = (GetAllElements) operation;
+        if (null != getAllElements.getDirectedType() && DirectedType.EITHER != getAllElements.getDirectedType()) {
+            return null;
+        }
+        final Schema schema = store.getSchema();
+        if (null != schema.getVisibilityProperty()) {
+            return null;
+        }
+        final View view = getAllElements.getView();
+        final Set<String> groups = new HashSet<>();
+        if (null == view) {
+            groups.addAll(schema.getGroups());
+        } else {
+            for (final String group : view.getGroups()) {
+                final ViewElementDefinition ved = view.getElement(group);
+                if (null != ved && (ved.hasPreAggregationFilters() || ved.hasPostAggregationFilters()
+                        || ved.hasPostTransformFilters())) {
+                    return null;
+                }
+                if (schema.getGroups().contains(group)) {
+                    groups.add(group);
+                }
+            }
+        }
+        final Map<String, Long> groupCounts = new HashMap<>();
+        for (final String group : groups) {
+            final SchemaElementDefinition elementDef = schema.getElement(group);
+            if (!store.getProperties().getSkipValidation() && elementDef.hasValidation()) {
+                return null;
+            }
+            final GroupStatistics groupStatistics = graphStatistics.getGroupStatistics(group);
+            if (null == groupStatistics) {
+                return null;
+            }
+            groupCounts.put(group, groupStatistics.getRowCount());
+        }
+        return groupCounts;
+    }
+
     @Override
     public CloseableIterator<Element> iterator() {
         try {
@@ -77,9 +152,15 @@ public class ParquetElementRetriever implements CloseableIterable<Element> {
     }
 
     protected static class ParquetIterator implements CloseableIterator<Element> {
-        private ConcurrentLinkedQueue<Element> queue;
-        private List<Future<OperationException>> runningTasks;
-        private ExecutorService executorServicePool;
+        private static final long POLL_TIMEOUT_MILLIS = 100L;
+
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+        private final Queue<RetrieveElementsFromFile> pausedTasks = new ConcurrentLinkedQueue<>();
+        private BlockingQueue<Element> queue;
+        private int resumeCapacity;
+        private ExecutorService executorService;
+        private Map<RetrieveElementsFromFile, Future<OperationException>> runningTasks;
+        private Element nextElement;
 
         protected ParquetIterator(final ParquetStore store, final Operation operation, final User user) throws OperationException {
             final QueryGenerator queryGenerator = new QueryGenerator(store);
@@ -93,90 +174,135 @@ public class ParquetElementRetriever implements CloseableIterable<Element> {
                 final ParquetQuery parquetQuery = queryGenerator.getParquetQuery(operation);
                 LOGGER.debug("Created ParquetQuery {}", parquetQuery);
                 if (!parquetQuery.isEmpty()) {
-                    queue = new ConcurrentLinkedQueue<>();
-                    executorServicePool = Executors.newFixedThreadPool(store.getProperties().getThreadsAvailable());
-                    final List<RetrieveElementsFromFile> tasks = new ArrayList<>();
-                    tasks.addAll(parquetQuery.getAllParquetFileQueries()
+                    final int queueSize = getQueueSize(store, operation);
+                    queue = new ArrayBlockingQueue<>(queueSize);
+                    resumeCapacity = Math.max(1, queueSize / 2);
+                    final List<RetrieveElementsFromFile> tasks = parquetQuery.getAllParquetFileQueries()
                             .stream()
                             .map(entry -> new RetrieveElementsFromFile(entry.getFile(), entry.getFilter(),
                                     store.getSchema(), queue, !entry.isFullyApplied(),
-                                    store.getProperties().getSkipValidation(), view, user))
-                            .collect(Collectors.toList()));
-                    LOGGER.info("Invoking {} RetrieveElementsFromFile tasks", tasks.size());
-                    runningTasks = executorServicePool.invokeAll(tasks);
+                                    store.getProperties().getSkipValidation(), view, user,
+                                    store.getProperties().getColumnarReader(), closed, pausedTasks))
+                            .collect(Collectors.toList());
+                    LOGGER.info("Submitting {} RetrieveElementsFromFile tasks", tasks.size());
+                    executorService = store.getReaderExecutorService();
+                    runningTasks = new LinkedHashMap<>(tasks.size());
+                    for (final RetrieveElementsFromFile task : tasks) {
+                        runningTasks.put(task, executorService.submit(task));
+                    }
                 } else {
                     LOGGER.warn("No paths found - there will be no results from this query");
                 }
             } catch (final IOException | OperationException e) {
                 LOGGER.error("Exception while creating the mapping of file paths to Parquet filters: {}", e.getMessage());
+                close();
                 throw new OperationException("Exception creating ParquetIterator", e);
-            } catch (final InterruptedException e) {
-                LOGGER.error("InterruptedException in ParquetIterator {}", e.getMessage());
-                throw new OperationException("InterruptedException in ParquetIterator", e);
             }
         }
 
+        /**
+         * The readers pause once the queue is full, so if the caller will only read a limited number of
+         * elements there is no need to read further ahead than that.
+         */
+        private static int getQueueSize(final ParquetStore store, final Operation operation) {
+            final int queueSize = store.getProperties().getRetrieverQueueSize();
+            final Integer resultLimit = ResultLimitOperationChainOptimiser.getResultLimitHint(operation);
+            if (null == resultLimit) {
+                return queueSize;
+            }
+            return Math.max(1, Math.min(queueSize, resultLimit));
+        }
+
         @Override
         public boolean hasNext() {
-            if (null != queue) {
-                if (queue.isEmpty()) {
-                    boolean finishedAllTasks = runningTasks.isEmpty();
-                    while (!finishedAllTasks && queue.isEmpty()) {
-                        try {
-                            finishedAllTasks = hasFinishedAllTasks();
-                            if (!finishedAllTasks) {
-                                wait(100L);
-                            }
-                        } catch (final Exception e) {
-                            LOGGER.error(e.getMessage(), e);
-                            finishedAllTasks = true;
+            if (null != nextElement) {
+                return true;
+            }
+            if (null == queue) {
+                return false;
+            }
+            try {
+                while (null == nextElement) {
+                    resumePausedTasks();
+                    nextElement = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                    if (null == nextElement && hasFinishedAllTasks()) {
+                        // The tasks may have added elements between the poll and the check
+                        nextElement = queue.poll();
+                        if (null == nextElement) {
+                            close();
+                            return false;
                         }
                     }
-                    return !queue.isEmpty();
-                } else {
-                    return true;
                 }
-            } else {
-                return false;
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new RuntimeException("InterruptedException in ParquetIterator", e);
+            } catch (final ExecutionException | OperationException e) {
+                LOGGER.error("Exception while retrieving elements from Parquet files: {}", e.getMessage());
+                close();
+                throw new RuntimeException("Exception in ParquetIterator", e);
+            }
+            return true;
+        }
+
+        /**
+         * Submits the paused readers again once the consumer has made enough space in the queue for them to read a
+         * batch of elements.
+         */
+        private void resumePausedTasks() {
+            if (!pausedTasks.isEmpty() && queue.remainingCapacity() >= resumeCapacity) {
+                RetrieveElementsFromFile task = pausedTasks.poll();
+                while (null != task) {
+                    runningTasks.put(task, executorService.submit(task));
+                    task = pausedTasks.poll();
+                }
             }
         }
 
         private boolean hasFinishedAllTasks() throws ExecutionException, InterruptedException, OperationException {
-            final List<Future<OperationException>> completedTasks = new ArrayList<>();
-            for (final Future<OperationException> task : runningTasks) {
-                if (task.isDone()) {
-                    final OperationException taskResult = task.get();
+            final Iterator<Map.Entry<RetrieveElementsFromFile, Future<OperationException>>> tasks = runningTasks.entrySet().iterator();
+            while (tasks.hasNext()) {
+                final Map.Entry<RetrieveElementsFromFile, Future<OperationException>> task = tasks.next();
+                if (task.getValue().isDone()) {
+                    final OperationException taskResult = task.getValue().get();
                     if (null != taskResult) {
                         throw taskResult;
-                    } else {
-                        completedTasks.add(task);
+                    }
+                    if (task.getKey().isFinished()) {
+                        tasks.remove();
                     }
                 }
             }
-            runningTasks.removeAll(completedTasks);
             return runningTasks.isEmpty();
         }
 
         @Override
         public Element next() throws NoSuchElementException {
-            Element e;
-            while (hasNext()) {
-                e = queue.poll();
-                if (null != e) {
-                    return e;
-                }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
             }
-            throw new NoSuchElementException();
+            final Element element = nextElement;
+            nextElement = null;
+            return element;
         }
 
         @Override
         public void close() {
-            if (null != executorServicePool) {
-                executorServicePool.shutdown();
-                executorServicePool = null;
+            closed.set(true);
+            if (null != runningTasks) {
+                runningTasks.forEach((task, future) -> {
+                    future.cancel(false);
+                    task.closeIfNotRunning();
+                });
+                runningTasks = null;
+            }
+            pausedTasks.clear();
+            executorService = null;
+            if (null != queue) {
+                queue.clear();
+                queue = null;
             }
-            queue = null;
-            runningTasks = null;
         }
     }
 }
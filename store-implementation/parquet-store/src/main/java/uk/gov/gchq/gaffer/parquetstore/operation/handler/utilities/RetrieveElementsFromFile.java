@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
 
+import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
 import org.apache.parquet.filter2.compat.FilterCompat;
 import org.apache.parquet.filter2.predicate.FilterPredicate;
@@ -34,19 +35,28 @@ import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.parquetstore.io.reader.ParquetElementReader;
+import uk.gov.gchq.gaffer.parquetstore.io.reader.columnar.ColumnarElementReader;
 import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
 import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Used to retrieve the elements from a single file and put the elements into a shared
- * {@link java.util.concurrent.ConcurrentLinkedQueue}.
+ * {@link java.util.concurrent.BlockingQueue}. The task never waits for space in the queue. If the queue is full
+ * then the task keeps the file open, adds itself to the paused tasks and returns, so it does not hold a reader
+ * thread while the consumer is not reading. The consumer submits the task again once it has made space in the
+ * queue, and the task carries on from where it stopped. Setting the closed flag stops the file from being read any
+ * further and closes it.
  */
 public class RetrieveElementsFromFile implements Callable<OperationException> {
     private static final Logger LOGGER = LoggerFactory.getLogger(RetrieveElementsFromFile.class);
@@ -55,7 +65,7 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
     private final FilterPredicate filter;
     private final byte[] jsonGafferSchema;
     private transient SchemaUtils schemaUtils;
-    private final ConcurrentLinkedQueue<Element> queue;
+    private final BlockingQueue<Element> queue;
     private transient ElementFilter elementFilter;
     private final byte[] elementDefinitionJson;
     private final boolean needsValidatorsAndFiltersApplying;
@@ -65,15 +75,37 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
     private final Schema gafferSchema;
     private final Authorisations auths;
     private final String visibility;
+    private final boolean columnarReader;
+    private final AtomicBoolean closed;
+    private final Queue<RetrieveElementsFromFile> pausedTasks;
+    private ElementSource fileReader;
+    private Element pendingElement;
+    private boolean running;
+    private volatile boolean finished;
 
     public RetrieveElementsFromFile(final Path filePath,
                                     final FilterPredicate filter,
                                     final Schema gafferSchema,
-                                    final ConcurrentLinkedQueue<Element> queue,
+                                    final BlockingQueue<Element> queue,
                                     final boolean needsValidatorsAndFiltersApplying,
                                     final boolean skipValidation,
                                     final View view,
                                     final User user) {
+        this(filePath, filter, gafferSchema, queue, needsValidatorsAndFiltersApplying, skipValidation, view, user,
+                false, new AtomicBoolean(false), new ConcurrentLinkedQueue<>());
+    }
+
+    public RetrieveElementsFromFile(final Path filePath,
+                                    final FilterPredicate filter,
+                                    final Schema gafferSchema,
+                                    final BlockingQueue<Element> queue,
+                                    final boolean needsValidatorsAndFiltersApplying,
+                                    final boolean skipValidation,
+                                    final View view,
+                                    final User user,
+                                    final boolean columnarReader,
+                                    final AtomicBoolean closed,
+                                    final Queue<RetrieveElementsFromFile> pausedTasks) {
         LOGGER.info("Creating RetrieveElementsFromFile for path {} with predicate {}", filePath, filter);
         this.filePath = filePath;
         this.filter = filter;
@@ -97,6 +129,9 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
         this.view = view;
         this.needsValidatorsAndFiltersApplying = needsValidatorsAndFiltersApplying;
         this.skipValidation = skipValidation;
+        this.columnarReader = columnarReader;
+        this.closed = closed;
+        this.pausedTasks = pausedTasks;
         if (filePath.getName().contains("=")) {
             group = filePath.getName().split("=")[1];
         } else {
@@ -107,73 +142,169 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
 
     @Override
     public OperationException call() throws Exception {
-        if (null == elementFilter) {
-            elementFilter = new ViewElementDefinition.Builder().json(elementDefinitionJson).build().getPreAggregationFilter();
-        }
-        if (null == schemaUtils) {
-            schemaUtils = new SchemaUtils(Schema.fromJson(jsonGafferSchema));
+        synchronized (this) {
+            if (closed.get() || finished) {
+                closeReader();
+                return null;
+            }
+            running = true;
         }
+        boolean paused = false;
         try {
-            final ParquetReader<Element> fileReader = openParquetReader();
+            if (null == fileReader) {
+                if (null == elementFilter) {
+                    elementFilter = new ViewElementDefinition.Builder().json(elementDefinitionJson).build().getPreAggregationFilter();
+                }
+                if (null == schemaUtils) {
+                    schemaUtils = new SchemaUtils(Schema.fromJson(jsonGafferSchema));
+                }
+                fileReader = openReader();
+            }
+            if (null != pendingElement) {
+                if (!queue.offer(pendingElement)) {
+                    paused = true;
+                    return null;
+                }
+                pendingElement = null;
+            }
             Element e = fileReader.read();
-            while (null != e) {
-                if (!visibility.isEmpty()) {
-                    if (isVisible(e)) {
-                        if (needsValidatorsAndFiltersApplying) {
-                            final String group = e.getGroup();
-                            final ElementFilter validatorFilter = gafferSchema.getElement(group).getValidator(false);
-                            if (skipValidation || validatorFilter == null || validatorFilter.test(e)) {
-                                if (elementFilter == null || elementFilter.test(e)) {
-                                    ViewUtil.removeProperties(view, e);
-                                    queue.add(e);
-                                }
-                            }
-                        } else {
-                            ViewUtil.removeProperties(view, e);
-                            queue.add(e);
-                        }
-                    }
-                } else if (needsValidatorsAndFiltersApplying) {
-                    final String group = e.getGroup();
-                    final ElementFilter validatorFilter = gafferSchema.getElement(group).getValidator(false);
-                    if (skipValidation || validatorFilter == null || validatorFilter.test(e)) {
-                        if (elementFilter == null || elementFilter.test(e)) {
-                            ViewUtil.removeProperties(view, e);
-                            queue.add(e);
-                        }
-                    }
-                } else {
+            while (null != e && !closed.get()) {
+                if (isRequired(e)) {
                     ViewUtil.removeProperties(view, e);
-                    queue.add(e);
+                    if (!queue.offer(e)) {
+                        pendingElement = e;
+                        paused = true;
+                        return null;
+                    }
                 }
                 e = fileReader.read();
             }
-            fileReader.close();
+            finished = null == e;
         } catch (final IOException ignore) {
             LOGGER.error("IOException reading file", ignore);
             // ignore as this file does not exist
+            finished = true;
+        } finally {
+            synchronized (this) {
+                running = false;
+                if (closed.get() || !paused) {
+                    closeReader();
+                }
+            }
+            if (paused && !closed.get()) {
+                pausedTasks.add(this);
+            }
         }
         return null;
     }
 
-    private ParquetReader<Element> openParquetReader() throws IOException {
+    /**
+     * @return true if the whole file has been read, or it could not be read
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Closes the file if the task is not running. A running task closes the file itself when it sees that the
+     * query has been closed.
+     */
+    public synchronized void closeIfNotRunning() {
+        if (!running) {
+            closeReader();
+        }
+    }
+
+    private void closeReader() {
+        pendingElement = null;
+        if (null != fileReader) {
+            try {
+                fileReader.close();
+            } catch (final IOException e) {
+                LOGGER.warn("Failed to close reader for file {}", filePath, e);
+            }
+            fileReader = null;
+        }
+    }
+
+    private boolean isRequired(final Element e) throws VisibilityParseException {
+        if (!visibility.isEmpty() && !isVisible(e)) {
+            return false;
+        }
+        if (needsValidatorsAndFiltersApplying) {
+            final ElementFilter validatorFilter = gafferSchema.getElement(e.getGroup()).getValidator(false);
+            if (!skipValidation && null != validatorFilter && !validatorFilter.test(e)) {
+                return false;
+            }
+            return null == elementFilter || elementFilter.test(e);
+        }
+        return true;
+    }
+
+    private ElementSource openReader() throws IOException {
         final boolean isEntity = schemaUtils.getEntityGroups().contains(group);
         final GafferGroupObjectConverter converter = schemaUtils.getConverter(group);
-        LOGGER.debug("Opening a new Parquet reader for file {}", filePath);
+        final Set<String> columnsToRead = schemaUtils.getColumnsToRead(view, group);
+        if (columnarReader) {
+            final ColumnarElementReader reader = ColumnarElementReader.open(new Configuration(), filePath, isEntity,
+                    converter, columnsToRead, filter, ColumnarElementReader.DEFAULT_BATCH_SIZE);
+            if (null != reader) {
+                LOGGER.debug("Opened a new columnar reader for file {} reading columns {}", filePath, columnsToRead);
+                return new ElementSource() {
+                    @Override
+                    public Element read() throws IOException {
+                        return reader.read();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        reader.close();
+                    }
+                };
+            }
+            LOGGER.debug("File {} has repeated columns so it will be read a row at a time", filePath);
+        }
+        final ParquetReader<Element> reader = openParquetReader(isEntity, converter, columnsToRead);
+        return new ElementSource() {
+            @Override
+            public Element read() throws IOException {
+                return reader.read();
+            }
+
+            @Override
+            public void close() throws IOException {
+                reader.close();
+            }
+        };
+    }
+
+    private ParquetReader<Element> openParquetReader(final boolean isEntity,
+                                                     final GafferGroupObjectConverter converter,
+                                                     final Set<String> columnsToRead) throws IOException {
+        LOGGER.debug("Opening a new Parquet reader for file {} reading columns {}", filePath, columnsToRead);
         if (null != filter) {
             return new ParquetElementReader.Builder<Element>(filePath)
                     .isEntity(isEntity)
                     .usingConverter(converter)
+                    .withColumnsToRead(columnsToRead)
                     .withFilter(FilterCompat.get(filter))
                     .build();
         } else {
             return new ParquetElementReader.Builder<Element>(filePath)
                     .isEntity(isEntity)
                     .usingConverter(converter)
+                    .withColumnsToRead(columnsToRead)
                     .build();
         }
     }
 
+    /**
+     * Common interface for the row based and the columnar readers.
+     */
+    private interface ElementSource extends Closeable {
+        Element read() throws IOException;
+    }
+
     private Boolean isVisible(final Element e) throws VisibilityParseException {
         if (e.getProperty(visibility) != null) {
             final VisibilityEvaluator visibilityEvaluator = new VisibilityEvaluator(auths);
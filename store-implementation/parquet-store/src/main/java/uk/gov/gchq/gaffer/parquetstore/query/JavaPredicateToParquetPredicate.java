@@ -27,14 +27,17 @@ import uk.gov.gchq.koryphe.impl.predicate.AgeOff;
 import uk.gov.gchq.koryphe.impl.predicate.And;
 import uk.gov.gchq.koryphe.impl.predicate.IsEqual;
 import uk.gov.gchq.koryphe.impl.predicate.IsFalse;
+import uk.gov.gchq.koryphe.impl.predicate.IsIn;
 import uk.gov.gchq.koryphe.impl.predicate.IsLessThan;
 import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
 import uk.gov.gchq.koryphe.impl.predicate.IsTrue;
 import uk.gov.gchq.koryphe.impl.predicate.Not;
 import uk.gov.gchq.koryphe.impl.predicate.Or;
+import uk.gov.gchq.koryphe.impl.predicate.range.InRange;
 import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
 
 import java.util.List;
+import java.util.Set;
 import java.util.function.Predicate;
 
 import static org.apache.parquet.filter2.predicate.FilterApi.and;
@@ -85,9 +88,12 @@ public class JavaPredicateToParquetPredicate {
             final JavaPredicateToParquetPredicate predicateConverter = new JavaPredicateToParquetPredicate(schemaUtils, not.getPredicate(), selection, group);
             final FilterPredicate parquetPredicate = predicateConverter.getParquetPredicate();
             if (!predicateConverter.fullyApplied) {
+                // The negation of a partially applied filter would wrongly exclude elements
                 fullyApplied = false;
+                filterResult = null;
+            } else {
+                filterResult = FilterPredicateUtils.not(parquetPredicate);
             }
-            filterResult = FilterPredicateUtils.not(parquetPredicate);
         } else {
             filterResult = getPrimitiveFilter(javaPredicate, selection[0], group, schemaUtils);
         }
@@ -172,7 +178,9 @@ public class JavaPredicateToParquetPredicate {
             final JavaPredicateToParquetPredicate predicateConverter = new JavaPredicateToParquetPredicate(schemaUtils, filterFunction, newSelection, group);
             final FilterPredicate parquetPredicate = predicateConverter.getParquetPredicate();
             if (!predicateConverter.fullyApplied) {
+                // Dropping one side of an Or would wrongly exclude elements
                 fullyApplied = false;
+                return null;
             }
             combinedFilter = FilterPredicateUtils.or(combinedFilter, parquetPredicate);
         }
@@ -209,6 +217,10 @@ public class JavaPredicateToParquetPredicate {
                 return getIsMoreThanOrEqualToFilter(selection, parquetObjects, group, schemaUtils);
             }
             return getIsMoreThanFilter(selection, parquetObjects, group, schemaUtils);
+        } else if (filterFunction instanceof IsIn) {
+            return getIsInFilter(((IsIn) filterFunction).getAllowedValues(), selection, group, schemaUtils);
+        } else if (filterFunction instanceof InRange) {
+            return getInRangeFilter((InRange<?>) filterFunction, selection, group, schemaUtils);
         } else if (filterFunction instanceof IsTrue) {
             return eq(booleanColumn(selection), true);
         } else if (filterFunction instanceof IsFalse) {
@@ -221,6 +233,69 @@ public class JavaPredicateToParquetPredicate {
         }
     }
 
+    private FilterPredicate getIsInFilter(final Set<Object> allowedValues,
+                                          final String selection,
+                                          final String group,
+                                          final SchemaUtils schemaUtils) throws SerialisationException {
+        if (null == allowedValues || allowedValues.isEmpty()) {
+            fullyApplied = false;
+            return null;
+        }
+        FilterPredicate filter = null;
+        for (final Object allowedValue : allowedValues) {
+            if (null == allowedValue) {
+                fullyApplied = false;
+                return null;
+            }
+            final Object[] parquetObjects = schemaUtils
+                    .getConverter(group)
+                    .gafferObjectToParquetObjects(selection, allowedValue);
+            final FilterPredicate isEqualFilter = getIsEqualFilter(selection, parquetObjects, group, schemaUtils);
+            if (null == isEqualFilter) {
+                return null;
+            }
+            filter = FilterPredicateUtils.or(filter, isEqualFilter);
+        }
+        return filter;
+    }
+
+    private FilterPredicate getInRangeFilter(final InRange<?> inRange,
+                                             final String selection,
+                                             final String group,
+                                             final SchemaUtils schemaUtils) throws SerialisationException {
+        // A null start or end means the range is unbounded and both bounds are inclusive unless set otherwise
+        FilterPredicate filter = null;
+        if (null != inRange.getStart()) {
+            final Object[] parquetObjects = schemaUtils
+                    .getConverter(group)
+                    .gafferObjectToParquetObjects(selection, inRange.getStart());
+            final FilterPredicate startFilter = Boolean.FALSE.equals(inRange.isStartInclusive())
+                    ? getIsMoreThanFilter(selection, parquetObjects, group, schemaUtils)
+                    : getIsMoreThanOrEqualToFilter(selection, parquetObjects, group, schemaUtils);
+            if (null == startFilter) {
+                return null;
+            }
+            filter = startFilter;
+        }
+        if (null != inRange.getEnd()) {
+            final Object[] parquetObjects = schemaUtils
+                    .getConverter(group)
+                    .gafferObjectToParquetObjects(selection, inRange.getEnd());
+            final FilterPredicate endFilter = Boolean.FALSE.equals(inRange.isEndInclusive())
+                    ? getIsLessThanFilter(selection, parquetObjects, group, schemaUtils)
+                    : getIsLessThanOrEqualToFilter(selection, parquetObjects, group, schemaUtils);
+            if (null == endFilter) {
+                return null;
+            }
+            filter = FilterPredicateUtils.and(filter, endFilter);
+        }
+        if (null == filter) {
+            // An unbounded range still excludes null values
+            fullyApplied = false;
+        }
+        return filter;
+    }
+
     public FilterPredicate getIsEqualFilter(final String colName,
                                             final Object[] parquetObjects,
                                             final String group,
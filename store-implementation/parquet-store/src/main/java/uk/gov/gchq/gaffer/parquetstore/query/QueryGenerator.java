@@ -38,6 +38,9 @@ import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.GraphPartitioner;
+import uk.gov.gchq.gaffer.parquetstore.statistics.GraphStatistics;
+import uk.gov.gchq.gaffer.parquetstore.statistics.GroupStatistics;
+import uk.gov.gchq.gaffer.parquetstore.statistics.StatisticsFilter;
 import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
 import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
 import uk.gov.gchq.koryphe.tuple.n.Tuple3;
@@ -112,11 +115,16 @@ public class QueryGenerator {
             }
         }
 
-        // Stage 4: Build a ParquetQuery by iterating through the map from group to list of Paths
+        // Stage 4: Build a ParquetQuery by iterating through the map from group to list of Paths, skipping files
+        // whose statistics show that they cannot contain any matching data
         final ParquetQuery parquetQuery = new ParquetQuery();
         for (final Map.Entry<String, List<Path>> entry : groupToPaths.entrySet()) {
             for (final Path path : entry.getValue()) {
                 final String group = entry.getKey();
+                if (groupToPredicate.containsKey(group) && canSkip(path, group, false, groupToPredicate.get(group).getFirst())) {
+                    LOGGER.debug("Skipping file {} as its statistics show it cannot match the filter", path);
+                    continue;
+                }
                 final ParquetFileQuery fileQuery = groupToPredicate.containsKey(group) ?
                         new ParquetFileQuery(path, groupToPredicate.get(group).getFirst(), groupToPredicate.get(group).getSecond())
                                 : new ParquetFileQuery(path, null, false);
@@ -127,6 +135,24 @@ public class QueryGenerator {
         return parquetQuery;
     }
 
+    /**
+     * Uses the {@link GraphStatistics} of the store, if available, to determine whether a file cannot contain any data
+     * matching the given filter.
+     */
+    private boolean canSkip(final Path path, final String group, final boolean reversed, final FilterPredicate filterPredicate) {
+        final GraphStatistics graphStatistics = store.getGraphStatistics();
+        if (null == graphStatistics || null == filterPredicate) {
+            return false;
+        }
+        final GroupStatistics groupStatistics = reversed
+                ? graphStatistics.getGroupStatisticsForReversedEdges(group)
+                : graphStatistics.getGroupStatistics(group);
+        if (null == groupStatistics) {
+            return false;
+        }
+        return StatisticsFilter.canDrop(filterPredicate, groupStatistics.getFileStatistics(path.getName()));
+    }
+
     private Set<String> getRelevantGroups(final View view) {
         final Set<String> allRelevantGroups = new HashSet<>();
         if (null != view) {
@@ -206,6 +232,10 @@ public class QueryGenerator {
                     // Put view predicate first as filter for checking whether it matches one of many seeds could be complex
                     filterPredicate = FilterPredicateUtils.and(viewFilterPredicate.getFirst(), filterPredicate);
                 }
+                if (canSkip(pathInfo.getPath(), group, pathInfo.isReversed(), filterPredicate)) {
+                    LOGGER.debug("Skipping file {} as its statistics show it cannot match the filter", pathInfo.getPath());
+                    continue;
+                }
                 final ParquetFileQuery fileQuery = new ParquetFileQuery(pathInfo.getPath(), filterPredicate, viewFilterPredicate.getSecond());
                 parquetQuery.add(group, fileQuery);
             }
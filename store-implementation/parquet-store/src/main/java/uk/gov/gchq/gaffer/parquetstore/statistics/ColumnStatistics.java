@@ -0,0 +1,113 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.statistics;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+
+/**
+ * A <code>ColumnStatistics</code> holds the minimum and maximum non-null values and the number of null values of a
+ * single Parquet column within a file. The minimum and maximum are null if the column only contains null values.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class ColumnStatistics {
+    private final Comparable min;
+    private final Comparable max;
+    private final long nullCount;
+
+    public ColumnStatistics(final Comparable min, final Comparable max, final long nullCount) {
+        if ((null == min) != (null == max)) {
+            throw new IllegalArgumentException("The min and max must either both be null or both be non-null");
+        }
+        this.min = min;
+        this.max = max;
+        this.nullCount = nullCount;
+    }
+
+    public Comparable getMin() {
+        return min;
+    }
+
+    public Comparable getMax() {
+        return max;
+    }
+
+    public long getNullCount() {
+        return nullCount;
+    }
+
+    public boolean hasNonNullValue() {
+        return null != min;
+    }
+
+    /**
+     * Combines these statistics with the statistics for another part of the same column.
+     *
+     * @param other the statistics to combine with these
+     * @return the combined statistics
+     */
+    public ColumnStatistics merge(final ColumnStatistics other) {
+        if (!other.hasNonNullValue()) {
+            return new ColumnStatistics(min, max, nullCount + other.nullCount);
+        }
+        if (!hasNonNullValue()) {
+            return new ColumnStatistics(other.min, other.max, nullCount + other.nullCount);
+        }
+        final Comparable mergedMin = min.compareTo(other.min) <= 0 ? min : other.min;
+        final Comparable mergedMax = max.compareTo(other.max) >= 0 ? max : other.max;
+        return new ColumnStatistics(mergedMin, mergedMax, nullCount + other.nullCount);
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("min", min)
+                .append("max", max)
+                .append("nullCount", nullCount)
+                .toString();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (null == obj || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        final ColumnStatistics other = (ColumnStatistics) obj;
+
+        return new EqualsBuilder()
+                .append(min, other.min)
+                .append(max, other.max)
+                .append(nullCount, other.nullCount)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(17, 37)
+                .append(min)
+                .append(max)
+                .append(nullCount)
+                .toHashCode();
+    }
+}
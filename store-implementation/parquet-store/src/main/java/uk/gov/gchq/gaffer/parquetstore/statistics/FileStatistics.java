@@ -0,0 +1,95 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.statistics;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A <code>FileStatistics</code> holds the number of rows in a single Parquet file and the {@link ColumnStatistics}
+ * of the columns for which statistics are available, keyed by the dot separated column path.
+ */
+public class FileStatistics {
+    private final long rowCount;
+    private final Map<String, ColumnStatistics> columnToStatistics;
+
+    public FileStatistics(final long rowCount) {
+        this.rowCount = rowCount;
+        this.columnToStatistics = new HashMap<>();
+    }
+
+    public void addColumnStatistics(final String column, final ColumnStatistics columnStatistics) {
+        columnToStatistics.put(column, columnStatistics);
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @param column the dot separated path of the column
+     * @return the statistics for the column, or null if there are no statistics for the column
+     */
+    public ColumnStatistics getColumnStatistics(final String column) {
+        return columnToStatistics.get(column);
+    }
+
+    public Set<String> getColumns() {
+        return Collections.unmodifiableSet(columnToStatistics.keySet());
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("rowCount", rowCount)
+                .append("columnToStatistics", columnToStatistics)
+                .toString();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (null == obj || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        final FileStatistics other = (FileStatistics) obj;
+
+        return new EqualsBuilder()
+                .append(rowCount, other.rowCount)
+                .append(columnToStatistics, other.columnToStatistics)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(17, 37)
+                .append(rowCount)
+                .append(columnToStatistics)
+                .toHashCode();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.statistics;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A <code>GraphStatistics</code> holds the {@link GroupStatistics} for each group directory in a snapshot of the
+ * graph. The statistics are derived from the Parquet file footers and are used to prune files that cannot match a
+ * query and to answer counts without reading the data.
+ */
+public class GraphStatistics {
+    private final Map<String, GroupStatistics> groupToStatistics;
+    private final Map<String, GroupStatistics> reversedEdgesGroupToStatistics;
+
+    public GraphStatistics() {
+        this.groupToStatistics = new HashMap<>();
+        this.reversedEdgesGroupToStatistics = new HashMap<>();
+    }
+
+    public void addGroupStatistics(final String group, final GroupStatistics groupStatistics) {
+        if (groupToStatistics.containsKey(group)) {
+            throw new IllegalArgumentException("Cannot overwrite the groupStatistics of a group that already exists in groupToStatistics (group was "
+                    + group + ")");
+        }
+        groupToStatistics.put(group, groupStatistics);
+    }
+
+    public void addGroupStatisticsForReversedEdges(final String group, final GroupStatistics groupStatistics) {
+        if (reversedEdgesGroupToStatistics.containsKey(group)) {
+            throw new IllegalArgumentException("Cannot overwrite the groupStatistics of a group that already exists in reversedEdgesGroupToStatistics (group was "
+                    + group + ")");
+        }
+        reversedEdgesGroupToStatistics.put(group, groupStatistics);
+    }
+
+    /**
+     * @param group the group
+     * @return the statistics for the group, or null if there are no statistics for the group
+     */
+    public GroupStatistics getGroupStatistics(final String group) {
+        return groupToStatistics.get(group);
+    }
+
+    /**
+     * @param group the group
+     * @return the statistics for the reversed edges of the group, or null if there are no statistics for them
+     */
+    public GroupStatistics getGroupStatisticsForReversedEdges(final String group) {
+        return reversedEdgesGroupToStatistics.get(group);
+    }
+
+    public Set<String> getGroups() {
+        return Collections.unmodifiableSet(groupToStatistics.keySet());
+    }
+
+    public Set<String> getGroupsForReversedEdges() {
+        return Collections.unmodifiableSet(reversedEdgesGroupToStatistics.keySet());
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("groupToStatistics", groupToStatistics)
+                .append("reversedEdgesGroupToStatistics", reversedEdgesGroupToStatistics)
+                .toString();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (null == obj || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        final GraphStatistics other = (GraphStatistics) obj;
+
+        return new EqualsBuilder()
+                .append(groupToStatistics, other.groupToStatistics)
+                .append(reversedEdgesGroupToStatistics, other.reversedEdgesGroupToStatistics)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(17, 37)
+                .append(groupToStatistics)
+                .append(reversedEdgesGroupToStatistics)
+                .toHashCode();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.statistics;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A <code>GroupStatistics</code> holds the {@link FileStatistics} for each of the Parquet files within a group
+ * directory, keyed by the file name.
+ */
+public class GroupStatistics {
+    private final String group;
+    private final Map<String, FileStatistics> fileToStatistics;
+
+    public GroupStatistics(final String group) {
+        this.group = group;
+        this.fileToStatistics = new HashMap<>();
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public void addFileStatistics(final String fileName, final FileStatistics fileStatistics) {
+        fileToStatistics.put(fileName, fileStatistics);
+    }
+
+    /**
+     * @param fileName the name of the file
+     * @return the statistics for the file, or null if there are no statistics for the file
+     */
+    public FileStatistics getFileStatistics(final String fileName) {
+        return fileToStatistics.get(fileName);
+    }
+
+    public Set<String> getFileNames() {
+        return Collections.unmodifiableSet(fileToStatistics.keySet());
+    }
+
+    public long getRowCount() {
+        long rowCount = 0L;
+        for (final FileStatistics fileStatistics : fileToStatistics.values()) {
+            rowCount += fileStatistics.getRowCount();
+        }
+        return rowCount;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("group", group)
+                .append("fileToStatistics", fileToStatistics)
+                .toString();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (null == obj || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        final GroupStatistics other = (GroupStatistics) obj;
+
+        return new EqualsBuilder()
+                .append(group, other.group)
+                .append(fileToStatistics, other.fileToStatistics)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(17, 37)
+                .append(group)
+                .append(fileToStatistics)
+                .toHashCode();
+    }
+}
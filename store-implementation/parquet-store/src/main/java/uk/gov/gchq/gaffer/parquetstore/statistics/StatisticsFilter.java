@@ -0,0 +1,185 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.statistics;
+
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators;
+import org.apache.parquet.filter2.predicate.UserDefinedPredicate;
+
+/**
+ * A <code>StatisticsFilter</code> uses the {@link FileStatistics} of a Parquet file to decide whether a
+ * {@link FilterPredicate} can possibly match any row of the file. It is conservative: a file is only dropped if it is
+ * certain that no row matches, so if there are no statistics for a column then the file is always kept.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public final class StatisticsFilter implements FilterPredicate.Visitor<Boolean> {
+    private final FileStatistics fileStatistics;
+
+    private StatisticsFilter(final FileStatistics fileStatistics) {
+        this.fileStatistics = fileStatistics;
+    }
+
+    /**
+     * @param filterPredicate the predicate that will be applied when the file is read, may be null
+     * @param fileStatistics  the statistics of the file
+     * @return true if it is certain that no row of the file matches the predicate
+     */
+    public static boolean canDrop(final FilterPredicate filterPredicate, final FileStatistics fileStatistics) {
+        if (null == filterPredicate || null == fileStatistics) {
+            return false;
+        }
+        if (0L == fileStatistics.getRowCount()) {
+            return true;
+        }
+        return filterPredicate.accept(new StatisticsFilter(fileStatistics));
+    }
+
+    private ColumnStatistics getStatistics(final Operators.Column<?> column) {
+        return fileStatistics.getColumnStatistics(column.getColumnPath().toDotString());
+    }
+
+    private boolean isAllNull(final ColumnStatistics statistics) {
+        return !statistics.hasNonNullValue() && statistics.getNullCount() == fileStatistics.getRowCount();
+    }
+
+    /**
+     * Compares a value from a predicate to a value from the statistics.
+     *
+     * @return the result of the comparison or null if the values cannot be compared
+     */
+    private static Integer compare(final Comparable value, final Comparable statisticsValue) {
+        try {
+            return value.compareTo(statisticsValue);
+        } catch (final ClassCastException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public <T extends Comparable<T>> Boolean visit(final Operators.Eq<T> eq) {
+        final ColumnStatistics statistics = getStatistics(eq.getColumn());
+        if (null == statistics) {
+            return false;
+        }
+        final T value = eq.getValue();
+        if (null == value) {
+            return 0L == statistics.getNullCount();
+        }
+        if (!statistics.hasNonNullValue()) {
+            return isAllNull(statistics);
+        }
+        final Integer comparedToMin = compare(value, statistics.getMin());
+        final Integer comparedToMax = compare(value, statistics.getMax());
+        return null != comparedToMin && null != comparedToMax && (comparedToMin < 0 || comparedToMax > 0);
+    }
+
+    @Override
+    public <T extends Comparable<T>> Boolean visit(final Operators.NotEq<T> notEq) {
+        final ColumnStatistics statistics = getStatistics(notEq.getColumn());
+        if (null == statistics) {
+            return false;
+        }
+        final T value = notEq.getValue();
+        if (null == value) {
+            return isAllNull(statistics);
+        }
+        if (!statistics.hasNonNullValue() || 0L != statistics.getNullCount()) {
+            return false;
+        }
+        final Integer comparedToMin = compare(value, statistics.getMin());
+        final Integer comparedToMax = compare(value, statistics.getMax());
+        return null != comparedToMin && null != comparedToMax && 0 == comparedToMin && 0 == comparedToMax;
+    }
+
+    @Override
+    public <T extends Comparable<T>> Boolean visit(final Operators.Lt<T> lt) {
+        final ColumnStatistics statistics = getStatistics(lt.getColumn());
+        if (null == statistics) {
+            return false;
+        }
+        if (!statistics.hasNonNullValue()) {
+            return isAllNull(statistics);
+        }
+        final Integer comparedToMin = compare(lt.getValue(), statistics.getMin());
+        return null != comparedToMin && comparedToMin <= 0;
+    }
+
+    @Override
+    public <T extends Comparable<T>> Boolean visit(final Operators.LtEq<T> ltEq) {
+        final ColumnStatistics statistics = getStatistics(ltEq.getColumn());
+        if (null == statistics) {
+            return false;
+        }
+        if (!statistics.hasNonNullValue()) {
+            return isAllNull(statistics);
+        }
+        final Integer comparedToMin = compare(ltEq.getValue(), statistics.getMin());
+        return null != comparedToMin && comparedToMin < 0;
+    }
+
+    @Override
+    public <T extends Comparable<T>> Boolean visit(final Operators.Gt<T> gt) {
+        final ColumnStatistics statistics = getStatistics(gt.getColumn());
+        if (null == statistics) {
+            return false;
+        }
+        if (!statistics.hasNonNullValue()) {
+            return isAllNull(statistics);
+        }
+        final Integer comparedToMax = compare(gt.getValue(), statistics.getMax());
+        return null != comparedToMax && comparedToMax >= 0;
+    }
+
+    @Override
+    public <T extends Comparable<T>> Boolean visit(final Operators.GtEq<T> gtEq) {
+        final ColumnStatistics statistics = getStatistics(gtEq.getColumn());
+        if (null == statistics) {
+            return false;
+        }
+        if (!statistics.hasNonNullValue()) {
+            return isAllNull(statistics);
+        }
+        final Integer comparedToMax = compare(gtEq.getValue(), statistics.getMax());
+        return null != comparedToMax && comparedToMax > 0;
+    }
+
+    @Override
+    public Boolean visit(final Operators.And and) {
+        return and.getLeft().accept(this) || and.getRight().accept(this);
+    }
+
+    @Override
+    public Boolean visit(final Operators.Or or) {
+        return or.getLeft().accept(this) && or.getRight().accept(this);
+    }
+
+    @Override
+    public Boolean visit(final Operators.Not not) {
+        // Negations should have been pushed down by LogicalInverseRewriter; be conservative if they were not.
+        return false;
+    }
+
+    @Override
+    public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> Boolean visit(final Operators.UserDefined<T, U> udp) {
+        return false;
+    }
+
+    @Override
+    public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> Boolean visit(final Operators.LogicalNotUserDefined<T, U> udp) {
+        return false;
+    }
+}
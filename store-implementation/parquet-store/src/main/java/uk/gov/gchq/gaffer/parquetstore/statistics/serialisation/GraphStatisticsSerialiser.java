@@ -0,0 +1,153 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.statistics.serialisation;
+
+import uk.gov.gchq.gaffer.parquetstore.statistics.ColumnStatistics;
+import uk.gov.gchq.gaffer.parquetstore.statistics.FileStatistics;
+import uk.gov.gchq.gaffer.parquetstore.statistics.GraphStatistics;
+import uk.gov.gchq.gaffer.parquetstore.statistics.GroupStatistics;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Set;
+
+public class GraphStatisticsSerialiser {
+    private static final byte NULL = 0;
+    private static final byte BOOLEAN = 1;
+    private static final byte INTEGER = 2;
+    private static final byte LONG = 3;
+    private static final byte FLOAT = 4;
+    private static final byte DOUBLE = 5;
+
+    public void write(final GraphStatistics graphStatistics, final DataOutputStream stream) throws IOException {
+        final Set<String> groups = graphStatistics.getGroups();
+        stream.writeInt(groups.size());
+        for (final String group : groups) {
+            writeGroupStatistics(graphStatistics.getGroupStatistics(group), stream);
+        }
+        final Set<String> groupsForReversedEdges = graphStatistics.getGroupsForReversedEdges();
+        stream.writeInt(groupsForReversedEdges.size());
+        for (final String group : groupsForReversedEdges) {
+            writeGroupStatistics(graphStatistics.getGroupStatisticsForReversedEdges(group), stream);
+        }
+    }
+
+    public GraphStatistics read(final DataInputStream stream) throws IOException {
+        final GraphStatistics graphStatistics = new GraphStatistics();
+        int numGroups = stream.readInt();
+        for (int i = 0; i < numGroups; i++) {
+            final GroupStatistics groupStatistics = readGroupStatistics(stream);
+            graphStatistics.addGroupStatistics(groupStatistics.getGroup(), groupStatistics);
+        }
+        numGroups = stream.readInt();
+        for (int i = 0; i < numGroups; i++) {
+            final GroupStatistics groupStatistics = readGroupStatistics(stream);
+            graphStatistics.addGroupStatisticsForReversedEdges(groupStatistics.getGroup(), groupStatistics);
+        }
+        return graphStatistics;
+    }
+
+    private void writeGroupStatistics(final GroupStatistics groupStatistics, final DataOutputStream stream) throws IOException {
+        stream.writeUTF(groupStatistics.getGroup());
+        final Set<String> fileNames = groupStatistics.getFileNames();
+        stream.writeInt(fileNames.size());
+        for (final String fileName : fileNames) {
+            stream.writeUTF(fileName);
+            writeFileStatistics(groupStatistics.getFileStatistics(fileName), stream);
+        }
+    }
+
+    private GroupStatistics readGroupStatistics(final DataInputStream stream) throws IOException {
+        final GroupStatistics groupStatistics = new GroupStatistics(stream.readUTF());
+        final int numFiles = stream.readInt();
+        for (int i = 0; i < numFiles; i++) {
+            final String fileName = stream.readUTF();
+            groupStatistics.addFileStatistics(fileName, readFileStatistics(stream));
+        }
+        return groupStatistics;
+    }
+
+    private void writeFileStatistics(final FileStatistics fileStatistics, final DataOutputStream stream) throws IOException {
+        stream.writeLong(fileStatistics.getRowCount());
+        final Set<String> columns = fileStatistics.getColumns();
+        stream.writeInt(columns.size());
+        for (final String column : columns) {
+            final ColumnStatistics columnStatistics = fileStatistics.getColumnStatistics(column);
+            stream.writeUTF(column);
+            writeValue(columnStatistics.getMin(), stream);
+            writeValue(columnStatistics.getMax(), stream);
+            stream.writeLong(columnStatistics.getNullCount());
+        }
+    }
+
+    private FileStatistics readFileStatistics(final DataInputStream stream) throws IOException {
+        final FileStatistics fileStatistics = new FileStatistics(stream.readLong());
+        final int numColumns = stream.readInt();
+        for (int i = 0; i < numColumns; i++) {
+            final String column = stream.readUTF();
+            final Comparable min = readValue(stream);
+            final Comparable max = readValue(stream);
+            final long nullCount = stream.readLong();
+            fileStatistics.addColumnStatistics(column, new ColumnStatistics(min, max, nullCount));
+        }
+        return fileStatistics;
+    }
+
+    private void writeValue(final Comparable value, final DataOutputStream stream) throws IOException {
+        if (null == value) {
+            stream.writeByte(NULL);
+        } else if (value instanceof Boolean) {
+            stream.writeByte(BOOLEAN);
+            stream.writeBoolean((Boolean) value);
+        } else if (value instanceof Integer) {
+            stream.writeByte(INTEGER);
+            stream.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            stream.writeByte(LONG);
+            stream.writeLong((Long) value);
+        } else if (value instanceof Float) {
+            stream.writeByte(FLOAT);
+            stream.writeFloat((Float) value);
+        } else if (value instanceof Double) {
+            stream.writeByte(DOUBLE);
+            stream.writeDouble((Double) value);
+        } else {
+            throw new IOException("Unable to serialise statistics value of class " + value.getClass().getName());
+        }
+    }
+
+    private Comparable readValue(final DataInputStream stream) throws IOException {
+        final byte type = stream.readByte();
+        switch (type) {
+            case NULL:
+                return null;
+            case BOOLEAN:
+                return stream.readBoolean();
+            case INTEGER:
+                return stream.readInt();
+            case LONG:
+                return stream.readLong();
+            case FLOAT:
+                return stream.readFloat();
+            case DOUBLE:
+                return stream.readDouble();
+            default:
+                throw new IOException("Unknown statistics value type " + type);
+        }
+    }
+}
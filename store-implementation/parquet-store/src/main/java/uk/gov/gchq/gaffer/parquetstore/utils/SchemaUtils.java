@@ -24,7 +24,11 @@ import org.apache.spark.sql.types.StructType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
 import uk.gov.gchq.gaffer.parquetstore.serialisation.ParquetSerialiser;
@@ -34,9 +38,14 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
 import uk.gov.gchq.koryphe.serialisation.json.SimpleClassNameIdResolver;
+import uk.gov.gchq.koryphe.tuple.binaryoperator.TupleAdaptedBinaryOperator;
+import uk.gov.gchq.koryphe.tuple.function.TupleAdaptedFunction;
+import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -201,6 +210,70 @@ public class SchemaUtils {
         return columnToPaths;
     }
 
+    /**
+     * Returns the Gaffer columns that need to be read from the files for the provided {@code group} in order to
+     * apply the {@link View}. This is the identifiers, the properties that will be returned and any properties used
+     * by the group-by, filters, transformers, aggregators and validators.
+     *
+     * @param view  the view that will be applied to the elements
+     * @param group the group
+     * @return the columns to read, or {@code null} if every column should be read
+     */
+    public Set<String> getColumnsToRead(final View view, final String group) {
+        if (null == view) {
+            return null;
+        }
+        final ViewElementDefinition viewElementDef = view.getElement(group);
+        if (null == viewElementDef || viewElementDef.isAllProperties()) {
+            return null;
+        }
+
+        final SchemaElementDefinition schemaElementDef = gafferSchema.getElement(group);
+        final Set<String> columns = new HashSet<>();
+        if (null == viewElementDef.getProperties()) {
+            columns.addAll(schemaElementDef.getProperties());
+            columns.removeAll(viewElementDef.getExcludeProperties());
+        } else {
+            columns.addAll(viewElementDef.getProperties());
+        }
+        columns.addAll(getCoreProperties(group));
+        columns.addAll(schemaElementDef.getGroupBy());
+        if (null != viewElementDef.getGroupBy()) {
+            columns.addAll(viewElementDef.getGroupBy());
+        }
+        if (null != gafferSchema.getVisibilityProperty()) {
+            columns.add(gafferSchema.getVisibilityProperty());
+        }
+        addPredicateSelections(columns, viewElementDef.getPreAggregationFilterFunctions());
+        addPredicateSelections(columns, viewElementDef.getPostAggregationFilterFunctions());
+        addPredicateSelections(columns, viewElementDef.getPostTransformFilterFunctions());
+        final ElementFilter validator = schemaElementDef.getValidator(false);
+        if (null != validator) {
+            addPredicateSelections(columns, validator.getComponents());
+        }
+        if (null != viewElementDef.getTransformFunctions()) {
+            for (final TupleAdaptedFunction<String, ?, ?> function : viewElementDef.getTransformFunctions()) {
+                columns.addAll(Arrays.asList(function.getSelection()));
+            }
+        }
+        final ElementAggregator aggregator = viewElementDef.getAggregator();
+        if (null != aggregator && null != aggregator.getComponents()) {
+            for (final TupleAdaptedBinaryOperator<String, ?> binaryOperator : aggregator.getComponents()) {
+                columns.addAll(Arrays.asList(binaryOperator.getSelection()));
+            }
+        }
+        LOGGER.debug("Columns to read for group {} are {}", group, columns);
+        return columns;
+    }
+
+    private void addPredicateSelections(final Set<String> columns, final List<TupleAdaptedPredicate<String, ?>> predicates) {
+        if (null != predicates) {
+            for (final TupleAdaptedPredicate<String, ?> predicate : predicates) {
+                columns.addAll(Arrays.asList(predicate.getSelection()));
+            }
+        }
+    }
+
     public String[] getPaths(final String group, final String column) {
         return getColumnToPaths(group).get(column);
     }
@@ -28,6 +28,8 @@ import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ParquetStorePropertiesTest {
 
@@ -45,6 +47,27 @@ public class ParquetStorePropertiesTest {
         assertEquals((Integer) 9, props.getThreadsAvailable());
     }
 
+    @Test
+    public void retrieverQueueSizeTest() {
+        assertEquals((Integer) 10000, props.getRetrieverQueueSize());
+        props.setRetrieverQueueSize(500);
+        assertEquals((Integer) 500, props.getRetrieverQueueSize());
+    }
+
+    @Test
+    public void addElementsLocalThresholdTest() {
+        assertEquals(100000, props.getAddElementsLocalThreshold());
+        props.setAddElementsLocalThreshold(500);
+        assertEquals(500, props.getAddElementsLocalThreshold());
+    }
+
+    @Test
+    public void columnarReaderTest() {
+        assertFalse(props.getColumnarReader());
+        props.setColumnarReader(true);
+        assertTrue(props.getColumnarReader());
+    }
+
     @Test
     public void dataDirTest() {
         assertThat(props.getDataDir()).isNull();
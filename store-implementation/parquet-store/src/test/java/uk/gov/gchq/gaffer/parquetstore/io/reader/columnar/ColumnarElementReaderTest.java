@@ -0,0 +1,129 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.io.reader.columnar;
+
+import com.google.common.collect.Sets;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.io.reader.ParquetElementReader;
+import uk.gov.gchq.gaffer.parquetstore.io.writer.ParquetElementWriter;
+import uk.gov.gchq.gaffer.parquetstore.testutils.DataGen;
+import uk.gov.gchq.gaffer.parquetstore.testutils.TestUtils;
+import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ColumnarElementReaderTest {
+    private static final Set<String> COLUMNS = Sets.newHashSet(ParquetStore.VERTEX, "long", "count", "date");
+
+    private static Path generateData(final java.nio.file.Path tempDir, final SchemaUtils schemaUtils) throws IOException {
+        final Path file = new Path(tempDir.resolve("data.parquet").toString());
+        final ParquetWriter<Element> writer = new ParquetElementWriter
+                .Builder(file)
+                .withSparkSchema(schemaUtils.getSparkSchema(TestGroups.ENTITY))
+                .withType(schemaUtils.getParquetSchema(TestGroups.ENTITY))
+                .usingConverter(schemaUtils.getConverter(TestGroups.ENTITY))
+                .build();
+        for (int i = 0; i < 100; i++) {
+            writer.write(DataGen.getEntity(TestGroups.ENTITY, (long) i, (byte) 'a', 3f,
+                    TestUtils.getTreeSet1(), 5L * i, (short) 6, TestUtils.DATE, TestUtils.getFreqMap1(), i, null));
+        }
+        writer.close();
+        return file;
+    }
+
+    private static List<Element> readColumnar(final Path file, final SchemaUtils schemaUtils,
+                                              final FilterPredicate filter, final int batchSize) throws IOException {
+        final List<Element> elements = new ArrayList<>();
+        try (final ColumnarElementReader reader = ColumnarElementReader.open(new Configuration(), file, true,
+                schemaUtils.getConverter(TestGroups.ENTITY), COLUMNS, filter, batchSize)) {
+            Element element = reader.read();
+            while (null != element) {
+                elements.add(element);
+                element = reader.read();
+            }
+        }
+        return elements;
+    }
+
+    private static List<Element> readRows(final Path file, final SchemaUtils schemaUtils,
+                                          final FilterPredicate filter) throws IOException {
+        final List<Element> elements = new ArrayList<>();
+        try (final ParquetReader<Element> reader = new ParquetElementReader.Builder<Element>(file)
+                .isEntity(true)
+                .usingConverter(schemaUtils.getConverter(TestGroups.ENTITY))
+                .withColumnsToRead(COLUMNS)
+                .withFilter(FilterCompat.get(filter))
+                .build()) {
+            Element element = reader.read();
+            while (null != element) {
+                elements.add(element);
+                element = reader.read();
+            }
+        }
+        return elements;
+    }
+
+    @Test
+    public void shouldReturnSameElementsAsRowReader(@TempDir java.nio.file.Path tempDir) throws IOException {
+        // Given
+        final SchemaUtils schemaUtils = new SchemaUtils(TestUtils.gafferSchema("schemaUsingLongVertexType"));
+        final Path file = generateData(tempDir, schemaUtils);
+        final FilterPredicate filter = FilterApi.or(
+                FilterApi.gt(FilterApi.longColumn("long"), 300L),
+                FilterApi.not(FilterApi.gtEq(FilterApi.intColumn("count"), 10)));
+
+        // When
+        final List<Element> columnar = readColumnar(file, schemaUtils, filter, 7);
+
+        // Then
+        assertEquals(readRows(file, schemaUtils, filter), columnar);
+        assertEquals(10 + 39, columnar.size());
+    }
+
+    @Test
+    public void shouldNotOpenIfRepeatedColumnsAreRequested(@TempDir java.nio.file.Path tempDir) throws IOException {
+        // Given
+        final SchemaUtils schemaUtils = new SchemaUtils(TestUtils.gafferSchema("schemaUsingLongVertexType"));
+        final Path file = generateData(tempDir, schemaUtils);
+
+        // When
+        final ColumnarElementReader reader = ColumnarElementReader.open(new Configuration(), file, true,
+                schemaUtils.getConverter(TestGroups.ENTITY), Sets.newHashSet(ParquetStore.VERTEX, "treeSet"), null,
+                ColumnarElementReader.DEFAULT_BATCH_SIZE);
+
+        // Then
+        assertNull(reader);
+    }
+}
@@ -48,6 +48,7 @@ import uk.gov.gchq.koryphe.impl.predicate.IsEqual;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -56,6 +57,8 @@ import java.util.stream.Collectors;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public abstract class AbstractOperationsTest extends StandaloneIT {
 
@@ -222,6 +225,40 @@ public abstract class AbstractOperationsTest extends StandaloneIT {
         ElementUtil.assertElementEquals(getResultsForGetAllElementsTest(), results);
     }
 
+    @Test
+    public void shouldNotBlockNestedQueryWhenOtherQueriesAreNotDrained() throws OperationException {
+        // Given
+        final ParquetStoreProperties storeProperties = (ParquetStoreProperties) createStoreProperties();
+        storeProperties.setThreadsAvailable(1);
+        storeProperties.setRetrieverQueueSize(1);
+        final Graph graph = createGraph(storeProperties);
+        final List<Element> elements = getInputDataForGetAllElementsTest();
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+
+        final CloseableIterable<? extends Element> results1 = graph.execute(new GetAllElements.Builder().build(), user);
+        final CloseableIterable<? extends Element> results2 = graph.execute(new GetAllElements.Builder().build(), user);
+        final Iterator<? extends Element> iterator1 = results1.iterator();
+        final Iterator<? extends Element> iterator2 = results2.iterator();
+        assertTrue(iterator1.hasNext());
+        iterator1.next();
+        assertTrue(iterator2.hasNext());
+        iterator2.next();
+
+        // When
+        final List<Element> nested = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            final List<Element> nestedResults = new ArrayList<>();
+            try (final CloseableIterable<? extends Element> results = graph.execute(new GetAllElements.Builder().build(), user)) {
+                results.forEach(nestedResults::add);
+            }
+            return nestedResults;
+        });
+
+        // Then
+        ElementUtil.assertElementEquals(getResultsForGetAllElementsTest(), nested);
+        results1.close();
+        results2.close();
+    }
+
     @Test
     public void shouldNotGetElementsOnEmptyGraph() throws OperationException {
         // Given (test on a graph on which add has been called with an empty list and
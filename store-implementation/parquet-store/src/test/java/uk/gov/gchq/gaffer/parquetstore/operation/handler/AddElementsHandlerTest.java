@@ -117,6 +117,64 @@ public class AddElementsHandlerTest {
         }
     }
 
+    @Test
+    public void shouldWriteSameDataWithAndWithoutSpark(@TempDir java.nio.file.Path tempDir)
+            throws OperationException, IOException, StoreException {
+        // Given
+        final List<Element> elementsToAdd = new ArrayList<>();
+        elementsToAdd.addAll(AggregateAndSortDataTest.generateData());
+        elementsToAdd.addAll(AggregateAndSortDataTest.generateData());
+        elementsToAdd.add(WriteUnsortedDataTest.createEdgeForEdgeGroup(10000L, 1000L, true, new Date(100L)));
+        elementsToAdd.add(WriteUnsortedDataTest.createEdgeForEdgeGroup(1L, 10L, true, new Date(300L)));
+        elementsToAdd.add(WriteUnsortedDataTest.createEdgeForEdgeGroup(1L, 10L, true, new Date(300L)));
+        elementsToAdd.add(WriteUnsortedDataTest.createEdgeForEdgeGroup(1L, 2L, false, new Date(400L)));
+        Collections.shuffle(elementsToAdd);
+        final AddElements add = new AddElements.Builder()
+                .input(elementsToAdd)
+                .build();
+        final Context context = new Context();
+        final Schema schema = TestUtils.gafferSchema("schemaUsingLongVertexType");
+        final String testDir = tempDir.toString();
+        final ParquetStoreProperties localStoreProperties = new ParquetStoreProperties();
+        localStoreProperties.setDataDir(testDir + "/local/data");
+        localStoreProperties.setTempFilesDir(testDir + "/local/tmpdata");
+        final ParquetStore localStore = (ParquetStore) ParquetStore.createStore("graphId", schema, localStoreProperties);
+        final ParquetStoreProperties sparkStoreProperties = new ParquetStoreProperties();
+        sparkStoreProperties.setDataDir(testDir + "/spark/data");
+        sparkStoreProperties.setTempFilesDir(testDir + "/spark/tmpdata");
+        sparkStoreProperties.setAddElementsLocalThreshold(0);
+        final ParquetStore sparkStore = (ParquetStore) ParquetStore.createStore("graphId", schema, sparkStoreProperties);
+        final SparkSession sparkSession = SparkSessionProvider.getSparkSession();
+
+        // When - add the elements twice so that new data is merged with existing data
+        new AddElementsHandler().doOperation(add, context, localStore);
+        new AddElementsHandler().doOperation(add, context, localStore);
+        new AddElementsHandler().doOperation(add, context, sparkStore);
+        new AddElementsHandler().doOperation(add, context, sparkStore);
+
+        // Then
+        for (final String subDir : new String[]{
+                ParquetStore.getGroupSubDir(TestGroups.ENTITY, false),
+                ParquetStore.getGroupSubDir(TestGroups.EDGE, false),
+                ParquetStore.getGroupSubDir(TestGroups.EDGE, true)}) {
+            final Row[] localResults = (Row[]) sparkSession
+                    .read()
+                    .parquet(new Path(new Path(testDir + "/local/data", ParquetStore.getSnapshotPath(localStore.getLatestSnapshot())),
+                            subDir + "/" + ParquetStore.getFile(0)).toString())
+                    .collect();
+            final Row[] sparkResults = (Row[]) sparkSession
+                    .read()
+                    .parquet(new Path(new Path(testDir + "/spark/data", ParquetStore.getSnapshotPath(sparkStore.getLatestSnapshot())),
+                            subDir + "/" + ParquetStore.getFile(0)).toString())
+                    .collect();
+            assertThat(localResults).isNotEmpty();
+            assertEquals(sparkResults.length, localResults.length);
+            for (int i = 0; i < sparkResults.length; i++) {
+                assertEquals(sparkResults[i].toString(), localResults[i].toString());
+            }
+        }
+    }
+
     @Test
     public void testOnePartitionAllGroups(@TempDir java.nio.file.Path tempDir)
             throws IOException, OperationException, StoreException {
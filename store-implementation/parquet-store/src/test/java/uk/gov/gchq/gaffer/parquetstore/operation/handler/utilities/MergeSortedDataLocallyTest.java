@@ -0,0 +1,60 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.MergeSortedDataLocally.ParquetObjectsComparator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MergeSortedDataLocallyTest {
+
+    private final ParquetObjectsComparator comparator = new ParquetObjectsComparator();
+
+    @Test
+    public void shouldCompareColumnsInOrder() {
+        assertTrue(comparator.compare(new Object[]{1L, "B"}, new Object[]{2L, "A"}) < 0);
+        assertTrue(comparator.compare(new Object[]{2L, "A"}, new Object[]{2L, "B"}) < 0);
+        assertTrue(comparator.compare(new Object[]{2L, false}, new Object[]{2L, true}) < 0);
+        assertEquals(0, comparator.compare(new Object[]{2L, "A", 1.5D}, new Object[]{2L, "A", 1.5D}));
+    }
+
+    @Test
+    public void shouldOrderNullsFirst() {
+        assertTrue(comparator.compare(new Object[]{null}, new Object[]{Integer.MIN_VALUE}) < 0);
+        assertTrue(comparator.compare(new Object[]{1, 0}, new Object[]{1, null}) > 0);
+        assertEquals(0, comparator.compare(new Object[]{null}, new Object[]{null}));
+    }
+
+    @Test
+    public void shouldCompareBinaryAsUnsignedBytes() {
+        assertTrue(comparator.compare(new Object[]{new byte[]{(byte) 1}}, new Object[]{new byte[]{(byte) -1}}) < 0);
+        assertTrue(comparator.compare(new Object[]{new byte[]{(byte) 1}}, new Object[]{new byte[]{(byte) 1, (byte) 0}}) < 0);
+        assertEquals(0, comparator.compare(new Object[]{new byte[]{(byte) 5}}, new Object[]{new byte[]{(byte) 5}}));
+    }
+
+    @Test
+    public void shouldCompareStringsByCodePoint() {
+        // U+FF21 is before U+1F600 in UTF-8 byte order but after it in UTF-16 order
+        final String bmp = "\uFF21";
+        final String supplementary = new String(Character.toChars(0x1F600));
+        assertTrue(comparator.compare(new Object[]{bmp}, new Object[]{supplementary}) < 0);
+        assertTrue(comparator.compare(new Object[]{"a"}, new Object[]{"ab"}) < 0);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.query;
+
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.parquetstore.testutils.TestUtils;
+import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
+import uk.gov.gchq.koryphe.impl.predicate.IsEqual;
+import uk.gov.gchq.koryphe.impl.predicate.IsIn;
+import uk.gov.gchq.koryphe.impl.predicate.Not;
+import uk.gov.gchq.koryphe.impl.predicate.Or;
+import uk.gov.gchq.koryphe.impl.predicate.Regex;
+import uk.gov.gchq.koryphe.impl.predicate.range.InRange;
+
+import java.util.function.Predicate;
+
+import static org.apache.parquet.filter2.predicate.FilterApi.and;
+import static org.apache.parquet.filter2.predicate.FilterApi.eq;
+import static org.apache.parquet.filter2.predicate.FilterApi.gt;
+import static org.apache.parquet.filter2.predicate.FilterApi.gtEq;
+import static org.apache.parquet.filter2.predicate.FilterApi.intColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.lt;
+import static org.apache.parquet.filter2.predicate.FilterApi.ltEq;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JavaPredicateToParquetPredicateTest {
+    private SchemaUtils schemaUtils;
+
+    @BeforeEach
+    public void setUp() {
+        schemaUtils = new SchemaUtils(TestUtils.gafferSchema("schemaUsingStringVertexType"));
+    }
+
+    @Test
+    public void shouldConvertIsIn() throws SerialisationException {
+        // Given
+        final JavaPredicateToParquetPredicate converter = getConverter(new IsIn(5));
+
+        // When
+        final FilterPredicate predicate = converter.getParquetPredicate();
+
+        // Then
+        assertEquals(eq(intColumn("count"), 5), predicate);
+        assertTrue(converter.isFullyApplied());
+    }
+
+    @Test
+    public void shouldConvertInRange() throws SerialisationException {
+        // Given
+        final JavaPredicateToParquetPredicate converter = getConverter(new InRange.Builder<Integer>()
+                .start(1)
+                .end(10)
+                .build());
+
+        // When
+        final FilterPredicate predicate = converter.getParquetPredicate();
+
+        // Then
+        assertEquals(and(gtEq(intColumn("count"), 1), ltEq(intColumn("count"), 10)), predicate);
+        assertTrue(converter.isFullyApplied());
+    }
+
+    @Test
+    public void shouldConvertInRangeWithExclusiveBounds() throws SerialisationException {
+        // Given
+        final JavaPredicateToParquetPredicate converter = getConverter(new InRange.Builder<Integer>()
+                .start(1)
+                .startInclusive(false)
+                .end(10)
+                .endInclusive(false)
+                .build());
+
+        // When
+        final FilterPredicate predicate = converter.getParquetPredicate();
+
+        // Then
+        assertEquals(and(gt(intColumn("count"), 1), lt(intColumn("count"), 10)), predicate);
+        assertTrue(converter.isFullyApplied());
+    }
+
+    @Test
+    public void shouldNotPushDownOrWithUnsupportedComponent() throws SerialisationException {
+        // Given
+        final JavaPredicateToParquetPredicate converter = getConverter(new Or<>(new IsEqual(5), new Regex("[0-9]")));
+
+        // When
+        final FilterPredicate predicate = converter.getParquetPredicate();
+
+        // Then
+        assertNull(predicate);
+        assertFalse(converter.isFullyApplied());
+    }
+
+    @Test
+    public void shouldNotPushDownNotWithUnsupportedComponent() throws SerialisationException {
+        // Given
+        final JavaPredicateToParquetPredicate converter = getConverter(new Not<>(new Regex("[0-9]")));
+
+        // When
+        final FilterPredicate predicate = converter.getParquetPredicate();
+
+        // Then
+        assertNull(predicate);
+        assertFalse(converter.isFullyApplied());
+    }
+
+    private JavaPredicateToParquetPredicate getConverter(final Predicate predicate) {
+        return new JavaPredicateToParquetPredicate(schemaUtils, predicate, new String[]{"count"}, TestGroups.ENTITY);
+    }
+}
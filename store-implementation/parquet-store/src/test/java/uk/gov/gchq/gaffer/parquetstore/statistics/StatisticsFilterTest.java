@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.statistics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.apache.parquet.filter2.predicate.FilterApi.and;
+import static org.apache.parquet.filter2.predicate.FilterApi.eq;
+import static org.apache.parquet.filter2.predicate.FilterApi.gt;
+import static org.apache.parquet.filter2.predicate.FilterApi.gtEq;
+import static org.apache.parquet.filter2.predicate.FilterApi.intColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.longColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.lt;
+import static org.apache.parquet.filter2.predicate.FilterApi.ltEq;
+import static org.apache.parquet.filter2.predicate.FilterApi.notEq;
+import static org.apache.parquet.filter2.predicate.FilterApi.or;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StatisticsFilterTest {
+
+    private FileStatistics getFileStatistics() {
+        final FileStatistics fileStatistics = new FileStatistics(100L);
+        fileStatistics.addColumnStatistics("count", new ColumnStatistics(10, 20, 0L));
+        fileStatistics.addColumnStatistics("nullable", new ColumnStatistics(10, 20, 5L));
+        return fileStatistics;
+    }
+
+    @Test
+    public void shouldDropFileWhenEqualityIsOutsideRange() {
+        // Given
+        final FileStatistics fileStatistics = getFileStatistics();
+
+        // When / Then
+        assertTrue(StatisticsFilter.canDrop(eq(intColumn("count"), 9), fileStatistics));
+        assertTrue(StatisticsFilter.canDrop(eq(intColumn("count"), 21), fileStatistics));
+        assertFalse(StatisticsFilter.canDrop(eq(intColumn("count"), 10), fileStatistics));
+        assertFalse(StatisticsFilter.canDrop(eq(intColumn("count"), 15), fileStatistics));
+        assertTrue(StatisticsFilter.canDrop(eq(intColumn("count"), null), fileStatistics));
+        assertFalse(StatisticsFilter.canDrop(eq(intColumn("nullable"), null), fileStatistics));
+    }
+
+    @Test
+    public void shouldDropFileWhenComparisonCannotMatch() {
+        // Given
+        final FileStatistics fileStatistics = getFileStatistics();
+
+        // When / Then
+        assertTrue(StatisticsFilter.canDrop(lt(intColumn("count"), 10), fileStatistics));
+        assertFalse(StatisticsFilter.canDrop(ltEq(intColumn("count"), 10), fileStatistics));
+        assertTrue(StatisticsFilter.canDrop(ltEq(intColumn("count"), 9), fileStatistics));
+        assertTrue(StatisticsFilter.canDrop(gt(intColumn("count"), 20), fileStatistics));
+        assertFalse(StatisticsFilter.canDrop(gtEq(intColumn("count"), 20), fileStatistics));
+        assertTrue(StatisticsFilter.canDrop(gtEq(intColumn("count"), 21), fileStatistics));
+        assertFalse(StatisticsFilter.canDrop(notEq(intColumn("count"), 15), fileStatistics));
+    }
+
+    @Test
+    public void shouldCombineAndAndOr() {
+        // Given
+        final FileStatistics fileStatistics = getFileStatistics();
+
+        // When / Then
+        assertTrue(StatisticsFilter.canDrop(and(gt(intColumn("count"), 12), lt(intColumn("count"), 5)), fileStatistics));
+        assertFalse(StatisticsFilter.canDrop(or(gt(intColumn("count"), 12), lt(intColumn("count"), 5)), fileStatistics));
+        assertTrue(StatisticsFilter.canDrop(or(gt(intColumn("count"), 25), lt(intColumn("count"), 5)), fileStatistics));
+    }
+
+    @Test
+    public void shouldNotDropFileWhenNoStatisticsForColumn() {
+        // Given
+        final FileStatistics fileStatistics = getFileStatistics();
+
+        // When / Then
+        assertFalse(StatisticsFilter.canDrop(eq(longColumn("unknown"), 1L), fileStatistics));
+        assertFalse(StatisticsFilter.canDrop(eq(intColumn("count"), 1), null));
+        assertFalse(StatisticsFilter.canDrop(null, fileStatistics));
+    }
+}
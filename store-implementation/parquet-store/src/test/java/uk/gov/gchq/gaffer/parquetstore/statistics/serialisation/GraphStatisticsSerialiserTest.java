@@ -0,0 +1,75 @@
+/*
+ * Copyright 2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.statistics.serialisation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import uk.gov.gchq.gaffer.parquetstore.statistics.ColumnStatistics;
+import uk.gov.gchq.gaffer.parquetstore.statistics.FileStatistics;
+import uk.gov.gchq.gaffer.parquetstore.statistics.GraphStatistics;
+import uk.gov.gchq.gaffer.parquetstore.statistics.GroupStatistics;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class GraphStatisticsSerialiserTest {
+
+    @Test
+    public void shouldSerialiseAndDeserialiseGraphStatistics(@TempDir Path tempDir) throws IOException {
+        // Given
+        final FileStatistics fileStatistics1 = new FileStatistics(100L);
+        fileStatistics1.addColumnStatistics("count", new ColumnStatistics(1, 50, 0L));
+        fileStatistics1.addColumnStatistics("timestamp", new ColumnStatistics(1000L, 2000L, 3L));
+        fileStatistics1.addColumnStatistics("DIRECTED", new ColumnStatistics(false, true, 0L));
+        final FileStatistics fileStatistics2 = new FileStatistics(10L);
+        fileStatistics2.addColumnStatistics("score", new ColumnStatistics(0.5D, 10.5D, 1L));
+        fileStatistics2.addColumnStatistics("weight", new ColumnStatistics(1.5F, 2.5F, 0L));
+        fileStatistics2.addColumnStatistics("allNull", new ColumnStatistics(null, null, 10L));
+        final GroupStatistics groupStatistics1 = new GroupStatistics("GROUP1");
+        groupStatistics1.addFileStatistics("partition-0000000.parquet", fileStatistics1);
+        groupStatistics1.addFileStatistics("partition-0000001.parquet", fileStatistics2);
+        final GroupStatistics groupStatistics2 = new GroupStatistics("GROUP2");
+        groupStatistics2.addFileStatistics("partition-0000000.parquet", new FileStatistics(0L));
+        final GroupStatistics reversedGroupStatistics = new GroupStatistics("GROUP1");
+        reversedGroupStatistics.addFileStatistics("partition-0000000.parquet", fileStatistics2);
+        final GraphStatistics graphStatistics = new GraphStatistics();
+        graphStatistics.addGroupStatistics("GROUP1", groupStatistics1);
+        graphStatistics.addGroupStatistics("GROUP2", groupStatistics2);
+        graphStatistics.addGroupStatisticsForReversedEdges("GROUP1", reversedGroupStatistics);
+        final GraphStatisticsSerialiser serialiser = new GraphStatisticsSerialiser();
+
+        // When
+        final String filename = tempDir.resolve("test").toString();
+        final DataOutputStream dos = new DataOutputStream(new FileOutputStream(filename));
+        serialiser.write(graphStatistics, dos);
+        dos.close();
+        final DataInputStream dis = new DataInputStream(new FileInputStream(filename));
+        final GraphStatistics readGraphStatistics = serialiser.read(dis);
+        dis.close();
+
+        // Then
+        assertEquals(graphStatistics, readGraphStatistics);
+        assertEquals(110L, readGraphStatistics.getGroupStatistics("GROUP1").getRowCount());
+    }
+}
@@ -21,15 +21,21 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
 import uk.gov.gchq.gaffer.parquetstore.testutils.TestUtils;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
 
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 public class SchemaUtilsTest {
     private SchemaUtils utils;
@@ -91,4 +97,51 @@ public class SchemaUtilsTest {
         expected.add(TestGroups.EDGE_2);
         assertEquals(expected, edgeGroups);
     }
+
+    @Test
+    public void shouldReadAllColumnsWhenViewReturnsAllProperties() {
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY)
+                .build();
+
+        assertNull(utils.getColumnsToRead(null, TestGroups.ENTITY));
+        assertNull(utils.getColumnsToRead(view, TestGroups.ENTITY));
+    }
+
+    @Test
+    public void shouldOnlyReadColumnsRequiredByView() {
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .preAggregationFilter(new ElementFilter.Builder()
+                                .select("double")
+                                .execute(new IsMoreThan(1.0))
+                                .build())
+                        .properties("count")
+                        .build())
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .excludeProperties("treeSet", "freqMap", "date")
+                        .build())
+                .build();
+
+        final Set<String> expectedEntityColumns = new HashSet<>();
+        expectedEntityColumns.add(ParquetStore.VERTEX);
+        expectedEntityColumns.add("count");
+        expectedEntityColumns.add("double");
+        expectedEntityColumns.add("date");
+        assertEquals(expectedEntityColumns, utils.getColumnsToRead(view, TestGroups.ENTITY));
+
+        final Set<String> expectedEdgeColumns = new HashSet<>();
+        expectedEdgeColumns.add(ParquetStore.SOURCE);
+        expectedEdgeColumns.add(ParquetStore.DESTINATION);
+        expectedEdgeColumns.add(ParquetStore.DIRECTED);
+        expectedEdgeColumns.add("byte");
+        expectedEdgeColumns.add("double");
+        expectedEdgeColumns.add("float");
+        expectedEdgeColumns.add("long");
+        expectedEdgeColumns.add("short");
+        expectedEdgeColumns.add("count");
+        // date is a group-by property so must still be read
+        expectedEdgeColumns.add("date");
+        assertEquals(expectedEdgeColumns, utils.getColumnsToRead(view, TestGroups.EDGE));
+    }
 }